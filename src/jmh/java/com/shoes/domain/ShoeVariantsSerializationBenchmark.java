@@ -0,0 +1,53 @@
+package com.shoes.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.config.JacksonConfiguration;
+import com.shoes.domain.enumeration.Status;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks the Jackson serialization of a {@link ShoeVariants} with its sizes and shoeVariantColors, as the REST
+ * resources write it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShoeVariantsSerializationBenchmark {
+
+    @Param({ "5", "50" })
+    private int relationships;
+
+    private ObjectMapper objectMapper;
+
+    private ShoeVariants shoeVariants;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .build();
+
+        shoeVariants = new ShoeVariants().id(1L).quantity(10).status(Status.IN_STOCK).photoUrl("https://cdn.example.com/variants/1.jpg");
+        for (int i = 0; i < relationships; i++) {
+            shoeVariants.addSizes(new Sizes().id(i).sizeInNumbers(36F + i / 2F).sizeInLetters("EU " + (36 + i)));
+            shoeVariants.addShoeVariantColors(
+                new ShoeVariantColors()
+                    .id((long) i)
+                    .price(79.99F + i)
+                    .imageUrl("https://cdn.example.com/colors/" + i + ".jpg")
+                    .colors(new Colors().id(i).colorName("color " + i))
+            );
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(shoeVariants);
+    }
+}
@@ -0,0 +1,96 @@
+package com.shoes.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Loads entities by id together with some of their collections, in the order the ids are given.
+ * <p>
+ * Each collection is fetched by its own join, so that loading several of them never multiplies the rows, and the joins
+ * run one after the other in the same persistence context: the first one loads the entities, the others initialize
+ * the collections of those same instances. Ids are sent in chunks whose size is padded to a power of two, so that the
+ * database sees a handful of distinct statements whatever the page size.
+ */
+final class BagLoader<T> {
+
+    static final int MAX_CHUNK_SIZE = 512;
+
+    private static final String IDS_PARAMETER = "ids";
+
+    private final EntityManager entityManager;
+
+    private final Class<T> entityClass;
+
+    private final ToLongFunction<T> idOf;
+
+    BagLoader(EntityManager entityManager, Class<T> entityClass, ToLongFunction<T> idOf) {
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+        this.idOf = idOf;
+    }
+
+    /**
+     * Loads entities with some of their collections.
+     *
+     * @param ids the ids of the entities, which may repeat.
+     * @param bags the names of the collections to fetch.
+     * @return the entities in the order of their ids, without those which do not exist.
+     */
+    List<T> load(long[] ids, List<String> bags) {
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        List<String> queries = queries(bags);
+        IdIndex index = IdIndex.of(ids);
+        Object[] loaded = new Object[ids.length];
+        for (int from = 0; from < ids.length; from += MAX_CHUNK_SIZE) {
+            List<Long> chunk = paddedChunk(ids, from, Math.min(ids.length, from + MAX_CHUNK_SIZE));
+            for (String query : queries) {
+                TypedQuery<T> typedQuery = entityManager.createQuery(query, entityClass).setParameter(IDS_PARAMETER, chunk);
+                for (T entity : typedQuery.getResultList()) {
+                    loaded[index.indexOf(idOf.applyAsLong(entity))] = entity;
+                }
+            }
+        }
+        List<T> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Object entity = loaded[index.indexOf(id)];
+            if (entity != null) {
+                result.add(entityClass.cast(entity));
+            }
+        }
+        return result;
+    }
+
+    private List<String> queries(List<String> bags) {
+        String select = "select entity from " + entityManager.getMetamodel().entity(entityClass).getName() + " entity";
+        String where = " where entity.id in :" + IDS_PARAMETER;
+        if (bags.isEmpty()) {
+            return List.of(select + where);
+        }
+        List<String> queries = new ArrayList<>(bags.size());
+        for (String bag : bags) {
+            queries.add(select + " left join fetch entity." + bag + where);
+        }
+        return queries;
+    }
+
+    /**
+     * Copies a range of ids, repeating the last one up to the next power of two.
+     */
+    static List<Long> paddedChunk(long[] ids, int from, int to) {
+        int length = to - from;
+        int padded = length == 1 ? 1 : Integer.highestOneBit(length - 1) << 1;
+        List<Long> chunk = new ArrayList<>(padded);
+        for (int i = from; i < to; i++) {
+            chunk.add(ids[i]);
+        }
+        while (chunk.size() < padded) {
+            chunk.add(ids[to - 1]);
+        }
+        return chunk;
+    }
+}
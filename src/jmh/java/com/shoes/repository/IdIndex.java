@@ -0,0 +1,82 @@
+package com.shoes.repository;
+
+import java.util.Arrays;
+
+/**
+ * Maps entity ids to their first position in a list, with open addressing over primitive arrays so that looking up a
+ * page of ids neither boxes them nor allocates per entry.
+ */
+final class IdIndex {
+
+    private static final int EMPTY = -1;
+
+    private final long[] keys;
+
+    private final int[] positions;
+
+    private final int mask;
+
+    private int size;
+
+    IdIndex(int expectedSize) {
+        // Keeps the load factor at or under one half.
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        keys = new long[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, EMPTY);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Indexes the given ids.
+     *
+     * @param ids the ids, which may repeat.
+     * @return the index, mapping each id to its first position.
+     */
+    static IdIndex of(long[] ids) {
+        IdIndex index = new IdIndex(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            index.putIfAbsent(ids[i], i);
+        }
+        return index;
+    }
+
+    /**
+     * Maps an id to a position, unless it is already mapped.
+     *
+     * @return the position the id is mapped to.
+     */
+    int putIfAbsent(long id, int position) {
+        int slot = slot(id);
+        if (positions[slot] == EMPTY) {
+            keys[slot] = id;
+            positions[slot] = position;
+            size++;
+        }
+        return positions[slot];
+    }
+
+    /**
+     * @return the position of the id, or {@code -1} if it is not indexed.
+     */
+    int indexOf(long id) {
+        return positions[slot(id)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long id) {
+        int slot = mix(id) & mask;
+        while (positions[slot] != EMPTY && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,52 @@
+package com.shoes.repository;
+
+import com.shoes.domain.ShoeVariants;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads pages of {@link ShoeVariants} together with some of their collections, through a {@link BagLoader}.
+ * <p>
+ * No read path of the application loads variants as entities with their collections, it reads projections instead:
+ * this only serves to measure the cost of doing so.
+ */
+class ShoeVariantsBagFetcher {
+
+    /**
+     * The collections of a {@link ShoeVariants} which can be fetched along with it.
+     */
+    enum Bag {
+        SIZES("sizes"),
+        SHOE_VARIANT_COLORS("shoeVariantColors"),
+        SHOE_VARIANT_SIZES("shoeVariantSizes");
+
+        private final String attribute;
+
+        Bag(String attribute) {
+            this.attribute = attribute;
+        }
+
+        String getAttribute() {
+            return attribute;
+        }
+    }
+
+    private final EntityManager entityManager;
+
+    ShoeVariantsBagFetcher(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Loads variants again with some of their collections, in the order given.
+     */
+    List<ShoeVariants> fetch(List<ShoeVariants> shoeVariants, Set<Bag> bags) {
+        long[] ids = new long[shoeVariants.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = shoeVariants.get(i).getId();
+        }
+        List<String> attributes = bags.stream().sorted().map(Bag::getAttribute).toList();
+        return new BagLoader<>(entityManager, ShoeVariants.class, ShoeVariants::getId).load(ids, attributes);
+    }
+}
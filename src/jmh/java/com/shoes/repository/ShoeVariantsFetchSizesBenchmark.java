@@ -0,0 +1,125 @@
+package com.shoes.repository;
+
+import com.shoes.ShoeStoreApp;
+import com.shoes.config.PostgreSqlTestContainer;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Sizes;
+import com.shoes.repository.ShoeVariantsBagFetcher.Bag;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmarks the loading of the sizes of a page of variants by a {@link ShoeVariantsBagFetcher}, each call in its own
+ * transaction, and the loading of all their collections at once.
+ * <p>
+ * The Liquibase changelogs only run on PostgreSQL, so the benchmark starts a throwaway PostgreSQL container, like the
+ * integration tests do; set the {@code JMH_JDBC_URL} environment variable (and {@code JMH_JDBC_USERNAME},
+ * {@code JMH_JDBC_PASSWORD}) to run it against an existing database instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShoeVariantsFetchSizesBenchmark {
+
+    private static final int SIZES = 20;
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private PostgreSqlTestContainer container;
+
+    private ConfigurableApplicationContext context;
+
+    private ShoeVariantsBagFetcher fetcher;
+
+    private TransactionTemplate transactionTemplate;
+
+    private SizesRepository sizesRepository;
+
+    private ShoeVariantsRepository shoeVariantsRepository;
+
+    private final List<Sizes> sizes = new ArrayList<>();
+
+    private List<ShoeVariants> page;
+
+    @Setup
+    public void setup() throws Exception {
+        String url = System.getenv("JMH_JDBC_URL");
+        String username = Objects.requireNonNullElse(System.getenv("JMH_JDBC_USERNAME"), "postgres");
+        String password = Objects.requireNonNullElse(System.getenv("JMH_JDBC_PASSWORD"), "");
+        if (url == null) {
+            container = new PostgreSqlTestContainer();
+            container.afterPropertiesSet();
+            url = container.getTestContainer().getJdbcUrl();
+            username = container.getTestContainer().getUsername();
+            password = container.getTestContainer().getPassword();
+        }
+        context = new SpringApplicationBuilder(ShoeStoreApp.class)
+            .profiles("testdev")
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=" + url,
+                "spring.datasource.username=" + username,
+                "spring.datasource.password=" + password
+            )
+            .run();
+        fetcher = new ShoeVariantsBagFetcher(
+            SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class))
+        );
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        sizesRepository = context.getBean(SizesRepository.class);
+        shoeVariantsRepository = context.getBean(ShoeVariantsRepository.class);
+        page = transactionTemplate.execute(status -> seed());
+    }
+
+    private List<ShoeVariants> seed() {
+        for (int i = 0; i < SIZES; i++) {
+            sizes.add(sizesRepository.save(new Sizes().sizeInNumbers(36F + i / 2F)));
+        }
+        List<ShoeVariants> shoeVariants = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            ShoeVariants variant = new ShoeVariants().quantity(1);
+            // Each variant comes in half of the sizes.
+            for (int j = 0; j < SIZES / 2; j++) {
+                variant.addSizes(sizes.get((i + j) % SIZES));
+            }
+            shoeVariants.add(shoeVariantsRepository.save(variant));
+        }
+        return shoeVariants;
+    }
+
+    @TearDown
+    public void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            shoeVariantsRepository.deleteAll(page);
+            sizesRepository.deleteAll(sizes);
+        });
+        context.close();
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    @Benchmark
+    public List<ShoeVariants> fetchSizes() {
+        return transactionTemplate.execute(status -> fetcher.fetch(page, EnumSet.of(Bag.SIZES)));
+    }
+
+    @Benchmark
+    public List<ShoeVariants> fetchAllBags() {
+        return transactionTemplate.execute(status -> fetcher.fetch(page, EnumSet.allOf(Bag.class)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Authority;
+import com.shoes.domain.User;
+import com.shoes.security.AuthoritiesConstants;
+import com.shoes.service.dto.AdminUserDTO;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks {@link UserMapper#userToAdminUserDTO(User)}, called for every user listed by the admin resources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    private UserMapper userMapper;
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        userMapper = new UserMapper();
+        user = new User();
+        user.setId(1L);
+        user.setLogin("benchmark");
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setEmail("benchmark@localhost");
+        user.setActivated(true);
+        user.setLangKey("en");
+        user.setImageUrl("https://cdn.example.com/users/1.jpg");
+        user.setCreatedBy("system");
+        user.setCreatedDate(Instant.parse("2024-05-10T09:50:17Z"));
+        user.setLastModifiedBy("system");
+        user.setLastModifiedDate(Instant.parse("2024-05-10T09:50:17Z"));
+        user.setAuthorities(Set.of(new Authority().name(AuthoritiesConstants.USER), new Authority().name(AuthoritiesConstants.ADMIN)));
+    }
+
+    @Benchmark
+    public AdminUserDTO userToAdminUserDTO() {
+        return userMapper.userToAdminUserDTO(user);
+    }
+}
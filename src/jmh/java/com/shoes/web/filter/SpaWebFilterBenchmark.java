@@ -0,0 +1,45 @@
+package com.shoes.web.filter;
+
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Benchmarks {@link SpaWebFilter#doFilterInternal}, run for every request: API calls go through, client routes are
+ * forwarded to {@code index.html}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpaWebFilterBenchmark {
+
+    @Param({ "/api/shoe-variants", "/shoe-variants/1051/view", "/main.js" })
+    private String path;
+
+    private SpaWebFilter filter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private FilterChain filterChain;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        filter = new SpaWebFilter();
+        request = new MockHttpServletRequest("GET", path);
+        response = new MockHttpServletResponse();
+        filterChain = (req, res) -> blackhole.consume(req);
+    }
+
+    @Benchmark
+    public void doFilterInternal() throws Exception {
+        filter.doFilterInternal(request, response, filterChain);
+    }
+}
@@ -1,6 +1,10 @@
 package com.shoes.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Shoe Store.
@@ -13,12 +17,96 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final StockReservation stockReservation = new StockReservation();
+
+    private final Pricing pricing = new Pricing();
+
+    private final Cache cache = new Cache();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final CacheCoherence cacheCoherence = new CacheCoherence();
+
+    private final BestSellers bestSellers = new BestSellers();
+
+    private final SalesRollup salesRollup = new SalesRollup();
+
+    private final OrderAnalytics orderAnalytics = new OrderAnalytics();
+
+    private final Outbox outbox = new Outbox();
+
+    private final StockStream stockStream = new StockStream();
+
+    private final CatalogSearch catalogSearch = new CatalogSearch();
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public StockReservation getStockReservation() {
+        return stockReservation;
+    }
+
+    public Pricing getPricing() {
+        return pricing;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public CacheCoherence getCacheCoherence() {
+        return cacheCoherence;
+    }
+
+    public BestSellers getBestSellers() {
+        return bestSellers;
+    }
+
+    public SalesRollup getSalesRollup() {
+        return salesRollup;
+    }
+
+    public OrderAnalytics getOrderAnalytics() {
+        return orderAnalytics;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public StockStream getStockStream() {
+        return stockStream;
+    }
+
+    public CatalogSearch getCatalogSearch() {
+        return catalogSearch;
+    }
+
+    public CatalogVersion getCatalogVersion() {
+        return catalogVersion;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +121,986 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class StockReservation {
+
+        /**
+         * How long reserved stock is held before it is released automatically.
+         */
+        private Duration ttl = Duration.ofMinutes(15);
+
+        /**
+         * Delay between two runs of the job releasing expired reservations.
+         */
+        private Duration expiryInterval = Duration.ofSeconds(30);
+
+        /**
+         * Maximum number of expired reservations released per transaction.
+         */
+        private int expiryBatchSize = 500;
+
+        /**
+         * Delay between two writes of the flash-sale reservations taken in memory.
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * Number of counters the stock of a flash-sale size is spread over.
+         */
+        private int flashSaleStripes = 16;
+
+        /**
+         * Delay between two heartbeats of the flash-sale pools of a node.
+         */
+        private Duration flashSaleHeartbeatInterval = Duration.ofSeconds(10);
+
+        /**
+         * How long without a heartbeat before the stock of a node's flash-sale pools is put back by the other nodes.
+         */
+        private Duration flashSaleTimeout = Duration.ofMinutes(1);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getExpiryInterval() {
+            return expiryInterval;
+        }
+
+        public void setExpiryInterval(Duration expiryInterval) {
+            this.expiryInterval = expiryInterval;
+        }
+
+        public int getExpiryBatchSize() {
+            return expiryBatchSize;
+        }
+
+        public void setExpiryBatchSize(int expiryBatchSize) {
+            this.expiryBatchSize = expiryBatchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getFlashSaleStripes() {
+            return flashSaleStripes;
+        }
+
+        public void setFlashSaleStripes(int flashSaleStripes) {
+            this.flashSaleStripes = flashSaleStripes;
+        }
+
+        public Duration getFlashSaleHeartbeatInterval() {
+            return flashSaleHeartbeatInterval;
+        }
+
+        public void setFlashSaleHeartbeatInterval(Duration flashSaleHeartbeatInterval) {
+            this.flashSaleHeartbeatInterval = flashSaleHeartbeatInterval;
+        }
+
+        public Duration getFlashSaleTimeout() {
+            return flashSaleTimeout;
+        }
+
+        public void setFlashSaleTimeout(Duration flashSaleTimeout) {
+            this.flashSaleTimeout = flashSaleTimeout;
+        }
+    }
+
+    public static class Pricing {
+
+        /**
+         * Tick of the timing wheel switching prices when sales start or end.
+         */
+        private Duration tick = Duration.ofSeconds(1);
+
+        /**
+         * Number of ticks in one turn of the timing wheel.
+         */
+        private int wheelSize = 512;
+
+        /**
+         * Whether the instances sharing the database tell each other of the prices they reload, so that they all keep
+         * their price table up to date.
+         */
+        private boolean notifyEnabled = false;
+
+        /**
+         * Postgres notification channel the reloaded variants are sent on.
+         */
+        private String channel = "price_changes";
+
+        /**
+         * How long the reloaded variants are gathered before being sent to the other instances.
+         */
+        private Duration announceInterval = Duration.ofMillis(200);
+
+        /**
+         * How long the listening connection waits for notifications before checking it is still running.
+         */
+        private Duration pollTimeout = Duration.ofSeconds(1);
+
+        /**
+         * How long to wait before listening again after the connection was lost.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+
+        public Duration getTick() {
+            return tick;
+        }
+
+        public void setTick(Duration tick) {
+            this.tick = tick;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+
+        public boolean isNotifyEnabled() {
+            return notifyEnabled;
+        }
+
+        public void setNotifyEnabled(boolean notifyEnabled) {
+            this.notifyEnabled = notifyEnabled;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public Duration getAnnounceInterval() {
+            return announceInterval;
+        }
+
+        public void setAnnounceInterval(Duration announceInterval) {
+            this.announceInterval = announceInterval;
+        }
+
+        public Duration getPollTimeout() {
+            return pollTimeout;
+        }
+
+        public void setPollTimeout(Duration pollTimeout) {
+            this.pollTimeout = pollTimeout;
+        }
+
+        public Duration getReconnectDelay() {
+            return reconnectDelay;
+        }
+
+        public void setReconnectDelay(Duration reconnectDelay) {
+            this.reconnectDelay = reconnectDelay;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory holding the disk tier of the regions that have one.
+         */
+        private String diskPath = System.getProperty("java.io.tmpdir") + "/shoe-store-cache";
+
+        /**
+         * Settings of each cache region, by cache name with or without its {@code com.shoes.domain.} prefix.
+         * Regions left out use the {@code jhipster.cache.ehcache} settings.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            /**
+             * Entries kept on heap, {@code jhipster.cache.ehcache.max-entries} if neither this nor the heap size is set.
+             */
+            private Long heapEntries;
+
+            /**
+             * Bytes kept on heap, instead of a number of entries.
+             */
+            private DataSize heapSize;
+
+            /**
+             * Bytes kept off heap, outside of the garbage collected memory; no off-heap tier if not set.
+             */
+            private DataSize offheapSize;
+
+            /**
+             * Bytes kept on disk; no disk tier if not set.
+             */
+            private DataSize diskSize;
+
+            /**
+             * Whether the disk tier survives a restart.
+             */
+            private boolean diskPersistent = false;
+
+            /**
+             * How long an entry lives after it is written, {@code jhipster.cache.ehcache.time-to-live-seconds} if
+             * neither this nor the time to idle is set.
+             */
+            private Duration timeToLive;
+
+            /**
+             * How long an entry lives after it is last read.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffheapSize() {
+                return offheapSize;
+            }
+
+            public void setOffheapSize(DataSize offheapSize) {
+                this.offheapSize = offheapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+    }
+
+    public static class Idempotency {
+
+        /**
+         * How long the response to a request is replayed to retries carrying the same idempotency key.
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * How long a request in progress holds its idempotency key, should its node fail before it completes.
+         */
+        private Duration lease = Duration.ofMinutes(1);
+
+        /**
+         * Delay between two runs of the job purging expired idempotency keys.
+         */
+        private Duration purgeInterval = Duration.ofMinutes(10);
+
+        /**
+         * Maximum number of expired idempotency keys purged per transaction.
+         */
+        private int purgeBatchSize = 1000;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public Duration getPurgeInterval() {
+            return purgeInterval;
+        }
+
+        public void setPurgeInterval(Duration purgeInterval) {
+            this.purgeInterval = purgeInterval;
+        }
+
+        public int getPurgeBatchSize() {
+            return purgeBatchSize;
+        }
+
+        public void setPurgeBatchSize(int purgeBatchSize) {
+            this.purgeBatchSize = purgeBatchSize;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Maximum number of verified tokens remembered; 0 verifies every token.
+         */
+        private int maximumSize = 10_000;
+
+        /**
+         * How long a verified token is remembered at most, even if it expires later.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * BCrypt cost; passwords hashed with another cost are hashed again on the next successful login.
+         */
+        private int strength = 10;
+
+        /**
+         * Number of threads hashing passwords, which is the number of cores logins and registrations may use at once.
+         */
+        private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Number of passwords waiting for a thread, beyond which hashing is rejected with 503 (Service Unavailable).
+         */
+        private int queueCapacity = 64;
+
+        /**
+         * Delay sent in the Retry-After header of rejected requests.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        public int getStrength() {
+            return strength;
+        }
+
+        public void setStrength(int strength) {
+            this.strength = strength;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    public static class CacheCoherence {
+
+        /**
+         * Whether second-level cache evictions are sent to, and received from, the other instances.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Postgres channel the evictions are sent on; instances sharing a database and a channel form a cluster.
+         */
+        private String channel = "cache_coherence";
+
+        /**
+         * How long evictions are gathered before being sent, which is how long other instances may serve the old data.
+         */
+        private Duration flushInterval = Duration.ofMillis(100);
+
+        /**
+         * Number of evicted keys waiting to be sent above which their whole regions are evicted instead.
+         */
+        private int maxPending = 10_000;
+
+        /**
+         * Largest notification sent, in bytes; Postgres refuses payloads of 8000 bytes or more.
+         */
+        private int maxPayloadSize = 7_900;
+
+        /**
+         * How long the listening connection waits for notifications before checking it should stop.
+         */
+        private Duration pollTimeout = Duration.ofSeconds(1);
+
+        /**
+         * How long to wait before listening again once the connection was lost; every region is evicted once it is back.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+
+        public int getMaxPayloadSize() {
+            return maxPayloadSize;
+        }
+
+        public void setMaxPayloadSize(int maxPayloadSize) {
+            this.maxPayloadSize = maxPayloadSize;
+        }
+
+        public Duration getPollTimeout() {
+            return pollTimeout;
+        }
+
+        public void setPollTimeout(Duration pollTimeout) {
+            this.pollTimeout = pollTimeout;
+        }
+
+        public Duration getReconnectDelay() {
+            return reconnectDelay;
+        }
+
+        public void setReconnectDelay(Duration reconnectDelay) {
+            this.reconnectDelay = reconnectDelay;
+        }
+    }
+
+    public static class BestSellers {
+
+        /**
+         * Number of best sellers kept for each category and each brand, ranked by their sales over the last 7 days.
+         */
+        private int top = 5;
+
+        /**
+         * Quantity a variant must have sold over the last 7 days to be ranked at all.
+         */
+        private long minQuantity = 1;
+
+        /**
+         * How often the sales counted in memory are written to the daily rollup, and the rankings and statuses refreshed.
+         */
+        private Duration checkpointInterval = Duration.ofMinutes(1);
+
+        /**
+         * Number of variants whose status is changed in each transaction.
+         */
+        private int statusBatchSize = 500;
+
+        public int getTop() {
+            return top;
+        }
+
+        public void setTop(int top) {
+            this.top = top;
+        }
+
+        public long getMinQuantity() {
+            return minQuantity;
+        }
+
+        public void setMinQuantity(long minQuantity) {
+            this.minQuantity = minQuantity;
+        }
+
+        public Duration getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        public void setCheckpointInterval(Duration checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
+
+        public int getStatusBatchSize() {
+            return statusBatchSize;
+        }
+
+        public void setStatusBatchSize(int statusBatchSize) {
+            this.statusBatchSize = statusBatchSize;
+        }
+    }
+
+    public static class SalesRollup {
+
+        /**
+         * How often the orders placed since the last refresh are added to the sales rollup.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(1);
+
+        /**
+         * Age an order must have to be added to the rollup, so that orders dated before they commit are not skipped.
+         */
+        private Duration settleDelay = Duration.ofMinutes(1);
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public Duration getSettleDelay() {
+            return settleDelay;
+        }
+
+        public void setSettleDelay(Duration settleDelay) {
+            this.settleDelay = settleDelay;
+        }
+    }
+
+    public static class OrderAnalytics {
+
+        /**
+         * Whether the order items are kept in memory, by column, for the analytics queries.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How often the orders placed since the last refresh are appended to the columns.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(1);
+
+        /**
+         * Age an order must have to be appended, so that orders dated before they commit are not skipped.
+         */
+        private Duration settleDelay = Duration.ofMinutes(1);
+
+        /**
+         * Number of threads scanning the columns, the number of processors if 0.
+         */
+        private int parallelism = 0;
+
+        /**
+         * Number of rows below which a range of rows is scanned by one thread rather than split.
+         */
+        private int leafRows = 65536;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public Duration getSettleDelay() {
+            return settleDelay;
+        }
+
+        public void setSettleDelay(Duration settleDelay) {
+            this.settleDelay = settleDelay;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getLeafRows() {
+            return leafRows;
+        }
+
+        public void setLeafRows(int leafRows) {
+            this.leafRows = leafRows;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Whether order, stock and price changes are written to the outbox and relayed to the sinks.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long the relay waits, once the outbox is drained, before looking for new events.
+         */
+        private Duration relayInterval = Duration.ofSeconds(1);
+
+        /**
+         * Number of events delivered to the sinks at once.
+         */
+        private int batchSize = 100;
+
+        /**
+         * File the events are appended to as newline-delimited JSON, if any.
+         */
+        private String filePath;
+
+        /**
+         * URL the events are posted to as a JSON array, if any.
+         */
+        private String httpUrl;
+
+        /**
+         * How long the relay waits for the URL to answer.
+         */
+        private Duration httpTimeout = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRelayInterval() {
+            return relayInterval;
+        }
+
+        public void setRelayInterval(Duration relayInterval) {
+            this.relayInterval = relayInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public String getFilePath() {
+            return filePath;
+        }
+
+        public void setFilePath(String filePath) {
+            this.filePath = filePath;
+        }
+
+        public String getHttpUrl() {
+            return httpUrl;
+        }
+
+        public void setHttpUrl(String httpUrl) {
+            this.httpUrl = httpUrl;
+        }
+
+        public Duration getHttpTimeout() {
+            return httpTimeout;
+        }
+
+        public void setHttpTimeout(Duration httpTimeout) {
+            this.httpTimeout = httpTimeout;
+        }
+    }
+
+    public static class StockStream {
+
+        /**
+         * Whether stock levels are streamed to the clients subscribed to their variants.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Postgres notification channel the changed shoeVariantSizes ids are sent on, to every instance.
+         */
+        private String channel = "stock_levels";
+
+        /**
+         * How long the changes of a size are gathered before being sent, only the last one being kept.
+         */
+        private Duration coalesceWindow = Duration.ofMillis(200);
+
+        /**
+         * Number of streams this instance keeps open at most; clients beyond it are answered 503.
+         */
+        private int maxConnections = 1_000;
+
+        /**
+         * Number of variants a stream can subscribe to at most.
+         */
+        private int maxShoeVariants = 100;
+
+        /**
+         * How often an idle stream is sent a comment, so that closed connections are noticed.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        /**
+         * How long a stream stays open, clients reconnecting once it ends.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * How long the listening connection waits for notifications before checking it should stop.
+         */
+        private Duration pollTimeout = Duration.ofSeconds(1);
+
+        /**
+         * How long to wait before listening again after the connection was lost.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public Duration getCoalesceWindow() {
+            return coalesceWindow;
+        }
+
+        public void setCoalesceWindow(Duration coalesceWindow) {
+            this.coalesceWindow = coalesceWindow;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxShoeVariants() {
+            return maxShoeVariants;
+        }
+
+        public void setMaxShoeVariants(int maxShoeVariants) {
+            this.maxShoeVariants = maxShoeVariants;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration getPollTimeout() {
+            return pollTimeout;
+        }
+
+        public void setPollTimeout(Duration pollTimeout) {
+            this.pollTimeout = pollTimeout;
+        }
+
+        public Duration getReconnectDelay() {
+            return reconnectDelay;
+        }
+
+        public void setReconnectDelay(Duration reconnectDelay) {
+            this.reconnectDelay = reconnectDelay;
+        }
+    }
+    public static class CatalogSearch {
+
+        /**
+         * Whether the instances sharing the database tell each other of the variants they reindex, so that they all
+         * keep their catalog index up to date.
+         */
+        private boolean notifyEnabled = false;
+
+        /**
+         * Postgres notification channel the reindexed variants are sent on.
+         */
+        private String channel = "catalog_changes";
+
+        /**
+         * How long the reindexed variants are gathered before being sent to the other instances.
+         */
+        private Duration announceInterval = Duration.ofMillis(200);
+
+        /**
+         * How long the listening connection waits for notifications before checking it is still running.
+         */
+        private Duration pollTimeout = Duration.ofSeconds(1);
+
+        /**
+         * How long to wait before listening again after the connection was lost.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+
+        public boolean isNotifyEnabled() {
+            return notifyEnabled;
+        }
+
+        public void setNotifyEnabled(boolean notifyEnabled) {
+            this.notifyEnabled = notifyEnabled;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public Duration getAnnounceInterval() {
+            return announceInterval;
+        }
+
+        public void setAnnounceInterval(Duration announceInterval) {
+            this.announceInterval = announceInterval;
+        }
+
+        public Duration getPollTimeout() {
+            return pollTimeout;
+        }
+
+        public void setPollTimeout(Duration pollTimeout) {
+            this.pollTimeout = pollTimeout;
+        }
+
+        public Duration getReconnectDelay() {
+            return reconnectDelay;
+        }
+
+        public void setReconnectDelay(Duration reconnectDelay) {
+            this.reconnectDelay = reconnectDelay;
+        }
+    }
+
+    public static class CatalogVersion {
+
+        /**
+         * How often the versions of the catalog entities are read again, to see the writes of the other instances.
+         */
+        private Duration refreshInterval = Duration.ofSeconds(1);
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
@@ -1,14 +1,18 @@
 package com.shoes.config;
 
+import com.shoes.management.VirtualThreadMetersService;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -21,17 +25,37 @@ import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 @Profile("!testdev & !testprod")
 public class AsyncConfiguration implements AsyncConfigurer {
 
+    private static final String STOCK_STREAM_THREAD_NAME_PREFIX = "stock-stream-";
+
     private final Logger log = LoggerFactory.getLogger(AsyncConfiguration.class);
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Environment environment;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Environment environment) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.environment = environment;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.debug("Creating Async Task Executor on virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(taskExecutionProperties.getThreadNamePrefix());
+            executor.setVirtualThreads(true);
+            // Sending mail pins the carrier thread inside the synchronized SMTP transport: keep half of the carriers free,
+            // callers beyond the limit wait for a running task to end.
+            Integer concurrencyLimit = taskExecutionProperties.getSimple().getConcurrencyLimit();
+            executor.setConcurrencyLimit(
+                concurrencyLimit != null ? concurrencyLimit : Math.max(1, VirtualThreadMetersService.carrierParallelism() / 2)
+            );
+            return new ExceptionHandlingAsyncTaskExecutor(executor);
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("Virtual threads are enabled but need Java 21, running on platform threads");
+        }
         log.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
@@ -41,6 +65,29 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Executor writing to the stock streams, kept apart from the task executor: a write blocks for as long as its client
+     * is slow to read, and each open stream has at most one write running.
+     */
+    @Bean(name = "stockStreamExecutor")
+    public Executor stockStreamExecutor(ApplicationProperties applicationProperties) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.debug("Creating Stock Stream Executor on virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(STOCK_STREAM_THREAD_NAME_PREFIX);
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        log.debug("Creating Stock Stream Executor");
+        // One thread per stream the instance keeps open, started on demand and stopped once idle.
+        int maxConnections = applicationProperties.getStockStream().getMaxConnections();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConnections);
+        executor.setMaxPoolSize(maxConnections);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix(STOCK_STREAM_THREAD_NAME_PREFIX);
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
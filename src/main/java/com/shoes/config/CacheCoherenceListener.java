@@ -0,0 +1,183 @@
+package com.shoes.config;
+
+import com.shoes.management.CacheCoherenceMetersService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the second-level cache evictions sent by the other instances through their {@link CacheCoherencePublisher}.
+ * <p>
+ * Notifications are only delivered to a session listening when they are sent, so they are read on a dedicated
+ * connection held outside of the pool. Every region is evicted each time that connection starts listening, as the
+ * evictions sent before were missed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.cache-coherence", name = "enabled", havingValue = "true")
+public class CacheCoherenceListener implements CacheInvalidationBatch.Receiver {
+
+    private final Logger log = LoggerFactory.getLogger(CacheCoherenceListener.class);
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final CacheCoherencePublisher publisher;
+
+    private final CacheCoherenceMetersService metersService;
+
+    private final Cache cache;
+
+    private final MappingMetamodel metamodel;
+
+    private final String channel;
+
+    private final Duration pollTimeout;
+
+    private final Duration reconnectDelay;
+
+    private volatile boolean running = false;
+
+    private volatile Connection connection;
+
+    private Thread thread;
+
+    public CacheCoherenceListener(
+        DataSourceProperties dataSourceProperties,
+        EntityManagerFactory entityManagerFactory,
+        CacheCoherencePublisher publisher,
+        CacheCoherenceMetersService metersService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.publisher = publisher;
+        this.metersService = metersService;
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cache = sessionFactory.getCache();
+        this.metamodel = sessionFactory.getMappingMetamodel();
+        ApplicationProperties.CacheCoherence properties = applicationProperties.getCacheCoherence();
+        this.channel = properties.getChannel();
+        this.pollTimeout = properties.getPollTimeout();
+        this.reconnectDelay = properties.getReconnectDelay();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        running = true;
+        thread = new Thread(this::listen, "cache-coherence");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Connection listening = connection;
+        if (listening != null) {
+            try {
+                listening.close();
+            } catch (SQLException e) {
+                log.debug("Could not close the cache coherence connection: {}", e.getMessage());
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(pollTimeout.toMillis());
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listening = connect()) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN \"" + channel.replace("\"", "\"\"") + "\"");
+                }
+                log.debug("Listening to cache evictions on channel {}", channel);
+                // Evictions sent before this point were missed, including those sent while the application started.
+                resync();
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Could not listen to cache evictions, will try again in {}: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection listening = DriverManager.getConnection(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()
+        );
+        listening.setAutoCommit(true);
+        return listening;
+    }
+
+    private void receive(String payload) {
+        if (publisher.getInstanceId().equals(CacheInvalidationBatch.sender(payload))) {
+            return;
+        }
+        try {
+            publisher.receive(() -> CacheInvalidationBatch.read(payload, this));
+        } catch (RuntimeException e) {
+            log.warn("Could not apply cache evictions, evicting every region: {}", e.getMessage());
+            resync();
+        }
+    }
+
+    @Override
+    public void evictRegion(String region) {
+        cache.evictRegion(region);
+        metersService.trackRegionReceived();
+    }
+
+    @Override
+    public void evictKey(String region, Object id) {
+        if (metamodel.findEntityDescriptor(region) != null) {
+            cache.evictEntityData(region, id);
+        } else if (metamodel.findCollectionDescriptor(region) != null) {
+            cache.evictCollectionData(region, id);
+        } else {
+            cache.evictRegion(region);
+        }
+        metersService.trackKeyReceived();
+    }
+
+    private void resync() {
+        publisher.receive(cache::evictAllRegions);
+        metersService.trackResync();
+    }
+}
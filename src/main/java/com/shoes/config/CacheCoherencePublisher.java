@@ -0,0 +1,204 @@
+package com.shoes.config;
+
+import com.shoes.management.CacheCoherenceMetersService;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the second-level cache evictions of this instance to the other instances, as Postgres notifications on the
+ * {@code application.cache-coherence.channel} channel, read by their {@link CacheCoherenceListener}.
+ * <p>
+ * Evictions are reported by the {@link CoherentJCacheRegionFactory} regions while a transaction writes, kept with the
+ * transaction until it commits, and then sent with the evictions of the other transactions every
+ * {@code application.cache-coherence.flush-interval}. The evictions of a transaction rolled back are never sent.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.cache-coherence", name = "enabled", havingValue = "true")
+public class CacheCoherencePublisher {
+
+    private static final ThreadLocal<Boolean> RECEIVING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Logger log = LoggerFactory.getLogger(CacheCoherencePublisher.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final DataSource dataSource;
+
+    private final CacheCoherenceMetersService metersService;
+
+    private final ApplicationProperties.CacheCoherence properties;
+
+    /**
+     * A lock rather than a monitor, so that a virtual thread committing while the evictions are sent does not pin its
+     * carrier thread.
+     */
+    private final ReentrantLock pendingLock = new ReentrantLock();
+
+    private CacheInvalidationBatch pending;
+
+    public CacheCoherencePublisher(
+        DataSource dataSource,
+        CacheCoherenceMetersService metersService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.dataSource = dataSource;
+        this.metersService = metersService;
+        this.properties = applicationProperties.getCacheCoherence();
+        this.pending = new CacheInvalidationBatch(properties.getMaxPending());
+    }
+
+    /**
+     * @return the id of this instance, which skips the notifications it sent itself.
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    void evictKey(String region, Object id) {
+        record(batch -> batch.evictKey(region, id));
+    }
+
+    void evictRegion(String region) {
+        record(batch -> batch.evictRegion(region));
+    }
+
+    /**
+     * Applies evictions received from another instance, without sending them back.
+     */
+    void receive(Runnable evictions) {
+        RECEIVING.set(Boolean.TRUE);
+        try {
+            evictions.run();
+        } finally {
+            RECEIVING.remove();
+        }
+    }
+
+    private void record(Consumer<CacheInvalidationBatch> eviction) {
+        if (RECEIVING.get()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionEvictions transactionEvictions = transactionEvictions();
+            if (transactionEvictions != null) {
+                eviction.accept(transactionEvictions.batch);
+                return;
+            }
+        }
+        pendingLock.lock();
+        try {
+            eviction.accept(pending);
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the evictions of the current transaction among its synchronizations, which are suspended along with it.
+     */
+    private TransactionEvictions transactionEvictions() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof TransactionEvictions transactionEvictions && transactionEvictions.owner == this) {
+                return transactionEvictions.completed ? null : transactionEvictions;
+            }
+        }
+        TransactionEvictions transactionEvictions = new TransactionEvictions(this);
+        TransactionSynchronizationManager.registerSynchronization(transactionEvictions);
+        return transactionEvictions;
+    }
+
+    private void enqueue(CacheInvalidationBatch batch) {
+        pendingLock.lock();
+        try {
+            pending.addAll(batch);
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * Sends the evictions gathered since the last flush; they are kept for the next one if they cannot be sent.
+     */
+    @Scheduled(fixedDelayString = "${application.cache-coherence.flush-interval:PT0.1S}")
+    public void flush() {
+        CacheInvalidationBatch batch;
+        pendingLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new CacheInvalidationBatch(properties.getMaxPending());
+        } finally {
+            pendingLock.unlock();
+        }
+        List<String> payloads = batch.toPayloads(instanceId, properties.getMaxPayloadSize());
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+                for (String payload : payloads) {
+                    statement.setString(1, properties.getChannel());
+                    statement.setString(2, payload);
+                    statement.executeQuery().close();
+                }
+            }
+            // Notifications are delivered once the transaction sending them commits.
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            metersService.trackSent(batch.keyCount(), batch.regionCount());
+        } catch (SQLException e) {
+            log.warn("Could not send {} cache evictions, will retry: {}", batch.keyCount() + batch.regionCount(), e.getMessage());
+            pendingLock.lock();
+            try {
+                batch.addAll(pending);
+                pending = batch;
+            } finally {
+                pendingLock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * The evictions of a transaction, queued once it has committed.
+     */
+    private static final class TransactionEvictions implements TransactionSynchronization {
+
+        private final CacheCoherencePublisher owner;
+
+        private final CacheInvalidationBatch batch;
+
+        private boolean completed;
+
+        private TransactionEvictions(CacheCoherencePublisher owner) {
+            this.owner = owner;
+            this.batch = new CacheInvalidationBatch(owner.properties.getMaxPending());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            completed = true;
+            if (status == STATUS_COMMITTED) {
+                owner.enqueue(batch);
+            }
+        }
+    }
+}
@@ -1,9 +1,24 @@
 package com.shoes.config;
 
+import java.io.File;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import javax.cache.Caching;
+import org.ehcache.config.ResourcePools;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.CacheManagerPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -15,31 +30,120 @@ import org.springframework.context.annotation.*;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * Ehcache configuration, with the tiers, limits and expiry of each region set in {@code application.cache.regions}.
+ * <p>
+ * Statistics are enabled on every cache, so that Spring Boot binds their hits, misses, puts and evictions to the
+ * meter registry, tagged with the cache name.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PREFIX = "com.shoes.domain.";
+
+    private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
-
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
-
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cache;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cache = applicationProperties.getCache();
+    }
+
+    /**
+     * Creates the cache manager itself rather than through Spring Boot, as a disk tier needs a persistence directory
+     * set on the manager, and applies the {@link JCacheManagerCustomizer}s as Spring Boot would.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> customizers) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        ClassLoader classLoader = CacheConfiguration.class.getClassLoader();
+        boolean disk = cache.getRegions().values().stream().anyMatch(region -> region.getDiskSize() != null);
+        DefaultConfiguration configuration = disk
+            ? new DefaultConfiguration(classLoader, new CacheManagerPersistenceConfiguration(new File(cache.getDiskPath())))
+            : new DefaultConfiguration(classLoader);
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), configuration);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+
+        Set<String> unknown = new HashSet<>(cache.getRegions().keySet());
+        cacheManager.getCacheNames().forEach(name -> {
+            unknown.remove(name);
+            unknown.remove(shortName(name));
+        });
+        if (!unknown.isEmpty()) {
+            log.warn("Cache settings given for unknown regions: {}", unknown);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Builds the configuration of a cache from the settings of its region, or the {@code jhipster.cache.ehcache} ones.
+     */
+    javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = cache.getRegions().get(cacheName);
+        if (region == null) {
+            region = cache.getRegions().getOrDefault(shortName(cacheName), new ApplicationProperties.Cache.Region());
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools(region))
+                .withExpiry(expiry(region))
                 .build()
         );
     }
 
+    private ResourcePools resourcePools(ApplicationProperties.Cache.Region region) {
+        ResourcePoolsBuilder pools = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        if (region.getHeapSize() != null) {
+            pools = pools.heap(region.getHeapSize().toBytes(), MemoryUnit.B);
+        } else {
+            pools = pools.heap(region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries(), EntryUnit.ENTRIES);
+        }
+        if (region.getOffheapSize() != null) {
+            pools = pools.offheap(region.getOffheapSize().toBytes(), MemoryUnit.B);
+        }
+        if (region.getDiskSize() != null) {
+            pools = pools.disk(region.getDiskSize().toBytes(), MemoryUnit.B, region.isDiskPersistent());
+        }
+        return pools.build();
+    }
+
+    private ExpiryPolicy<Object, Object> expiry(ApplicationProperties.Cache.Region region) {
+        Duration timeToLive = region.getTimeToLive();
+        Duration timeToIdle = region.getTimeToIdle();
+        if (timeToIdle == null) {
+            return ExpiryPolicyBuilder.timeToLiveExpiration(
+                timeToLive != null ? timeToLive : Duration.ofSeconds(ehcache.getTimeToLiveSeconds())
+            );
+        }
+        if (timeToLive == null) {
+            return ExpiryPolicyBuilder.timeToIdleExpiration(timeToIdle);
+        }
+        return ExpiryPolicyBuilder.expiry().create(timeToLive).update(timeToLive).access(timeToIdle).build();
+    }
+
+    private static String shortName(String cacheName) {
+        return cacheName.startsWith(DOMAIN_PREFIX) ? cacheName.substring(DOMAIN_PREFIX.length()) : cacheName;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate, along with a region factory reporting evictions to the other instances
+     * when {@code application.cache-coherence.enabled} is set.
+     */
     @Bean
-    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
-        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(
+        javax.cache.CacheManager cacheManager,
+        ObjectProvider<CacheCoherencePublisher> cacheCoherencePublisher
+    ) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            cacheCoherencePublisher.ifAvailable(publisher ->
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, new CoherentJCacheRegionFactory(publisher))
+            );
+        };
     }
 
     @Bean
@@ -100,8 +204,9 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
         }
+        cm.enableStatistics(cacheName, true);
     }
 
     @Autowired(required = false)
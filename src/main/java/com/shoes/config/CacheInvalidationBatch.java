@@ -0,0 +1,200 @@
+package com.shoes.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Second-level cache evictions waiting to be sent to the other instances, deduplicated: a key is sent once however
+ * often it was written, and not at all once its whole region is evicted.
+ * <p>
+ * Evictions are sent as text, one per line after the id of the sending instance: a region name alone evicts the
+ * region, a region name, a tab and a typed id evicts a key. Entity and collection regions are named after the entity
+ * or role they hold, so that the name is enough to evict the key on the other side. Not thread-safe.
+ */
+final class CacheInvalidationBatch {
+
+    private static final char SEPARATOR = '\t';
+
+    private static final char NEW_LINE = '\n';
+
+    /**
+     * Receives the evictions read from a notification.
+     */
+    interface Receiver {
+        void evictRegion(String region);
+
+        void evictKey(String region, Object id);
+    }
+
+    private final int maxKeys;
+
+    private final Set<String> regions = new LinkedHashSet<>();
+
+    private final Map<String, Set<String>> keys = new LinkedHashMap<>();
+
+    private int keyCount;
+
+    /**
+     * @param maxKeys number of keys above which their whole regions are evicted instead.
+     */
+    CacheInvalidationBatch(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Adds the eviction of a key, or of its whole region if its id cannot be sent.
+     */
+    void evictKey(String region, Object id) {
+        String encodedId = encodeId(id);
+        if (encodedId == null) {
+            evictRegion(region);
+            return;
+        }
+        addKey(region, encodedId);
+    }
+
+    private void addKey(String region, String encodedId) {
+        if (regions.contains(region)) {
+            return;
+        }
+        if (keys.computeIfAbsent(region, name -> new LinkedHashSet<>()).add(encodedId) && ++keyCount > maxKeys) {
+            regions.addAll(keys.keySet());
+            keys.clear();
+            keyCount = 0;
+        }
+    }
+
+    void evictRegion(String region) {
+        if (regions.add(region)) {
+            Set<String> evicted = keys.remove(region);
+            if (evicted != null) {
+                keyCount -= evicted.size();
+            }
+        }
+    }
+
+    /**
+     * Adds all the evictions of another batch.
+     */
+    void addAll(CacheInvalidationBatch other) {
+        other.regions.forEach(this::evictRegion);
+        other.keys.forEach((region, ids) -> ids.forEach(id -> addKey(region, id)));
+    }
+
+    boolean isEmpty() {
+        return regions.isEmpty() && keys.isEmpty();
+    }
+
+    int regionCount() {
+        return regions.size();
+    }
+
+    int keyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Writes the evictions as notification payloads.
+     *
+     * @param sender the id of the sending instance, written first in each payload.
+     * @param maxPayloadSize the size of the largest payload, in UTF-8 bytes.
+     * @return the payloads, regions first.
+     */
+    List<String> toPayloads(String sender, int maxPayloadSize) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(sender);
+        int size = utf8Length(sender);
+        List<String> lines = new ArrayList<>(regions.size() + keyCount);
+        lines.addAll(regions);
+        keys.forEach((region, ids) -> ids.forEach(id -> lines.add(region + SEPARATOR + id)));
+        for (String line : lines) {
+            int lineSize = 1 + utf8Length(line);
+            if (size + lineSize > maxPayloadSize && payload.length() > sender.length()) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+                payload.append(sender);
+                size = utf8Length(sender);
+            }
+            payload.append(NEW_LINE).append(line);
+            size += lineSize;
+        }
+        if (payload.length() > sender.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Reads the sender of a notification payload.
+     */
+    static String sender(String payload) {
+        int end = payload.indexOf(NEW_LINE);
+        return end < 0 ? payload : payload.substring(0, end);
+    }
+
+    /**
+     * Reads the evictions of a notification payload.
+     */
+    static void read(String payload, Receiver receiver) {
+        int start = payload.indexOf(NEW_LINE);
+        while (start >= 0) {
+            int end = payload.indexOf(NEW_LINE, start + 1);
+            String line = end < 0 ? payload.substring(start + 1) : payload.substring(start + 1, end);
+            int separator = line.indexOf(SEPARATOR);
+            if (separator < 0) {
+                receiver.evictRegion(line);
+            } else {
+                Object id = decodeId(line.substring(separator + 1));
+                if (id == null) {
+                    receiver.evictRegion(line.substring(0, separator));
+                } else {
+                    receiver.evictKey(line.substring(0, separator), id);
+                }
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Writes an id with its type, or returns {@code null} for the types other than {@link Long}, {@link Integer} and
+     * {@link String}, and for strings holding a separator.
+     */
+    static String encodeId(Object id) {
+        if (id instanceof Long value) {
+            return "L" + value;
+        }
+        if (id instanceof Integer value) {
+            return "I" + value;
+        }
+        if (id instanceof String value && value.indexOf(SEPARATOR) < 0 && value.indexOf(NEW_LINE) < 0) {
+            return "S" + value;
+        }
+        return null;
+    }
+
+    static Object decodeId(String encodedId) {
+        if (encodedId.isEmpty()) {
+            return null;
+        }
+        String value = encodedId.substring(1);
+        try {
+            return switch (encodedId.charAt(0)) {
+                case 'L' -> Long.valueOf(value);
+                case 'I' -> Integer.valueOf(value);
+                case 'S' -> value;
+                default -> null;
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,97 @@
+package com.shoes.config;
+
+import javax.cache.Cache;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.internal.BasicCacheKeyImplementation;
+import org.hibernate.cache.internal.CacheKeyImplementation;
+import org.hibernate.cache.jcache.internal.JCacheAccessImpl;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * JCache region factory reporting the writes to the entity and collection regions to the
+ * {@link CacheCoherencePublisher}, so that the other instances evict what this one changed.
+ * <p>
+ * With {@code READ_WRITE} caching, every update or delete of an entity or collection locks its key first, and bulk
+ * updates evict the regions they touch; loads are not reported.
+ */
+public class CoherentJCacheRegionFactory extends JCacheRegionFactory {
+
+    private final CacheCoherencePublisher publisher;
+
+    public CoherentJCacheRegionFactory(CacheCoherencePublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+        DomainDataRegionConfig regionConfig,
+        DomainDataRegionBuildingContext buildingContext
+    ) {
+        JCacheAccessImpl storageAccess = (JCacheAccessImpl) super.createDomainDataStorageAccess(regionConfig, buildingContext);
+        return new PublishingStorageAccess(storageAccess.getUnderlyingCache(), regionConfig.getRegionName(), publisher);
+    }
+
+    private static final class PublishingStorageAccess extends JCacheAccessImpl {
+
+        private final String region;
+
+        private final CacheCoherencePublisher publisher;
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private PublishingStorageAccess(Cache cache, String region, CacheCoherencePublisher publisher) {
+            super(cache);
+            this.region = region;
+            this.publisher = publisher;
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (value instanceof SoftLock) {
+                evictKey(key);
+            }
+            super.putIntoCache(key, value, session);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            evictKey(key);
+            super.removeFromCache(key, session);
+        }
+
+        @Override
+        public void evictData(Object key) {
+            evictKey(key);
+            super.evictData(key);
+        }
+
+        @Override
+        public void evictData() {
+            publisher.evictRegion(region);
+            super.evictData();
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            publisher.evictRegion(region);
+            super.clearCache(session);
+        }
+
+        /**
+         * Reports the eviction of a key, or of the whole region when the key cannot be rebuilt from the region name
+         * and its id on the other side.
+         */
+        private void evictKey(Object key) {
+            if (key instanceof BasicCacheKeyImplementation cacheKey && region.equals(cacheKey.getEntityOrRoleName())) {
+                publisher.evictKey(region, cacheKey.getId());
+            } else if (key instanceof CacheKeyImplementation cacheKey && region.equals(cacheKey.getEntityOrRoleName())) {
+                publisher.evictKey(region, cacheKey.getId());
+            } else {
+                publisher.evictRegion(region);
+            }
+        }
+    }
+}
@@ -2,8 +2,16 @@ package com.shoes.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.management.SecurityMetersService;
 import com.shoes.security.*;
+import com.shoes.service.CatalogVersionService;
+import com.shoes.service.IdempotencyService;
+import com.shoes.web.filter.CatalogETagFilter;
+import com.shoes.web.filter.IdempotencyFilter;
 import com.shoes.web.filter.SpaWebFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +24,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
@@ -28,17 +37,41 @@ public class SecurityConfiguration {
 
     private final JHipsterProperties jHipsterProperties;
 
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
     public SecurityConfiguration(JHipsterProperties jHipsterProperties) {
         this.jHipsterProperties = jHipsterProperties;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
+        ApplicationProperties.PasswordHashing properties = applicationProperties.getPasswordHashing();
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(properties.getStrength()),
+            metersService,
+            properties.getPoolSize(),
+            properties.getQueueCapacity(),
+            properties.getRetryAfter()
+        );
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, MvcRequestMatcher.Builder mvc) throws Exception {
+    public SecurityFilterChain filterChain(
+        HttpSecurity http,
+        MvcRequestMatcher.Builder mvc,
+        ObjectProvider<IdempotencyService> idempotencyService,
+        ObjectProvider<CatalogVersionService> catalogVersionService,
+        ObjectProvider<ObjectMapper> objectMapper
+    ) throws Exception {
+        // Left out of the slices testing security alone, which have no persistence.
+        idempotencyService.ifAvailable(service ->
+            http.addFilterAfter(
+                new IdempotencyFilter(service, objectMapper.getIfAvailable(ObjectMapper::new), applicationName),
+                AuthorizationFilter.class
+            )
+        );
+        catalogVersionService.ifAvailable(service -> http.addFilterAfter(new CatalogETagFilter(service), AuthorizationFilter.class));
         http
             .cors(withDefaults())
             .csrf(csrf -> csrf.disable())
@@ -8,12 +8,15 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
 import org.springframework.boot.web.server.*;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -47,12 +50,28 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
     }
 
     /**
-     * Customize the Servlet engine: Mime types, the document root, the cache.
+     * Customize the Servlet engine: Mime types, the document root, the cache, the request threads.
      */
     @Override
     public void customize(WebServerFactory server) {
         // When running in an IDE or with ./mvnw spring-boot:run, set location of the static web assets.
         setLocationForStaticAssets(server);
+        setVirtualThreadsForRequests(server);
+    }
+
+    /**
+     * Dispatches servlet requests to virtual threads when {@code spring.threads.virtual.enabled} is set, instead of the
+     * Undertow worker pool: a request blocked on the database or a remote call then holds no platform thread.
+     */
+    private void setVirtualThreadsForRequests(WebServerFactory server) {
+        if (server instanceof UndertowServletWebServerFactory undertow && Threading.VIRTUAL.isActive(env)) {
+            log.debug("Dispatching requests to virtual threads");
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("undertow-");
+            undertow.addDeploymentInfoCustomizers(deploymentInfo -> {
+                deploymentInfo.setExecutor(executor);
+                deploymentInfo.setAsyncExecutor(executor);
+            });
+        }
     }
 
     private void setLocationForStaticAssets(WebServerFactory server) {
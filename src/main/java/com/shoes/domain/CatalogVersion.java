@@ -0,0 +1,59 @@
+package com.shoes.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A CatalogVersion : the number of writes committed to a catalog entity, used to tag its REST representations.
+ * <p>
+ * Rows are only written by the writes of the catalog, in SQL.
+ */
+@Entity
+@Immutable
+@Table(name = "catalog_version")
+public class CatalogVersion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "entity_name", length = 50)
+    private String entityName;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public String getEntityName() {
+        return this.entityName;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CatalogVersion)) {
+            return false;
+        }
+        return getEntityName() != null && getEntityName().equals(((CatalogVersion) o).getEntityName());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CatalogVersion{" +
+            "entityName='" + getEntityName() + "'" +
+            ", version=" + getVersion() +
+            "}";
+    }
+}
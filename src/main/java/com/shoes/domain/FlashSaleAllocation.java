@@ -0,0 +1,94 @@
+package com.shoes.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A FlashSaleAllocation : the stock of a {@link ShoeVariantSizes} moved into the flash-sale pool of a node, and not
+ * yet written back as reservations.
+ * <p>
+ * Rows are only written by the {@link com.shoes.service.StockReservationService}, in SQL.
+ */
+@Entity
+@Immutable
+@Table(name = "flash_sale_allocation")
+public class FlashSaleAllocation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "shoe_variant_sizes_id", nullable = false)
+    private Long shoeVariantSizesId;
+
+    @Column(name = "node_id", nullable = false)
+    private UUID nodeId;
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private Instant heartbeatAt;
+
+    @Column(name = "closing", nullable = false)
+    private Boolean closing;
+
+    public UUID getId() {
+        return this.id;
+    }
+
+    public Long getShoeVariantSizesId() {
+        return this.shoeVariantSizesId;
+    }
+
+    public UUID getNodeId() {
+        return this.nodeId;
+    }
+
+    public Long getQuantity() {
+        return this.quantity;
+    }
+
+    public Instant getHeartbeatAt() {
+        return this.heartbeatAt;
+    }
+
+    public Boolean getClosing() {
+        return this.closing;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FlashSaleAllocation)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((FlashSaleAllocation) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "FlashSaleAllocation{" +
+            "id=" + getId() +
+            ", shoeVariantSizesId=" + getShoeVariantSizesId() +
+            ", nodeId=" + getNodeId() +
+            ", quantity=" + getQuantity() +
+            ", heartbeatAt='" + getHeartbeatAt() + "'" +
+            ", closing='" + getClosing() + "'" +
+            "}";
+    }
+}
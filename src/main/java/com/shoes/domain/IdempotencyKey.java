@@ -0,0 +1,141 @@
+package com.shoes.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An IdempotencyKey : the response to a request sent with an {@code Idempotency-Key} header, replayed to its retries
+ * until it expires. The status is null while the request is in progress.
+ */
+@Entity
+@Table(name = "idempotency_key")
+public class IdempotencyKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id", length = 64)
+    private String id;
+
+    @Column(name = "fingerprint", length = 64, nullable = false)
+    private String fingerprint;
+
+    @Column(name = "status")
+    private Integer status;
+
+    @Column(name = "headers", length = 2048)
+    private String headers;
+
+    @Column(name = "body")
+    private byte[] body;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public IdempotencyKey id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+
+    public IdempotencyKey fingerprint(String fingerprint) {
+        this.setFingerprint(fingerprint);
+        return this;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public Integer getStatus() {
+        return this.status;
+    }
+
+    public IdempotencyKey status(Integer status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public String getHeaders() {
+        return this.headers;
+    }
+
+    public IdempotencyKey headers(String headers) {
+        this.setHeaders(headers);
+        return this;
+    }
+
+    public void setHeaders(String headers) {
+        this.headers = headers;
+    }
+
+    public byte[] getBody() {
+        return this.body;
+    }
+
+    public IdempotencyKey body(byte[] body) {
+        this.setBody(body);
+        return this;
+    }
+
+    public void setBody(byte[] body) {
+        this.body = body;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public IdempotencyKey expiresAt(Instant expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdempotencyKey)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((IdempotencyKey) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IdempotencyKey{" +
+            "id='" + getId() + "'" +
+            ", fingerprint='" + getFingerprint() + "'" +
+            ", status=" + getStatus() +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,163 @@
+package com.shoes.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An OutboxEvent : a change written in the same transaction as the change itself, and deleted once relayed to the
+ * outbox sinks. The events of an aggregate are numbered by {@code sequence}, from 1.
+ */
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "aggregate_type", length = 64, nullable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", length = 64, nullable = false)
+    private String aggregateId;
+
+    @Column(name = "sequence", nullable = false)
+    private Long sequence;
+
+    @Column(name = "event_type", length = 64, nullable = false)
+    private String eventType;
+
+    /**
+     * The event, as JSON.
+     */
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public OutboxEvent id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAggregateType() {
+        return this.aggregateType;
+    }
+
+    public OutboxEvent aggregateType(String aggregateType) {
+        this.setAggregateType(aggregateType);
+        return this;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateId() {
+        return this.aggregateId;
+    }
+
+    public OutboxEvent aggregateId(String aggregateId) {
+        this.setAggregateId(aggregateId);
+        return this;
+    }
+
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public Long getSequence() {
+        return this.sequence;
+    }
+
+    public OutboxEvent sequence(Long sequence) {
+        this.setSequence(sequence);
+        return this;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getEventType() {
+        return this.eventType;
+    }
+
+    public OutboxEvent eventType(String eventType) {
+        this.setEventType(eventType);
+        return this;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return this.payload;
+    }
+
+    public OutboxEvent payload(String payload) {
+        this.setPayload(payload);
+        return this;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public OutboxEvent createdAt(Instant createdAt) {
+        this.setCreatedAt(createdAt);
+        return this;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutboxEvent)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((OutboxEvent) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+            "id=" + getId() +
+            ", aggregateType='" + getAggregateType() + "'" +
+            ", aggregateId='" + getAggregateId() + "'" +
+            ", sequence=" + getSequence() +
+            ", eventType='" + getEventType() + "'" +
+            ", createdAt='" + getCreatedAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,105 @@
+package com.shoes.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A SalesRollup : the units and revenue of the {@link OrderItems} ordered on a day, in UTC, for a {@link Brand},
+ * {@link Category} and {@link ShoePurpose} of their {@link Shoes}; any of them may be null.
+ * <p>
+ * Rows are only written by the incremental refresh, in SQL.
+ */
+@Entity
+@Immutable
+@Table(name = "sales_rollup")
+public class SalesRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate salesDay;
+
+    @Column(name = "brand_id")
+    private Integer brandId;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "shoe_purpose_id")
+    private Integer shoePurposeId;
+
+    @Column(name = "units", nullable = false)
+    private Long units;
+
+    /**
+     * Sum of the quantity times the unit price of the items, in cents.
+     */
+    @Column(name = "revenue", nullable = false)
+    private Long revenue;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public LocalDate getSalesDay() {
+        return this.salesDay;
+    }
+
+    public Integer getBrandId() {
+        return this.brandId;
+    }
+
+    public Long getCategoryId() {
+        return this.categoryId;
+    }
+
+    public Integer getShoePurposeId() {
+        return this.shoePurposeId;
+    }
+
+    public Long getUnits() {
+        return this.units;
+    }
+
+    public Long getRevenue() {
+        return this.revenue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SalesRollup)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((SalesRollup) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesRollup{" +
+            "id=" + getId() +
+            ", salesDay='" + getSalesDay() + "'" +
+            ", brandId=" + getBrandId() +
+            ", categoryId=" + getCategoryId() +
+            ", shoePurposeId=" + getShoePurposeId() +
+            ", units=" + getUnits() +
+            ", revenue=" + getRevenue() +
+            "}";
+    }
+}
@@ -31,6 +31,13 @@ public class ShoeVariantSizes implements Serializable {
     @Column(name = "status")
     private Status status;
 
+    /**
+     * Bumped by every write, including the stock taken and put back by bulk updates, so that stale writes are refused.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "shoeVariantSizes", "cartItems", "orderItems", "shoeVariants" }, allowSetters = true)
     private Sizes sizes;
@@ -83,6 +90,19 @@ public class ShoeVariantSizes implements Serializable {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public ShoeVariantSizes version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Sizes getSizes() {
         return this.sizes;
     }
@@ -135,6 +155,7 @@ public class ShoeVariantSizes implements Serializable {
             "id=" + getId() +
             ", quantity=" + getQuantity() +
             ", status='" + getStatus() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
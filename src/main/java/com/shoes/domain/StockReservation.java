@@ -0,0 +1,130 @@
+package com.shoes.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A StockReservation : some quantity of a {@link ShoeVariantSizes} taken out of stock until it is confirmed,
+ * released or expires.
+ */
+@Entity
+@Table(name = "stock_reservation")
+public class StockReservation implements Serializable, Persistable<UUID> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "shoe_variant_sizes_id", nullable = false)
+    private Long shoeVariantSizesId;
+
+    @Transient
+    private boolean isPersisted;
+
+    public UUID getId() {
+        return this.id;
+    }
+
+    public StockReservation id(UUID id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Integer getQuantity() {
+        return this.quantity;
+    }
+
+    public StockReservation quantity(Integer quantity) {
+        this.setQuantity(quantity);
+        return this;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public StockReservation expiresAt(Instant expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getShoeVariantSizesId() {
+        return this.shoeVariantSizesId;
+    }
+
+    public StockReservation shoeVariantSizesId(Long shoeVariantSizesId) {
+        this.setShoeVariantSizesId(shoeVariantSizesId);
+        return this;
+    }
+
+    public void setShoeVariantSizesId(Long shoeVariantSizesId) {
+        this.shoeVariantSizesId = shoeVariantSizesId;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.setIsPersisted();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    public StockReservation setIsPersisted() {
+        this.isPersisted = true;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StockReservation)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((StockReservation) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockReservation{" +
+            "id=" + getId() +
+            ", quantity=" + getQuantity() +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            ", shoeVariantSizesId=" + getShoeVariantSizesId() +
+            "}";
+    }
+}
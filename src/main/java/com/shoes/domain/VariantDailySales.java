@@ -0,0 +1,125 @@
+package com.shoes.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A VariantDailySales : the quantity of a {@link ShoeVariants} sold on a day, in UTC, checkpointed from the counts
+ * kept in memory by each node.
+ */
+@Entity
+@Table(name = "variant_daily_sales")
+public class VariantDailySales implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity;
+
+    public Key getKey() {
+        return this.key;
+    }
+
+    public VariantDailySales key(Key key) {
+        this.setKey(key);
+        return this;
+    }
+
+    public void setKey(Key key) {
+        this.key = key;
+    }
+
+    public Long getQuantity() {
+        return this.quantity;
+    }
+
+    public VariantDailySales quantity(Long quantity) {
+        this.setQuantity(quantity);
+        return this;
+    }
+
+    public void setQuantity(Long quantity) {
+        this.quantity = quantity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VariantDailySales)) {
+            return false;
+        }
+        return getKey() != null && getKey().equals(((VariantDailySales) o).getKey());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VariantDailySales{" +
+            "shoeVariantsId=" + (getKey() != null ? getKey().getShoeVariantsId() : null) +
+            ", salesDay='" + (getKey() != null ? getKey().getSalesDay() : null) + "'" +
+            ", quantity=" + getQuantity() +
+            "}";
+    }
+
+    /**
+     * The variant and the day.
+     */
+    @Embeddable
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Column(name = "shoe_variants_id", nullable = false)
+        private Long shoeVariantsId;
+
+        @Column(name = "sales_day", nullable = false)
+        private LocalDate salesDay;
+
+        public Key() {
+            // Empty constructor needed for Hibernate.
+        }
+
+        public Key(Long shoeVariantsId, LocalDate salesDay) {
+            this.shoeVariantsId = shoeVariantsId;
+            this.salesDay = salesDay;
+        }
+
+        public Long getShoeVariantsId() {
+            return shoeVariantsId;
+        }
+
+        public LocalDate getSalesDay() {
+            return salesDay;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(shoeVariantsId, other.shoeVariantsId) && Objects.equals(salesDay, other.salesDay);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shoeVariantsId, salesDay);
+        }
+    }
+}
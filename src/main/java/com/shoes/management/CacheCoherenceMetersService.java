@@ -0,0 +1,64 @@
+package com.shoes.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheCoherenceMetersService {
+
+    public static final String INVALIDATIONS_METER_NAME = "cache.coherence.invalidations";
+    public static final String INVALIDATIONS_METER_DESCRIPTION =
+        "Indicates how many second-level cache evictions were sent to the other instances, and how many were received from them.";
+    public static final String INVALIDATIONS_METER_BASE_UNIT = "evictions";
+    public static final String INVALIDATIONS_METER_DIRECTION_DIMENSION = "direction";
+    public static final String INVALIDATIONS_METER_SCOPE_DIMENSION = "scope";
+
+    public static final String RESYNCS_METER_NAME = "cache.coherence.resyncs";
+    public static final String RESYNCS_METER_DESCRIPTION =
+        "Indicates how many times every region was evicted because evictions from the other instances may have been missed.";
+
+    public static final String DIRECTION_SENT = "sent";
+    public static final String DIRECTION_RECEIVED = "received";
+    public static final String SCOPE_KEY = "key";
+    public static final String SCOPE_REGION = "region";
+
+    private final Counter keysSentCounter;
+    private final Counter regionsSentCounter;
+    private final Counter keysReceivedCounter;
+    private final Counter regionsReceivedCounter;
+    private final Counter resyncsCounter;
+
+    public CacheCoherenceMetersService(MeterRegistry registry) {
+        this.keysSentCounter = invalidationsCounterBuilder(DIRECTION_SENT, SCOPE_KEY).register(registry);
+        this.regionsSentCounter = invalidationsCounterBuilder(DIRECTION_SENT, SCOPE_REGION).register(registry);
+        this.keysReceivedCounter = invalidationsCounterBuilder(DIRECTION_RECEIVED, SCOPE_KEY).register(registry);
+        this.regionsReceivedCounter = invalidationsCounterBuilder(DIRECTION_RECEIVED, SCOPE_REGION).register(registry);
+        this.resyncsCounter = Counter.builder(RESYNCS_METER_NAME).description(RESYNCS_METER_DESCRIPTION).register(registry);
+    }
+
+    private Counter.Builder invalidationsCounterBuilder(String direction, String scope) {
+        return Counter.builder(INVALIDATIONS_METER_NAME)
+            .baseUnit(INVALIDATIONS_METER_BASE_UNIT)
+            .description(INVALIDATIONS_METER_DESCRIPTION)
+            .tag(INVALIDATIONS_METER_DIRECTION_DIMENSION, direction)
+            .tag(INVALIDATIONS_METER_SCOPE_DIMENSION, scope);
+    }
+
+    public void trackSent(int keys, int regions) {
+        this.keysSentCounter.increment(keys);
+        this.regionsSentCounter.increment(regions);
+    }
+
+    public void trackKeyReceived() {
+        this.keysReceivedCounter.increment();
+    }
+
+    public void trackRegionReceived() {
+        this.regionsReceivedCounter.increment();
+    }
+
+    public void trackResync() {
+        this.resyncsCounter.increment();
+    }
+}
@@ -0,0 +1,57 @@
+package com.shoes.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CheckoutMetersService {
+
+    public static final String CHECKOUT_METER_NAME = "checkout";
+    public static final String CHECKOUT_METER_DESCRIPTION = "Indicates how long checkouts take, and how they end.";
+    public static final String CHECKOUT_METER_OUTCOME_DIMENSION = "outcome";
+
+    public static final String STAGES_METER_NAME = "checkout.stages";
+    public static final String STAGES_METER_DESCRIPTION = "Indicates how long each stage of a successful checkout takes.";
+    public static final String STAGES_METER_STAGE_DIMENSION = "stage";
+
+    private final MeterRegistry registry;
+    private final Timer completedTimer;
+    private final Timer rejectedTimer;
+    private final Timer conflictTimer;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+
+    public CheckoutMetersService(MeterRegistry registry) {
+        this.registry = registry;
+        this.completedTimer = checkoutTimerBuilder("completed").register(registry);
+        this.rejectedTimer = checkoutTimerBuilder("rejected").register(registry);
+        this.conflictTimer = checkoutTimerBuilder("conflict").register(registry);
+    }
+
+    private Timer.Builder checkoutTimerBuilder(String outcome) {
+        return Timer.builder(CHECKOUT_METER_NAME).description(CHECKOUT_METER_DESCRIPTION).tag(CHECKOUT_METER_OUTCOME_DIMENSION, outcome);
+    }
+
+    private Timer stageTimer(String stage) {
+        return stageTimers.computeIfAbsent(stage, key ->
+            Timer.builder(STAGES_METER_NAME).description(STAGES_METER_DESCRIPTION).tag(STAGES_METER_STAGE_DIMENSION, key).register(registry)
+        );
+    }
+
+    public void trackCompleted(long startNanos, Map<String, Duration> stages) {
+        completedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        stages.forEach((stage, duration) -> stageTimer(stage).record(duration));
+    }
+
+    public void trackRejected(long startNanos) {
+        rejectedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackConflict(long startNanos) {
+        conflictTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
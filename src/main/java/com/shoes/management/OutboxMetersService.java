@@ -0,0 +1,70 @@
+package com.shoes.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class OutboxMetersService {
+
+    public static final String EVENTS_METER_NAME = "outbox.events";
+    public static final String EVENTS_METER_DESCRIPTION =
+        "Indicates how many events were written to the outbox, and how many were relayed.";
+    public static final String EVENTS_METER_BASE_UNIT = "events";
+    public static final String EVENTS_METER_STAGE_DIMENSION = "stage";
+
+    public static final String FAILURES_METER_NAME = "outbox.relay.failures";
+    public static final String FAILURES_METER_DESCRIPTION =
+        "Indicates how many times a batch of events could not be relayed, to be retried.";
+
+    public static final String DELIVERY_LAG_METER_NAME = "outbox.delivery.lag";
+    public static final String DELIVERY_LAG_METER_DESCRIPTION = "Indicates how long events stayed in the outbox before being relayed.";
+
+    public static final String LAG_METER_NAME = "outbox.lag";
+    public static final String LAG_METER_DESCRIPTION = "Indicates the age of the oldest event left in the outbox, 0 when it is drained.";
+
+    private final Counter recordedCounter;
+    private final Counter deliveredCounter;
+    private final Counter failuresCounter;
+    private final Timer deliveryLagTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxMetersService(MeterRegistry registry) {
+        this.recordedCounter = eventsCounterBuilder("recorded").register(registry);
+        this.deliveredCounter = eventsCounterBuilder("delivered").register(registry);
+        this.failuresCounter = Counter.builder(FAILURES_METER_NAME).description(FAILURES_METER_DESCRIPTION).register(registry);
+        this.deliveryLagTimer = Timer.builder(DELIVERY_LAG_METER_NAME).description(DELIVERY_LAG_METER_DESCRIPTION).register(registry);
+        TimeGauge.builder(LAG_METER_NAME, lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description(LAG_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    private Counter.Builder eventsCounterBuilder(String stage) {
+        return Counter.builder(EVENTS_METER_NAME)
+            .baseUnit(EVENTS_METER_BASE_UNIT)
+            .description(EVENTS_METER_DESCRIPTION)
+            .tag(EVENTS_METER_STAGE_DIMENSION, stage);
+    }
+
+    public void trackRecorded() {
+        this.recordedCounter.increment();
+    }
+
+    public void trackDelivered(Duration lag) {
+        this.deliveredCounter.increment();
+        this.deliveryLagTimer.record(lag);
+    }
+
+    public void trackFailure() {
+        this.failuresCounter.increment();
+    }
+
+    public void trackLag(Duration lag) {
+        this.lagMillis.set(lag.toMillis());
+    }
+}
@@ -0,0 +1,55 @@
+package com.shoes.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ProductReadMetersService {
+
+    public static final String LOADS_METER_NAME = "product.reads.loads";
+    public static final String LOADS_METER_DESCRIPTION =
+        "Indicates how many product detail loads ran against the database, and how many joined one already in flight.";
+    public static final String LOADS_METER_BASE_UNIT = "loads";
+    public static final String LOADS_METER_ENTITY_DIMENSION = "entity";
+    public static final String LOADS_METER_OUTCOME_DIMENSION = "outcome";
+
+    public static final String OUTCOME_EXECUTED = "executed";
+    public static final String OUTCOME_COALESCED = "coalesced";
+
+    private final Counter shoeVariantsExecutedCounter;
+    private final Counter shoeVariantsCoalescedCounter;
+    private final Counter shoesExecutedCounter;
+    private final Counter shoesCoalescedCounter;
+
+    public ProductReadMetersService(MeterRegistry registry) {
+        this.shoeVariantsExecutedCounter = loadsCounterBuilder("shoeVariants", OUTCOME_EXECUTED).register(registry);
+        this.shoeVariantsCoalescedCounter = loadsCounterBuilder("shoeVariants", OUTCOME_COALESCED).register(registry);
+        this.shoesExecutedCounter = loadsCounterBuilder("shoes", OUTCOME_EXECUTED).register(registry);
+        this.shoesCoalescedCounter = loadsCounterBuilder("shoes", OUTCOME_COALESCED).register(registry);
+    }
+
+    private Counter.Builder loadsCounterBuilder(String entity, String outcome) {
+        return Counter.builder(LOADS_METER_NAME)
+            .baseUnit(LOADS_METER_BASE_UNIT)
+            .description(LOADS_METER_DESCRIPTION)
+            .tag(LOADS_METER_ENTITY_DIMENSION, entity)
+            .tag(LOADS_METER_OUTCOME_DIMENSION, outcome);
+    }
+
+    public void trackShoeVariantsExecuted() {
+        this.shoeVariantsExecutedCounter.increment();
+    }
+
+    public void trackShoeVariantsCoalesced() {
+        this.shoeVariantsCoalescedCounter.increment();
+    }
+
+    public void trackShoesExecuted() {
+        this.shoesExecutedCounter.increment();
+    }
+
+    public void trackShoesCoalesced() {
+        this.shoesCoalescedCounter.increment();
+    }
+}
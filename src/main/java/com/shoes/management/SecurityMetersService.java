@@ -2,6 +2,11 @@ package com.shoes.management;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +18,57 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION =
+        "Indicates how many tokens were found among those already verified; the hit ratio is the share of the 'hit' result.";
+    public static final String TOKEN_CACHE_METER_BASE_UNIT = "tokens";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+
+    public static final String TOKEN_DECODE_METER_NAME = "security.authentication.token-decode";
+    public static final String TOKEN_DECODE_METER_DESCRIPTION = "Indicates how long parsing and verifying a token takes.";
+
+    public static final String PASSWORD_HASHING_METER_NAME = "security.password-hashing";
+    public static final String PASSWORD_HASHING_METER_DESCRIPTION =
+        "Indicates how long hashing or checking a password takes, queueing left out.";
+    public static final String PASSWORD_HASHING_METER_OPERATION_DIMENSION = "operation";
+    public static final String PASSWORD_HASHING_ENCODE = "encode";
+    public static final String PASSWORD_HASHING_MATCHES = "matches";
+
+    public static final String PASSWORD_HASHING_REJECTED_METER_NAME = "security.password-hashing.rejected";
+    public static final String PASSWORD_HASHING_REJECTED_METER_DESCRIPTION =
+        "Indicates how many passwords could not be hashed or checked because the password hashing pool was saturated.";
+
+    /**
+     * Name of the password hashing pool in the {@code executor.*} meters, whose {@code executor.queued} is the queue depth.
+     */
+    public static final String PASSWORD_HASHING_EXECUTOR_NAME = "password-hashing";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+    private final Timer tokenDecodeTimer;
+    private final Timer passwordEncodeTimer;
+    private final Timer passwordMatchesTimer;
+    private final Counter passwordHashingRejectedCounter;
+    private final MeterRegistry registry;
 
     public SecurityMetersService(MeterRegistry registry) {
+        this.registry = registry;
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+        this.tokenDecodeTimer = Timer.builder(TOKEN_DECODE_METER_NAME).description(TOKEN_DECODE_METER_DESCRIPTION).register(registry);
+        this.passwordEncodeTimer = passwordHashingTimerForOperationBuilder(PASSWORD_HASHING_ENCODE).register(registry);
+        this.passwordMatchesTimer = passwordHashingTimerForOperationBuilder(PASSWORD_HASHING_MATCHES).register(registry);
+        this.passwordHashingRejectedCounter = Counter.builder(PASSWORD_HASHING_REJECTED_METER_NAME)
+            .description(PASSWORD_HASHING_REJECTED_METER_DESCRIPTION)
+            .register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +78,19 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_METER_NAME)
+            .baseUnit(TOKEN_CACHE_METER_BASE_UNIT)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private Timer.Builder passwordHashingTimerForOperationBuilder(String operation) {
+        return Timer.builder(PASSWORD_HASHING_METER_NAME)
+            .description(PASSWORD_HASHING_METER_DESCRIPTION)
+            .tag(PASSWORD_HASHING_METER_OPERATION_DIMENSION, operation);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -47,4 +106,28 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public void trackTokenDecode(long nanos) {
+        this.tokenDecodeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void monitorPasswordHashing(ExecutorService executor) {
+        new ExecutorServiceMetrics(executor, PASSWORD_HASHING_EXECUTOR_NAME, List.of()).bindTo(registry);
+    }
+
+    public void trackPasswordHashing(String operation, long nanos) {
+        (PASSWORD_HASHING_ENCODE.equals(operation) ? passwordEncodeTimer : passwordMatchesTimer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackPasswordHashingRejected() {
+        this.passwordHashingRejectedCounter.increment();
+    }
 }
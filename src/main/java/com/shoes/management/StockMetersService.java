@@ -0,0 +1,68 @@
+package com.shoes.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+
+@Service
+public class StockMetersService {
+
+    public static final String RESERVATIONS_METER_NAME = "stock.reservations";
+    public static final String RESERVATIONS_METER_DESCRIPTION =
+        "Indicates how long stock reservations take; the conflict rate is the share of the 'conflict' outcome.";
+    public static final String RESERVATIONS_METER_PATH_DIMENSION = "path";
+    public static final String RESERVATIONS_METER_OUTCOME_DIMENSION = "outcome";
+
+    public static final String RELEASED_METER_NAME = "stock.reservations.released";
+    public static final String RELEASED_METER_DESCRIPTION = "Indicates how many stock reservations were released, and why.";
+    public static final String RELEASED_METER_BASE_UNIT = "reservations";
+    public static final String RELEASED_METER_CAUSE_DIMENSION = "cause";
+
+    private final Timer databaseReservedTimer;
+    private final Timer databaseConflictTimer;
+    private final Timer flashSaleReservedTimer;
+    private final Timer flashSaleConflictTimer;
+    private final Counter cancelledCounter;
+    private final Counter expiredCounter;
+
+    public StockMetersService(MeterRegistry registry) {
+        this.databaseReservedTimer = reservationsTimerBuilder("database", "reserved").register(registry);
+        this.databaseConflictTimer = reservationsTimerBuilder("database", "conflict").register(registry);
+        this.flashSaleReservedTimer = reservationsTimerBuilder("flash-sale", "reserved").register(registry);
+        this.flashSaleConflictTimer = reservationsTimerBuilder("flash-sale", "conflict").register(registry);
+        this.cancelledCounter = releasedCounterForCauseBuilder("cancelled").register(registry);
+        this.expiredCounter = releasedCounterForCauseBuilder("expired").register(registry);
+    }
+
+    private Timer.Builder reservationsTimerBuilder(String path, String outcome) {
+        return Timer.builder(RESERVATIONS_METER_NAME)
+            .description(RESERVATIONS_METER_DESCRIPTION)
+            .tag(RESERVATIONS_METER_PATH_DIMENSION, path)
+            .tag(RESERVATIONS_METER_OUTCOME_DIMENSION, outcome);
+    }
+
+    private Counter.Builder releasedCounterForCauseBuilder(String cause) {
+        return Counter.builder(RELEASED_METER_NAME)
+            .baseUnit(RELEASED_METER_BASE_UNIT)
+            .description(RELEASED_METER_DESCRIPTION)
+            .tag(RELEASED_METER_CAUSE_DIMENSION, cause);
+    }
+
+    public void trackDatabaseReservation(long startNanos, boolean reserved) {
+        (reserved ? databaseReservedTimer : databaseConflictTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackFlashSaleReservation(long startNanos, boolean reserved) {
+        (reserved ? flashSaleReservedTimer : flashSaleConflictTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackCancelled() {
+        this.cancelledCounter.increment();
+    }
+
+    public void trackExpired(int count) {
+        this.expiredCounter.increment(count);
+    }
+}
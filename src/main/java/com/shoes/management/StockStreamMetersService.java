@@ -0,0 +1,61 @@
+package com.shoes.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Service;
+
+@Service
+public class StockStreamMetersService {
+
+    public static final String CONNECTIONS_METER_NAME = "stock.stream.connections";
+    public static final String CONNECTIONS_METER_DESCRIPTION = "Indicates how many stock level streams are open on this instance.";
+
+    public static final String REJECTED_METER_NAME = "stock.stream.rejected";
+    public static final String REJECTED_METER_DESCRIPTION =
+        "Indicates how many stock level streams were refused, as this instance had as many open as it allows.";
+
+    public static final String LEVELS_METER_NAME = "stock.stream.levels";
+    public static final String LEVELS_METER_DESCRIPTION =
+        "Indicates how many changed sizes were announced to the instances, and how many stock levels were sent to the streams.";
+    public static final String LEVELS_METER_BASE_UNIT = "levels";
+    public static final String LEVELS_METER_STAGE_DIMENSION = "stage";
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter rejectedCounter;
+    private final Counter announcedCounter;
+    private final Counter sentCounter;
+
+    public StockStreamMetersService(MeterRegistry registry) {
+        Gauge.builder(CONNECTIONS_METER_NAME, connections, AtomicInteger::get)
+            .description(CONNECTIONS_METER_DESCRIPTION)
+            .register(registry);
+        this.rejectedCounter = Counter.builder(REJECTED_METER_NAME).description(REJECTED_METER_DESCRIPTION).register(registry);
+        this.announcedCounter = levelsCounterBuilder("announced").register(registry);
+        this.sentCounter = levelsCounterBuilder("sent").register(registry);
+    }
+
+    private Counter.Builder levelsCounterBuilder(String stage) {
+        return Counter.builder(LEVELS_METER_NAME)
+            .baseUnit(LEVELS_METER_BASE_UNIT)
+            .description(LEVELS_METER_DESCRIPTION)
+            .tag(LEVELS_METER_STAGE_DIMENSION, stage);
+    }
+
+    public void trackConnections(int open) {
+        this.connections.set(open);
+    }
+
+    public void trackRejected() {
+        this.rejectedCounter.increment();
+    }
+
+    public void trackAnnounced(int count) {
+        this.announcedCounter.increment(count);
+    }
+
+    public void trackSent(int count) {
+        this.sentCounter.increment(count);
+    }
+}
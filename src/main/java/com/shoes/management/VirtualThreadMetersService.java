@@ -0,0 +1,114 @@
+package com.shoes.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Meters the virtual threads, when {@code spring.threads.virtual.enabled} is set on a JVM supporting them.
+ * <p>
+ * A virtual thread blocking inside a {@code synchronized} block or a native call stays pinned to its carrier thread,
+ * which then serves no other virtual thread. The JVM reports such pinning, and failed submissions to the carriers, as
+ * flight recorder events, streamed here into meters.
+ */
+@Service
+public class VirtualThreadMetersService {
+
+    public static final String CARRIERS_METER_NAME = "jvm.threads.virtual.carriers";
+    public static final String CARRIERS_METER_DESCRIPTION = "Indicates how many carrier threads run the virtual threads.";
+
+    public static final String PINNED_METER_NAME = "jvm.threads.virtual.pinned";
+    public static final String PINNED_METER_DESCRIPTION =
+        "Indicates how long virtual threads stayed pinned to their carrier thread, for pinning longer than 20 ms.";
+
+    public static final String SUBMIT_FAILED_METER_NAME = "jvm.threads.virtual.submit.failed";
+    public static final String SUBMIT_FAILED_METER_DESCRIPTION = "Indicates how many virtual threads could not be started or unparked.";
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadMetersService.class);
+
+    private final MeterRegistry registry;
+
+    private final boolean active;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadMetersService(MeterRegistry registry, Environment environment) {
+        this.registry = registry;
+        this.active = Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * Returns the number of carrier threads of the virtual thread scheduler.
+     */
+    public static int carrierParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (active) {
+            start();
+        }
+    }
+
+    /**
+     * Registers the meters and streams the events into them. On a JVM without virtual threads the events do not exist,
+     * and the meters stay at zero.
+     */
+    synchronized void start() {
+        if (recordingStream != null) {
+            return;
+        }
+        Gauge.builder(CARRIERS_METER_NAME, VirtualThreadMetersService::carrierParallelism)
+            .description(CARRIERS_METER_DESCRIPTION)
+            .register(registry);
+        Timer pinnedTimer = Timer.builder(PINNED_METER_NAME).description(PINNED_METER_DESCRIPTION).register(registry);
+        Counter submitFailedCounter = Counter.builder(SUBMIT_FAILED_METER_NAME)
+            .description(SUBMIT_FAILED_METER_DESCRIPTION)
+            .register(registry);
+
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(PINNED_THRESHOLD).withStackTrace();
+        recordingStream.enable(SUBMIT_FAILED_EVENT);
+        recordingStream.onEvent(PINNED_EVENT, event -> {
+            pinnedTimer.record(event.getDuration());
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), topFrame(event));
+        });
+        recordingStream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailedCounter.increment());
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "an unknown frame";
+        }
+        RecordedFrame frame = event.getStackTrace().getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BrandRepository extends JpaRepository<Brand, Integer> {}
+public interface BrandRepository extends JpaRepository<Brand, Integer>, KeysetRepository<Brand, Integer> {}
@@ -1,7 +1,11 @@
 package com.shoes.repository;
 
 import com.shoes.domain.CartItems;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,67 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CartItemsRepository extends JpaRepository<CartItems, Long> {}
+public interface CartItemsRepository extends JpaRepository<CartItems, Long>, KeysetRepository<CartItems, Long> {
+    String API_ROW_SELECT =
+        "select cartItems.id as id, cartItems.quantity as quantity, cartItems.cart.id as cartId, " +
+        "cartItems.colors.id as colorsId, cartItems.shoeVariants.id as shoeVariantsId, cartItems.sizes.id as sizesId " +
+        "from CartItems cartItems ";
+
+    @Query(API_ROW_SELECT + "order by cartItems.id")
+    List<ApiRow> findApiRows(Limit limit);
+
+    @Query(API_ROW_SELECT + "where cartItems.id > :after order by cartItems.id")
+    List<ApiRow> findApiRowsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(API_ROW_SELECT + "where cartItems.id = :id")
+    Optional<ApiRow> findApiRowById(@Param("id") Long id);
+
+    /**
+     * Returns up to {@code limit} rows with an id greater than {@code after}, or the first ones if {@code after} is null.
+     */
+    default List<ApiRow> findApiRowPageAfter(Long after, Limit limit) {
+        return after == null ? findApiRows(limit) : findApiRowsAfter(after, limit);
+    }
+
+    @Query(
+        "select cartItems.id as id, cartItems.quantity as quantity, cartItems.shoeVariants.id as shoeVariantsId, " +
+        "cartItems.colors.id as colorsId, cartItems.sizes.id as sizesId " +
+        "from CartItems cartItems where cartItems.cart.id = :cartId order by cartItems.id"
+    )
+    List<CheckoutRow> findCheckoutRowsByCartId(@Param("cartId") Integer cartId);
+
+    @Query("select cartItems from CartItems cartItems where cartItems.cart.id = :cartId order by cartItems.id")
+    List<CartItems> findAllByCartId(@Param("cartId") Integer cartId);
+
+    /**
+     * Projection of a {@link CartItems} with the ids of what it references, as needed to check it out.
+     */
+    interface CheckoutRow {
+        Long getId();
+
+        Integer getQuantity();
+
+        Long getShoeVariantsId();
+
+        Integer getColorsId();
+
+        Integer getSizesId();
+    }
+
+    /**
+     * Projection of a {@link CartItems} as returned by the REST API, with the ids of what it references.
+     */
+    interface ApiRow {
+        Long getId();
+
+        Integer getQuantity();
+
+        Integer getCartId();
+
+        Integer getColorsId();
+
+        Long getShoeVariantsId();
+
+        Integer getSizesId();
+    }
+}
@@ -1,7 +1,13 @@
 package com.shoes.repository;
 
 import com.shoes.domain.Cart;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,41 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CartRepository extends JpaRepository<Cart, Integer> {}
+public interface CartRepository extends JpaRepository<Cart, Integer>, KeysetRepository<Cart, Integer> {
+    String API_ROW_SELECT =
+        "select cart.id as id, cart.createdAt as createdAt, cart.customer.id as customerId from Cart cart ";
+
+    @Query(API_ROW_SELECT + "order by cart.id")
+    List<ApiRow> findApiRows(Limit limit);
+
+    @Query(API_ROW_SELECT + "where cart.id > :after order by cart.id")
+    List<ApiRow> findApiRowsAfter(@Param("after") Integer after, Limit limit);
+
+    @Query(API_ROW_SELECT + "where cart.id = :id")
+    Optional<ApiRow> findApiRowById(@Param("id") Integer id);
+
+    /**
+     * Returns up to {@code limit} rows with an id greater than {@code after}, or the first ones if {@code after} is null.
+     */
+    default List<ApiRow> findApiRowPageAfter(Integer after, Limit limit) {
+        return after == null ? findApiRows(limit) : findApiRowsAfter(after, limit);
+    }
+
+    /**
+     * Locks a cart so that it is checked out only once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select cart from Cart cart where cart.id = :id")
+    Optional<Cart> findOneForUpdate(@Param("id") Integer id);
+
+    /**
+     * Projection of a {@link Cart} as returned by the REST API, with the ids of what it references.
+     */
+    interface ApiRow {
+        Integer getId();
+
+        Instant getCreatedAt();
+
+        Long getCustomerId();
+    }
+}
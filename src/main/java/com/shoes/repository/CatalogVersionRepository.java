@@ -0,0 +1,28 @@
+package com.shoes.repository;
+
+import com.shoes.domain.CatalogVersion;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the CatalogVersion entity.
+ */
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+    /**
+     * Adds one to the version of an entity, creating it at 1. The row stays locked until the transaction ends, so
+     * that concurrent writes to the entity commit their bumps one after the other.
+     */
+    @Modifying
+    @Query(
+        value = "insert into catalog_version (entity_name, version) values (:entityName, 1) " +
+        "on conflict (entity_name) do update set version = catalog_version.version + 1",
+        nativeQuery = true
+    )
+    int bump(@Param("entityName") String entityName);
+
+    @Query("select catalogVersion.version from CatalogVersion catalogVersion where catalogVersion.entityName = :entityName")
+    Optional<Long> findVersionByEntityName(@Param("entityName") String entityName);
+}
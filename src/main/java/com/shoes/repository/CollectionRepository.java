@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CollectionRepository extends JpaRepository<Collection, Integer> {}
+public interface CollectionRepository extends JpaRepository<Collection, Integer>, KeysetRepository<Collection, Integer> {}
@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ColorsRepository extends JpaRepository<Colors, Integer> {}
+public interface ColorsRepository extends JpaRepository<Colors, Integer>, KeysetRepository<Colors, Integer> {}
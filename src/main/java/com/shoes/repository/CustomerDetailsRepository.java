@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CustomerDetailsRepository extends JpaRepository<CustomerDetails, Long> {}
+public interface CustomerDetailsRepository extends JpaRepository<CustomerDetails, Long>, KeysetRepository<CustomerDetails, Long> {}
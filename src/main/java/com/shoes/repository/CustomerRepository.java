@@ -9,4 +9,5 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {}
+public interface CustomerRepository
+    extends CustomerRepositoryWithFilters, JpaRepository<Customer, Long>, KeysetRepository<Customer, Long> {}
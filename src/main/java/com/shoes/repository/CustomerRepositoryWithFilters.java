@@ -0,0 +1,44 @@
+package com.shoes.repository;
+
+import com.shoes.domain.Customer;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Seek queries paging through the customers which lack some of their one-to-one relationships.
+ */
+public interface CustomerRepositoryWithFilters {
+    /**
+     * The one-to-one relationships of a {@link Customer}, each held by a unique foreign key on the other side.
+     */
+    enum Relationship {
+        CART("Cart"),
+        CUSTOMER_DETAILS("CustomerDetails"),
+        WISH_LIST("WishList");
+
+        private final String entityName;
+
+        Relationship(String entityName) {
+            this.entityName = entityName;
+        }
+
+        public String getEntityName() {
+            return entityName;
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} customers without any of the given relationships, with an id greater than
+     * {@code after}, or the first ones if {@code after} is null. Their one-to-one relationships are fetched by the same
+     * statement.
+     *
+     * @param missing the relationships the customers must lack, none to page through all of them.
+     */
+    List<Customer> findPageWithout(Set<Relationship> missing, Long after, Limit limit);
+
+    /**
+     * Counts the customers without any of the given relationships.
+     */
+    long countWithout(Set<Relationship> missing);
+}
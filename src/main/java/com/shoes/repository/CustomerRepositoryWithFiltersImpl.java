@@ -0,0 +1,67 @@
+package com.shoes.repository;
+
+import com.shoes.domain.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Filters customers with one {@code not exists} subquery per missing relationship. The database runs each as an anti
+ * join probing the unique index on the {@code customer_id} column of the other table while it walks the customers in
+ * primary key order, so a page reads about as many rows as it returns, whatever the number of customers.
+ * <p>
+ * Pages fetch the one-to-one relationships of the customers in the same statement: they are mapped on the other side,
+ * so Hibernate would otherwise read each of them with a query of its own for every customer loaded.
+ */
+public class CustomerRepositoryWithFiltersImpl implements CustomerRepositoryWithFilters {
+
+    private static final String AFTER_PARAMETER = "after";
+
+    private static final String SELECT_WITH_RELATIONSHIPS =
+        "select customer from Customer customer left join fetch customer.cart " +
+        "left join fetch customer.customerDetails left join fetch customer.wishList";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Customer> findPageWithout(Set<Relationship> missing, Long after, Limit limit) {
+        String where = where(missing, after != null);
+        TypedQuery<Customer> query = entityManager.createQuery(SELECT_WITH_RELATIONSHIPS + where + " order by customer.id", Customer.class);
+        if (after != null) {
+            query.setParameter(AFTER_PARAMETER, after);
+        }
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public long countWithout(Set<Relationship> missing) {
+        return entityManager
+            .createQuery("select count(customer) from Customer customer" + where(missing, false), Long.class)
+            .getSingleResult();
+    }
+
+    private static String where(Set<Relationship> missing, boolean after) {
+        StringBuilder where = new StringBuilder();
+        // Enum order, so that each combination always gives the same statement.
+        for (Relationship relationship : Relationship.values()) {
+            if (missing.contains(relationship)) {
+                where
+                    .append(where.isEmpty() ? " where " : " and ")
+                    .append("not exists (select 1 from ")
+                    .append(relationship.getEntityName())
+                    .append(" other where other.customer.id = customer.id)");
+            }
+        }
+        if (after) {
+            where.append(where.isEmpty() ? " where " : " and ").append("customer.id > :").append(AFTER_PARAMETER);
+        }
+        return where.toString();
+    }
+}
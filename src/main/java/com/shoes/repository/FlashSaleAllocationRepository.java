@@ -0,0 +1,79 @@
+package com.shoes.repository;
+
+import com.shoes.domain.FlashSaleAllocation;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the FlashSaleAllocation entity.
+ */
+@Repository
+public interface FlashSaleAllocationRepository extends JpaRepository<FlashSaleAllocation, UUID> {
+    /**
+     * Adds {@code quantity} to the allocation of a size on a node, creating it.
+     */
+    @Modifying
+    @Query(
+        value = "insert into flash_sale_allocation (id, shoe_variant_sizes_id, node_id, quantity, heartbeat_at, closing) " +
+        "values (:id, :shoeVariantSizesId, :nodeId, :quantity, :now, false) " +
+        "on conflict (shoe_variant_sizes_id, node_id) do update set quantity = flash_sale_allocation.quantity + excluded.quantity",
+        nativeQuery = true
+    )
+    int allocate(
+        @Param("id") UUID id,
+        @Param("shoeVariantSizesId") Long shoeVariantSizesId,
+        @Param("nodeId") UUID nodeId,
+        @Param("quantity") long quantity,
+        @Param("now") Instant now
+    );
+
+    /**
+     * Adds {@code quantity}, which may be negative, to the allocation of a size on a node, if it still exists.
+     */
+    @Modifying
+    @Query(
+        value = "update flash_sale_allocation set quantity = quantity + :quantity " +
+        "where shoe_variant_sizes_id = :shoeVariantSizesId and node_id = :nodeId",
+        nativeQuery = true
+    )
+    int addQuantity(@Param("shoeVariantSizesId") Long shoeVariantSizesId, @Param("nodeId") UUID nodeId, @Param("quantity") long quantity);
+
+    /**
+     * Marks the allocations of a size on every node to be closed by the node holding them.
+     *
+     * @return the number of allocations marked.
+     */
+    @Modifying
+    @Query(value = "update flash_sale_allocation set closing = true where shoe_variant_sizes_id = :shoeVariantSizesId", nativeQuery = true)
+    int requestClosing(@Param("shoeVariantSizesId") Long shoeVariantSizesId);
+
+    @Modifying
+    @Query(value = "update flash_sale_allocation set heartbeat_at = :now where node_id = :nodeId", nativeQuery = true)
+    int heartbeat(@Param("nodeId") UUID nodeId, @Param("now") Instant now);
+
+    @Modifying
+    @Query(
+        value = "delete from flash_sale_allocation where shoe_variant_sizes_id = :shoeVariantSizesId and node_id = :nodeId",
+        nativeQuery = true
+    )
+    int deleteAllocation(@Param("shoeVariantSizesId") Long shoeVariantSizesId, @Param("nodeId") UUID nodeId);
+
+    @Modifying
+    @Query(value = "delete from flash_sale_allocation where id = :id", nativeQuery = true)
+    int deleteAllocation(@Param("id") UUID id);
+
+    List<FlashSaleAllocation> findAllByNodeId(UUID nodeId);
+
+    /**
+     * Locks the allocations of the other nodes which stopped beating, skipping those another node is already reclaiming.
+     */
+    @Query(
+        value = "select * from flash_sale_allocation where heartbeat_at < :before and node_id <> :nodeId for update skip locked",
+        nativeQuery = true
+    )
+    List<FlashSaleAllocation> findAbandonedForUpdate(@Param("before") Instant before, @Param("nodeId") UUID nodeId);
+}
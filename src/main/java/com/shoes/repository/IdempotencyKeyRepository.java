@@ -0,0 +1,68 @@
+package com.shoes.repository;
+
+import com.shoes.domain.IdempotencyKey;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the IdempotencyKey entity.
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+    /**
+     * Claims a key for a request in progress, unless it is held by another request or its response is still replayed.
+     *
+     * @return 1 if the key was claimed, 0 otherwise.
+     */
+    @Modifying
+    @Query(
+        value = "insert into idempotency_key (id, fingerprint, status, headers, body, expires_at) " +
+        "values (:id, :fingerprint, null, null, null, :expiresAt) " +
+        "on conflict (id) do update set fingerprint = excluded.fingerprint, status = null, headers = null, body = null, " +
+        "expires_at = excluded.expires_at where idempotency_key.expires_at <= :now",
+        nativeQuery = true
+    )
+    int claim(
+        @Param("id") String id,
+        @Param("fingerprint") String fingerprint,
+        @Param("expiresAt") Instant expiresAt,
+        @Param("now") Instant now
+    );
+
+    /**
+     * Stores the response to the request holding a key.
+     *
+     * @return 1 if the key was still held by the request, 0 otherwise.
+     */
+    @Modifying
+    @Query(
+        "update IdempotencyKey idempotencyKey set idempotencyKey.status = :status, idempotencyKey.headers = :headers, " +
+        "idempotencyKey.body = :body, idempotencyKey.expiresAt = :expiresAt " +
+        "where idempotencyKey.id = :id and idempotencyKey.fingerprint = :fingerprint and idempotencyKey.status is null"
+    )
+    int complete(
+        @Param("id") String id,
+        @Param("fingerprint") String fingerprint,
+        @Param("status") int status,
+        @Param("headers") String headers,
+        @Param("body") byte[] body,
+        @Param("expiresAt") Instant expiresAt
+    );
+
+    /**
+     * Releases a key held by a request which failed, so that it can be retried.
+     */
+    @Modifying
+    @Query(
+        "delete from IdempotencyKey idempotencyKey " +
+        "where idempotencyKey.id = :id and idempotencyKey.fingerprint = :fingerprint and idempotencyKey.status is null"
+    )
+    int release(@Param("id") String id, @Param("fingerprint") String fingerprint);
+
+    @Query("select idempotencyKey.id from IdempotencyKey idempotencyKey where idempotencyKey.expiresAt <= :now")
+    List<String> findExpiredIds(@Param("now") Instant now, Limit limit);
+}
@@ -0,0 +1,29 @@
+package com.shoes.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Seek queries paging through an entity in ascending id order.
+ * <p>
+ * A page starts right after the last id of the previous one instead of skipping rows with an offset, so that any page
+ * costs one primary key range scan of {@code limit} rows, however deep it is.
+ *
+ * @param <T> the entity type.
+ * @param <ID> the type of the entity id.
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T, ID extends Comparable<ID>> extends Repository<T, ID> {
+    List<T> findAllByOrderByIdAsc(Limit limit);
+
+    List<T> findByIdGreaterThanOrderByIdAsc(ID id, Limit limit);
+
+    /**
+     * Returns up to {@code limit} entities with an id greater than {@code after}, or the first ones if {@code after} is null.
+     */
+    default List<T> findPageAfter(ID after, Limit limit) {
+        return after == null ? findAllByOrderByIdAsc(limit) : findByIdGreaterThanOrderByIdAsc(after, limit);
+    }
+}
@@ -1,7 +1,20 @@
 package com.shoes.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import com.shoes.domain.OrderItems;
+import com.shoes.domain.enumeration.CategoryName;
+import com.shoes.domain.enumeration.OrderStatus;
+import com.shoes.domain.enumeration.ShoePurposeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +22,90 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrderItemsRepository extends JpaRepository<OrderItems, Long> {}
+public interface OrderItemsRepository extends JpaRepository<OrderItems, Long>, KeysetRepository<OrderItems, Long> {
+    String API_ROW_SELECT =
+        "select orderItems.id as id, orderItems.quantity as quantity, orderItems.price as price, " +
+        "orderItems.orders.id as ordersId, orderItems.colors.id as colorsId, " +
+        "orderItems.shoeVariants.id as shoeVariantsId, orderItems.sizes.id as sizesId from OrderItems orderItems ";
+
+    @Query(API_ROW_SELECT + "order by orderItems.id")
+    List<ApiRow> findApiRows(Limit limit);
+
+    @Query(API_ROW_SELECT + "where orderItems.id > :after order by orderItems.id")
+    List<ApiRow> findApiRowsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(API_ROW_SELECT + "where orderItems.id = :id")
+    Optional<ApiRow> findApiRowById(@Param("id") Long id);
+
+    /**
+     * Returns up to {@code limit} rows with an id greater than {@code after}, or the first ones if {@code after} is null.
+     */
+    default List<ApiRow> findApiRowPageAfter(Long after, Limit limit) {
+        return after == null ? findApiRows(limit) : findApiRowsAfter(after, limit);
+    }
+
+    String ANALYTICS_FETCH_SIZE = "1000";
+
+    /**
+     * Streams the orderItems of the orders placed in {@code (from, to]}, with the date and status of their orders and
+     * the attributes of what they reference.
+     * Rows are scalar and read {@link #ANALYTICS_FETCH_SIZE} at a time; the stream must be consumed in a transaction
+     * and closed.
+     */
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = ANALYTICS_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+    @Query(
+        "select orders.orderDate as orderDate, orders.status as status, orderItems.quantity as quantity, " +
+        "orderItems.price as price, brand.name as brandName, category.name as categoryName, " +
+        "shoePurpose.type as shoePurposeType, colors.colorName as colorName, sizes.sizeInNumbers as sizeInNumbers, " +
+        "sizes.sizeInLetters as sizeInLetters from OrderItems orderItems join orderItems.orders orders " +
+        "left join orderItems.colors colors left join orderItems.sizes sizes " +
+        "left join orderItems.shoeVariants shoeVariants left join shoeVariants.shoes shoes " +
+        "left join shoes.brand brand left join shoes.category category left join shoes.shoePurpose shoePurpose " +
+        "where orders.orderDate > :from and orders.orderDate <= :to"
+    )
+    Stream<AnalyticsRow> streamAnalyticsRowsByOrderDateBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Projection of a {@link OrderItems} as returned by the REST API, with the ids of what it references.
+     */
+    interface ApiRow {
+        Long getId();
+
+        Integer getQuantity();
+
+        Long getPrice();
+
+        Long getOrdersId();
+
+        Integer getColorsId();
+
+        Long getShoeVariantsId();
+
+        Integer getSizesId();
+    }
+
+    /**
+     * Flat projection of an orderItems for analytics; the attributes of what it does not reference are null.
+     */
+    interface AnalyticsRow {
+        Instant getOrderDate();
+
+        OrderStatus getStatus();
+
+        Integer getQuantity();
+
+        Long getPrice();
+
+        String getBrandName();
+
+        CategoryName getCategoryName();
+
+        ShoePurposeType getShoePurposeType();
+
+        String getColorName();
+
+        Float getSizeInNumbers();
+
+        String getSizeInLetters();
+    }
+}
@@ -1,7 +1,18 @@
 package com.shoes.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import com.shoes.domain.Orders;
+import com.shoes.domain.enumeration.OrderStatus;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +20,91 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrdersRepository extends JpaRepository<Orders, Long> {}
+public interface OrdersRepository extends JpaRepository<Orders, Long>, KeysetRepository<Orders, Long> {
+    String API_ROW_SELECT =
+        "select orders.id as id, orders.totalPrice as totalPrice, orders.orderDate as orderDate, orders.status as status, " +
+        "orders.customer.id as customerId from Orders orders ";
+
+    @Query(API_ROW_SELECT + "order by orders.id")
+    List<ApiRow> findApiRows(Limit limit);
+
+    @Query(API_ROW_SELECT + "where orders.id > :after order by orders.id")
+    List<ApiRow> findApiRowsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(API_ROW_SELECT + "where orders.id = :id")
+    Optional<ApiRow> findApiRowById(@Param("id") Long id);
+
+    /**
+     * Returns up to {@code limit} rows with an id greater than {@code after}, or the first ones if {@code after} is null.
+     */
+    default List<ApiRow> findApiRowPageAfter(Long after, Limit limit) {
+        return after == null ? findApiRows(limit) : findApiRowsAfter(after, limit);
+    }
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    String EXPORT_SELECT =
+        "select orders.id as id, orders.totalPrice as totalPrice, orders.orderDate as orderDate, orders.status as status, " +
+        "orders.customer.id as customerId, orderItems.id as orderItemsId, orderItems.quantity as orderItemsQuantity, " +
+        "orderItems.price as orderItemsPrice, orderItems.colors.id as orderItemsColorsId, " +
+        "orderItems.shoeVariants.id as orderItemsShoeVariantsId, orderItems.sizes.id as orderItemsSizesId " +
+        "from Orders orders left join orders.orderItems orderItems ";
+
+    /**
+     * Streams every orders joined with its orderItems, one row per orderItems, grouped by orders.
+     * Rows are scalar and read {@link #EXPORT_FETCH_SIZE} at a time, so nothing piles up in the persistence context.
+     * The stream must be consumed in a transaction and closed.
+     */
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+    @Query(EXPORT_SELECT + "order by orders.id, orderItems.id")
+    Stream<ExportRow> streamExportRows();
+
+    /**
+     * Same as {@link #streamExportRows()}, for the orders placed in {@code [from, to)}.
+     */
+    @QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true") })
+    @Query(EXPORT_SELECT + "where orders.orderDate >= :from and orders.orderDate < :to order by orders.id, orderItems.id")
+    Stream<ExportRow> streamExportRowsByOrderDateBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Flat projection of an orders and one of its orderItems, whose columns are all null for an orders without items.
+     */
+    interface ExportRow {
+        Long getId();
+
+        Long getTotalPrice();
+
+        Instant getOrderDate();
+
+        OrderStatus getStatus();
+
+        Long getCustomerId();
+
+        Long getOrderItemsId();
+
+        Integer getOrderItemsQuantity();
+
+        Long getOrderItemsPrice();
+
+        Integer getOrderItemsColorsId();
+
+        Long getOrderItemsShoeVariantsId();
+
+        Integer getOrderItemsSizesId();
+    }
+
+    /**
+     * Projection of a {@link Orders} as returned by the REST API, with the ids of what it references.
+     */
+    interface ApiRow {
+        Long getId();
+
+        Long getTotalPrice();
+
+        Instant getOrderDate();
+
+        OrderStatus getStatus();
+
+        Long getCustomerId();
+    }
+}
@@ -0,0 +1,42 @@
+package com.shoes.repository;
+
+import com.shoes.domain.OutboxEvent;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OutboxEvent entity.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Gives the next sequence of an aggregate, locking its row until the current transaction ends so that its events
+     * commit in the order of their sequence.
+     */
+    @Query(
+        value = "insert into outbox_sequence (aggregate_type, aggregate_id, last_sequence) values (:aggregateType, :aggregateId, 1) " +
+        "on conflict (aggregate_type, aggregate_id) do update set last_sequence = outbox_sequence.last_sequence + 1 " +
+        "returning last_sequence",
+        nativeQuery = true
+    )
+    long nextSequence(@Param("aggregateType") String aggregateType, @Param("aggregateId") String aggregateId);
+
+    /**
+     * Takes the relay lock until the current transaction ends, unless another node holds it.
+     *
+     * @return whether the lock was taken.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockRelay(@Param("key") long key);
+
+    @Query("select outboxEvent from OutboxEvent outboxEvent order by outboxEvent.id")
+    List<OutboxEvent> findOldest(Limit limit);
+
+    @Query("select min(outboxEvent.createdAt) from OutboxEvent outboxEvent")
+    Optional<Instant> findOldestCreatedAt();
+}
@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SalesRepository extends JpaRepository<Sales, Long> {}
+public interface SalesRepository extends JpaRepository<Sales, Long>, KeysetRepository<Sales, Long> {}
@@ -0,0 +1,69 @@
+package com.shoes.repository;
+
+import com.shoes.domain.SalesRollup;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the SalesRollup entity.
+ */
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+    /**
+     * Locks the refresh state, so that refreshes run one at a time across nodes.
+     *
+     * @return the order date up to which orders were added, or null if none were.
+     */
+    @Query(value = "select high_water_mark from sales_rollup_state where id = 1 for update", nativeQuery = true)
+    Instant lockHighWaterMark();
+
+    @Modifying
+    @Query(value = "update sales_rollup_state set high_water_mark = :highWaterMark where id = 1", nativeQuery = true)
+    int updateHighWaterMark(@Param("highWaterMark") Instant highWaterMark);
+
+    /**
+     * Adds the items of the orders dated after {@code from} and up to {@code to} to the rows of their day and dimensions.
+     */
+    @Modifying
+    @Query(
+        value = "insert into sales_rollup (sales_day, brand_id, category_id, shoe_purpose_id, units, revenue) " +
+        "select cast(orders.order_date as date), shoes.brand_id, shoes.category_id, shoes.shoe_purpose_id, " +
+        "sum(coalesce(orderItems.quantity, 0)), sum(coalesce(orderItems.quantity, 0) * coalesce(orderItems.price, 0)) " +
+        "from orders orders join order_items orderItems on orderItems.orders_id = orders.id " +
+        "left join shoe_variants shoeVariants on shoeVariants.id = orderItems.shoe_variants_id " +
+        "left join shoes shoes on shoes.id = shoeVariants.shoes_id " +
+        "where orders.order_date > :from and orders.order_date <= :to " +
+        "group by cast(orders.order_date as date), shoes.brand_id, shoes.category_id, shoes.shoe_purpose_id " +
+        "on conflict (sales_day, coalesce(brand_id, 0), coalesce(category_id, 0), coalesce(shoe_purpose_id, 0)) do update " +
+        "set units = sales_rollup.units + excluded.units, revenue = sales_rollup.revenue + excluded.revenue",
+        nativeQuery = true
+    )
+    int addOrders(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query(
+        "select salesRollup from SalesRollup salesRollup " +
+        "where salesRollup.salesDay >= :from and salesRollup.salesDay <= :to " +
+        "and (:brandId is null or salesRollup.brandId = :brandId) " +
+        "and (:categoryId is null or salesRollup.categoryId = :categoryId) " +
+        "and (:shoePurposeId is null or salesRollup.shoePurposeId = :shoePurposeId) " +
+        "order by salesRollup.salesDay"
+    )
+    List<SalesRollup> findAllBetween(
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("brandId") Integer brandId,
+        @Param("categoryId") Long categoryId,
+        @Param("shoePurposeId") Integer shoePurposeId
+    );
+
+    /**
+     * Empties the rollup, for it to be filled again from every order.
+     */
+    @Modifying
+    @Query(value = "delete from sales_rollup", nativeQuery = true)
+    int deleteAllRows();
+}
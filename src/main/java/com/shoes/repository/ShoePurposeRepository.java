@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ShoePurposeRepository extends JpaRepository<ShoePurpose, Integer> {}
+public interface ShoePurposeRepository extends JpaRepository<ShoePurpose, Integer>, KeysetRepository<ShoePurpose, Integer> {}
@@ -1,7 +1,12 @@
 package com.shoes.repository;
 
 import com.shoes.domain.ShoeVariantColors;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +14,93 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ShoeVariantColorsRepository extends JpaRepository<ShoeVariantColors, Long> {}
+public interface ShoeVariantColorsRepository extends JpaRepository<ShoeVariantColors, Long>, KeysetRepository<ShoeVariantColors, Long> {
+    String API_ROW_SELECT =
+        "select shoeVariantColors.id as id, shoeVariantColors.price as price, shoeVariantColors.imageUrl as imageUrl, " +
+        "shoeVariantColors.shoeVariants.id as shoeVariantsId, shoeVariantColors.colors.id as colorsId " +
+        "from ShoeVariantColors shoeVariantColors ";
+
+    @Query(API_ROW_SELECT + "order by shoeVariantColors.id")
+    List<ApiRow> findApiRows(Limit limit);
+
+    @Query(API_ROW_SELECT + "where shoeVariantColors.id > :after order by shoeVariantColors.id")
+    List<ApiRow> findApiRowsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(API_ROW_SELECT + "where shoeVariantColors.id = :id")
+    Optional<ApiRow> findApiRowById(@Param("id") Long id);
+
+    /**
+     * Returns up to {@code limit} rows with an id greater than {@code after}, or the first ones if {@code after} is null.
+     */
+    default List<ApiRow> findApiRowPageAfter(Long after, Limit limit) {
+        return after == null ? findApiRows(limit) : findApiRowsAfter(after, limit);
+    }
+
+    @Query("select shoeVariantColors.shoeVariants.id from ShoeVariantColors shoeVariantColors where shoeVariantColors.id = :id")
+    Optional<Long> findShoeVariantsIdById(@Param("id") Long id);
+
+    @Query(
+        "select shoeVariantColors.id as id, shoeVariantColors.shoeVariants.id as shoeVariantsId, colors.id as colorsId " +
+        "from ShoeVariantColors shoeVariantColors left join shoeVariantColors.colors colors " +
+        "where shoeVariantColors.shoeVariants.id in :shoeVariantsIds"
+    )
+    List<ColorsLink> findColorsLinksByShoeVariantsIdIn(@Param("shoeVariantsIds") List<Long> shoeVariantsIds);
+
+    @Query(
+        "select shoeVariantColors.id as id, shoeVariants.id as shoeVariantsId, shoeVariantColors.colors.id as colorsId, " +
+        "shoeVariantColors.price as price, sales.id as salesId, sales.startDate as salesStartDate, sales.endDate as salesEndDate, " +
+        "sales.discountPercentage as salesDiscountPercentage, sales.newPrice as salesNewPrice " +
+        "from ShoeVariantColors shoeVariantColors join shoeVariantColors.shoeVariants shoeVariants left join shoeVariants.sales sales " +
+        "where shoeVariants.id in :shoeVariantsIds"
+    )
+    List<PriceRow> findPriceRowsByShoeVariantsIdIn(@Param("shoeVariantsIds") List<Long> shoeVariantsIds);
+
+    /**
+     * Projection of the variant and color referenced by a {@link ShoeVariantColors}.
+     */
+    interface ColorsLink {
+        Long getId();
+
+        Long getShoeVariantsId();
+
+        Integer getColorsId();
+    }
+
+    /**
+     * Flat projection of a {@link ShoeVariantColors} price and the sale of its variant, whose columns are null when there is none.
+     */
+    interface PriceRow {
+        Long getId();
+
+        Long getShoeVariantsId();
+
+        Integer getColorsId();
+
+        Float getPrice();
+
+        Long getSalesId();
+
+        Instant getSalesStartDate();
+
+        Instant getSalesEndDate();
+
+        Integer getSalesDiscountPercentage();
+
+        Integer getSalesNewPrice();
+    }
+
+    /**
+     * Projection of a {@link ShoeVariantColors} as returned by the REST API, with the ids of what it references.
+     */
+    interface ApiRow {
+        Long getId();
+
+        Float getPrice();
+
+        String getImageUrl();
+
+        Long getShoeVariantsId();
+
+        Integer getColorsId();
+    }
+}
@@ -1,7 +1,13 @@
 package com.shoes.repository;
 
 import com.shoes.domain.ShoeVariantSizes;
+import com.shoes.domain.enumeration.Status;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,94 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ShoeVariantSizesRepository extends JpaRepository<ShoeVariantSizes, Long> {}
+public interface ShoeVariantSizesRepository extends JpaRepository<ShoeVariantSizes, Long>, KeysetRepository<ShoeVariantSizes, Long> {
+    String API_ROW_SELECT =
+        "select shoeVariantSizes.id as id, shoeVariantSizes.quantity as quantity, shoeVariantSizes.status as status, " +
+        "shoeVariantSizes.version as version, shoeVariantSizes.sizes.id as sizesId, shoeVariantSizes.shoeVariants.id as shoeVariantsId " +
+        "from ShoeVariantSizes shoeVariantSizes ";
+
+    @Query(API_ROW_SELECT + "order by shoeVariantSizes.id")
+    List<ApiRow> findApiRows(Limit limit);
+
+    @Query(API_ROW_SELECT + "where shoeVariantSizes.id > :after order by shoeVariantSizes.id")
+    List<ApiRow> findApiRowsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(API_ROW_SELECT + "where shoeVariantSizes.id = :id")
+    Optional<ApiRow> findApiRowById(@Param("id") Long id);
+
+    @Query(API_ROW_SELECT + "where shoeVariantSizes.id in :ids")
+    List<ApiRow> findApiRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(API_ROW_SELECT + "where shoeVariantSizes.shoeVariants.id in :shoeVariantsIds order by shoeVariantSizes.id")
+    List<ApiRow> findApiRowsByShoeVariantsIdIn(@Param("shoeVariantsIds") Collection<Long> shoeVariantsIds);
+
+    /**
+     * Returns up to {@code limit} rows with an id greater than {@code after}, or the first ones if {@code after} is null.
+     */
+    default List<ApiRow> findApiRowPageAfter(Long after, Limit limit) {
+        return after == null ? findApiRows(limit) : findApiRowsAfter(after, limit);
+    }
+
+    @Query("select shoeVariantSizes.shoeVariants.id from ShoeVariantSizes shoeVariantSizes where shoeVariantSizes.id = :id")
+    Optional<Long> findShoeVariantsIdById(@Param("id") Long id);
+
+    @Query(
+        "select shoeVariantSizes.id as id, shoeVariantSizes.shoeVariants.id as shoeVariantsId, sizes.id as sizesId " +
+        "from ShoeVariantSizes shoeVariantSizes left join shoeVariantSizes.sizes sizes " +
+        "where shoeVariantSizes.shoeVariants.id in :shoeVariantsIds"
+    )
+    List<SizesLink> findSizesLinksByShoeVariantsIdIn(@Param("shoeVariantsIds") List<Long> shoeVariantsIds);
+
+    /**
+     * Takes {@code quantity} out of stock, unless less than {@code quantity} is left. Bumps the version of the row, which
+     * bulk updates leave alone otherwise.
+     *
+     * @return 1 if the stock was taken, 0 otherwise.
+     */
+    @Modifying
+    @Query(
+        "update ShoeVariantSizes shoeVariantSizes set shoeVariantSizes.quantity = shoeVariantSizes.quantity - :quantity, " +
+        "shoeVariantSizes.version = shoeVariantSizes.version + 1 " +
+        "where shoeVariantSizes.id = :id and shoeVariantSizes.quantity >= :quantity"
+    )
+    int decrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Puts {@code quantity} back into stock, bumping the version of the row.
+     */
+    @Modifying
+    @Query(
+        "update ShoeVariantSizes shoeVariantSizes set shoeVariantSizes.quantity = shoeVariantSizes.quantity + :quantity, " +
+        "shoeVariantSizes.version = shoeVariantSizes.version + 1 " +
+        "where shoeVariantSizes.id = :id"
+    )
+    int incrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Projection of the variant and size referenced by a {@link ShoeVariantSizes}.
+     */
+    interface SizesLink {
+        Long getId();
+
+        Long getShoeVariantsId();
+
+        Integer getSizesId();
+    }
+
+    /**
+     * Projection of a {@link ShoeVariantSizes} as returned by the REST API, with the ids of what it references.
+     */
+    interface ApiRow {
+        Long getId();
+
+        Integer getQuantity();
+
+        Status getStatus();
+
+        Long getVersion();
+
+        Integer getSizesId();
+
+        Long getShoeVariantsId();
+    }
+}
@@ -1,30 +1,151 @@
 package com.shoes.repository;
 
 import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.enumeration.CategoryName;
+import com.shoes.domain.enumeration.ShoePurposeType;
+import com.shoes.domain.enumeration.Status;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for the ShoeVariants entity.
- *
- * When extending this class, extend ShoeVariantsRepositoryWithBagRelationships too.
- * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface ShoeVariantsRepository extends ShoeVariantsRepositoryWithBagRelationships, JpaRepository<ShoeVariants, Long> {
-    default Optional<ShoeVariants> findOneWithEagerRelationships(Long id) {
-        return this.fetchBagRelationships(this.findById(id));
+public interface ShoeVariantsRepository extends JpaRepository<ShoeVariants, Long>, KeysetRepository<ShoeVariants, Long> {
+    String API_ROW_SELECT =
+        "select shoeVariants.id as id, shoeVariants.quantity as quantity, shoeVariants.status as status, " +
+        "shoeVariants.photoUrl as photoUrl, shoeVariants.shoes.id as shoesId, shoeVariants.sales.id as salesId " +
+        "from ShoeVariants shoeVariants ";
+
+    @Query(API_ROW_SELECT + "order by shoeVariants.id")
+    List<ApiRow> findApiRows(Limit limit);
+
+    @Query(API_ROW_SELECT + "where shoeVariants.id > :after order by shoeVariants.id")
+    List<ApiRow> findApiRowsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(API_ROW_SELECT + "where shoeVariants.id = :id")
+    Optional<ApiRow> findApiRowById(@Param("id") Long id);
+
+    /**
+     * Returns up to {@code limit} rows with an id greater than {@code after}, or the first ones if {@code after} is null.
+     */
+    default List<ApiRow> findApiRowPageAfter(Long after, Limit limit) {
+        return after == null ? findApiRows(limit) : findApiRowsAfter(after, limit);
+    }
+
+    @Query("select shoeVariants.id from ShoeVariants shoeVariants order by shoeVariants.id")
+    List<Long> findAllIds();
+
+    @Query("select shoeVariants.id from ShoeVariants shoeVariants where shoeVariants.shoes.id = :shoesId")
+    List<Long> findIdsByShoesId(@Param("shoesId") Long shoesId);
+
+    @Query("select shoeVariants.id from ShoeVariants shoeVariants where shoeVariants.sales.id = :salesId")
+    List<Long> findIdsBySalesId(@Param("salesId") Long salesId);
+
+    @Query(
+        "select shoeVariants.id as id, shoeVariants.status as status, shoeVariants.photoUrl as photoUrl, shoes.id as shoesId, " +
+        "brand.id as brandId, category.name as categoryName, collection.id as collectionId, shoePurpose.type as shoePurposeType " +
+        "from ShoeVariants shoeVariants left join shoeVariants.shoes shoes left join shoes.brand brand " +
+        "left join shoes.category category left join shoes.collection collection left join shoes.shoePurpose shoePurpose " +
+        "where shoeVariants.id in :ids"
+    )
+    List<CatalogRow> findCatalogRowsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query(
+        "select shoeVariants.id as id, shoes.brand.id as brandId, shoes.category.id as categoryId " +
+        "from ShoeVariants shoeVariants join shoeVariants.shoes shoes where shoeVariants.id in :ids"
+    )
+    List<PlacementRow> findPlacementRowsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("select shoeVariants.id from ShoeVariants shoeVariants where shoeVariants.status = :status")
+    List<Long> findIdsByStatus(@Param("status") Status status);
+
+    /**
+     * Marks variants as best sellers, leaving those on sale or coming soon alone.
+     */
+    @Modifying
+    @Query(
+        "update ShoeVariants shoeVariants set shoeVariants.status = com.shoes.domain.enumeration.Status.BEST_SELLER " +
+        "where shoeVariants.id in :ids " +
+        "and (shoeVariants.status is null or shoeVariants.status = com.shoes.domain.enumeration.Status.IN_STOCK)"
+    )
+    int markBestSellers(@Param("ids") List<Long> ids);
+
+    /**
+     * Puts variants that are no longer best sellers back in stock.
+     */
+    @Modifying
+    @Query(
+        "update ShoeVariants shoeVariants set shoeVariants.status = com.shoes.domain.enumeration.Status.IN_STOCK " +
+        "where shoeVariants.id in :ids and shoeVariants.status = com.shoes.domain.enumeration.Status.BEST_SELLER"
+    )
+    int unmarkBestSellers(@Param("ids") List<Long> ids);
+
+    @Query(
+        "select shoeVariants.id as shoeVariantsId, sizes.id as sizesId " +
+        "from ShoeVariants shoeVariants join shoeVariants.sizes sizes where shoeVariants.id in :ids"
+    )
+    List<SizesLink> findSizesLinksByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * Flat projection of a variant and the catalog attributes inherited from its {@link com.shoes.domain.Shoes}.
+     */
+    interface CatalogRow {
+        Long getId();
+
+        Status getStatus();
+
+        String getPhotoUrl();
+
+        Long getShoesId();
+
+        Integer getBrandId();
+
+        CategoryName getCategoryName();
+
+        Integer getCollectionId();
+
+        ShoePurposeType getShoePurposeType();
+    }
+
+    /**
+     * Where a variant ranks: the brand and category of its {@link com.shoes.domain.Shoes}.
+     */
+    interface PlacementRow {
+        Long getId();
+
+        Integer getBrandId();
+
+        Long getCategoryId();
     }
 
-    default List<ShoeVariants> findAllWithEagerRelationships() {
-        return this.fetchBagRelationships(this.findAll());
+    /**
+     * A row of the {@code rel_shoe_variants__sizes} join table.
+     */
+    interface SizesLink {
+        Long getShoeVariantsId();
+
+        Integer getSizesId();
     }
 
-    default Page<ShoeVariants> findAllWithEagerRelationships(Pageable pageable) {
-        return this.fetchBagRelationships(this.findAll(pageable));
+    /**
+     * Projection of a {@link ShoeVariants} as returned by the REST API, with the ids of what it references.
+     */
+    interface ApiRow {
+        Long getId();
+
+        Integer getQuantity();
+
+        Status getStatus();
+
+        String getPhotoUrl();
+
+        Long getShoesId();
+
+        Long getSalesId();
     }
 }
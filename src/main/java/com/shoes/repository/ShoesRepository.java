@@ -1,7 +1,11 @@
 package com.shoes.repository;
 
 import com.shoes.domain.Shoes;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,42 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ShoesRepository extends JpaRepository<Shoes, Long> {}
+public interface ShoesRepository extends JpaRepository<Shoes, Long>, KeysetRepository<Shoes, Long> {
+    String API_ROW_SELECT =
+        "select shoes.id as id, shoes.description as description, shoes.category.id as categoryId, " +
+        "shoes.brand.id as brandId, shoes.collection.id as collectionId, shoes.shoePurpose.id as shoePurposeId " +
+        "from Shoes shoes ";
+
+    @Query(API_ROW_SELECT + "order by shoes.id")
+    List<ApiRow> findApiRows(Limit limit);
+
+    @Query(API_ROW_SELECT + "where shoes.id > :after order by shoes.id")
+    List<ApiRow> findApiRowsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(API_ROW_SELECT + "where shoes.id = :id")
+    Optional<ApiRow> findApiRowById(@Param("id") Long id);
+
+    /**
+     * Returns up to {@code limit} rows with an id greater than {@code after}, or the first ones if {@code after} is null.
+     */
+    default List<ApiRow> findApiRowPageAfter(Long after, Limit limit) {
+        return after == null ? findApiRows(limit) : findApiRowsAfter(after, limit);
+    }
+
+    /**
+     * Projection of a {@link Shoes} as returned by the REST API, with the ids of what it references.
+     */
+    interface ApiRow {
+        Long getId();
+
+        String getDescription();
+
+        Long getCategoryId();
+
+        Integer getBrandId();
+
+        Integer getCollectionId();
+
+        Integer getShoePurposeId();
+    }
+}
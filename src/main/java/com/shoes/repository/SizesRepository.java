@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SizesRepository extends JpaRepository<Sizes, Integer> {}
+public interface SizesRepository extends JpaRepository<Sizes, Integer>, KeysetRepository<Sizes, Integer> {}
@@ -0,0 +1,36 @@
+package com.shoes.repository;
+
+import com.shoes.domain.StockReservation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the StockReservation entity.
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+    /**
+     * Locks a reservation so that it is confirmed, released or expired only once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select stockReservation from StockReservation stockReservation where stockReservation.id = :id")
+    Optional<StockReservation> findOneForUpdate(@Param("id") UUID id);
+
+    /**
+     * Locks expired reservations, skipping those already locked by another node or request.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select stockReservation from StockReservation stockReservation where stockReservation.expiresAt < :now order by stockReservation.expiresAt"
+    )
+    List<StockReservation> findExpiredForUpdate(@Param("now") Instant now, Limit limit);
+}
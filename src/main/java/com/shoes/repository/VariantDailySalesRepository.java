@@ -0,0 +1,70 @@
+package com.shoes.repository;
+
+import com.shoes.domain.VariantDailySales;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the VariantDailySales entity.
+ */
+@Repository
+public interface VariantDailySalesRepository extends JpaRepository<VariantDailySales, VariantDailySales.Key> {
+    /**
+     * Adds a quantity sold to a day of a variant, unless the variant was deleted since.
+     */
+    @Modifying
+    @Query(
+        value = "insert into variant_daily_sales (shoe_variants_id, sales_day, quantity) " +
+        "select :shoeVariantsId, :salesDay, :quantity where exists (select 1 from shoe_variants where id = :shoeVariantsId) " +
+        "on conflict (shoe_variants_id, sales_day) do update set quantity = variant_daily_sales.quantity + excluded.quantity",
+        nativeQuery = true
+    )
+    int addQuantity(
+        @Param("shoeVariantsId") Long shoeVariantsId,
+        @Param("salesDay") LocalDate salesDay,
+        @Param("quantity") long quantity
+    );
+
+    /**
+     * Fills the days from {@code from} out of the order items, leaving the days already checkpointed alone.
+     */
+    @Modifying
+    @Query(
+        value = "insert into variant_daily_sales (shoe_variants_id, sales_day, quantity) " +
+        "select orderItems.shoe_variants_id, cast(orders.order_date as date), sum(orderItems.quantity) " +
+        "from order_items orderItems join orders orders on orders.id = orderItems.orders_id " +
+        "where orders.order_date >= :from and orderItems.shoe_variants_id is not null and orderItems.quantity is not null " +
+        "group by orderItems.shoe_variants_id, cast(orders.order_date as date) " +
+        "on conflict (shoe_variants_id, sales_day) do nothing",
+        nativeQuery = true
+    )
+    int backfillFrom(@Param("from") Instant from);
+
+    boolean existsByKeySalesDayGreaterThanEqual(LocalDate from);
+
+    @Query(
+        "select variantDailySales.key.shoeVariantsId as shoeVariantsId, variantDailySales.key.salesDay as salesDay, " +
+        "variantDailySales.quantity as quantity from VariantDailySales variantDailySales " +
+        "where variantDailySales.key.salesDay >= :from"
+    )
+    List<DailyRow> findDailyRowsFrom(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query("delete from VariantDailySales variantDailySales where variantDailySales.key.salesDay < :before")
+    int deleteBefore(@Param("before") LocalDate before);
+
+    /**
+     * The quantity of a variant sold on a day.
+     */
+    interface DailyRow {
+        Long getShoeVariantsId();
+
+        LocalDate getSalesDay();
+
+        Long getQuantity();
+    }
+}
@@ -9,4 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface WishListItemsRepository extends JpaRepository<WishListItems, Long> {}
+public interface WishListItemsRepository extends JpaRepository<WishListItems, Long>, KeysetRepository<WishListItems, Long> {}
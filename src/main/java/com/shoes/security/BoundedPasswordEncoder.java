@@ -0,0 +1,116 @@
+package com.shoes.security;
+
+import com.shoes.management.SecurityMetersService;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A {@link PasswordEncoder} running a CPU-bound encoder, such as BCrypt, on a pool of its own.
+ * <p>
+ * The pool has a fixed number of threads and a bounded queue, so that a burst of logins uses at most that many cores and
+ * leaves the others to the rest of the traffic. Once the queue is full, hashing is rejected at once with a
+ * {@link PasswordHashingRejectedException} instead of waiting, and the client is told to retry later.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final Duration retryAfter;
+
+    private final ThreadPoolExecutor executor;
+
+    public BoundedPasswordEncoder(
+        PasswordEncoder delegate,
+        SecurityMetersService metersService,
+        int poolSize,
+        int queueCapacity,
+        Duration retryAfter
+    ) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory()
+        );
+        metersService.monitorPasswordHashing(executor);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(SecurityMetersService.PASSWORD_HASHING_ENCODE, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(SecurityMetersService.PASSWORD_HASHING_MATCHES, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Tells whether a password was hashed with another cost than the current one, in which case it is hashed again on
+     * the next successful login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hash(String operation, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    metersService.trackPasswordHashing(operation, System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            metersService.trackPasswordHashingRejected();
+            throw new PasswordHashingRejectedException(retryAfter);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
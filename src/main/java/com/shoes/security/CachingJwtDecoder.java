@@ -0,0 +1,145 @@
+package com.shoes.security;
+
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import com.shoes.management.SecurityMetersService;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * A {@link JwtDecoder} remembering the tokens it verified, so that a client sending the same token with each request
+ * has it parsed and its signature checked once.
+ * <p>
+ * Tokens are remembered by their SHA-256 digest, until they expire or for {@code ttl} at most, whichever comes first;
+ * a token presented after its expiry is decoded again, and rejected by the delegate. At most {@code maximumSize} tokens
+ * are kept, expired ones being dropped first when it is reached. Tokens which fail to decode are never remembered, and
+ * their failures are counted by cause.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final Logger log = LoggerFactory.getLogger(CachingJwtDecoder.class);
+
+    private final JwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final int maximumSize;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(Jwt jwt, Instant expiresAt) {}
+
+    public CachingJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService, int maximumSize, Duration ttl) {
+        this(delegate, metersService, maximumSize, ttl, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService, int maximumSize, Duration ttl, Clock clock) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (maximumSize <= 0 || token == null) {
+            return verify(token);
+        }
+        ByteBuffer key = digest(token);
+        Instant now = clock.instant();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (now.isBefore(entry.expiresAt())) {
+                metersService.trackTokenCacheHit();
+                return entry.jwt();
+            }
+            entries.remove(key, entry);
+        }
+        metersService.trackTokenCacheMiss();
+        Jwt jwt = verify(token);
+        Instant expiresAt = now.plus(ttl);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = jwt.getExpiresAt();
+        }
+        if (now.isBefore(expiresAt)) {
+            makeRoom(now);
+            entries.put(key, new Entry(jwt, expiresAt));
+        }
+        return jwt;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Jwt verify(String token) {
+        long start = System.nanoTime();
+        try {
+            return delegate.decode(token);
+        } catch (JwtException e) {
+            trackFailure(e);
+            throw e;
+        } finally {
+            metersService.trackTokenDecode(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Counts a failure by its type: the default validators only check the timestamps of the token, and the other
+     * failures wrap the exception thrown by Nimbus, if any.
+     */
+    private void trackFailure(JwtException e) {
+        if (e instanceof JwtValidationException) {
+            metersService.trackTokenExpired();
+        } else if (e.getCause() instanceof BadJWSException) {
+            metersService.trackTokenInvalidSignature();
+        } else if (e.getCause() instanceof BadJOSEException) {
+            // Another algorithm or type than expected.
+            metersService.trackTokenUnsupported();
+        } else if (e instanceof BadJwtException) {
+            metersService.trackTokenMalformed();
+        } else {
+            log.error("Unknown JWT error {}", e.getMessage());
+        }
+    }
+
+    private void makeRoom(Instant now) {
+        if (entries.size() < maximumSize) {
+            return;
+        }
+        entries.values().removeIf(entry -> !now.isBefore(entry.expiresAt()));
+        Iterator<ByteBuffer> keys = entries.keySet().iterator();
+        while (entries.size() >= maximumSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.shoes.security;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a password cannot be hashed because the password hashing pool is saturated.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public PasswordHashingRejectedException(Duration retryAfter) {
+        super("Too many passwords are being checked, please retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long the client should wait before retrying.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
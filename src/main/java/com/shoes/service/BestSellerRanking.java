@@ -0,0 +1,116 @@
+package com.shoes.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The best-selling variants overall, of each category and of each brand, ranked by their sales over the last week
+ * then over the last month. Immutable.
+ */
+final class BestSellerRanking {
+
+    static final int WEEK_DAYS = 7;
+
+    static final int MONTH_DAYS = 30;
+
+    static final BestSellerRanking EMPTY = new BestSellerRanking(List.of(), Map.of(), Map.of());
+
+    /**
+     * A ranked variant.
+     */
+    record Entry(long shoeVariantsId, long weekQuantity, long monthQuantity) {}
+
+    /**
+     * The brand and category a variant is ranked in; either may be null.
+     */
+    record Placement(Long categoryId, Integer brandId) {}
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::weekQuantity)
+        .thenComparingLong(Entry::monthQuantity)
+        .reversed()
+        .thenComparingLong(Entry::shoeVariantsId);
+
+    private final List<Entry> overall;
+
+    private final Map<Long, List<Entry>> byCategory;
+
+    private final Map<Integer, List<Entry>> byBrand;
+
+    private BestSellerRanking(List<Entry> overall, Map<Long, List<Entry>> byCategory, Map<Integer, List<Entry>> byBrand) {
+        this.overall = overall;
+        this.byCategory = byCategory;
+        this.byBrand = byBrand;
+    }
+
+    /**
+     * Ranks the variants of a window.
+     *
+     * @param window the quantities sold.
+     * @param placements the placement of each variant; variants without one are only ranked overall.
+     * @param today the last day counted.
+     * @param top the number of variants kept in each ranking.
+     * @param minQuantity the quantity a variant must have sold over the last week to be ranked.
+     * @return the ranking.
+     */
+    static BestSellerRanking build(SalesWindow window, Map<Long, Placement> placements, long today, int top, long minQuantity) {
+        List<Entry> entries = new ArrayList<>();
+        for (Long shoeVariantsId : window.shoeVariantsIds()) {
+            long week = window.total(shoeVariantsId, today, WEEK_DAYS);
+            if (week >= minQuantity && week > 0) {
+                entries.add(new Entry(shoeVariantsId, week, window.total(shoeVariantsId, today, MONTH_DAYS)));
+            }
+        }
+        entries.sort(ORDER);
+        List<Entry> overall = new ArrayList<>();
+        Map<Long, List<Entry>> byCategory = new HashMap<>();
+        Map<Integer, List<Entry>> byBrand = new HashMap<>();
+        for (Entry entry : entries) {
+            if (overall.size() < top) {
+                overall.add(entry);
+            }
+            Placement placement = placements.get(entry.shoeVariantsId());
+            if (placement != null && placement.categoryId() != null) {
+                addIfRoom(byCategory.computeIfAbsent(placement.categoryId(), id -> new ArrayList<>()), entry, top);
+            }
+            if (placement != null && placement.brandId() != null) {
+                addIfRoom(byBrand.computeIfAbsent(placement.brandId(), id -> new ArrayList<>()), entry, top);
+            }
+        }
+        byCategory.replaceAll((id, ranked) -> List.copyOf(ranked));
+        byBrand.replaceAll((id, ranked) -> List.copyOf(ranked));
+        return new BestSellerRanking(List.copyOf(overall), Map.copyOf(byCategory), Map.copyOf(byBrand));
+    }
+
+    private static void addIfRoom(List<Entry> ranked, Entry entry, int top) {
+        if (ranked.size() < top) {
+            ranked.add(entry);
+        }
+    }
+
+    List<Entry> overall() {
+        return overall;
+    }
+
+    List<Entry> ofCategory(Long categoryId) {
+        return byCategory.getOrDefault(categoryId, List.of());
+    }
+
+    List<Entry> ofBrand(Integer brandId) {
+        return byBrand.getOrDefault(brandId, List.of());
+    }
+
+    /**
+     * The variants ranked in their category or their brand, which get the best-seller status.
+     */
+    Set<Long> bestSellerIds() {
+        Set<Long> ids = new HashSet<>();
+        byCategory.values().forEach(ranked -> ranked.forEach(entry -> ids.add(entry.shoeVariantsId())));
+        byBrand.values().forEach(ranked -> ranked.forEach(entry -> ids.add(entry.shoeVariantsId())));
+        return ids;
+    }
+}
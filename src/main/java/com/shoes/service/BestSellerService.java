@@ -0,0 +1,311 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import com.shoes.domain.enumeration.Status;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.ShoeVariantsRepository.PlacementRow;
+import com.shoes.repository.VariantDailySalesRepository;
+import com.shoes.repository.VariantDailySalesRepository.DailyRow;
+import com.shoes.service.dto.BestSellerDTO;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service ranking the best-selling {@link com.shoes.domain.ShoeVariants} of each category and brand, and giving them
+ * the {@link Status#BEST_SELLER} status.
+ * <p>
+ * Quantities sold are counted per variant and day in a {@link SalesWindow} as orders commit, and added to the
+ * {@link com.shoes.domain.VariantDailySales} rollup every {@code application.best-sellers.checkpoint-interval}. The
+ * window is then read back from the rollup, so that it holds the sales of every node, the variants ranked again, and
+ * the statuses that changed updated in batches. Rankings are answered from memory. Sales counted since the last
+ * checkpoint are lost if the node stops without shutting down.
+ */
+@Service
+public class BestSellerService {
+
+    private static final int PLACEMENT_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(BestSellerService.class);
+
+    private final VariantDailySalesRepository variantDailySalesRepository;
+
+    private final ShoeVariantsRepository shoeVariantsRepository;
+
+    private final ProductReadService productReadService;
+
+    private final CatalogSearchService catalogSearchService;
+
+    private final ApplicationProperties.BestSellers properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Guards the window and the unsaved sales; a lock rather than a monitor, as checkouts record their sales from
+     * virtual threads.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Serializes checkpoints.
+     */
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    private SalesWindow window = new SalesWindow(BestSellerRanking.MONTH_DAYS);
+
+    /**
+     * Quantities sold since the last checkpoint, by variant then day.
+     */
+    private Map<Long, Map<Long, Long>> unsaved = new HashMap<>();
+
+    private volatile BestSellerRanking ranking = BestSellerRanking.EMPTY;
+
+    public BestSellerService(
+        VariantDailySalesRepository variantDailySalesRepository,
+        ShoeVariantsRepository shoeVariantsRepository,
+        ProductReadService productReadService,
+        CatalogSearchService catalogSearchService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.variantDailySalesRepository = variantDailySalesRepository;
+        this.shoeVariantsRepository = shoeVariantsRepository;
+        this.productReadService = productReadService;
+        this.catalogSearchService = catalogSearchService;
+        this.properties = applicationProperties.getBestSellers();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            LocalDate from = firstDay(today());
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!variantDailySalesRepository.existsByKeySalesDayGreaterThanEqual(from)) {
+                    int rows = variantDailySalesRepository.backfillFrom(from.atStartOfDay(ZoneOffset.UTC).toInstant());
+                    log.info("Filled the variant sales rollup with {} rows from the order items", rows);
+                }
+            });
+            checkpoint();
+        } catch (DataAccessException e) {
+            // Liquibase may still be running asynchronously, the next checkpoint will retry.
+            log.warn("Could not rank the best sellers at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Counts quantities sold, once the current transaction has committed.
+     *
+     * @param quantities the quantities sold today, by shoeVariants id.
+     */
+    public void recordSales(Map<Long, Integer> quantities) {
+        TransactionCallbacks.afterCommit(() -> {
+            long today = today().toEpochDay();
+            lock.lock();
+            try {
+                quantities.forEach((shoeVariantsId, quantity) -> {
+                    window.add(shoeVariantsId, today, quantity);
+                    unsaved.computeIfAbsent(shoeVariantsId, id -> new HashMap<>()).merge(today, (long) quantity, Long::sum);
+                });
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * The best sellers of a category, of a brand, or overall.
+     *
+     * @param categoryId the id of the category, or null.
+     * @param brandId the id of the brand, or null.
+     * @return the best sellers, best first.
+     */
+    public List<BestSellerDTO> getBestSellers(Long categoryId, Integer brandId) {
+        BestSellerRanking current = ranking;
+        List<BestSellerRanking.Entry> entries;
+        if (categoryId != null) {
+            entries = current.ofCategory(categoryId);
+        } else if (brandId != null) {
+            entries = current.ofBrand(brandId);
+        } else {
+            entries = current.overall();
+        }
+        List<BestSellerDTO> bestSellers = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BestSellerRanking.Entry entry = entries.get(i);
+            bestSellers.add(new BestSellerDTO(entry.shoeVariantsId(), i + 1, entry.weekQuantity(), entry.monthQuantity()));
+        }
+        return bestSellers;
+    }
+
+    /**
+     * Writes the sales counted since the last checkpoint to the rollup, reads the window back, ranks the variants and
+     * updates their statuses.
+     */
+    @Scheduled(fixedDelayString = "${application.best-sellers.checkpoint-interval:PT1M}")
+    public void checkpoint() {
+        checkpointLock.lock();
+        try {
+            doCheckpoint();
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    private void doCheckpoint() {
+        LocalDate today = today();
+        if (save(firstDay(today))) {
+            refresh(today);
+        }
+    }
+
+    /**
+     * Writes the sales counted since the last checkpoint to the rollup, and purges the days out of the window.
+     *
+     * @return whether the sales were written; they are kept for the next checkpoint otherwise.
+     */
+    private boolean save(LocalDate from) {
+        Map<Long, Map<Long, Long>> saving;
+        lock.lock();
+        try {
+            saving = unsaved;
+            unsaved = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                saving.forEach((shoeVariantsId, days) ->
+                    days.forEach((day, quantity) ->
+                        variantDailySalesRepository.addQuantity(shoeVariantsId, LocalDate.ofEpochDay(day), quantity)
+                    )
+                );
+                variantDailySalesRepository.deleteBefore(from);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not checkpoint the sales of {} variants, will retry: {}", saving.size(), e.getMessage());
+            lock.lock();
+            try {
+                saving.forEach((shoeVariantsId, days) ->
+                    days.forEach((day, quantity) ->
+                        unsaved.computeIfAbsent(shoeVariantsId, id -> new HashMap<>()).merge(day, quantity, Long::sum)
+                    )
+                );
+            } finally {
+                lock.unlock();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the window back from the rollup, ranks the variants and updates their statuses.
+     */
+    private void refresh(LocalDate today) {
+        LocalDate from = firstDay(today);
+        List<DailyRow> rows = transactionTemplate.execute(status -> variantDailySalesRepository.findDailyRowsFrom(from));
+        SalesWindow loaded = new SalesWindow(BestSellerRanking.MONTH_DAYS);
+        for (DailyRow row : rows) {
+            loaded.add(row.getShoeVariantsId(), row.getSalesDay().toEpochDay(), row.getQuantity());
+        }
+        lock.lock();
+        try {
+            // Sales counted while the rollup was read are not in it yet.
+            unsaved.forEach((shoeVariantsId, days) -> days.forEach((day, quantity) -> loaded.add(shoeVariantsId, day, quantity)));
+            window = loaded;
+        } finally {
+            lock.unlock();
+        }
+
+        Map<Long, BestSellerRanking.Placement> placements = findPlacements(loaded.shoeVariantsIds());
+        BestSellerRanking ranked = BestSellerRanking.build(
+            loaded,
+            placements,
+            today.toEpochDay(),
+            properties.getTop(),
+            properties.getMinQuantity()
+        );
+        ranking = ranked;
+        updateStatuses(ranked.bestSellerIds());
+    }
+
+    private Map<Long, BestSellerRanking.Placement> findPlacements(Set<Long> shoeVariantsIds) {
+        List<Long> ids = List.copyOf(shoeVariantsIds);
+        Map<Long, BestSellerRanking.Placement> placements = new HashMap<>();
+        for (int start = 0; start < ids.size(); start += PLACEMENT_BATCH_SIZE) {
+            List<Long> batch = ids.subList(start, Math.min(ids.size(), start + PLACEMENT_BATCH_SIZE));
+            for (PlacementRow row : transactionTemplate.execute(status -> shoeVariantsRepository.findPlacementRowsByIdIn(batch))) {
+                placements.put(row.getId(), new BestSellerRanking.Placement(row.getCategoryId(), row.getBrandId()));
+            }
+        }
+        return placements;
+    }
+
+    /**
+     * Gives the best-seller status to the variants ranked and takes it from the others, a batch per transaction, each
+     * evicting the product views and reindexing the catalog search of its variants once committed.
+     */
+    private void updateStatuses(Set<Long> bestSellerIds) {
+        Set<Long> current = new HashSet<>(
+            transactionTemplate.execute(status -> shoeVariantsRepository.findIdsByStatus(Status.BEST_SELLER))
+        );
+        List<Long> marked = bestSellerIds.stream().filter(id -> !current.contains(id)).sorted().toList();
+        List<Long> unmarked = current.stream().filter(id -> !bestSellerIds.contains(id)).sorted().toList();
+        int changed = updateInBatches(marked, shoeVariantsRepository::markBestSellers);
+        changed += updateInBatches(unmarked, shoeVariantsRepository::unmarkBestSellers);
+        if (changed > 0) {
+            log.debug("Changed the best-seller status of {} variants", changed);
+        }
+    }
+
+    private int updateInBatches(List<Long> ids, Function<List<Long>, Integer> update) {
+        int batchSize = properties.getStatusBatchSize();
+        int changed = 0;
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<Long> batch = ids.subList(start, Math.min(ids.size(), start + batchSize));
+            changed += transactionTemplate.execute(status -> {
+                batch.forEach(productReadService::evictShoeVariants);
+                int updated = update.apply(batch);
+                catalogSearchService.reindexShoeVariants(batch);
+                return updated;
+            });
+        }
+        return changed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpointLock.lock();
+        try {
+            save(firstDay(today()));
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static LocalDate firstDay(LocalDate today) {
+        return today.minusDays(BestSellerRanking.MONTH_DAYS - 1L);
+    }
+}
@@ -0,0 +1,295 @@
+package com.shoes.service;
+
+import com.shoes.domain.Cart;
+import com.shoes.domain.CartItems;
+import com.shoes.repository.CartItemsRepository;
+import com.shoes.repository.CartRepository;
+import com.shoes.repository.ColorsRepository;
+import com.shoes.repository.ShoeVariantColorsRepository;
+import com.shoes.repository.ShoeVariantColorsRepository.ColorsLink;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.ShoeVariantSizesRepository.SizesLink;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.SizesRepository;
+import com.shoes.service.dto.CartContentsDTO;
+import com.shoes.service.dto.CartMutationDTO;
+import com.shoes.service.dto.PriceDTO;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service applying batches of changes to the {@link CartItems} of a {@link Cart}, in a single transaction.
+ * <p>
+ * The cart is locked and its items read in one query. The changes are applied to them in memory, in order, an item
+ * being identified by its variant, color and size, and the items added, changed and removed written in JDBC batches.
+ * The cart is then returned priced from the {@link PricingService}.
+ */
+@Service
+public class CartService {
+
+    /**
+     * The most changes a batch can hold.
+     */
+    public static final int MAX_MUTATIONS = 100;
+
+    /**
+     * The most of an item a cart can hold.
+     */
+    public static final int MAX_QUANTITY = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(CartService.class);
+
+    private final CartRepository cartRepository;
+
+    private final CartItemsRepository cartItemsRepository;
+
+    private final ShoeVariantColorsRepository shoeVariantColorsRepository;
+
+    private final ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    private final ShoeVariantsRepository shoeVariantsRepository;
+
+    private final ColorsRepository colorsRepository;
+
+    private final SizesRepository sizesRepository;
+
+    private final PricingService pricingService;
+
+    public CartService(
+        CartRepository cartRepository,
+        CartItemsRepository cartItemsRepository,
+        ShoeVariantColorsRepository shoeVariantColorsRepository,
+        ShoeVariantSizesRepository shoeVariantSizesRepository,
+        ShoeVariantsRepository shoeVariantsRepository,
+        ColorsRepository colorsRepository,
+        SizesRepository sizesRepository,
+        PricingService pricingService
+    ) {
+        this.cartRepository = cartRepository;
+        this.cartItemsRepository = cartItemsRepository;
+        this.shoeVariantColorsRepository = shoeVariantColorsRepository;
+        this.shoeVariantSizesRepository = shoeVariantSizesRepository;
+        this.shoeVariantsRepository = shoeVariantsRepository;
+        this.colorsRepository = colorsRepository;
+        this.sizesRepository = sizesRepository;
+        this.pricingService = pricingService;
+    }
+
+    /**
+     * A variant in a color and size, as held by a cart item.
+     */
+    private record Key(Long shoeVariantsId, Integer colorsId, Integer sizesId) {
+        static Key of(CartMutationDTO mutation) {
+            return new Key(mutation.getShoeVariantsId(), mutation.getColorsId(), mutation.getSizesId());
+        }
+
+        static Key of(CartItems item) {
+            return new Key(
+                item.getShoeVariants() != null ? item.getShoeVariants().getId() : null,
+                item.getColors() != null ? item.getColors().getId() : null,
+                item.getSizes() != null ? item.getSizes().getId() : null
+            );
+        }
+    }
+
+    /**
+     * Applies changes to the items of a cart, all or none of them.
+     *
+     * @param cartId the id of the cart.
+     * @param mutations the changes, in the order to apply them.
+     * @return the items of the cart once changed, or empty if there is no such cart.
+     * @throws InvalidCartException if a change is incomplete, updates an item the cart does not hold, or adds a
+     * variant in a color or size it does not come in; if there are more than {@link #MAX_MUTATIONS} changes, or more than
+     * {@link #MAX_QUANTITY} of an item; or if the total price of the cart overflows.
+     */
+    @Transactional
+    public Optional<CartContentsDTO> mutate(Integer cartId, List<CartMutationDTO> mutations) {
+        log.debug("Request to apply {} changes to Cart : {}", mutations.size(), cartId);
+        validate(mutations);
+        Optional<Cart> cart = cartRepository.findOneForUpdate(cartId);
+        if (cart.isEmpty()) {
+            return Optional.empty();
+        }
+        checkAvailable(mutations);
+
+        Map<Key, List<CartItems>> held = new LinkedHashMap<>();
+        for (CartItems item : cartItemsRepository.findAllByCartId(cartId)) {
+            held.computeIfAbsent(Key.of(item), key -> new ArrayList<>()).add(item);
+        }
+        List<CartItems> removed = new ArrayList<>();
+        for (CartMutationDTO mutation : mutations) {
+            Key key = Key.of(mutation);
+            List<CartItems> items = held.get(key);
+            switch (mutation.getType()) {
+                case ADD -> {
+                    if (items == null) {
+                        held.put(key, new ArrayList<>(List.of(newItem(cart.orElseThrow(), key, mutation.getQuantity()))));
+                    } else {
+                        long quantity = collapse(items, removed) + mutation.getQuantity();
+                        if (quantity > MAX_QUANTITY) {
+                            throw new InvalidCartException("Cart " + cartId + " would hold more than " + MAX_QUANTITY + " of " + mutation);
+                        }
+                        items.get(0).setQuantity((int) quantity);
+                    }
+                }
+                case UPDATE -> {
+                    if (items == null) {
+                        throw new InvalidCartException("Cart " + cartId + " does not hold the item changed by " + mutation);
+                    }
+                    if (mutation.getQuantity() == 0) {
+                        removed.addAll(held.remove(key));
+                    } else {
+                        collapse(items, removed);
+                        items.get(0).setQuantity(mutation.getQuantity());
+                    }
+                }
+                case REMOVE -> {
+                    if (items != null) {
+                        removed.addAll(held.remove(key));
+                    }
+                }
+            }
+        }
+
+        // Items both added and removed by this batch were never persisted.
+        cartItemsRepository.deleteAll(removed.stream().filter(item -> item.getId() != null).toList());
+        cartItemsRepository.saveAll(held.values().stream().flatMap(List::stream).filter(item -> item.getId() == null).toList());
+        // Sends the inserts, updates and deletes now, in batches, rather than at commit.
+        cartItemsRepository.flush();
+        return Optional.of(contents(cartId, held.values().stream().flatMap(List::stream).toList()));
+    }
+
+    private static void validate(List<CartMutationDTO> mutations) {
+        if (mutations.size() > MAX_MUTATIONS) {
+            throw new InvalidCartException("At most " + MAX_MUTATIONS + " changes can be applied at once");
+        }
+        for (CartMutationDTO mutation : mutations) {
+            if (
+                mutation.getType() == null ||
+                mutation.getShoeVariantsId() == null ||
+                mutation.getColorsId() == null ||
+                mutation.getSizesId() == null
+            ) {
+                throw new InvalidCartException("Change " + mutation + " has no type, variant, color or size");
+            }
+            if (mutation.getType() == CartMutationDTO.Type.REMOVE) {
+                continue;
+            }
+            int least = mutation.getType() == CartMutationDTO.Type.ADD ? 1 : 0;
+            if (mutation.getQuantity() == null || mutation.getQuantity() < least) {
+                throw new InvalidCartException("Change " + mutation + " has no quantity");
+            }
+            if (mutation.getQuantity() > MAX_QUANTITY) {
+                throw new InvalidCartException("Change " + mutation + " has more than " + MAX_QUANTITY + " of the item");
+            }
+        }
+    }
+
+    /**
+     * Checks that the variants added come in the color and size they are added in.
+     */
+    private void checkAvailable(List<CartMutationDTO> mutations) {
+        List<Long> shoeVariantsIds = mutations
+            .stream()
+            .filter(mutation -> mutation.getType() == CartMutationDTO.Type.ADD)
+            .map(CartMutationDTO::getShoeVariantsId)
+            .distinct()
+            .toList();
+        if (shoeVariantsIds.isEmpty()) {
+            return;
+        }
+        Set<Key> colors = new HashSet<>();
+        for (ColorsLink link : shoeVariantColorsRepository.findColorsLinksByShoeVariantsIdIn(shoeVariantsIds)) {
+            colors.add(new Key(link.getShoeVariantsId(), link.getColorsId(), null));
+        }
+        Set<Key> sizes = new HashSet<>();
+        for (SizesLink link : shoeVariantSizesRepository.findSizesLinksByShoeVariantsIdIn(shoeVariantsIds)) {
+            sizes.add(new Key(link.getShoeVariantsId(), null, link.getSizesId()));
+        }
+        for (CartMutationDTO mutation : mutations) {
+            if (mutation.getType() != CartMutationDTO.Type.ADD) {
+                continue;
+            }
+            if (!colors.contains(new Key(mutation.getShoeVariantsId(), mutation.getColorsId(), null))) {
+                throw new InvalidCartException("Variant " + mutation.getShoeVariantsId() + " has no color " + mutation.getColorsId());
+            }
+            if (!sizes.contains(new Key(mutation.getShoeVariantsId(), null, mutation.getSizesId()))) {
+                throw new InvalidCartException("Variant " + mutation.getShoeVariantsId() + " has no size " + mutation.getSizesId());
+            }
+        }
+    }
+
+    private CartItems newItem(Cart cart, Key key, int quantity) {
+        return new CartItems()
+            .quantity(quantity)
+            .cart(cart)
+            .shoeVariants(shoeVariantsRepository.getReferenceById(key.shoeVariantsId()))
+            .colors(colorsRepository.getReferenceById(key.colorsId()))
+            .sizes(sizesRepository.getReferenceById(key.sizesId()));
+    }
+
+    /**
+     * Merges the items holding the same variant, color and size into the first one, which is left to be given a
+     * quantity.
+     *
+     * @return the quantity the items held together.
+     */
+    private static long collapse(List<CartItems> items, List<CartItems> removed) {
+        long quantity = 0;
+        for (CartItems item : items) {
+            quantity += item.getQuantity() != null ? item.getQuantity() : 0;
+        }
+        removed.addAll(items.subList(1, items.size()));
+        items.subList(1, items.size()).clear();
+        return quantity;
+    }
+
+    /**
+     * Prices the items of a cart at the current price of their variant in their color.
+     */
+    private CartContentsDTO contents(Integer cartId, List<CartItems> items) {
+        Map<Long, List<PriceDTO>> byShoeVariants = new HashMap<>();
+        CartContentsDTO contents = new CartContentsDTO();
+        contents.setCartId(cartId);
+        long totalPrice = 0;
+        for (CartItems item : items.stream().sorted(Comparator.comparing(CartItems::getId)).toList()) {
+            Key key = Key.of(item);
+            Long price = null;
+            if (key.shoeVariantsId() != null && key.colorsId() != null) {
+                price = byShoeVariants
+                    .computeIfAbsent(key.shoeVariantsId(), pricingService::getPrices)
+                    .stream()
+                    .filter(candidate -> key.colorsId().equals(candidate.getColorsId()) && candidate.getPrice() != null)
+                    .findFirst()
+                    .map(candidate -> CheckoutService.toCents(candidate.getPrice()))
+                    .orElse(null);
+            }
+            if (price != null && item.getQuantity() != null) {
+                try {
+                    totalPrice = Math.addExact(totalPrice, Math.multiplyExact(price, item.getQuantity()));
+                } catch (ArithmeticException e) {
+                    // Items written through the CRUD API are not bounded.
+                    throw new InvalidCartException("The total price of cart " + cartId + " overflows");
+                }
+            }
+            contents
+                .getItems()
+                .add(
+                    new CartContentsDTO.Item(item.getId(), key.shoeVariantsId(), key.colorsId(), key.sizesId(), item.getQuantity(), price)
+                );
+        }
+        contents.setTotalPrice(totalPrice);
+        return contents;
+    }
+}
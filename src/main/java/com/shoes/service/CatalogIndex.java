@@ -0,0 +1,226 @@
+package com.shoes.service;
+
+import com.shoes.domain.enumeration.Status;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap index over the catalog, one {@link BitSet} per facet value.
+ * <p>
+ * Every indexed variant owns a slot; a facet value's bitmap has the slot's bit set when the variant carries that value.
+ * Values of the same facet are OR-ed, facets are AND-ed together. Slots are never reused until the index is rebuilt,
+ * so iterating a bitmap yields variants in the order they were indexed (ascending id after a full rebuild).
+ */
+class CatalogIndex {
+
+    enum Facet {
+        BRAND,
+        CATEGORY,
+        PURPOSE,
+        COLLECTION,
+        COLOR,
+        SIZE,
+        STATUS,
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+
+    private final List<Document> documents = new ArrayList<>();
+
+    private final BitSet live = new BitSet();
+
+    private final Map<Facet, Map<String, BitSet>> postings = new EnumMap<>(Facet.class);
+
+    private final Map<Long, Long> colorsLinkOwners = new HashMap<>();
+
+    private final Map<Long, Long> sizesLinkOwners = new HashMap<>();
+
+    CatalogIndex() {
+        for (Facet facet : Facet.values()) {
+            postings.put(facet, new HashMap<>());
+        }
+    }
+
+    void upsert(Document document) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(document.id());
+            if (slot != null) {
+                unindex(slot);
+            } else {
+                slot = documents.size();
+                documents.add(null);
+                slotsById.put(document.id(), slot);
+            }
+            documents.set(slot, document);
+            live.set(slot);
+            for (Map.Entry<Facet, Set<String>> entry : document.values().entrySet()) {
+                Map<String, BitSet> bitmaps = postings.get(entry.getKey());
+                for (String value : entry.getValue()) {
+                    bitmaps.computeIfAbsent(value, key -> new BitSet()).set(slot);
+                }
+            }
+            document.colorsLinkIds().forEach(linkId -> colorsLinkOwners.put(linkId, document.id()));
+            document.sizesLinkIds().forEach(linkId -> sizesLinkOwners.put(linkId, document.id()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot != null) {
+                unindex(slot);
+                documents.set(slot, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(int slot) {
+        Document previous = documents.get(slot);
+        live.clear(slot);
+        for (Map.Entry<Facet, Set<String>> entry : previous.values().entrySet()) {
+            Map<String, BitSet> bitmaps = postings.get(entry.getKey());
+            for (String value : entry.getValue()) {
+                BitSet bitmap = bitmaps.get(value);
+                bitmap.clear(slot);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(value);
+                }
+            }
+        }
+        previous.colorsLinkIds().forEach(colorsLinkOwners::remove);
+        previous.sizesLinkIds().forEach(sizesLinkOwners::remove);
+    }
+
+    Long colorsLinkOwner(Long shoeVariantColorsId) {
+        lock.readLock().lock();
+        try {
+            return colorsLinkOwners.get(shoeVariantColorsId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Long sizesLinkOwner(Long shoeVariantSizesId) {
+        lock.readLock().lock();
+        try {
+            return sizesLinkOwners.get(shoeVariantSizesId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a multi-facet filter and computes the facet counts next to it.
+     * <p>
+     * The count of a value is the number of matches the query would have if that value were added to the filter of its
+     * own facet, i.e. every facet is counted against the filters of the other facets only.
+     *
+     * @param filters the accepted values per facet, an absent or empty set means no restriction.
+     * @param offset the number of matches to skip.
+     * @param limit the maximum number of matches to return.
+     * @return the matching documents and facet counts.
+     */
+    Result search(Map<Facet, Set<String>> filters, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Facet, BitSet> matchesByFacet = new EnumMap<>(Facet.class);
+            for (Map.Entry<Facet, Set<String>> filter : filters.entrySet()) {
+                if (filter.getValue() == null || filter.getValue().isEmpty()) {
+                    continue;
+                }
+                BitSet union = new BitSet();
+                Map<String, BitSet> bitmaps = postings.get(filter.getKey());
+                for (String value : filter.getValue()) {
+                    BitSet bitmap = bitmaps.get(value);
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                }
+                matchesByFacet.put(filter.getKey(), union);
+            }
+
+            BitSet matches = intersect(matchesByFacet, null);
+
+            Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                BitSet base = matchesByFacet.containsKey(facet) ? intersect(matchesByFacet, facet) : matches;
+                Map<String, Integer> facetCounts = new TreeMap<>();
+                for (Map.Entry<String, BitSet> posting : postings.get(facet).entrySet()) {
+                    BitSet intersection = (BitSet) posting.getValue().clone();
+                    intersection.and(base);
+                    int count = intersection.cardinality();
+                    if (count > 0) {
+                        facetCounts.put(posting.getKey(), count);
+                    }
+                }
+                counts.put(facet, facetCounts);
+            }
+
+            List<Document> hits = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+            int skipped = 0;
+            for (int slot = matches.nextSetBit(0); slot >= 0 && hits.size() < limit; slot = matches.nextSetBit(slot + 1)) {
+                if (skipped++ >= offset) {
+                    hits.add(documents.get(slot));
+                }
+            }
+            return new Result(matches.cardinality(), hits, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet intersect(Map<Facet, BitSet> matchesByFacet, Facet excluded) {
+        BitSet result = (BitSet) live.clone();
+        for (Map.Entry<Facet, BitSet> entry : matchesByFacet.entrySet()) {
+            if (entry.getKey() != excluded) {
+                result.and(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * An indexed variant: what is returned as a hit, plus the facet values it is indexed under.
+     */
+    record Document(
+        Long id,
+        Long shoesId,
+        Status status,
+        String photoUrl,
+        Map<Facet, Set<String>> values,
+        Set<Long> colorsLinkIds,
+        Set<Long> sizesLinkIds
+    ) {}
+
+    record Result(long total, List<Document> hits, Map<Facet, Map<String, Integer>> counts) {
+        Result {
+            hits = Collections.unmodifiableList(hits);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hands the variants reindexed by every instance, this one included, to the {@link CatalogSearchService} to be read
+ * again. The index is marked as stale each time the listener starts listening, and whenever an instance announces it is.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.catalog-search", name = "notify-enabled", havingValue = "true")
+public class CatalogSearchListener extends NotificationListener {
+
+    private final CatalogSearchService catalogSearchService;
+
+    public CatalogSearchListener(
+        DataSourceProperties dataSourceProperties,
+        CatalogSearchService catalogSearchService,
+        ApplicationProperties applicationProperties
+    ) {
+        super(
+            dataSourceProperties,
+            "catalog-search-listener",
+            applicationProperties.getCatalogSearch().getChannel(),
+            applicationProperties.getCatalogSearch().getPollTimeout(),
+            applicationProperties.getCatalogSearch().getReconnectDelay()
+        );
+        this.catalogSearchService = catalogSearchService;
+    }
+
+    @Override
+    protected void resync() {
+        catalogSearchService.markStale();
+    }
+
+    @Override
+    protected void receive(List<String> payloads) {
+        if (payloads.contains(CatalogSearchService.INVALIDATE)) {
+            catalogSearchService.markStale();
+            return;
+        }
+        Set<Long> shoeVariantsIds = new LinkedHashSet<>();
+        payloads.forEach(payload -> NotificationPayloads.read(payload, shoeVariantsIds));
+        catalogSearchService.refresh(shoeVariantsIds);
+    }
+}
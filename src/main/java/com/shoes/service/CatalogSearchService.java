@@ -0,0 +1,459 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import com.shoes.repository.ShoeVariantColorsRepository;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.service.CatalogIndex.Document;
+import com.shoes.service.CatalogIndex.Facet;
+import com.shoes.service.dto.CatalogSearchCriteria;
+import com.shoes.service.dto.CatalogSearchResultDTO;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service answering faceted catalog searches from an in-memory {@link CatalogIndex}.
+ * <p>
+ * The index is built from the database when the application is ready and kept up to date by the REST resources,
+ * which report every catalog write. Reported variants are read again once the writing transaction has committed, so
+ * that the index only ever holds committed state. Reads and their application to the
+ * index are serialized, so that a variant read before a later write is never applied after it.
+ * <p>
+ * Each instance holds its own index. When {@code application.catalog-search.notify-enabled} is set, the variants
+ * reindexed by an instance are sent to the others as Postgres notifications on {@code application.catalog-search.channel},
+ * and read again by their {@link CatalogSearchListener}; otherwise the writes made through the other instances are only
+ * seen once this one rebuilds its index.
+ */
+@Service
+public class CatalogSearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final int MAX_LIMIT = 200;
+
+    /**
+     * Payload announcing that the whole index is stale.
+     */
+    static final String INVALIDATE = "*";
+
+    private final Logger log = LoggerFactory.getLogger(CatalogSearchService.class);
+
+    private final ShoeVariantsRepository shoeVariantsRepository;
+
+    private final ShoeVariantColorsRepository shoeVariantColorsRepository;
+
+    private final ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    private final DataSource dataSource;
+
+    private final ApplicationProperties.CatalogSearch properties;
+
+    /**
+     * Reads the reported variants after their transaction has committed. Run from the commit callback, it reuses the
+     * connection of that transaction rather than waiting on the pool for a second one, and sees what it committed.
+     */
+    private final TransactionTemplate readTemplate;
+
+    /**
+     * The variants reindexed since the last announce.
+     */
+    private final Set<Long> reindexed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether the index was marked as stale since the last announce.
+     */
+    private volatile boolean invalidated = false;
+
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile CatalogIndex index = new CatalogIndex();
+
+    private volatile boolean upToDate = false;
+
+    private volatile boolean rebuilding = false;
+
+    /**
+     * Serializes rebuilds; a lock rather than a monitor, so that a virtual thread waiting on the database while holding
+     * it does not pin its carrier thread.
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * Serializes the reads of reindexed variants with their application to the index.
+     */
+    private final ReentrantLock reindexLock = new ReentrantLock();
+
+    public CatalogSearchService(
+        ShoeVariantsRepository shoeVariantsRepository,
+        ShoeVariantColorsRepository shoeVariantColorsRepository,
+        ShoeVariantSizesRepository shoeVariantSizesRepository,
+        DataSource dataSource,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.shoeVariantsRepository = shoeVariantsRepository;
+        this.shoeVariantColorsRepository = shoeVariantColorsRepository;
+        this.shoeVariantSizesRepository = shoeVariantSizesRepository;
+        this.dataSource = dataSource;
+        this.properties = applicationProperties.getCatalogSearch();
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            // Liquibase may still be running asynchronously, the first search will retry.
+            log.warn("Could not build the catalog index at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the database and swaps it in.
+     * Variants changed while the rebuild was running are read again afterwards.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        long start = System.currentTimeMillis();
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            CatalogIndex fresh = new CatalogIndex();
+            List<Long> ids = shoeVariantsRepository.findAllIds();
+            for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+                loadDocuments(ids.subList(from, Math.min(ids.size(), from + REBUILD_BATCH_SIZE))).values().forEach(fresh::upsert);
+            }
+            index = fresh;
+            upToDate = true;
+        } finally {
+            rebuilding = false;
+        }
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Long> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(changed);
+            apply(changed, loadDocuments(changed));
+        }
+        log.debug("Built catalog index of {} variants in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Runs a faceted search.
+     *
+     * @param criteria the facet filters and page.
+     * @return the matching variants and the facet counts.
+     */
+    public CatalogSearchResultDTO search(CatalogSearchCriteria criteria) {
+        ensureUpToDate();
+        Map<Facet, Set<String>> filters = new EnumMap<>(Facet.class);
+        filters.put(Facet.BRAND, normalize(criteria.getBrand(), false));
+        filters.put(Facet.CATEGORY, normalize(criteria.getCategory(), true));
+        filters.put(Facet.PURPOSE, normalize(criteria.getPurpose(), true));
+        filters.put(Facet.COLLECTION, normalize(criteria.getCollection(), false));
+        filters.put(Facet.COLOR, normalize(criteria.getColor(), false));
+        filters.put(Facet.SIZE, normalize(criteria.getSize(), false));
+        filters.put(Facet.STATUS, normalize(criteria.getStatus(), true));
+
+        int limit = Math.max(0, Math.min(criteria.getLimit(), MAX_LIMIT));
+        CatalogIndex.Result result = index.search(filters, Math.max(0, criteria.getOffset()), limit);
+
+        List<CatalogSearchResultDTO.Hit> hits = result
+            .hits()
+            .stream()
+            .map(document -> new CatalogSearchResultDTO.Hit(document.id(), document.shoesId(), document.status(), document.photoUrl()))
+            .toList();
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet.name().toLowerCase(Locale.ROOT), counts));
+        return new CatalogSearchResultDTO(result.total(), hits, facets);
+    }
+
+    private void ensureUpToDate() {
+        if (!upToDate) {
+            rebuildLock.lock();
+            try {
+                if (!upToDate) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    private static Set<String> normalize(List<String> values, boolean enumValues) {
+        Set<String> normalized = new HashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    normalized.add(enumValues ? value.trim().toUpperCase(Locale.ROOT) : value.trim());
+                }
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Reindexes the given variants from their committed state once the current transaction commits.
+     *
+     * @param shoeVariantsIds the ids of the created or updated variants.
+     */
+    public void reindexShoeVariants(Collection<Long> shoeVariantsIds) {
+        List<Long> ids = shoeVariantsIds.stream().filter(id -> id != null).distinct().toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            reindex(ids);
+            if (properties.isNotifyEnabled()) {
+                reindexed.addAll(ids);
+            }
+        });
+    }
+
+    public void reindexShoeVariants(Long shoeVariantsId) {
+        reindexShoeVariants(List.of(shoeVariantsId));
+    }
+
+    /**
+     * Removes a deleted variant from the index once the current transaction commits.
+     *
+     * @param shoeVariantsId the id of the deleted variant.
+     */
+    public void removeShoeVariants(Long shoeVariantsId) {
+        reindexShoeVariants(List.of(shoeVariantsId));
+    }
+
+    /**
+     * Reindexes the variants of a {@link com.shoes.domain.Shoes}, whose brand, category, collection or purpose may have changed.
+     *
+     * @param shoesId the id of the updated shoes.
+     */
+    public void reindexShoes(Long shoesId) {
+        reindexShoeVariants(shoeVariantsRepository.findIdsByShoesId(shoesId));
+    }
+
+    /**
+     * Reindexes the variant a {@link com.shoes.domain.ShoeVariantColors} belongs to, and the one it belonged to before.
+     *
+     * @param shoeVariantColorsId the id of the created, updated or deleted shoeVariantColors.
+     */
+    public void reindexShoeVariantColors(Long shoeVariantColorsId) {
+        Set<Long> owners = new HashSet<>();
+        owners.add(index.colorsLinkOwner(shoeVariantColorsId));
+        shoeVariantColorsRepository.findShoeVariantsIdById(shoeVariantColorsId).ifPresent(owners::add);
+        reindexShoeVariants(owners);
+    }
+
+    /**
+     * Reindexes the variant a {@link com.shoes.domain.ShoeVariantSizes} belongs to, and the one it belonged to before.
+     *
+     * @param shoeVariantSizesId the id of the created, updated or deleted shoeVariantSizes.
+     */
+    public void reindexShoeVariantSizes(Long shoeVariantSizesId) {
+        Set<Long> owners = new HashSet<>();
+        owners.add(index.sizesLinkOwner(shoeVariantSizesId));
+        shoeVariantSizesRepository.findShoeVariantsIdById(shoeVariantSizesId).ifPresent(owners::add);
+        reindexShoeVariants(owners);
+    }
+
+    /**
+     * Marks the whole index as stale once the current transaction commits, for changes such as a renamed category that
+     * affect too many variants to be tracked one by one. The next search rebuilds it.
+     */
+    public void invalidate() {
+        TransactionCallbacks.afterCommit(() -> {
+            markStale();
+            if (properties.isNotifyEnabled()) {
+                invalidated = true;
+            }
+        });
+    }
+
+    /**
+     * Reindexes variants written by another instance.
+     *
+     * @param shoeVariantsIds the ids of the variants announced.
+     */
+    public void refresh(Collection<Long> shoeVariantsIds) {
+        List<Long> ids = List.copyOf(shoeVariantsIds);
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            reindex(ids.subList(from, Math.min(ids.size(), from + REBUILD_BATCH_SIZE)));
+        }
+    }
+
+    /**
+     * Marks the whole index as stale, to be rebuilt by the next search.
+     */
+    public void markStale() {
+        upToDate = false;
+    }
+
+    /**
+     * Sends the ids of the variants reindexed since the last announce to every instance; they are kept for the next
+     * announce if they cannot be sent.
+     */
+    @Scheduled(fixedDelayString = "${application.catalog-search.announce-interval:PT0.2S}")
+    public void announce() {
+        if (reindexed.isEmpty() && !invalidated) {
+            return;
+        }
+        boolean stale = invalidated;
+        invalidated = false;
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> iterator = reindexed.iterator(); iterator.hasNext();) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        List<String> payloads = new ArrayList<>();
+        if (stale) {
+            payloads.add(INVALIDATE);
+        }
+        payloads.addAll(NotificationPayloads.write(ids));
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+                for (String payload : payloads) {
+                    statement.setString(1, properties.getChannel());
+                    statement.setString(2, payload);
+                    statement.executeQuery().close();
+                }
+            }
+            // Notifications are delivered once the transaction sending them commits.
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not announce {} reindexed variants, will retry: {}", ids.size(), e.getMessage());
+            reindexed.addAll(ids);
+            if (stale) {
+                invalidated = true;
+            }
+        }
+    }
+
+    /**
+     * Reads variants as committed and applies them to the index; the whole index is marked as stale if they cannot be
+     * read.
+     */
+    private void reindex(List<Long> ids) {
+        reindexLock.lock();
+        try {
+            apply(ids, readTemplate.execute(status -> loadDocuments(ids)));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not reindex {} variants, the index will be rebuilt: {}", ids.size(), e.getMessage());
+            upToDate = false;
+        } finally {
+            reindexLock.unlock();
+        }
+    }
+
+    private void apply(List<Long> ids, Map<Long, Document> documents) {
+        // Recorded before the index is read: if the rebuild has drained the changes by then, it has swapped the index too.
+        if (rebuilding) {
+            changedDuringRebuild.addAll(ids);
+        }
+        CatalogIndex current = index;
+        for (Long id : ids) {
+            Document document = documents.get(id);
+            if (document != null) {
+                current.upsert(document);
+            } else {
+                current.remove(id);
+            }
+        }
+    }
+
+    private Map<Long, Document> loadDocuments(List<Long> ids) {
+        Map<Long, Map<Facet, Set<String>>> values = new LinkedHashMap<>();
+        Map<Long, ShoeVariantsRepository.CatalogRow> rows = new LinkedHashMap<>();
+        for (ShoeVariantsRepository.CatalogRow row : shoeVariantsRepository.findCatalogRowsByIdIn(ids)) {
+            rows.put(row.getId(), row);
+            Map<Facet, Set<String>> facets = new EnumMap<>(Facet.class);
+            add(facets, Facet.BRAND, row.getBrandId());
+            add(facets, Facet.CATEGORY, row.getCategoryName());
+            add(facets, Facet.PURPOSE, row.getShoePurposeType());
+            add(facets, Facet.COLLECTION, row.getCollectionId());
+            add(facets, Facet.STATUS, row.getStatus());
+            values.put(row.getId(), facets);
+        }
+
+        Map<Long, Set<Long>> colorsLinks = new LinkedHashMap<>();
+        for (ShoeVariantColorsRepository.ColorsLink link : shoeVariantColorsRepository.findColorsLinksByShoeVariantsIdIn(ids)) {
+            Map<Facet, Set<String>> facets = values.get(link.getShoeVariantsId());
+            if (facets != null) {
+                add(facets, Facet.COLOR, link.getColorsId());
+                colorsLinks.computeIfAbsent(link.getShoeVariantsId(), id -> new HashSet<>()).add(link.getId());
+            }
+        }
+
+        Map<Long, Set<Long>> sizesLinks = new LinkedHashMap<>();
+        for (ShoeVariantSizesRepository.SizesLink link : shoeVariantSizesRepository.findSizesLinksByShoeVariantsIdIn(ids)) {
+            Map<Facet, Set<String>> facets = values.get(link.getShoeVariantsId());
+            if (facets != null) {
+                add(facets, Facet.SIZE, link.getSizesId());
+                sizesLinks.computeIfAbsent(link.getShoeVariantsId(), id -> new HashSet<>()).add(link.getId());
+            }
+        }
+        for (ShoeVariantsRepository.SizesLink link : shoeVariantsRepository.findSizesLinksByIdIn(ids)) {
+            Map<Facet, Set<String>> facets = values.get(link.getShoeVariantsId());
+            if (facets != null) {
+                add(facets, Facet.SIZE, link.getSizesId());
+            }
+        }
+
+        Map<Long, Document> documents = new LinkedHashMap<>();
+        rows.forEach((id, row) ->
+            documents.put(
+                id,
+                new Document(
+                    id,
+                    row.getShoesId(),
+                    row.getStatus(),
+                    row.getPhotoUrl(),
+                    values.get(id),
+                    colorsLinks.getOrDefault(id, Set.of()),
+                    sizesLinks.getOrDefault(id, Set.of())
+                )
+            )
+        );
+        return documents;
+    }
+
+    private static void add(Map<Facet, Set<String>> facets, Facet facet, Object value) {
+        if (value != null) {
+            facets.computeIfAbsent(facet, key -> new HashSet<>()).add(value instanceof Enum<?> e ? e.name() : value.toString());
+        }
+    }
+}
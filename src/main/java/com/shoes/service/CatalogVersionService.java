@@ -0,0 +1,87 @@
+package com.shoes.service;
+
+import com.shoes.domain.CatalogVersion;
+import com.shoes.repository.CatalogVersionRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service counting the writes made to each catalog entity, so that its REST representations can be tagged with a
+ * version and revalidated without being read again.
+ * <p>
+ * Counters are {@link CatalogVersion} rows, bumped in the transaction of the write: they only change when the write
+ * commits, and survive restarts. Each node answers from a copy of the counters held in memory, so that tagging a read
+ * costs no database round-trip. The node writing reads its counter again as soon as the write has committed; the
+ * others read every counter again every {@code application.catalog-version.refresh-interval}, and may tag their reads
+ * with the previous version until then.
+ */
+@Service
+public class CatalogVersionService {
+
+    private final CatalogVersionRepository catalogVersionRepository;
+
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    public CatalogVersionService(CatalogVersionRepository catalogVersionRepository) {
+        this.catalogVersionRepository = catalogVersionRepository;
+    }
+
+    /**
+     * Returns the current version of an entity.
+     *
+     * @param entityName the name of the entity.
+     * @return the number of writes committed to it, as last read by this node.
+     */
+    public long version(String entityName) {
+        if (!loaded) {
+            refresh();
+        }
+        return versions.getOrDefault(entityName, 0L);
+    }
+
+    /**
+     * Reads every version again from the database.
+     */
+    @Scheduled(fixedDelayString = "${application.catalog-version.refresh-interval:PT1S}")
+    public void refresh() {
+        for (CatalogVersion catalogVersion : catalogVersionRepository.findAll()) {
+            update(catalogVersion.getEntityName(), catalogVersion.getVersion());
+        }
+        loaded = true;
+    }
+
+    /**
+     * Bumps the version of an entity, in the current transaction.
+     *
+     * @param entityName the name of the entity written.
+     */
+    @Transactional
+    public void bump(String entityName) {
+        catalogVersionRepository.bump(entityName);
+        TransactionCallbacks.afterCommit(() ->
+            catalogVersionRepository.findVersionByEntityName(entityName).ifPresent(version -> update(entityName, version))
+        );
+    }
+
+    /**
+     * Keeps the highest version read, as a refresh which started before a write may end after the write has been read.
+     */
+    private void update(String entityName, long version) {
+        versions.merge(entityName, version, Math::max);
+    }
+
+    /**
+     * Returns the strong entity tag of the representations of an entity at its current version.
+     *
+     * @param entityName the name of the entity.
+     * @return the quoted entity tag.
+     */
+    public String etag(String entityName) {
+        return "\"" + entityName + '-' + version(entityName) + "\"";
+    }
+}
@@ -0,0 +1,309 @@
+package com.shoes.service;
+
+import com.shoes.domain.Cart;
+import com.shoes.domain.OrderItems;
+import com.shoes.domain.Orders;
+import com.shoes.management.CheckoutMetersService;
+import com.shoes.repository.CartItemsRepository;
+import com.shoes.repository.CartItemsRepository.CheckoutRow;
+import com.shoes.repository.CartRepository;
+import com.shoes.repository.ColorsRepository;
+import com.shoes.repository.OrderItemsRepository;
+import com.shoes.repository.OrdersRepository;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.ShoeVariantSizesRepository.SizesLink;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.SizesRepository;
+import com.shoes.service.dto.CheckoutDTO;
+import com.shoes.service.dto.PriceDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service checking a {@link Cart} out into an {@link Orders}, in a single transaction.
+ * <p>
+ * The cart is locked, its items priced by the {@link PricingService} from the database, their stock taken out of
+ * {@link com.shoes.domain.ShoeVariantSizes} in id order, the order and all its items inserted in JDBC batches and the
+ * cart emptied. Any failure rolls the whole checkout back. The time spent in each stage is measured and returned.
+ */
+@Service
+public class CheckoutService {
+
+    public static final String STAGE_LOAD = "load";
+    public static final String STAGE_PRICE = "price";
+    public static final String STAGE_RESERVE = "reserve";
+    public static final String STAGE_PERSIST = "persist";
+    public static final String STAGE_CLEAR = "clear";
+    public static final String STAGE_COMMIT = "commit";
+
+    private final Logger log = LoggerFactory.getLogger(CheckoutService.class);
+
+    private final CartRepository cartRepository;
+
+    private final CartItemsRepository cartItemsRepository;
+
+    private final OrdersRepository ordersRepository;
+
+    private final OrderItemsRepository orderItemsRepository;
+
+    private final ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    private final ShoeVariantsRepository shoeVariantsRepository;
+
+    private final ColorsRepository colorsRepository;
+
+    private final SizesRepository sizesRepository;
+
+    private final PricingService pricingService;
+
+    private final BestSellerService bestSellerService;
+
+    private final CheckoutMetersService checkoutMetersService;
+
+    private final OutboxService outboxService;
+
+    private final StockStreamService stockStreamService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public CheckoutService(
+        CartRepository cartRepository,
+        CartItemsRepository cartItemsRepository,
+        OrdersRepository ordersRepository,
+        OrderItemsRepository orderItemsRepository,
+        ShoeVariantSizesRepository shoeVariantSizesRepository,
+        ShoeVariantsRepository shoeVariantsRepository,
+        ColorsRepository colorsRepository,
+        SizesRepository sizesRepository,
+        PricingService pricingService,
+        BestSellerService bestSellerService,
+        CheckoutMetersService checkoutMetersService,
+        OutboxService outboxService,
+        StockStreamService stockStreamService,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.cartRepository = cartRepository;
+        this.cartItemsRepository = cartItemsRepository;
+        this.ordersRepository = ordersRepository;
+        this.orderItemsRepository = orderItemsRepository;
+        this.shoeVariantSizesRepository = shoeVariantSizesRepository;
+        this.shoeVariantsRepository = shoeVariantsRepository;
+        this.colorsRepository = colorsRepository;
+        this.sizesRepository = sizesRepository;
+        this.pricingService = pricingService;
+        this.bestSellerService = bestSellerService;
+        this.checkoutMetersService = checkoutMetersService;
+        this.outboxService = outboxService;
+        this.stockStreamService = stockStreamService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * The order a cart was checked out into, and how long each stage took, in order.
+     */
+    public record Result(CheckoutDTO checkout, Map<String, Duration> stages) {}
+
+    /**
+     * Checks a cart out.
+     *
+     * @param cartId the id of the cart.
+     * @return the checkout, or empty if there is no such cart.
+     * @throws InvalidCartException if the cart is empty, or an item cannot be priced or has no stock.
+     * @throws InsufficientStockException if less is left of an item than the cart holds.
+     */
+    public Optional<Result> checkout(Integer cartId) {
+        log.debug("Request to check out Cart : {}", cartId);
+        long start = System.nanoTime();
+        Stopwatch stopwatch = new Stopwatch(start);
+        try {
+            Optional<CheckoutDTO> checkout = transactionTemplate.execute(status -> checkout(cartId, stopwatch));
+            stopwatch.lap(STAGE_COMMIT);
+            if (checkout.isEmpty()) {
+                return Optional.empty();
+            }
+            checkoutMetersService.trackCompleted(start, stopwatch.stages());
+            return Optional.of(new Result(checkout.orElseThrow(), stopwatch.stages()));
+        } catch (InvalidCartException e) {
+            checkoutMetersService.trackRejected(start);
+            throw e;
+        } catch (InsufficientStockException e) {
+            checkoutMetersService.trackConflict(start);
+            throw e;
+        }
+    }
+
+    private Optional<CheckoutDTO> checkout(Integer cartId, Stopwatch stopwatch) {
+        Optional<Cart> cart = cartRepository.findOneForUpdate(cartId);
+        if (cart.isEmpty()) {
+            return Optional.empty();
+        }
+        List<CheckoutRow> rows = cartItemsRepository.findCheckoutRowsByCartId(cartId);
+        if (rows.isEmpty()) {
+            throw new InvalidCartException("Cart " + cartId + " is empty");
+        }
+        for (CheckoutRow row : rows) {
+            if (row.getShoeVariantsId() == null || row.getColorsId() == null || row.getSizesId() == null) {
+                throw new InvalidCartException("Cart item " + row.getId() + " has no variant, color or size");
+            }
+            if (row.getQuantity() == null || row.getQuantity() < 1) {
+                throw new InvalidCartException("Cart item " + row.getId() + " has no quantity");
+            }
+        }
+        stopwatch.lap(STAGE_LOAD);
+
+        List<Long> prices = price(rows);
+        stopwatch.lap(STAGE_PRICE);
+
+        reserve(rows);
+        stopwatch.lap(STAGE_RESERVE);
+
+        CheckoutDTO checkout = persist(cart.orElseThrow(), rows, prices);
+        stopwatch.lap(STAGE_PERSIST);
+
+        cartItemsRepository.deleteAllByIdInBatch(rows.stream().map(CheckoutRow::getId).toList());
+        stopwatch.lap(STAGE_CLEAR);
+        return Optional.of(checkout);
+    }
+
+    /**
+     * Reads the current unit price of every item from the database, in cents: the price table of this instance may not
+     * hold the latest writes of the others yet.
+     */
+    private List<Long> price(List<CheckoutRow> rows) {
+        Map<Long, List<PriceDTO>> byShoeVariants = pricingService.getCommittedPrices(
+            rows.stream().map(CheckoutRow::getShoeVariantsId).toList()
+        );
+        List<Long> prices = new ArrayList<>(rows.size());
+        for (CheckoutRow row : rows) {
+            PriceDTO price = byShoeVariants
+                .getOrDefault(row.getShoeVariantsId(), List.of())
+                .stream()
+                .filter(candidate -> row.getColorsId().equals(candidate.getColorsId()) && candidate.getPrice() != null)
+                .findFirst()
+                .orElseThrow(() -> new InvalidCartException("Cart item " + row.getId() + " has no price"));
+            prices.add(toCents(price.getPrice()));
+        }
+        return prices;
+    }
+
+    static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Takes the stock of every item, sizes in id order so that concurrent checkouts cannot deadlock.
+     */
+    private void reserve(List<CheckoutRow> rows) {
+        Map<Long, Map<Integer, Long>> sizes = new HashMap<>();
+        List<Long> shoeVariantsIds = rows.stream().map(CheckoutRow::getShoeVariantsId).distinct().toList();
+        for (SizesLink link : shoeVariantSizesRepository.findSizesLinksByShoeVariantsIdIn(shoeVariantsIds)) {
+            if (link.getSizesId() != null) {
+                sizes.computeIfAbsent(link.getShoeVariantsId(), id -> new HashMap<>()).putIfAbsent(link.getSizesId(), link.getId());
+            }
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (CheckoutRow row : rows) {
+            Long shoeVariantSizesId = sizes.getOrDefault(row.getShoeVariantsId(), Map.of()).get(row.getSizesId());
+            if (shoeVariantSizesId == null) {
+                throw new InvalidCartException("Cart item " + row.getId() + " has no stock");
+            }
+            quantities.merge(shoeVariantSizesId, row.getQuantity(), Integer::sum);
+        }
+        quantities.forEach((shoeVariantSizesId, quantity) -> {
+            if (shoeVariantSizesRepository.decrementQuantity(shoeVariantSizesId, quantity) == 0) {
+                throw new InsufficientStockException();
+            }
+        });
+        outboxService.stockChanged(quantities.keySet());
+        stockStreamService.stockChanged(quantities.keySet());
+    }
+
+    private CheckoutDTO persist(Cart cart, List<CheckoutRow> rows, List<Long> prices) {
+        long totalPrice = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            totalPrice = Math.addExact(totalPrice, Math.multiplyExact(prices.get(i), rows.get(i).getQuantity()));
+        }
+        Orders orders = ordersRepository.save(
+            new Orders().orderDate(Instant.now()).totalPrice(totalPrice).customer(cart.getCustomer())
+        );
+        List<OrderItems> orderItems = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            CheckoutRow row = rows.get(i);
+            orderItems.add(
+                new OrderItems()
+                    .quantity(row.getQuantity())
+                    .price(prices.get(i))
+                    .orders(orders)
+                    .shoeVariants(shoeVariantsRepository.getReferenceById(row.getShoeVariantsId()))
+                    .colors(colorsRepository.getReferenceById(row.getColorsId()))
+                    .sizes(sizesRepository.getReferenceById(row.getSizesId()))
+            );
+        }
+        orderItemsRepository.saveAll(orderItems);
+        // Sends the inserts now, in batches, rather than at commit.
+        orderItemsRepository.flush();
+        outboxService.orderCreated(orders, orderItems);
+        Map<Long, Integer> quantities = new HashMap<>();
+        rows.forEach(row -> quantities.merge(row.getShoeVariantsId(), row.getQuantity(), Integer::sum));
+        bestSellerService.recordSales(quantities);
+
+        CheckoutDTO checkout = new CheckoutDTO();
+        checkout.setOrdersId(orders.getId());
+        checkout.setTotalPrice(orders.getTotalPrice());
+        checkout.setOrderDate(orders.getOrderDate());
+        for (OrderItems item : orderItems) {
+            checkout
+                .getItems()
+                .add(
+                    new CheckoutDTO.Item(
+                        item.getId(),
+                        item.getShoeVariants().getId(),
+                        item.getColors().getId(),
+                        item.getSizes().getId(),
+                        item.getQuantity(),
+                        item.getPrice()
+                    )
+                );
+        }
+        return checkout;
+    }
+
+    /**
+     * Measures consecutive stages.
+     */
+    private static final class Stopwatch {
+
+        private final Map<String, Duration> stages = new LinkedHashMap<>();
+
+        private long last;
+
+        Stopwatch(long start) {
+            this.last = start;
+        }
+
+        void lap(String stage) {
+            long now = System.nanoTime();
+            stages.put(stage, Duration.ofNanos(now - last));
+            last = now;
+        }
+
+        Map<String, Duration> stages() {
+            return Collections.unmodifiableMap(stages);
+        }
+    }
+}
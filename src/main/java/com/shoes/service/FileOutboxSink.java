@@ -0,0 +1,52 @@
+package com.shoes.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.config.ApplicationProperties;
+import com.shoes.service.dto.OutboxEventDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Outbox sink appending the events to {@code application.outbox.file-path}, one JSON object per line, and syncing
+ * the file before they are deleted from the outbox.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.outbox", name = "file-path")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(ApplicationProperties applicationProperties, ObjectMapper objectMapper) {
+        this.path = Path.of(applicationProperties.getOutbox().getFilePath());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void deliver(List<OutboxEventDTO> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxEventDTO event : events) {
+            lines.write(objectMapper.writeValueAsBytes(event));
+            lines.write('\n');
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
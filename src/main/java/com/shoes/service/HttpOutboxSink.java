@@ -0,0 +1,61 @@
+package com.shoes.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.config.ApplicationProperties;
+import com.shoes.service.dto.OutboxEventDTO;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+/**
+ * Outbox sink posting the events to {@code application.outbox.http-url} as a JSON array; any status but 2xx fails
+ * the delivery.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.outbox", name = "http-url")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final URI uri;
+
+    private final Duration timeout;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient;
+
+    public HttpOutboxSink(ApplicationProperties applicationProperties, ObjectMapper objectMapper) {
+        ApplicationProperties.Outbox properties = applicationProperties.getOutbox();
+        this.uri = URI.create(properties.getHttpUrl());
+        this.timeout = properties.getHttpTimeout();
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void deliver(List<OutboxEventDTO> events) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(timeout)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(events)))
+            .build();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while posting the outbox events to " + uri);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(uri + " answered " + response.statusCode() + " to the outbox events");
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import com.shoes.domain.IdempotencyKey;
+import com.shoes.repository.IdempotencyKeyRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service storing the responses to requests sent with an idempotency key, so that their retries are answered with
+ * the same response instead of being run again.
+ * <p>
+ * A request first claims its key with a single upsert, which fails while another request holds the key or while the
+ * stored response is still replayed. Keys are scoped by user, and stored with the request as SHA-256 digests so that
+ * a key reused for another request is told apart. Each step commits on its own, before and after the request runs.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ApplicationProperties.Idempotency properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public IdempotencyService(
+        IdempotencyKeyRepository idempotencyKeyRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.properties = applicationProperties.getIdempotency();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public enum State {
+        /**
+         * The key is now held by the request, which must run and then be completed or released.
+         */
+        CLAIMED,
+        /**
+         * The key is held by another request still in progress.
+         */
+        IN_PROGRESS,
+        /**
+         * The key was used for another request.
+         */
+        MISMATCH,
+        /**
+         * The request already ran, its response must be replayed.
+         */
+        COMPLETED,
+    }
+
+    /**
+     * A stored response; headers are kept in order, as name and value pairs.
+     */
+    public record StoredResponse(int status, List<Map.Entry<String, String>> headers, byte[] body) {}
+
+    /**
+     * The outcome of claiming a key, with the response to replay if the request already ran.
+     */
+    public record Claim(String id, String fingerprint, State state, StoredResponse response) {}
+
+    /**
+     * Claims the key of a request.
+     *
+     * @param scope the user sending the request.
+     * @param key the idempotency key of the request.
+     * @param method the method of the request.
+     * @param uri the URI of the request, query included.
+     * @param body the body of the request.
+     * @return the claim.
+     */
+    public Claim claim(String scope, String key, String method, String uri, byte[] body) {
+        String id = digest(scope.getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8));
+        String fingerprint = digest((method + ' ' + uri).getBytes(StandardCharsets.UTF_8), body);
+        Instant now = Instant.now();
+        return transactionTemplate.execute(status -> {
+            if (idempotencyKeyRepository.claim(id, fingerprint, now.plus(properties.getLease()), now) == 1) {
+                return new Claim(id, fingerprint, State.CLAIMED, null);
+            }
+            IdempotencyKey stored = idempotencyKeyRepository.findById(id).orElse(null);
+            if (stored == null) {
+                // Released or purged in between, the client may retry.
+                return new Claim(id, fingerprint, State.IN_PROGRESS, null);
+            }
+            if (!fingerprint.equals(stored.getFingerprint())) {
+                return new Claim(id, fingerprint, State.MISMATCH, null);
+            }
+            if (stored.getStatus() == null) {
+                return new Claim(id, fingerprint, State.IN_PROGRESS, null);
+            }
+            StoredResponse response = new StoredResponse(
+                stored.getStatus(),
+                decodeHeaders(stored.getHeaders()),
+                stored.getBody() != null ? stored.getBody() : new byte[0]
+            );
+            return new Claim(id, fingerprint, State.COMPLETED, response);
+        });
+    }
+
+    /**
+     * Stores the response to a request which holds its key, to be replayed until it expires.
+     */
+    public void complete(Claim claim, StoredResponse response) {
+        String headers = encodeHeaders(response.headers());
+        Instant expiresAt = Instant.now().plus(properties.getTtl());
+        transactionTemplate.executeWithoutResult(status -> {
+            int completed = idempotencyKeyRepository.complete(
+                claim.id(),
+                claim.fingerprint(),
+                response.status(),
+                headers,
+                response.body(),
+                expiresAt
+            );
+            if (completed == 0) {
+                log.warn("Idempotency key {} was lost before its response was stored", claim.id());
+            }
+        });
+    }
+
+    /**
+     * Releases the key of a request which failed, so that it can be retried.
+     */
+    public void release(Claim claim) {
+        transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.release(claim.id(), claim.fingerprint()));
+    }
+
+    /**
+     * Purges the expired keys, in batches.
+     */
+    @Scheduled(fixedDelayString = "${application.idempotency.purge-interval:PT10M}")
+    public void purgeExpiredKeys() {
+        int batchSize = properties.getPurgeBatchSize();
+        int purged;
+        do {
+            purged = transactionTemplate.execute(status -> {
+                List<String> expired = idempotencyKeyRepository.findExpiredIds(Instant.now(), Limit.of(batchSize));
+                idempotencyKeyRepository.deleteAllByIdInBatch(expired);
+                return expired.size();
+            });
+            if (purged > 0) {
+                log.debug("Purged {} expired idempotency keys", purged);
+            }
+        } while (purged == batchSize);
+    }
+
+    static String encodeHeaders(List<Map.Entry<String, String>> headers) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, String> header : headers) {
+            encoded.append(header.getKey()).append(':').append(header.getValue()).append('\n');
+        }
+        return encoded.toString();
+    }
+
+    static List<Map.Entry<String, String>> decodeHeaders(String encoded) {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        if (encoded == null) {
+            return headers;
+        }
+        for (String line : encoded.split("\n")) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.add(Map.entry(line.substring(0, colon), line.substring(colon + 1)));
+            }
+        }
+        return headers;
+    }
+
+    private static String digest(byte[] first, byte[] second) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(first);
+            digest.update((byte) 0);
+            digest.update(second);
+            return HEX.formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
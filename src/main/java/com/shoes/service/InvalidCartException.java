@@ -0,0 +1,10 @@
+package com.shoes.service;
+
+public class InvalidCartException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCartException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,144 @@
+package com.shoes.service;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * Reads the Postgres notifications sent on a channel by every instance, this one included, from a thread of its own.
+ * <p>
+ * Notifications are only delivered to a session listening when they are sent, so they are read on a dedicated
+ * connection held outside of the pool. The listener resyncs each time that connection starts listening, as the
+ * notifications sent before were missed.
+ */
+abstract class NotificationListener {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final String name;
+
+    private final String channel;
+
+    private final Duration pollTimeout;
+
+    private final Duration reconnectDelay;
+
+    private volatile boolean running = false;
+
+    private volatile Connection connection;
+
+    private Thread thread;
+
+    NotificationListener(
+        DataSourceProperties dataSourceProperties,
+        String name,
+        String channel,
+        Duration pollTimeout,
+        Duration reconnectDelay
+    ) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.name = name;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Catches up with the notifications missed while not listening.
+     */
+    protected abstract void resync();
+
+    /**
+     * Handles the payloads of the notifications received together.
+     */
+    protected abstract void receive(List<String> payloads);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        running = true;
+        thread = new Thread(this::listen, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Connection listening = connection;
+        if (listening != null) {
+            try {
+                listening.close();
+            } catch (SQLException e) {
+                log.debug("Could not close the {} connection: {}", name, e.getMessage());
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(pollTimeout.toMillis());
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listening = connect()) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN \"" + channel.replace("\"", "\"\"") + "\"");
+                }
+                log.debug("Listening to channel {}", channel);
+                // Notifications sent before this point were missed.
+                resync();
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        List<String> payloads = new ArrayList<>(notifications.length);
+                        for (PGNotification notification : notifications) {
+                            payloads.add(notification.getParameter());
+                        }
+                        receive(payloads);
+                    }
+                }
+            } catch (SQLException | DataAccessException | TransactionException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Could not listen to channel {}, will try again in {}: {}", channel, reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection listening = DriverManager.getConnection(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()
+        );
+        listening.setAutoCommit(true);
+        return listening;
+    }
+}
@@ -0,0 +1,54 @@
+package com.shoes.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes and reads the ids sent as Postgres notifications by the services of every instance.
+ */
+final class NotificationPayloads {
+
+    /**
+     * Notification payloads stay under the 8000 bytes Postgres accepts.
+     */
+    static final int MAX_PAYLOAD_SIZE = 7_900;
+
+    private NotificationPayloads() {}
+
+    /**
+     * Writes ids as comma-separated notification payloads.
+     */
+    static List<String> write(Collection<Long> ids) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        for (Long id : ids) {
+            String value = id.toString();
+            if (!payload.isEmpty() && payload.length() + 1 + value.length() > MAX_PAYLOAD_SIZE) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+            }
+            if (!payload.isEmpty()) {
+                payload.append(',');
+            }
+            payload.append(value);
+        }
+        if (!payload.isEmpty()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Reads the ids of a notification payload, skipping what is not one.
+     */
+    static void read(String payload, Collection<Long> ids) {
+        for (String value : payload.split(",")) {
+            try {
+                ids.add(Long.valueOf(value.trim()));
+            } catch (NumberFormatException e) {
+                // Not sent by this application.
+            }
+        }
+    }
+}
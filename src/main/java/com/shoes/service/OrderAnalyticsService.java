@@ -0,0 +1,225 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import com.shoes.repository.OrderItemsRepository;
+import com.shoes.repository.OrderItemsRepository.AnalyticsRow;
+import com.shoes.service.dto.OrderAnalyticsDTO;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping the {@link com.shoes.domain.OrderItems} in memory, by column, and answering analytics queries out
+ * of them, so that they do not reach the database.
+ * <p>
+ * The order items are read once at startup, from a forward-only cursor, then every
+ * {@code application.order-analytics.refresh-interval} those of the orders dated after the last refresh are appended.
+ * Orders are only appended once they are {@code application.order-analytics.settle-delay} old, as checkouts date them
+ * before they commit. Orders updated, deleted, or created with an older date are only read again by a
+ * {@link #rebuild()}.
+ * <p>
+ * Queries scan a snapshot of the columns in parallel, in a pool of their own.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.order-analytics", name = "enabled", havingValue = "true")
+public class OrderAnalyticsService {
+
+    /**
+     * The dimensions order items can be filtered or grouped by; time dimensions are in UTC and can only be grouped by.
+     */
+    public enum Dimension {
+        BRAND,
+        CATEGORY,
+        PURPOSE,
+        COLOR,
+        SIZE,
+        STATUS,
+        YEAR,
+        MONTH,
+        SEASON,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(OrderAnalyticsService.class);
+
+    private final OrderItemsRepository orderItemsRepository;
+
+    private final Duration settleDelay;
+
+    private final int leafRows;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Serializes refreshes, the columns being appended to by one thread at a time.
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private OrderItemsColumns columns = new OrderItemsColumns();
+
+    /**
+     * The order date up to which order items were appended, or null if none were.
+     */
+    private Instant highWaterMark;
+
+    private volatile OrderItemsColumns.Snapshot snapshot = columns.snapshot();
+
+    public OrderAnalyticsService(
+        OrderItemsRepository orderItemsRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        ApplicationProperties.OrderAnalytics properties = applicationProperties.getOrderAnalytics();
+        this.orderItemsRepository = orderItemsRepository;
+        this.settleDelay = properties.getSettleDelay();
+        this.leafRows = Math.max(1, properties.getLeafRows());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pool = new ForkJoinPool(
+            properties.getParallelism() > 0 ? properties.getParallelism() : Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            refresh();
+        } catch (DataAccessException e) {
+            // Liquibase may still be running asynchronously, the next refresh will retry.
+            log.warn("Could not load the order items for analytics at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Appends the order items of the orders placed since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${application.order-analytics.refresh-interval:PT1M}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            Instant to = Instant.now().minus(settleDelay);
+            if (highWaterMark != null && !to.isAfter(highWaterMark)) {
+                return;
+            }
+            int appended = append(columns, highWaterMark != null ? highWaterMark : Instant.EPOCH, to);
+            highWaterMark = to;
+            snapshot = columns.snapshot();
+            if (appended > 0) {
+                log.debug("Appended {} order items for analytics, {} in total", appended, snapshot.size());
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Reads every order item again, into new columns; queries keep reading the previous ones until they are loaded.
+     */
+    public void rebuild() {
+        refreshLock.lock();
+        try {
+            Instant to = Instant.now().minus(settleDelay);
+            OrderItemsColumns rebuilt = new OrderItemsColumns();
+            append(rebuilt, Instant.EPOCH, to);
+            columns = rebuilt;
+            highWaterMark = to;
+            snapshot = columns.snapshot();
+            log.info("Loaded {} order items for analytics", snapshot.size());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private int append(OrderItemsColumns target, Instant from, Instant to) {
+        return transactionTemplate.execute(status -> {
+            int appended = 0;
+            try (Stream<AnalyticsRow> rows = orderItemsRepository.streamAnalyticsRowsByOrderDateBetween(from, to)) {
+                for (AnalyticsRow row : (Iterable<AnalyticsRow>) rows::iterator) {
+                    target.append(
+                        LocalDate.ofInstant(row.getOrderDate(), ZoneOffset.UTC),
+                        row.getQuantity() != null ? row.getQuantity() : 0,
+                        row.getPrice() != null ? row.getPrice() : 0,
+                        row.getBrandName(),
+                        row.getCategoryName() != null ? row.getCategoryName().name() : null,
+                        row.getShoePurposeType() != null ? row.getShoePurposeType().name() : null,
+                        row.getColorName(),
+                        sizeOf(row),
+                        row.getStatus() != null ? row.getStatus().name() : null
+                    );
+                    appended++;
+                }
+            }
+            return appended;
+        });
+    }
+
+    private static String sizeOf(AnalyticsRow row) {
+        if (row.getSizeInLetters() != null) {
+            return row.getSizeInLetters();
+        }
+        if (row.getSizeInNumbers() != null) {
+            return new BigDecimal(row.getSizeInNumbers().toString()).stripTrailingZeros().toPlainString();
+        }
+        return null;
+    }
+
+    /**
+     * Totals the order items of a range of days by group.
+     *
+     * @param groupBy the dimensions to group by, in order.
+     * @param from the first day, included, if any.
+     * @param to the last day, included, if any.
+     * @param filters the values allowed for some of the dimensions, other than the time ones.
+     * @return the number of order items, units and revenue of each group, by units descending.
+     * @throws IllegalArgumentException if a time dimension is filtered on, or the dimensions have too many
+     * combinations.
+     */
+    public List<OrderAnalyticsDTO> query(List<Dimension> groupBy, LocalDate from, LocalDate to, Map<Dimension, Set<String>> filters) {
+        for (Dimension dimension : filters.keySet()) {
+            if (!OrderItemsColumns.ENCODED.contains(dimension)) {
+                throw new IllegalArgumentException("Order items cannot be filtered by " + dimension);
+            }
+        }
+        OrderItemsColumns.Filter filter = new OrderItemsColumns.Filter(
+            from != null ? from.toEpochDay() : Long.MIN_VALUE,
+            to != null ? to.toEpochDay() : Long.MAX_VALUE,
+            filters
+        );
+        List<OrderAnalyticsDTO> result = new ArrayList<>();
+        for (OrderItemsColumns.Group group : snapshot.query(groupBy, filter, pool, leafRows)) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int d = 0; d < groupBy.size(); d++) {
+                values.put(groupBy.get(d).name().toLowerCase(), group.values().get(d));
+            }
+            result.add(new OrderAnalyticsDTO(values, group.orderItems(), group.units(), group.revenue()));
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,433 @@
+package com.shoes.service;
+
+import com.shoes.service.OrderAnalyticsService.Dimension;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+
+/**
+ * Order items stored by column: one primitive array per attribute, indexed by row.
+ * <p>
+ * Brands, categories, purposes, colors, sizes and order statuses are dictionary-encoded, code 0 standing for none.
+ * Rows are only ever appended past the size of the {@link Snapshot}s already taken, which keep reading the arrays
+ * they were taken from until these grow. Appending is not thread-safe; snapshots are immutable.
+ */
+final class OrderItemsColumns {
+
+    /**
+     * The dictionary-encoded dimensions, in the order of the values appended.
+     */
+    static final List<Dimension> ENCODED = List.of(
+        Dimension.BRAND,
+        Dimension.CATEGORY,
+        Dimension.PURPOSE,
+        Dimension.COLOR,
+        Dimension.SIZE,
+        Dimension.STATUS
+    );
+
+    /**
+     * Above this number of groups, queries total them in a map rather than in an array.
+     */
+    private static final int DENSE_GROUPS = 1 << 16;
+
+    private static final String[] SEASONS = { "WINTER", "SPRING", "SUMMER", "AUTUMN" };
+
+    private int size;
+
+    private int[] days = new int[0];
+
+    /**
+     * Year times 12 plus month, from 0.
+     */
+    private int[] months = new int[0];
+
+    private int[] quantities = new int[0];
+
+    private long[] prices = new long[0];
+
+    private final int[][] codes = new int[ENCODED.size()][0];
+
+    private final List<Map<String, Integer>> dictionaries = new ArrayList<>();
+
+    private final List<List<String>> dictionaryValues = new ArrayList<>();
+
+    private int minMonth = Integer.MAX_VALUE;
+
+    private int maxMonth = Integer.MIN_VALUE;
+
+    OrderItemsColumns() {
+        for (int column = 0; column < ENCODED.size(); column++) {
+            dictionaries.add(new HashMap<>());
+            List<String> values = new ArrayList<>();
+            values.add(null);
+            dictionaryValues.add(values);
+        }
+    }
+
+    /**
+     * Appends an order item.
+     *
+     * @param day the day it was ordered on.
+     * @param quantity the quantity ordered.
+     * @param price the unit price, in cents.
+     * @param values the values of the {@link #ENCODED} dimensions, in order; null for none.
+     */
+    void append(LocalDate day, int quantity, long price, String... values) {
+        if (size == days.length) {
+            grow();
+        }
+        int month = day.getYear() * 12 + day.getMonthValue() - 1;
+        days[size] = (int) day.toEpochDay();
+        months[size] = month;
+        quantities[size] = quantity;
+        prices[size] = price;
+        for (int column = 0; column < codes.length; column++) {
+            codes[column][size] = encode(column, values[column]);
+        }
+        minMonth = Math.min(minMonth, month);
+        maxMonth = Math.max(maxMonth, month);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, days.length + (days.length >> 1));
+        days = Arrays.copyOf(days, capacity);
+        months = Arrays.copyOf(months, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        for (int column = 0; column < codes.length; column++) {
+            codes[column] = Arrays.copyOf(codes[column], capacity);
+        }
+    }
+
+    private int encode(int column, String value) {
+        if (value == null) {
+            return 0;
+        }
+        return dictionaries
+            .get(column)
+            .computeIfAbsent(value, v -> {
+                dictionaryValues.get(column).add(v);
+                return dictionaryValues.get(column).size() - 1;
+            });
+    }
+
+    /**
+     * @return the rows appended so far, unaffected by the rows appended later.
+     */
+    Snapshot snapshot() {
+        String[][] values = new String[codes.length][];
+        for (int column = 0; column < codes.length; column++) {
+            values[column] = dictionaryValues.get(column).toArray(String[]::new);
+        }
+        return new Snapshot(size, days, months, quantities, prices, codes.clone(), values, minMonth, maxMonth);
+    }
+
+    /**
+     * The order items a query is restricted to.
+     *
+     * @param fromDay the first epoch day, included.
+     * @param toDay the last epoch day, included.
+     * @param values the values allowed for some of the {@link #ENCODED} dimensions.
+     */
+    record Filter(long fromDay, long toDay, Map<Dimension, Set<String>> values) {}
+
+    /**
+     * The totals of a group of order items.
+     *
+     * @param values the values of the dimensions grouped by, null for none.
+     * @param orderItems the number of order items.
+     * @param units the quantity ordered.
+     * @param revenue the quantity times the unit price, in cents.
+     */
+    record Group(List<String> values, long orderItems, long units, long revenue) {}
+
+    /**
+     * Immutable view of the rows appended up to when it was taken.
+     */
+    static final class Snapshot {
+
+        private final int size;
+
+        private final int[] days;
+
+        private final int[] months;
+
+        private final int[] quantities;
+
+        private final long[] prices;
+
+        private final int[][] codes;
+
+        private final String[][] values;
+
+        private final int minYear;
+
+        private final int maxYear;
+
+        private Snapshot(
+            int size,
+            int[] days,
+            int[] months,
+            int[] quantities,
+            long[] prices,
+            int[][] codes,
+            String[][] values,
+            int minMonth,
+            int maxMonth
+        ) {
+            this.size = size;
+            this.days = days;
+            this.months = months;
+            this.quantities = quantities;
+            this.prices = prices;
+            this.codes = codes;
+            this.values = values;
+            this.minYear = size > 0 ? minMonth / 12 : 0;
+            this.maxYear = size > 0 ? maxMonth / 12 : 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Totals the order items matching a filter by group, scanning ranges of rows in parallel.
+         *
+         * @param groupBy the dimensions to group by, in order.
+         * @param filter the order items to total.
+         * @param pool the pool the ranges are scanned in.
+         * @param leafRows the number of rows below which a range is scanned rather than split.
+         * @return the groups, by units then revenue descending.
+         * @throws IllegalArgumentException if the dimensions have too many combinations to be totaled.
+         */
+        List<Group> query(List<Dimension> groupBy, Filter filter, ForkJoinPool pool, int leafRows) {
+            if (size == 0) {
+                return List.of();
+            }
+            Plan plan = new Plan(groupBy, filter);
+            Totals totals = pool.invoke(new Scan(plan, 0, size, leafRows));
+            List<Group> groups = new ArrayList<>();
+            totals.forEach((key, total) -> groups.add(new Group(plan.decode(key), total[0], total[1], total[2])));
+            groups.sort(Comparator.comparingLong(Group::units).thenComparingLong(Group::revenue).reversed());
+            return groups;
+        }
+
+        /**
+         * A query resolved against the columns of the snapshot: rows are grouped by a mixed-radix key, each dimension a
+         * digit.
+         */
+        private final class Plan {
+
+            private final Dimension[] dimensions;
+
+            private final int[][] columns;
+
+            private final long[] radixes;
+
+            private final long groups;
+
+            private final boolean[][] allowed;
+
+            private final int fromDay;
+
+            private final int toDay;
+
+            private Plan(List<Dimension> groupBy, Filter filter) {
+                dimensions = groupBy.toArray(Dimension[]::new);
+                columns = new int[dimensions.length][];
+                radixes = new long[dimensions.length];
+                long product = 1;
+                for (int d = 0; d < dimensions.length; d++) {
+                    int column = ENCODED.indexOf(dimensions[d]);
+                    if (column >= 0) {
+                        columns[d] = codes[column];
+                        radixes[d] = values[column].length;
+                    } else {
+                        radixes[d] = switch (dimensions[d]) {
+                            case YEAR -> maxYear - minYear + 1L;
+                            case MONTH -> 12;
+                            case SEASON -> SEASONS.length;
+                            default -> throw new IllegalStateException("Unexpected dimension " + dimensions[d]);
+                        };
+                    }
+                    try {
+                        product = Math.multiplyExact(product, radixes[d]);
+                    } catch (ArithmeticException e) {
+                        throw new IllegalArgumentException("Too many groups for " + groupBy, e);
+                    }
+                }
+                groups = product;
+                allowed = new boolean[codes.length][];
+                filter
+                    .values()
+                    .forEach((dimension, allowedValues) -> {
+                        int column = ENCODED.indexOf(dimension);
+                        allowed[column] = new boolean[values[column].length];
+                        for (int code = 1; code < values[column].length; code++) {
+                            allowed[column][code] = allowedValues.contains(values[column][code]);
+                        }
+                    });
+                fromDay = (int) Math.max(Integer.MIN_VALUE, filter.fromDay());
+                toDay = (int) Math.min(Integer.MAX_VALUE, filter.toDay());
+            }
+
+            private Totals scan(int from, int to) {
+                Totals totals = groups <= DENSE_GROUPS ? new Totals((int) groups) : new Totals();
+                rows: for (int row = from; row < to; row++) {
+                    int day = days[row];
+                    if (day < fromDay || day > toDay) {
+                        continue;
+                    }
+                    for (int column = 0; column < allowed.length; column++) {
+                        if (allowed[column] != null && !allowed[column][codes[column][row]]) {
+                            continue rows;
+                        }
+                    }
+                    long key = 0;
+                    for (int d = 0; d < dimensions.length; d++) {
+                        key = key * radixes[d] + digit(d, row);
+                    }
+                    totals.add(key, quantities[row], quantities[row] * prices[row]);
+                }
+                return totals;
+            }
+
+            private int digit(int d, int row) {
+                if (columns[d] != null) {
+                    return columns[d][row];
+                }
+                int month = months[row];
+                return switch (dimensions[d]) {
+                    case YEAR -> month / 12 - minYear;
+                    case MONTH -> month % 12;
+                    default -> ((month % 12 + 1) % 12) / 3;
+                };
+            }
+
+            private List<String> decode(long key) {
+                String[] decoded = new String[dimensions.length];
+                for (int d = dimensions.length - 1; d >= 0; d--) {
+                    int digit = (int) (key % radixes[d]);
+                    key /= radixes[d];
+                    int column = ENCODED.indexOf(dimensions[d]);
+                    if (column >= 0) {
+                        decoded[d] = values[column][digit];
+                    } else {
+                        decoded[d] = switch (dimensions[d]) {
+                            case YEAR -> String.valueOf(minYear + digit);
+                            case MONTH -> Month.of(digit + 1).name();
+                            default -> SEASONS[digit];
+                        };
+                    }
+                }
+                return Arrays.asList(decoded);
+            }
+        }
+    }
+
+    /**
+     * Scans a range of rows, split in halves scanned in parallel until small enough.
+     */
+    private static final class Scan extends RecursiveTask<Totals> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Snapshot.Plan plan;
+
+        private final int from;
+
+        private final int to;
+
+        private final int leafRows;
+
+        private Scan(Snapshot.Plan plan, int from, int to, int leafRows) {
+            this.plan = plan;
+            this.from = from;
+            this.to = to;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= leafRows) {
+                return plan.scan(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Scan left = new Scan(plan, from, middle, leafRows);
+            left.fork();
+            Totals totals = new Scan(plan, middle, to, leafRows).compute();
+            return totals.merge(left.join());
+        }
+    }
+
+    /**
+     * The number of order items, units and revenue of each group key, in an array indexed by key when there are few
+     * keys, in a map otherwise.
+     */
+    private static final class Totals {
+
+        private final long[] dense;
+
+        private final Map<Long, long[]> sparse;
+
+        private Totals(int groups) {
+            this.dense = new long[groups * 3];
+            this.sparse = null;
+        }
+
+        private Totals() {
+            this.dense = null;
+            this.sparse = new HashMap<>();
+        }
+
+        private void add(long key, long orderItems, long units, long revenue) {
+            if (dense != null) {
+                int slot = (int) key * 3;
+                dense[slot] += orderItems;
+                dense[slot + 1] += units;
+                dense[slot + 2] += revenue;
+            } else {
+                long[] total = sparse.computeIfAbsent(key, k -> new long[3]);
+                total[0] += orderItems;
+                total[1] += units;
+                total[2] += revenue;
+            }
+        }
+
+        private void add(long key, long units, long revenue) {
+            add(key, 1, units, revenue);
+        }
+
+        private Totals merge(Totals other) {
+            other.forEach((key, total) -> add(key, total[0], total[1], total[2]));
+            return this;
+        }
+
+        private void forEach(BiConsumer<Long, long[]> action) {
+            if (dense != null) {
+                for (int slot = 0; slot < dense.length; slot += 3) {
+                    if (dense[slot] > 0) {
+                        action.accept((long) slot / 3, Arrays.copyOfRange(dense, slot, slot + 3));
+                    }
+                }
+            } else {
+                sparse.forEach(action);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.shoes.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.repository.OrdersRepository;
+import com.shoes.repository.OrdersRepository.ExportRow;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting {@link com.shoes.domain.Orders} with their {@link com.shoes.domain.OrderItems} as newline-delimited JSON.
+ * <p>
+ * Rows are read from a forward-only database cursor and each order is written as soon as its last item is read, so
+ * the memory used does not depend on the number of orders exported.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrdersExportService {
+
+    /**
+     * Orders written between two flushes of the output.
+     */
+    private static final int FLUSH_EVERY = 256;
+
+    private static final Instant MAX_ORDER_DATE = Instant.parse("9999-12-31T23:59:59Z");
+
+    private final Logger log = LoggerFactory.getLogger(OrdersExportService.class);
+
+    private final OrdersRepository ordersRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public OrdersExportService(OrdersRepository ordersRepository, ObjectMapper objectMapper) {
+        this.ordersRepository = ordersRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the orders, one JSON object per line, each with an {@code orderItems} array.
+     *
+     * @param from the first order date exported, included; null for no lower bound.
+     * @param to the last order date exported, excluded; null for no upper bound.
+     * @param out the output to write to, not closed.
+     * @return the number of orders written.
+     */
+    public long export(Instant from, Instant to, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        try (
+            Stream<ExportRow> rows = from == null && to == null
+                ? ordersRepository.streamExportRows()
+                : ordersRepository.streamExportRowsByOrderDateBetween(
+                    from != null ? from : Instant.EPOCH,
+                    to != null ? to : MAX_ORDER_DATE
+                );
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+        ) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<ExportRow> iterator = rows.iterator();
+            Long current = null;
+            while (iterator.hasNext()) {
+                ExportRow row = iterator.next();
+                if (!row.getId().equals(current)) {
+                    if (current != null) {
+                        endOrders(generator, ++count);
+                    }
+                    current = row.getId();
+                    startOrders(generator, row);
+                }
+                if (row.getOrderItemsId() != null) {
+                    writeOrderItems(generator, row);
+                }
+            }
+            if (current != null) {
+                endOrders(generator, ++count);
+            }
+            generator.flush();
+        }
+        log.debug("Exported {} orders in {} ms", count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private static void startOrders(JsonGenerator generator, ExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.getId());
+        writeNumberOrNull(generator, "totalPrice", row.getTotalPrice());
+        generator.writeStringField("orderDate", row.getOrderDate() != null ? row.getOrderDate().toString() : null);
+        generator.writeStringField("status", row.getStatus() != null ? row.getStatus().name() : null);
+        writeNumberOrNull(generator, "customerId", row.getCustomerId());
+        generator.writeArrayFieldStart("orderItems");
+    }
+
+    private static void writeOrderItems(JsonGenerator generator, ExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.getOrderItemsId());
+        writeNumberOrNull(generator, "quantity", row.getOrderItemsQuantity());
+        writeNumberOrNull(generator, "price", row.getOrderItemsPrice());
+        writeNumberOrNull(generator, "colorsId", row.getOrderItemsColorsId());
+        writeNumberOrNull(generator, "shoeVariantsId", row.getOrderItemsShoeVariantsId());
+        writeNumberOrNull(generator, "sizesId", row.getOrderItemsSizesId());
+        generator.writeEndObject();
+    }
+
+    private static void endOrders(JsonGenerator generator, long count) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        if (count % FLUSH_EVERY == 0) {
+            generator.flush();
+        }
+    }
+
+    private static void writeNumberOrNull(JsonGenerator generator, String name, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value.longValue());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import com.shoes.domain.OutboxEvent;
+import com.shoes.management.OutboxMetersService;
+import com.shoes.repository.OutboxEventRepository;
+import com.shoes.service.dto.OutboxEventDTO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service relaying the committed {@link OutboxEvent}s to every {@link OutboxSink}, oldest first, and deleting them
+ * once all the sinks took them.
+ * <p>
+ * One node relays at a time, holding a Postgres advisory lock for the transaction of each batch. A batch a sink
+ * failed to take stays in the outbox and is delivered again, to every sink, every
+ * {@code application.outbox.relay-interval} until it goes through.
+ */
+@Service
+public class OutboxRelay {
+
+    /**
+     * The key of the advisory lock held while relaying.
+     */
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectProvider<OutboxSink> sinks;
+
+    private final OutboxMetersService outboxMetersService;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Serializes the relays of this node.
+     */
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    public OutboxRelay(
+        OutboxEventRepository outboxEventRepository,
+        ObjectProvider<OutboxSink> sinks,
+        OutboxMetersService outboxMetersService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.outboxMetersService = outboxMetersService;
+        this.properties = applicationProperties.getOutbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Delivers the events in the outbox, a batch at a time, until it is drained or a delivery fails.
+     */
+    @Scheduled(fixedDelayString = "${application.outbox.relay-interval:PT1S}")
+    public void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<OutboxSink> targets = sinks.orderedStream().toList();
+        if (targets.isEmpty()) {
+            return;
+        }
+        relayLock.lock();
+        try {
+            int batchSize = Math.max(1, properties.getBatchSize());
+            int delivered;
+            do {
+                delivered = transactionTemplate.execute(status -> relayBatch(targets, batchSize));
+            } while (delivered == batchSize);
+        } catch (UncheckedIOException | DataAccessException e) {
+            outboxMetersService.trackFailure();
+            log.warn("Could not relay the outbox events, will retry: {}", e.getMessage());
+        } finally {
+            relayLock.unlock();
+        }
+        trackLag();
+    }
+
+    /**
+     * Delivers the oldest events to every sink and deletes them, unless another node is relaying.
+     *
+     * @return the number of events delivered.
+     */
+    private int relayBatch(List<OutboxSink> targets, int batchSize) {
+        if (!outboxEventRepository.tryLockRelay(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findOldest(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<OutboxEventDTO> batch = events.stream().map(OutboxRelay::toDto).toList();
+        for (OutboxSink sink : targets) {
+            try {
+                sink.deliver(batch);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+        Instant now = Instant.now();
+        TransactionCallbacks.afterCommit(() ->
+            events.forEach(event -> outboxMetersService.trackDelivered(Duration.between(event.getCreatedAt(), now)))
+        );
+        log.debug("Relayed {} outbox events to {} sinks", events.size(), targets.size());
+        return events.size();
+    }
+
+    private void trackLag() {
+        try {
+            Instant oldest = transactionTemplate.execute(status -> outboxEventRepository.findOldestCreatedAt().orElse(null));
+            outboxMetersService.trackLag(oldest != null ? Duration.between(oldest, Instant.now()) : Duration.ZERO);
+        } catch (DataAccessException e) {
+            log.debug("Could not measure the outbox lag: {}", e.getMessage());
+        }
+    }
+
+    private static OutboxEventDTO toDto(OutboxEvent event) {
+        OutboxEventDTO dto = new OutboxEventDTO();
+        dto.setId(event.getId());
+        dto.setAggregateType(event.getAggregateType());
+        dto.setAggregateId(event.getAggregateId());
+        dto.setSequence(event.getSequence());
+        dto.setEventType(event.getEventType());
+        dto.setCreatedAt(event.getCreatedAt());
+        dto.setPayload(event.getPayload());
+        return dto;
+    }
+}
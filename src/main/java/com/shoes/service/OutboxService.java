@@ -0,0 +1,346 @@
+package com.shoes.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.config.ApplicationProperties;
+import com.shoes.domain.OrderItems;
+import com.shoes.domain.Orders;
+import com.shoes.domain.OutboxEvent;
+import com.shoes.domain.enumeration.OrderStatus;
+import com.shoes.domain.enumeration.Status;
+import com.shoes.management.OutboxMetersService;
+import com.shoes.repository.OutboxEventRepository;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.service.PriceTable.Item;
+import com.shoes.service.PriceTable.Price;
+import com.shoes.service.PriceTable.Sale;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service writing order, stock and price changes to the {@link OutboxEvent} table, in the transaction making them, for
+ * the {@link OutboxRelay} to deliver once committed.
+ * <p>
+ * The events of an aggregate are numbered in the order they commit. Nothing is written unless
+ * {@code application.outbox.enabled} is set.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    public static final String AGGREGATE_ORDERS = "Orders";
+    public static final String AGGREGATE_ORDER_ITEMS = "OrderItems";
+    public static final String AGGREGATE_SHOE_VARIANT_SIZES = "ShoeVariantSizes";
+    public static final String AGGREGATE_SHOE_VARIANTS = "ShoeVariants";
+
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_UPDATED = "ORDER_UPDATED";
+    public static final String ORDER_DELETED = "ORDER_DELETED";
+    public static final String ORDER_ITEM_CREATED = "ORDER_ITEM_CREATED";
+    public static final String ORDER_ITEM_UPDATED = "ORDER_ITEM_UPDATED";
+    public static final String ORDER_ITEM_DELETED = "ORDER_ITEM_DELETED";
+    public static final String STOCK_CHANGED = "STOCK_CHANGED";
+    public static final String STOCK_REMOVED = "STOCK_REMOVED";
+    public static final String PRICES_CHANGED = "PRICES_CHANGED";
+
+    private final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    private final OutboxMetersService outboxMetersService;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+
+    public OutboxService(
+        OutboxEventRepository outboxEventRepository,
+        ShoeVariantSizesRepository shoeVariantSizesRepository,
+        OutboxMetersService outboxMetersService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.shoeVariantSizesRepository = shoeVariantSizesRepository;
+        this.outboxMetersService = outboxMetersService;
+        this.objectMapper = objectMapper;
+        this.enabled = applicationProperties.getOutbox().isEnabled();
+    }
+
+    /**
+     * Records the creation of an orders.
+     *
+     * @param orders the created orders, with its id.
+     * @param orderItems its items, with their ids.
+     */
+    public void orderCreated(Orders orders, Collection<OrderItems> orderItems) {
+        if (!enabled) {
+            return;
+        }
+        List<OrderLine> lines = orderItems.stream().map(OutboxService::orderLine).toList();
+        OrderCreated event = new OrderCreated(
+            orders.getId(),
+            orders.getOrderDate(),
+            orders.getTotalPrice(),
+            orders.getStatus(),
+            orders.getCustomer() != null ? orders.getCustomer().getId() : null,
+            lines
+        );
+        record(AGGREGATE_ORDERS, orders.getId(), ORDER_CREATED, event);
+    }
+
+    /**
+     * Records the update of an orders, without its items, which record their own changes.
+     *
+     * @param orders the updated orders.
+     */
+    public void orderUpdated(Orders orders) {
+        if (!enabled) {
+            return;
+        }
+        OrderUpdated event = new OrderUpdated(
+            orders.getId(),
+            orders.getOrderDate(),
+            orders.getTotalPrice(),
+            orders.getStatus(),
+            orders.getCustomer() != null ? orders.getCustomer().getId() : null
+        );
+        record(AGGREGATE_ORDERS, orders.getId(), ORDER_UPDATED, event);
+    }
+
+    /**
+     * Records the deletion of an orders.
+     *
+     * @param ordersId the id of the deleted orders.
+     */
+    public void orderDeleted(Long ordersId) {
+        if (!enabled) {
+            return;
+        }
+        record(AGGREGATE_ORDERS, ordersId, ORDER_DELETED, new OrderDeleted(ordersId));
+    }
+
+    /**
+     * Records the creation of an orderItems outside of the creation of its orders.
+     *
+     * @param orderItems the created orderItems, with its id.
+     */
+    public void orderItemCreated(OrderItems orderItems) {
+        orderItemChanged(orderItems, ORDER_ITEM_CREATED);
+    }
+
+    /**
+     * Records the update of an orderItems.
+     *
+     * @param orderItems the updated orderItems.
+     */
+    public void orderItemUpdated(OrderItems orderItems) {
+        orderItemChanged(orderItems, ORDER_ITEM_UPDATED);
+    }
+
+    /**
+     * Records the deletion of an orderItems.
+     *
+     * @param orderItemsId the id of the deleted orderItems.
+     */
+    public void orderItemDeleted(Long orderItemsId) {
+        if (!enabled) {
+            return;
+        }
+        record(AGGREGATE_ORDER_ITEMS, orderItemsId, ORDER_ITEM_DELETED, new OrderItemDeleted(orderItemsId));
+    }
+
+    private void orderItemChanged(OrderItems orderItems, String eventType) {
+        if (!enabled) {
+            return;
+        }
+        OrderItemChanged event = new OrderItemChanged(
+            orderItems.getId(),
+            orderItems.getOrders() != null ? orderItems.getOrders().getId() : null,
+            orderItems.getShoeVariants() != null ? orderItems.getShoeVariants().getId() : null,
+            orderItems.getColors() != null ? orderItems.getColors().getId() : null,
+            orderItems.getSizes() != null ? orderItems.getSizes().getId() : null,
+            orderItems.getQuantity(),
+            orderItems.getPrice()
+        );
+        record(AGGREGATE_ORDER_ITEMS, orderItems.getId(), eventType, event);
+    }
+
+    private static OrderLine orderLine(OrderItems item) {
+        return new OrderLine(
+            item.getId(),
+            item.getShoeVariants() != null ? item.getShoeVariants().getId() : null,
+            item.getColors() != null ? item.getColors().getId() : null,
+            item.getSizes() != null ? item.getSizes().getId() : null,
+            item.getQuantity(),
+            item.getPrice()
+        );
+    }
+
+    /**
+     * Records the stock of sizes, which changed or were deleted in the current transaction.
+     *
+     * @param shoeVariantSizesIds the ids of the shoeVariantSizes.
+     */
+    public void stockChanged(Collection<Long> shoeVariantSizesIds) {
+        if (!enabled) {
+            return;
+        }
+        for (Long shoeVariantSizesId : shoeVariantSizesIds) {
+            Optional<ShoeVariantSizesRepository.ApiRow> row = shoeVariantSizesRepository.findApiRowById(shoeVariantSizesId);
+            if (row.isPresent()) {
+                StockChanged event = new StockChanged(
+                    shoeVariantSizesId,
+                    row.orElseThrow().getShoeVariantsId(),
+                    row.orElseThrow().getSizesId(),
+                    row.orElseThrow().getQuantity(),
+                    row.orElseThrow().getStatus()
+                );
+                record(AGGREGATE_SHOE_VARIANT_SIZES, shoeVariantSizesId, STOCK_CHANGED, event);
+            } else {
+                record(AGGREGATE_SHOE_VARIANT_SIZES, shoeVariantSizesId, STOCK_REMOVED, new StockRemoved(shoeVariantSizesId));
+            }
+        }
+    }
+
+    public void stockChanged(Long shoeVariantSizesId) {
+        stockChanged(List.of(shoeVariantSizesId));
+    }
+
+    /**
+     * Records the prices of variants, none for those deleted.
+     * <p>
+     * The variants are locked for the other transactions recording their prices before the prices are read, so that
+     * the last event of each variant holds its last committed prices. Each price holds its effective value when
+     * recorded and the instant it holds until; the {@link PricingService} records the prices again at that instant,
+     * when the sale of the variant starts or ends.
+     *
+     * @param shoeVariantsIds the ids of the shoeVariants.
+     * @param loader loads the items of the shoeVariants, by shoeVariants id.
+     * @return the items loaded.
+     */
+    Map<Long, List<Item>> pricesChanged(List<Long> shoeVariantsIds, Function<List<Long>, Map<Long, List<Item>>> loader) {
+        if (!enabled) {
+            return loader.apply(shoeVariantsIds);
+        }
+        Map<Long, Long> sequences = new TreeMap<>();
+        shoeVariantsIds.stream().sorted().forEach(id -> sequences.put(id, nextSequence(AGGREGATE_SHOE_VARIANTS, id)));
+        Map<Long, List<Item>> items = loader.apply(shoeVariantsIds);
+        Instant now = Instant.now();
+        sequences.forEach((shoeVariantsId, sequence) -> {
+            List<PriceLine> prices = items
+                .getOrDefault(shoeVariantsId, List.of())
+                .stream()
+                .map(item -> {
+                    Sale sale = item.sale() != null ? item.sale() : new Sale(null, null, null, null, null);
+                    Price price = PriceTable.price(item, now);
+                    return new PriceLine(
+                        item.id(),
+                        item.colorsId(),
+                        item.basePrice(),
+                        price.price(),
+                        price.validUntil(),
+                        sale.id(),
+                        sale.startDate(),
+                        sale.endDate(),
+                        sale.discountPercentage(),
+                        sale.newPrice()
+                    );
+                })
+                .toList();
+            write(AGGREGATE_SHOE_VARIANTS, shoeVariantsId, sequence, PRICES_CHANGED, new PricesChanged(shoeVariantsId, prices));
+        });
+        return items;
+    }
+
+    private void record(String aggregateType, Object aggregateId, String eventType, Object event) {
+        write(aggregateType, aggregateId, nextSequence(aggregateType, aggregateId), eventType, event);
+    }
+
+    /**
+     * Numbers the next event of an aggregate, locking the aggregate until the current transaction ends.
+     */
+    private long nextSequence(String aggregateType, Object aggregateId) {
+        return outboxEventRepository.nextSequence(aggregateType, String.valueOf(aggregateId));
+    }
+
+    private void write(String aggregateType, Object aggregateId, long sequence, String eventType, Object event) {
+        String id = String.valueOf(aggregateId);
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write the " + eventType + " event of " + aggregateType + " " + id, e);
+        }
+        outboxEventRepository.save(
+            new OutboxEvent()
+                .aggregateType(aggregateType)
+                .aggregateId(id)
+                .sequence(sequence)
+                .eventType(eventType)
+                .payload(payload)
+                .createdAt(Instant.now())
+        );
+        log.debug("Recorded {} {} of {} {}", eventType, sequence, aggregateType, id);
+        TransactionCallbacks.afterCommit(outboxMetersService::trackRecorded);
+    }
+
+    record OrderCreated(
+        Long ordersId,
+        Instant orderDate,
+        Long totalPrice,
+        OrderStatus status,
+        Long customerId,
+        List<OrderLine> orderItems
+    ) {}
+
+    record OrderUpdated(Long ordersId, Instant orderDate, Long totalPrice, OrderStatus status, Long customerId) {}
+
+    record OrderDeleted(Long ordersId) {}
+
+    record OrderItemChanged(
+        Long orderItemsId,
+        Long ordersId,
+        Long shoeVariantsId,
+        Integer colorsId,
+        Integer sizesId,
+        Integer quantity,
+        Long price
+    ) {}
+
+    record OrderItemDeleted(Long orderItemsId) {}
+
+    record OrderLine(Long orderItemsId, Long shoeVariantsId, Integer colorsId, Integer sizesId, Integer quantity, Long price) {}
+
+    record StockChanged(Long shoeVariantSizesId, Long shoeVariantsId, Integer sizesId, Integer quantity, Status status) {}
+
+    record StockRemoved(Long shoeVariantSizesId) {}
+
+    record PricesChanged(Long shoeVariantsId, List<PriceLine> prices) {}
+
+    record PriceLine(
+        Long shoeVariantColorsId,
+        Integer colorsId,
+        BigDecimal basePrice,
+        BigDecimal price,
+        Instant validUntil,
+        Long salesId,
+        Instant saleStartDate,
+        Instant saleEndDate,
+        Integer saleDiscountPercentage,
+        Integer saleNewPrice
+    ) {}
+}
@@ -0,0 +1,21 @@
+package com.shoes.service;
+
+import com.shoes.service.dto.OutboxEventDTO;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A destination of the events relayed from the outbox; every sink bean receives every event.
+ * <p>
+ * Events are delivered at least once: a batch is delivered again to every sink if any of them fails, so sinks and
+ * their consumers skip the events whose sequence they already saw for the aggregate.
+ */
+public interface OutboxSink {
+    /**
+     * Delivers a batch of events, in the order they are to be applied.
+     *
+     * @param events the events.
+     * @throws IOException if the events could not be delivered, to be retried.
+     */
+    void deliver(List<OutboxEventDTO> events) throws IOException;
+}
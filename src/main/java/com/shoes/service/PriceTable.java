@@ -0,0 +1,171 @@
+package com.shoes.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Effective prices of every {@link com.shoes.domain.ShoeVariantColors}, computed from its own price and the
+ * {@link com.shoes.domain.Sales} of its variant, and stored until the next sale starts or ends.
+ * <p>
+ * Lookups are lock free. Writes replace all the items of a variant at once and are serialized.
+ */
+final class PriceTable {
+
+    private static final int SCALE = 2;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final Map<Long, Price> byShoeVariantColors = new ConcurrentHashMap<>();
+
+    private final Map<Long, List<Item>> byShoeVariants = new ConcurrentHashMap<>();
+
+    /**
+     * A sale window; a missing start or end date leaves it open on that side.
+     */
+    record Sale(Long id, Instant startDate, Instant endDate, Integer discountPercentage, Integer newPrice) {
+        boolean isActive(Instant now) {
+            return (startDate == null || !now.isBefore(startDate)) && (endDate == null || now.isBefore(endDate));
+        }
+
+        /**
+         * Returns the next instant, after {@code now}, at which the sale starts or ends.
+         */
+        Optional<Instant> nextSwitch(Instant now) {
+            if (startDate != null && startDate.isAfter(now)) {
+                return Optional.of(startDate);
+            }
+            if (endDate != null && endDate.isAfter(now)) {
+                return Optional.of(endDate);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A shoeVariantColors, with the sale of its variant if any.
+     */
+    record Item(Long id, Long shoeVariantsId, Integer colorsId, BigDecimal basePrice, Sale sale) {}
+
+    /**
+     * The price of an item, valid until {@code validUntil} if not null.
+     */
+    record Price(Item item, BigDecimal price, boolean onSale, Instant validUntil) {
+        boolean isValid(Instant now) {
+            return validUntil == null || now.isBefore(validUntil);
+        }
+    }
+
+    /**
+     * Computes the price of an item at {@code now}.
+     */
+    static Price price(Item item, Instant now) {
+        Sale sale = item.sale();
+        if (sale == null) {
+            return new Price(item, item.basePrice(), false, null);
+        }
+        Instant validUntil = sale.nextSwitch(now).orElse(null);
+        if (!sale.isActive(now)) {
+            return new Price(item, item.basePrice(), false, validUntil);
+        }
+        BigDecimal price = item.basePrice();
+        if (sale.newPrice() != null) {
+            price = BigDecimal.valueOf(sale.newPrice()).setScale(SCALE);
+        } else if (sale.discountPercentage() != null && price != null) {
+            BigDecimal kept = HUNDRED.subtract(BigDecimal.valueOf(Math.max(0, Math.min(100, sale.discountPercentage()))));
+            price = price.multiply(kept).divide(HUNDRED, SCALE, RoundingMode.HALF_UP);
+        }
+        return new Price(item, price, true, validUntil);
+    }
+
+    /**
+     * Replaces the items of a variant, removing it when {@code items} is empty.
+     *
+     * @return the instants at which the new prices switch next.
+     */
+    synchronized List<Instant> put(Long shoeVariantsId, List<Item> items, Instant now) {
+        List<Item> previous = byShoeVariants.remove(shoeVariantsId);
+        if (previous != null) {
+            // An item moved to another variant may already have been stored there.
+            previous.forEach(item ->
+                byShoeVariantColors.computeIfPresent(item.id(), (id, price) ->
+                    shoeVariantsId.equals(price.item().shoeVariantsId()) ? null : price
+                )
+            );
+        }
+        if (!items.isEmpty()) {
+            byShoeVariants.put(shoeVariantsId, List.copyOf(items));
+        }
+        return reprice(items, now);
+    }
+
+    /**
+     * Prices the items of a variant again.
+     *
+     * @return the instants at which the prices switch next.
+     */
+    synchronized List<Instant> refresh(Long shoeVariantsId, Instant now) {
+        return reprice(byShoeVariants.getOrDefault(shoeVariantsId, List.of()), now);
+    }
+
+    /**
+     * Returns the items of a variant, empty if it has none.
+     */
+    synchronized List<Item> items(Long shoeVariantsId) {
+        return byShoeVariants.getOrDefault(shoeVariantsId, List.of());
+    }
+
+    private List<Instant> reprice(List<Item> items, Instant now) {
+        List<Instant> switches = new ArrayList<>();
+        for (Item item : items) {
+            Price price = price(item, now);
+            byShoeVariantColors.put(item.id(), price);
+            if (price.validUntil() != null && !switches.contains(price.validUntil())) {
+                switches.add(price.validUntil());
+            }
+        }
+        return switches;
+    }
+
+    /**
+     * Returns the price of a shoeVariantColors at {@code now}, computing it again if a sale started or ended since it
+     * was stored.
+     */
+    Optional<Price> get(Long shoeVariantColorsId, Instant now) {
+        Price price = byShoeVariantColors.get(shoeVariantColorsId);
+        if (price == null) {
+            return Optional.empty();
+        }
+        return Optional.of(price.isValid(now) ? price : price(price.item(), now));
+    }
+
+    /**
+     * Returns the prices of the shoeVariantColors of a variant at {@code now}.
+     */
+    List<Price> getByShoeVariants(Long shoeVariantsId, Instant now) {
+        return byShoeVariants
+            .getOrDefault(shoeVariantsId, List.of())
+            .stream()
+            .map(item -> get(item.id(), now).orElse(null))
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    /**
+     * Returns the variant a shoeVariantColors belonged to when it was last stored.
+     */
+    Long owner(Long shoeVariantColorsId) {
+        Price price = byShoeVariantColors.get(shoeVariantColorsId);
+        return price != null ? price.item().shoeVariantsId() : null;
+    }
+
+    int size() {
+        return byShoeVariantColors.size();
+    }
+}
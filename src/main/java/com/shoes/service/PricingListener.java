@@ -0,0 +1,47 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hands the variants whose prices were reloaded by every instance, this one included, to the {@link PricingService}
+ * to be read again. The price table is rebuilt each time the listener starts listening.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.pricing", name = "notify-enabled", havingValue = "true")
+public class PricingListener extends NotificationListener {
+
+    private final PricingService pricingService;
+
+    public PricingListener(
+        DataSourceProperties dataSourceProperties,
+        PricingService pricingService,
+        ApplicationProperties applicationProperties
+    ) {
+        super(
+            dataSourceProperties,
+            "pricing-listener",
+            applicationProperties.getPricing().getChannel(),
+            applicationProperties.getPricing().getPollTimeout(),
+            applicationProperties.getPricing().getReconnectDelay()
+        );
+        this.pricingService = pricingService;
+    }
+
+    @Override
+    protected void resync() {
+        pricingService.rebuild();
+    }
+
+    @Override
+    protected void receive(List<String> payloads) {
+        Set<Long> shoeVariantsIds = new LinkedHashSet<>();
+        payloads.forEach(payload -> NotificationPayloads.read(payload, shoeVariantsIds));
+        pricingService.refresh(shoeVariantsIds);
+    }
+}
@@ -0,0 +1,457 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import com.shoes.repository.ShoeVariantColorsRepository;
+import com.shoes.repository.ShoeVariantColorsRepository.PriceRow;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.service.PriceTable.Item;
+import com.shoes.service.PriceTable.Price;
+import com.shoes.service.PriceTable.Sale;
+import com.shoes.service.dto.PriceDTO;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service answering price lookups from an in-memory {@link PriceTable} of effective prices.
+ * <p>
+ * The table is built from the database when the application is ready and kept up to date by the REST resources,
+ * which report every write to a price, a sale or the sale of a variant. Sale starts and ends are scheduled on a
+ * {@link TimingWheel} which prices the variant again as soon as its tick comes, and records its new prices in the
+ * outbox. Lookups never read the database once the table is built.
+ * <p>
+ * Each instance holds its own table. When {@code application.pricing.notify-enabled} is set, the variants reloaded by
+ * the committed writes of an instance are sent to the others as Postgres notifications on
+ * {@code application.pricing.channel}, and read again from the database by their {@link PricingListener}. Checkouts
+ * never trust the table, and price the cart from the database instead.
+ */
+@Service
+public class PricingService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(PricingService.class);
+
+    private final ShoeVariantsRepository shoeVariantsRepository;
+
+    private final ShoeVariantColorsRepository shoeVariantColorsRepository;
+
+    private final OutboxService outboxService;
+
+    private final boolean outboxEnabled;
+
+    private final DataSource dataSource;
+
+    private final ApplicationProperties.Pricing properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration tick;
+
+    private final TimingWheel wheel;
+
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The variants whose sale started or ended, whose prices are not recorded in the outbox yet.
+     */
+    private final Set<Long> switched = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The variants reloaded by the transactions committed since the last announce.
+     */
+    private final Set<Long> reloaded = ConcurrentHashMap.newKeySet();
+
+    private volatile PriceTable table = new PriceTable();
+
+    private volatile boolean upToDate = false;
+
+    private volatile boolean rebuilding = false;
+
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Serializes rebuilds; a lock rather than a monitor, so that a virtual thread waiting on the database while holding
+     * it does not pin its carrier thread.
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public PricingService(
+        ShoeVariantsRepository shoeVariantsRepository,
+        ShoeVariantColorsRepository shoeVariantColorsRepository,
+        OutboxService outboxService,
+        DataSource dataSource,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.shoeVariantsRepository = shoeVariantsRepository;
+        this.shoeVariantColorsRepository = shoeVariantColorsRepository;
+        this.outboxService = outboxService;
+        this.outboxEnabled = applicationProperties.getOutbox().isEnabled();
+        this.dataSource = dataSource;
+        this.properties = applicationProperties.getPricing();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tick = properties.getTick();
+        this.wheel = new TimingWheel(tick, properties.getWheelSize(), Instant.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildLock.lock();
+        try {
+            startTicker();
+        } finally {
+            rebuildLock.unlock();
+        }
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            // Liquibase may still be running asynchronously, the first lookup will retry.
+            log.warn("Could not build the price table at startup: {}", e.getMessage());
+        }
+    }
+
+    private void startTicker() {
+        if (ticker == null) {
+            ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "pricing-wheel");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(this::advance, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildLock.lock();
+        try {
+            if (ticker != null) {
+                ticker.shutdownNow();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the whole table from the database and swaps it in.
+     * Variants changed while the rebuild was running are read again afterwards.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            PriceTable fresh = new PriceTable();
+            List<Long> ids = shoeVariantsRepository.findAllIds();
+            for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + REBUILD_BATCH_SIZE));
+                Instant now = Instant.now();
+                loadItems(batch).forEach((id, items) -> schedule(id, fresh.put(id, items, now)));
+            }
+            table = fresh;
+            upToDate = true;
+        } finally {
+            rebuilding = false;
+        }
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Long> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(changed);
+            apply(changed, loadItems(changed));
+        }
+        log.debug("Built price table of {} prices in {} ms", table.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Returns the current price of a shoeVariantColors.
+     *
+     * @param shoeVariantColorsId the id of the shoeVariantColors.
+     * @return the price, or empty if there is no such shoeVariantColors.
+     */
+    public Optional<PriceDTO> getPrice(Long shoeVariantColorsId) {
+        ensureUpToDate();
+        return table.get(shoeVariantColorsId, Instant.now()).map(PricingService::toDto);
+    }
+
+    /**
+     * Returns the current prices of the shoeVariantColors of a variant.
+     *
+     * @param shoeVariantsId the id of the shoeVariants.
+     * @return the prices, empty if there is no such variant.
+     */
+    public List<PriceDTO> getPrices(Long shoeVariantsId) {
+        ensureUpToDate();
+        return table.getByShoeVariants(shoeVariantsId, Instant.now()).stream().map(PricingService::toDto).toList();
+    }
+
+    /**
+     * Returns the prices of the shoeVariantColors of variants as committed in the database, read in the current
+     * transaction rather than looked up in the table, which may not hold the writes of the other instances yet.
+     *
+     * @param shoeVariantsIds the ids of the shoeVariants.
+     * @return the prices, by shoeVariants id; variants without any are left out.
+     */
+    public Map<Long, List<PriceDTO>> getCommittedPrices(Collection<Long> shoeVariantsIds) {
+        List<Long> ids = shoeVariantsIds.stream().distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Instant now = Instant.now();
+        Map<Long, List<PriceDTO>> prices = new LinkedHashMap<>();
+        loadItems(ids).forEach((id, items) ->
+            prices.put(id, items.stream().map(item -> toDto(PriceTable.price(item, now))).toList())
+        );
+        return prices;
+    }
+
+    private void ensureUpToDate() {
+        if (!upToDate) {
+            rebuildLock.lock();
+            try {
+                if (!upToDate) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    private static PriceDTO toDto(Price price) {
+        Item item = price.item();
+        return new PriceDTO(
+            item.id(),
+            item.shoeVariantsId(),
+            item.colorsId(),
+            item.basePrice(),
+            price.price(),
+            price.onSale() ? item.sale().id() : null,
+            price.validUntil()
+        );
+    }
+
+    /**
+     * Prices again the variants whose sale started or ended, schedules their next switch, and records their prices.
+     */
+    void advance() {
+        try {
+            Instant now = Instant.now();
+            PriceTable current = table;
+            for (Long shoeVariantsId : wheel.advance(now)) {
+                schedule(shoeVariantsId, current.refresh(shoeVariantsId, now));
+                if (outboxEnabled) {
+                    switched.add(shoeVariantsId);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Keep the wheel turning, lookups price stale entries again on their own.
+            log.error("Could not switch prices", e);
+        }
+        recordSwitched();
+    }
+
+    /**
+     * Records the prices of the variants whose sale started or ended in the outbox, in short transactions of their own;
+     * they are kept for the next tick if they cannot be.
+     */
+    private void recordSwitched() {
+        if (switched.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> iterator = switched.iterator(); iterator.hasNext();) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + REBUILD_BATCH_SIZE));
+            try {
+                transactionTemplate.executeWithoutResult(status -> outboxService.pricesChanged(batch, this::loadItems));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Could not record the switched prices of {} variants, will retry: {}", batch.size(), e.getMessage());
+                switched.addAll(ids.subList(from, ids.size()));
+                return;
+            }
+        }
+    }
+
+    private void schedule(Long shoeVariantsId, List<Instant> switches) {
+        switches.forEach(at -> wheel.schedule(shoeVariantsId, at));
+    }
+
+    /**
+     * Reloads the prices of the given variants once the current transaction commits, and records them in the outbox.
+     *
+     * @param shoeVariantsIds the ids of the created, updated or deleted variants.
+     */
+    public void reloadShoeVariants(Collection<Long> shoeVariantsIds) {
+        List<Long> ids = shoeVariantsIds.stream().filter(id -> id != null).distinct().toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Item>> items = outboxService.pricesChanged(ids, this::loadItems);
+        TransactionCallbacks.afterCommit(() -> {
+            apply(ids, items);
+            announceLater(ids);
+        });
+    }
+
+    public void reloadShoeVariants(Long shoeVariantsId) {
+        reloadShoeVariants(List.of(shoeVariantsId));
+    }
+
+    /**
+     * Removes the prices of a deleted variant once the current transaction commits.
+     *
+     * @param shoeVariantsId the id of the deleted variant.
+     */
+    public void removeShoeVariants(Long shoeVariantsId) {
+        outboxService.pricesChanged(List.of(shoeVariantsId), ids -> Map.of());
+        TransactionCallbacks.afterCommit(() -> {
+            apply(List.of(shoeVariantsId), Map.of());
+            announceLater(List.of(shoeVariantsId));
+        });
+    }
+
+    /**
+     * Reloads the prices of the variants on a {@link com.shoes.domain.Sales}, whose window or discount may have changed.
+     *
+     * @param salesId the id of the updated sales.
+     */
+    public void reloadSales(Long salesId) {
+        reloadShoeVariants(shoeVariantsRepository.findIdsBySalesId(salesId));
+    }
+
+    /**
+     * Reloads the prices of the variant a {@link com.shoes.domain.ShoeVariantColors} belongs to, and the one it belonged to before.
+     *
+     * @param shoeVariantColorsId the id of the created, updated or deleted shoeVariantColors.
+     */
+    public void reloadShoeVariantColors(Long shoeVariantColorsId) {
+        Set<Long> owners = new HashSet<>();
+        owners.add(table.owner(shoeVariantColorsId));
+        shoeVariantColorsRepository.findShoeVariantsIdById(shoeVariantColorsId).ifPresent(owners::add);
+        reloadShoeVariants(owners);
+    }
+
+    /**
+     * Reloads the prices of variants written by another instance, in short transactions of their own.
+     *
+     * @param shoeVariantsIds the ids of the variants announced.
+     */
+    public void refresh(Collection<Long> shoeVariantsIds) {
+        List<Long> ids = List.copyOf(shoeVariantsIds);
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + REBUILD_BATCH_SIZE));
+            apply(batch, transactionTemplate.execute(status -> loadItems(batch)));
+        }
+    }
+
+    private void announceLater(List<Long> ids) {
+        if (properties.isNotifyEnabled()) {
+            reloaded.addAll(ids);
+        }
+    }
+
+    /**
+     * Sends the ids of the variants reloaded since the last announce to every instance; they are kept for the next
+     * announce if they cannot be sent.
+     */
+    @Scheduled(fixedDelayString = "${application.pricing.announce-interval:PT0.2S}")
+    public void announce() {
+        if (reloaded.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> iterator = reloaded.iterator(); iterator.hasNext();) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+                for (String payload : NotificationPayloads.write(ids)) {
+                    statement.setString(1, properties.getChannel());
+                    statement.setString(2, payload);
+                    statement.executeQuery().close();
+                }
+            }
+            // Notifications are delivered once the transaction sending them commits.
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not announce the prices of {} variants, will retry: {}", ids.size(), e.getMessage());
+            reloaded.addAll(ids);
+        }
+    }
+
+    private void apply(List<Long> ids, Map<Long, List<Item>> items) {
+        PriceTable current = table;
+        Instant now = Instant.now();
+        for (Long id : ids) {
+            schedule(id, current.put(id, items.getOrDefault(id, List.of()), now));
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(ids);
+        }
+    }
+
+    private Map<Long, List<Item>> loadItems(List<Long> shoeVariantsIds) {
+        Map<Long, List<Item>> items = new LinkedHashMap<>();
+        for (PriceRow row : shoeVariantColorsRepository.findPriceRowsByShoeVariantsIdIn(shoeVariantsIds)) {
+            Sale sale = row.getSalesId() == null
+                ? null
+                : new Sale(
+                    row.getSalesId(),
+                    row.getSalesStartDate(),
+                    row.getSalesEndDate(),
+                    row.getSalesDiscountPercentage(),
+                    row.getSalesNewPrice()
+                );
+            BigDecimal basePrice = row.getPrice() != null ? new BigDecimal(row.getPrice().toString()) : null;
+            items
+                .computeIfAbsent(row.getShoeVariantsId(), id -> new ArrayList<>())
+                .add(new Item(row.getId(), row.getShoeVariantsId(), row.getColorsId(), basePrice, sale));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,123 @@
+package com.shoes.service;
+
+import com.shoes.management.ProductReadMetersService;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.ShoesRepository;
+import com.shoes.service.dto.ShoeVariantsDTO;
+import com.shoes.service.dto.ShoesDTO;
+import com.shoes.service.mapper.ShoeVariantsMapper;
+import com.shoes.service.mapper.ShoesMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service reading product details, where a popular product gets many identical reads at once.
+ * <p>
+ * Concurrent reads of the same product share a single load, run in its own read-only transaction, so that callers
+ * waiting for it hold no connection. The DTOs returned are shared between those callers and must not be modified.
+ */
+@Service
+public class ProductReadService {
+
+    private final ShoeVariantsRepository shoeVariantsRepository;
+
+    private final ShoesRepository shoesRepository;
+
+    private final ShoeVariantsMapper shoeVariantsMapper;
+
+    private final ShoesMapper shoesMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SingleFlight<Long, Optional<ShoeVariantsDTO>> shoeVariantsLoads;
+
+    private final SingleFlight<Long, Optional<ShoesDTO>> shoesLoads;
+
+    public ProductReadService(
+        ShoeVariantsRepository shoeVariantsRepository,
+        ShoesRepository shoesRepository,
+        ShoeVariantsMapper shoeVariantsMapper,
+        ShoesMapper shoesMapper,
+        PlatformTransactionManager transactionManager,
+        ProductReadMetersService metersService
+    ) {
+        this.shoeVariantsRepository = shoeVariantsRepository;
+        this.shoesRepository = shoesRepository;
+        this.shoeVariantsMapper = shoeVariantsMapper;
+        this.shoesMapper = shoesMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.shoeVariantsLoads = new SingleFlight<>(metersService::trackShoeVariantsExecuted, metersService::trackShoeVariantsCoalesced);
+        this.shoesLoads = new SingleFlight<>(metersService::trackShoesExecuted, metersService::trackShoesCoalesced);
+    }
+
+    /**
+     * Reads a variant with its sizes.
+     *
+     * @param id the id of the variant.
+     * @return the variant, if found.
+     */
+    public Optional<ShoeVariantsDTO> findShoeVariants(Long id) {
+        return shoeVariantsLoads.load(
+            id,
+            () ->
+                transactionTemplate.execute(status -> {
+                    Optional<ShoeVariantsDTO> shoeVariants = shoeVariantsRepository.findApiRowById(id).map(shoeVariantsMapper::toDto);
+                    shoeVariants.ifPresent(dto -> fetchSizes(List.of(dto)));
+                    return shoeVariants;
+                })
+        );
+    }
+
+    /**
+     * Reads a shoes.
+     *
+     * @param id the id of the shoes.
+     * @return the shoes, if found.
+     */
+    public Optional<ShoesDTO> findShoes(Long id) {
+        return shoesLoads.load(
+            id,
+            () -> transactionTemplate.execute(status -> shoesRepository.findApiRowById(id).map(shoesMapper::toDto))
+        );
+    }
+
+    /**
+     * Fills the sizes of the given variants, as ids read from the join table only.
+     *
+     * @param shoeVariants the variants, with no sizes yet.
+     */
+    public void fetchSizes(List<ShoeVariantsDTO> shoeVariants) {
+        if (shoeVariants.isEmpty()) {
+            return;
+        }
+        Map<Long, ShoeVariantsDTO> byId = shoeVariants.stream().collect(Collectors.toMap(ShoeVariantsDTO::getId, Function.identity()));
+        for (ShoeVariantsRepository.SizesLink link : shoeVariantsRepository.findSizesLinksByIdIn(List.copyOf(byId.keySet()))) {
+            byId.get(link.getShoeVariantsId()).getSizes().add(shoeVariantsMapper.sizesFromId(link.getSizesId()));
+        }
+    }
+
+    /**
+     * Makes the reads of a variant started after the current transaction has committed run a new load.
+     *
+     * @param id the id of the variant written.
+     */
+    public void evictShoeVariants(Long id) {
+        TransactionCallbacks.afterCommit(() -> shoeVariantsLoads.forget(id));
+    }
+
+    /**
+     * Makes the reads of a shoes started after the current transaction has committed run a new load.
+     *
+     * @param id the id of the shoes written.
+     */
+    public void evictShoes(Long id) {
+        TransactionCallbacks.afterCommit(() -> shoesLoads.forget(id));
+    }
+}
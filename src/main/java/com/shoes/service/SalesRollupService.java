@@ -0,0 +1,145 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import com.shoes.domain.SalesRollup;
+import com.shoes.repository.SalesRollupRepository;
+import com.shoes.service.dto.SalesRollupDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping the {@link SalesRollup} of the orders, and reporting sales out of it.
+ * <p>
+ * Every {@code application.sales-rollup.refresh-interval}, the items of the orders dated after the high-water mark are
+ * added to the rollup and the mark moved up, in one transaction, so that each order is counted once. Orders are only
+ * added once they are {@code application.sales-rollup.settle-delay} old, as checkouts date them before they commit.
+ * Orders updated, deleted, or created with an older date are only counted again by a {@link #rebuild()}.
+ * <p>
+ * Reports read the rollup rows of the days asked for, so their cost does not depend on the number of orders.
+ */
+@Service
+public class SalesRollupService {
+
+    /**
+     * The dimensions sales can be grouped by.
+     */
+    public enum Dimension {
+        DAY,
+        BRAND,
+        CATEGORY,
+        PURPOSE,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    private final Duration settleDelay;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesRollupService(
+        SalesRollupRepository salesRollupRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.settleDelay = applicationProperties.getSalesRollup().getSettleDelay();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            refresh();
+        } catch (DataAccessException e) {
+            // Liquibase may still be running asynchronously, the next refresh will retry.
+            log.warn("Could not refresh the sales rollup at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the orders placed since the last refresh to the rollup.
+     */
+    @Scheduled(fixedDelayString = "${application.sales-rollup.refresh-interval:PT1M}")
+    public void refresh() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant highWaterMark = salesRollupRepository.lockHighWaterMark();
+            Instant to = Instant.now().minus(settleDelay);
+            if (highWaterMark != null && !to.isAfter(highWaterMark)) {
+                return;
+            }
+            int rows = salesRollupRepository.addOrders(highWaterMark != null ? highWaterMark : Instant.EPOCH, to);
+            salesRollupRepository.updateHighWaterMark(to);
+            log.debug("Added the orders dated up to {} to {} sales rollup rows", to, rows);
+        });
+    }
+
+    /**
+     * Fills the rollup again from every order, in one transaction: reports keep reading the previous rollup until it
+     * commits.
+     */
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            salesRollupRepository.lockHighWaterMark();
+            Instant to = Instant.now().minus(settleDelay);
+            salesRollupRepository.deleteAllRows();
+            int rows = salesRollupRepository.addOrders(Instant.EPOCH, to);
+            salesRollupRepository.updateHighWaterMark(to);
+            log.info("Rebuilt the sales rollup with {} rows from the orders dated up to {}", rows, to);
+        });
+    }
+
+    /**
+     * The units and revenue of the sales of a range of days, grouped by some dimensions.
+     *
+     * @param from the first day, included.
+     * @param to the last day, included.
+     * @param brandId the id of the brand the sales are restricted to, if any.
+     * @param categoryId the id of the category the sales are restricted to, if any.
+     * @param shoePurposeId the id of the shoePurpose the sales are restricted to, if any.
+     * @param groupBy the dimensions the sales are grouped by.
+     * @return the sales of each group, by day.
+     */
+    @Transactional(readOnly = true)
+    public List<SalesRollupDTO> getSales(
+        LocalDate from,
+        LocalDate to,
+        Integer brandId,
+        Long categoryId,
+        Integer shoePurposeId,
+        Set<Dimension> groupBy
+    ) {
+        Map<List<Object>, SalesRollupDTO> groups = new LinkedHashMap<>();
+        for (SalesRollup row : salesRollupRepository.findAllBetween(from, to, brandId, categoryId, shoePurposeId)) {
+            SalesRollupDTO group = new SalesRollupDTO(
+                groupBy.contains(Dimension.DAY) ? row.getSalesDay() : null,
+                groupBy.contains(Dimension.BRAND) ? row.getBrandId() : null,
+                groupBy.contains(Dimension.CATEGORY) ? row.getCategoryId() : null,
+                groupBy.contains(Dimension.PURPOSE) ? row.getShoePurposeId() : null
+            );
+            List<Object> key = Arrays.asList(group.getSalesDay(), group.getBrandId(), group.getCategoryId(), group.getShoePurposeId());
+            SalesRollupDTO sales = groups.computeIfAbsent(key, k -> group);
+            sales.setUnits(sales.getUnits() + row.getUnits());
+            sales.setRevenue(sales.getRevenue() + row.getRevenue());
+        }
+        return new ArrayList<>(groups.values());
+    }
+}
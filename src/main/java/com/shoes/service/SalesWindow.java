@@ -0,0 +1,76 @@
+package com.shoes.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Quantities sold per variant over the last days, one slot per day: a slot is reused once its day has left the window.
+ * <p>
+ * Days are UTC epoch days. Not thread-safe.
+ */
+final class SalesWindow {
+
+    private static final long NO_DAY = Long.MIN_VALUE;
+
+    private final int days;
+
+    private final Map<Long, Slots> slots = new HashMap<>();
+
+    /**
+     * @param days number of days kept, the longest total asked for.
+     */
+    SalesWindow(int days) {
+        this.days = days;
+    }
+
+    /**
+     * Adds a quantity sold on a day; days already out of the window, as far as the variant is concerned, are ignored.
+     */
+    void add(long shoeVariantsId, long day, long quantity) {
+        Slots variant = slots.computeIfAbsent(shoeVariantsId, id -> new Slots(days));
+        int slot = (int) Math.floorMod(day, (long) days);
+        if (variant.days[slot] == day) {
+            variant.quantities[slot] += quantity;
+        } else if (variant.days[slot] < day) {
+            variant.days[slot] = day;
+            variant.quantities[slot] = quantity;
+        }
+    }
+
+    /**
+     * The quantity of a variant sold over a number of days, up to and including {@code today}.
+     */
+    long total(long shoeVariantsId, long today, int lastDays) {
+        Slots variant = slots.get(shoeVariantsId);
+        if (variant == null) {
+            return 0;
+        }
+        long total = 0;
+        for (int slot = 0; slot < days; slot++) {
+            long day = variant.days[slot];
+            if (day <= today && day > today - lastDays) {
+                total += variant.quantities[slot];
+            }
+        }
+        return total;
+    }
+
+    Set<Long> shoeVariantsIds() {
+        return slots.keySet();
+    }
+
+    private static final class Slots {
+
+        private final long[] days;
+
+        private final long[] quantities;
+
+        private Slots(int size) {
+            this.days = new long[size];
+            this.quantities = new long[size];
+            Arrays.fill(days, NO_DAY);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.shoes.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load on its own thread, and the callers
+ * arriving while it runs wait for its result instead of running their own.
+ * <p>
+ * Results are forgotten once the load completes, and are shared by all the callers, which must not modify them.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Runnable executed;
+
+    private final Runnable coalesced;
+
+    /**
+     * @param executed called for each load run.
+     * @param coalesced called for each load answered by another one in flight.
+     */
+    SingleFlight(Runnable executed, Runnable coalesced) {
+        this.executed = executed;
+        this.coalesced = coalesced;
+    }
+
+    /**
+     * Loads a key, or waits for the load of that key in flight.
+     *
+     * @param key the key to load.
+     * @param loader runs the load.
+     * @return the result of the load; the exception it threw is rethrown to every caller.
+     */
+    V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            coalesced.run();
+            return join(running);
+        }
+        executed.run();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Detaches the load of a key in flight, so that the next callers run a new one; those already waiting still get
+     * its result. Called once a write to the key has committed, so that its writer never reads an older load.
+     */
+    void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import com.shoes.domain.FlashSaleAllocation;
+import com.shoes.domain.StockReservation;
+import com.shoes.management.StockMetersService;
+import com.shoes.repository.FlashSaleAllocationRepository;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.StockReservationRepository;
+import com.shoes.service.dto.StockReservationDTO;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service reserving the stock of {@link com.shoes.domain.ShoeVariantSizes}.
+ * <p>
+ * A reservation takes stock out with a single conditional update, which fails instead of overselling when too little
+ * is left, and lasts until it is confirmed by a checkout, released, or expires.
+ * <p>
+ * Sizes put on flash sale have part of their stock moved into a {@link StripedStock} pool on this node: reservations
+ * are then taken in memory and written to the database in batches. Stock held by the pools is put back into the
+ * database when the flash sale is closed or the application shuts down.
+ * <p>
+ * The stock moved into a pool is recorded as a {@link FlashSaleAllocation}, less the reservations written since, so
+ * that it survives the node: each node beats for its allocations, and puts back the stock of those whose node stopped
+ * beating for {@code application.stock-reservation.flash-sale-timeout}, its own previous ones included once it is
+ * restarted. Reservations taken in memory and not yet written are lost with the node, their stock put back with the
+ * rest. Closing a flash sale closes the pool of this node at once, and those of the other nodes at their next heartbeat.
+ */
+@Service
+public class StockReservationService {
+
+    private final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    private final StockReservationRepository stockReservationRepository;
+
+    private final FlashSaleAllocationRepository flashSaleAllocationRepository;
+
+    private final StockMetersService stockMetersService;
+
+    private final OutboxService outboxService;
+
+    private final StockStreamService stockStreamService;
+
+    private final ApplicationProperties.StockReservation properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate newTransactionTemplate;
+
+    private final Map<Long, StripedStock> flashSales = new ConcurrentHashMap<>();
+
+    private final Map<UUID, StockReservation> unsavedReservations = new ConcurrentHashMap<>();
+
+    /**
+     * Identifies the allocations of this node, which are not taken over by its next start.
+     */
+    private final UUID nodeId = UUID.randomUUID();
+
+    /**
+     * A lock rather than a monitor, as the flush writes to the database while holding it.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockReservationService(
+        ShoeVariantSizesRepository shoeVariantSizesRepository,
+        StockReservationRepository stockReservationRepository,
+        FlashSaleAllocationRepository flashSaleAllocationRepository,
+        StockMetersService stockMetersService,
+        OutboxService outboxService,
+        StockStreamService stockStreamService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.shoeVariantSizesRepository = shoeVariantSizesRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        this.flashSaleAllocationRepository = flashSaleAllocationRepository;
+        this.stockMetersService = stockMetersService;
+        this.outboxService = outboxService;
+        this.stockStreamService = stockStreamService;
+        this.properties = applicationProperties.getStockReservation();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserves stock of a size.
+     *
+     * @param shoeVariantSizesId the id of the shoeVariantSizes.
+     * @param quantity the quantity to reserve.
+     * @return the reservation.
+     * @throws InsufficientStockException if less than {@code quantity} is left.
+     */
+    public StockReservationDTO reserve(Long shoeVariantSizesId, int quantity) {
+        log.debug("Request to reserve {} of ShoeVariantSizes : {}", quantity, shoeVariantSizesId);
+        StripedStock flashSale = flashSales.get(shoeVariantSizesId);
+        if (flashSale != null) {
+            long start = System.nanoTime();
+            boolean reserved = flashSale.tryTake(quantity);
+            stockMetersService.trackFlashSaleReservation(start, reserved);
+            if (reserved) {
+                StockReservation reservation = newReservation(shoeVariantSizesId, quantity);
+                unsavedReservations.put(reservation.getId(), reservation);
+                return new StockReservationDTO(reservation);
+            }
+            // The pool is sold out, whatever was left out of it may still be available.
+        }
+
+        long start = System.nanoTime();
+        StockReservation reservation = transactionTemplate.execute(status -> {
+            if (shoeVariantSizesRepository.decrementQuantity(shoeVariantSizesId, quantity) == 0) {
+                return null;
+            }
+            outboxService.stockChanged(shoeVariantSizesId);
+            stockStreamService.stockChanged(shoeVariantSizesId);
+            return stockReservationRepository.save(newReservation(shoeVariantSizesId, quantity));
+        });
+        stockMetersService.trackDatabaseReservation(start, reservation != null);
+        if (reservation == null) {
+            throw new InsufficientStockException();
+        }
+        return new StockReservationDTO(reservation);
+    }
+
+    private StockReservation newReservation(Long shoeVariantSizesId, int quantity) {
+        return new StockReservation()
+            .id(UUID.randomUUID())
+            .shoeVariantSizesId(shoeVariantSizesId)
+            .quantity(quantity)
+            .expiresAt(Instant.now().plus(properties.getTtl()));
+    }
+
+    /**
+     * Confirms a reservation: its stock is sold and will not be put back.
+     *
+     * @param id the id of the reservation.
+     * @return whether the reservation was still held.
+     */
+    @Transactional
+    public boolean confirm(UUID id) {
+        log.debug("Request to confirm StockReservation : {}", id);
+        if (removeUnsaved(id).isPresent()) {
+            return true;
+        }
+        return stockReservationRepository
+            .findOneForUpdate(id)
+            .map(reservation -> {
+                stockReservationRepository.delete(reservation);
+                return true;
+            })
+            .orElse(false);
+    }
+
+    /**
+     * Releases a reservation, putting its stock back.
+     *
+     * @param id the id of the reservation.
+     * @return whether the reservation was still held.
+     */
+    @Transactional
+    public boolean release(UUID id) {
+        log.debug("Request to release StockReservation : {}", id);
+        Optional<StockReservation> unsaved = removeUnsaved(id);
+        if (unsaved.isPresent()) {
+            restockUnsaved(unsaved.orElseThrow().getShoeVariantSizesId(), unsaved.orElseThrow().getQuantity());
+            stockMetersService.trackCancelled();
+            return true;
+        }
+        return stockReservationRepository
+            .findOneForUpdate(id)
+            .map(reservation -> {
+                stockReservationRepository.delete(reservation);
+                restock(reservation.getShoeVariantSizesId(), reservation.getQuantity());
+                stockMetersService.trackCancelled();
+                return true;
+            })
+            .orElse(false);
+    }
+
+    /**
+     * Takes a reservation out of the ones not yet written, waiting for a running flush so that a reservation being
+     * written is looked up in the database afterwards.
+     */
+    private Optional<StockReservation> removeUnsaved(UUID id) {
+        flushLock.lock();
+        try {
+            return Optional.ofNullable(unsavedReservations.remove(id));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Puts the stock of a written reservation back into the flash-sale pool of the size, once the current transaction
+     * commits, or into the database.
+     */
+    private void restock(Long shoeVariantSizesId, int quantity) {
+        StripedStock flashSale = flashSales.get(shoeVariantSizesId);
+        if (flashSale != null) {
+            flashSaleAllocationRepository.addQuantity(shoeVariantSizesId, nodeId, quantity);
+            TransactionCallbacks.afterCommit(() -> flashSale.put(quantity));
+        } else {
+            incrementStock(shoeVariantSizesId, quantity);
+        }
+    }
+
+    /**
+     * Puts the stock of a reservation taken in memory back, which its allocation still holds.
+     */
+    private void restockUnsaved(Long shoeVariantSizesId, int quantity) {
+        StripedStock flashSale = flashSales.get(shoeVariantSizesId);
+        if (flashSale != null) {
+            TransactionCallbacks.afterCommit(() -> flashSale.put(quantity));
+        } else {
+            incrementStock(shoeVariantSizesId, quantity);
+        }
+    }
+
+    private void incrementStock(Long shoeVariantSizesId, long quantity) {
+        if (quantity > 0) {
+            shoeVariantSizesRepository.incrementQuantity(shoeVariantSizesId, Math.toIntExact(quantity));
+            outboxService.stockChanged(shoeVariantSizesId);
+            stockStreamService.stockChanged(shoeVariantSizesId);
+        }
+    }
+
+    /**
+     * Releases the expired reservations, in batches, skipping those another node is already releasing.
+     */
+    @Scheduled(fixedDelayString = "${application.stock-reservation.expiry-interval:PT30S}")
+    public void releaseExpiredReservations() {
+        int batchSize = properties.getExpiryBatchSize();
+        int released;
+        do {
+            released = transactionTemplate.execute(status -> releaseExpiredBatch(batchSize));
+            if (released > 0) {
+                log.debug("Released {} expired stock reservations", released);
+            }
+        } while (released == batchSize);
+    }
+
+    private int releaseExpiredBatch(int batchSize) {
+        List<StockReservation> expired = stockReservationRepository.findExpiredForUpdate(Instant.now(), Limit.of(batchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        expired.forEach(reservation -> quantities.merge(reservation.getShoeVariantSizesId(), reservation.getQuantity(), Integer::sum));
+        stockReservationRepository.deleteAllInBatch(expired);
+        quantities.forEach(this::restock);
+        stockMetersService.trackExpired(expired.size());
+        return expired.size();
+    }
+
+    /**
+     * Writes the reservations taken in memory, taking their stock off the allocations of their sizes.
+     */
+    @Scheduled(fixedDelayString = "${application.stock-reservation.flush-interval:PT0.2S}")
+    public void flushFlashSaleReservations() {
+        if (unsavedReservations.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<StockReservation> batch = new ArrayList<>(unsavedReservations.values());
+            try {
+                Map<Long, Long> quantities = new TreeMap<>();
+                batch.forEach(reservation ->
+                    quantities.merge(reservation.getShoeVariantSizesId(), (long) reservation.getQuantity(), Long::sum)
+                );
+                newTransactionTemplate.executeWithoutResult(status -> {
+                    stockReservationRepository.saveAll(batch);
+                    quantities.forEach((shoeVariantSizesId, quantity) ->
+                        flashSaleAllocationRepository.addQuantity(shoeVariantSizesId, nodeId, -quantity)
+                    );
+                });
+                batch.forEach(reservation -> unsavedReservations.remove(reservation.getId()));
+            } catch (DataAccessException e) {
+                log.warn("Could not write {} flash-sale reservations, will retry: {}", batch.size(), e.getMessage());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Puts a size on flash sale, moving {@code quantity} of its stock into an in-memory pool of this node, and recording
+     * it as allocated to this node.
+     *
+     * @param shoeVariantSizesId the id of the shoeVariantSizes.
+     * @param quantity the quantity to move into the pool.
+     * @throws InsufficientStockException if less than {@code quantity} is left.
+     */
+    @Transactional
+    public void openFlashSale(Long shoeVariantSizesId, int quantity) {
+        log.debug("Request to put {} of ShoeVariantSizes : {} on flash sale", quantity, shoeVariantSizesId);
+        if (shoeVariantSizesRepository.decrementQuantity(shoeVariantSizesId, quantity) == 0) {
+            throw new InsufficientStockException();
+        }
+        outboxService.stockChanged(shoeVariantSizesId);
+        stockStreamService.stockChanged(shoeVariantSizesId);
+        flashSaleAllocationRepository.allocate(UUID.randomUUID(), shoeVariantSizesId, nodeId, quantity, Instant.now());
+        TransactionCallbacks.afterCommit(() -> {
+            StripedStock added = new StripedStock(properties.getFlashSaleStripes(), quantity, leftover ->
+                putBack(shoeVariantSizesId, leftover)
+            );
+            StripedStock current = flashSales.putIfAbsent(shoeVariantSizesId, added);
+            if (current != null) {
+                current.put(quantity);
+            }
+        });
+    }
+
+    /**
+     * Ends the flash sale of a size, putting the stock left in the pool of this node back into the database, and asking
+     * the other nodes to do the same with theirs at their next heartbeat.
+     *
+     * @param shoeVariantSizesId the id of the shoeVariantSizes.
+     * @return whether the size was on flash sale on any node.
+     */
+    public boolean closeFlashSale(Long shoeVariantSizesId) {
+        log.debug("Request to close the flash sale of ShoeVariantSizes : {}", shoeVariantSizesId);
+        boolean allocated = newTransactionTemplate.execute(status -> flashSaleAllocationRepository.requestClosing(shoeVariantSizesId) > 0);
+        return closePool(shoeVariantSizesId) || allocated;
+    }
+
+    /**
+     * Closes the pool of a size on this node, putting the stock left in it back into the database.
+     */
+    private boolean closePool(Long shoeVariantSizesId) {
+        StripedStock flashSale = flashSales.remove(shoeVariantSizesId);
+        if (flashSale == null) {
+            return false;
+        }
+        // Reservations written after the allocation is deleted would not be taken off it.
+        flushFlashSaleReservations();
+        long left = flashSale.close();
+        newTransactionTemplate.executeWithoutResult(status -> {
+            flashSaleAllocationRepository.deleteAllocation(shoeVariantSizesId, nodeId);
+            incrementStock(shoeVariantSizesId, left);
+        });
+        return true;
+    }
+
+    /**
+     * Returns the stock left in the flash-sale pool of a size.
+     *
+     * @param shoeVariantSizesId the id of the shoeVariantSizes.
+     * @return the stock left, or empty if the size is not on flash sale.
+     */
+    public Optional<Long> getFlashSaleStock(Long shoeVariantSizesId) {
+        return Optional.ofNullable(flashSales.get(shoeVariantSizesId)).map(StripedStock::available);
+    }
+
+    private void putBack(Long shoeVariantSizesId, long quantity) {
+        if (quantity > 0) {
+            newTransactionTemplate.executeWithoutResult(status -> incrementStock(shoeVariantSizesId, quantity));
+        }
+    }
+
+    /**
+     * Beats for the allocations of this node, closes the pools other nodes asked to close, and puts back the stock
+     * allocated to nodes which stopped beating. First runs when the application starts, which puts back the stock
+     * left by a previous run once it times out.
+     */
+    @Scheduled(fixedDelayString = "${application.stock-reservation.flash-sale-heartbeat-interval:PT10S}")
+    public void keepFlashSalesAlive() {
+        // Pools opened after the allocations are read are not mistaken for reclaimed ones.
+        Map<Long, StripedStock> pools = new HashMap<>(flashSales);
+        Map<Long, FlashSaleAllocation> allocations = newTransactionTemplate.execute(status -> {
+            flashSaleAllocationRepository.heartbeat(nodeId, Instant.now());
+            return flashSaleAllocationRepository
+                .findAllByNodeId(nodeId)
+                .stream()
+                .collect(Collectors.toMap(FlashSaleAllocation::getShoeVariantSizesId, Function.identity()));
+        });
+        pools.forEach((shoeVariantSizesId, flashSale) -> {
+            FlashSaleAllocation allocation = allocations.get(shoeVariantSizesId);
+            if (allocation == null) {
+                // Taken for abandoned by another node, which put its stock back already.
+                if (flashSales.remove(shoeVariantSizesId, flashSale)) {
+                    log.warn("The flash-sale stock of ShoeVariantSizes {} was put back by another node", shoeVariantSizesId);
+                    flashSale.close();
+                }
+            } else if (Boolean.TRUE.equals(allocation.getClosing())) {
+                closePool(shoeVariantSizesId);
+            }
+        });
+        reclaimAbandonedFlashSales();
+    }
+
+    private void reclaimAbandonedFlashSales() {
+        Instant before = Instant.now().minus(properties.getFlashSaleTimeout());
+        newTransactionTemplate.executeWithoutResult(status -> {
+            for (FlashSaleAllocation allocation : flashSaleAllocationRepository.findAbandonedForUpdate(before, nodeId)) {
+                log.info(
+                    "Putting back {} of ShoeVariantSizes {} allocated to node {}",
+                    allocation.getQuantity(),
+                    allocation.getShoeVariantSizesId(),
+                    allocation.getNodeId()
+                );
+                incrementStock(allocation.getShoeVariantSizesId(), allocation.getQuantity());
+                flashSaleAllocationRepository.deleteAllocation(allocation.getId());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushFlashSaleReservations();
+        new ArrayList<>(flashSales.keySet()).forEach(this::closePool);
+    }
+}
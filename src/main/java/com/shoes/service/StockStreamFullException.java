@@ -0,0 +1,10 @@
+package com.shoes.service;
+
+public class StockStreamFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StockStreamFullException() {
+        super("Too many stock streams open, try again later!");
+    }
+}
@@ -0,0 +1,47 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hands the stock changes announced by every instance, this one included, to the {@link StockStreamService}.
+ * The levels of every stream are read again each time the listener starts listening.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.stock-stream", name = "enabled", havingValue = "true")
+public class StockStreamListener extends NotificationListener {
+
+    private final StockStreamService stockStreamService;
+
+    public StockStreamListener(
+        DataSourceProperties dataSourceProperties,
+        StockStreamService stockStreamService,
+        ApplicationProperties applicationProperties
+    ) {
+        super(
+            dataSourceProperties,
+            "stock-stream",
+            applicationProperties.getStockStream().getChannel(),
+            applicationProperties.getStockStream().getPollTimeout(),
+            applicationProperties.getStockStream().getReconnectDelay()
+        );
+        this.stockStreamService = stockStreamService;
+    }
+
+    @Override
+    protected void resync() {
+        stockStreamService.resync();
+    }
+
+    @Override
+    protected void receive(List<String> payloads) {
+        Set<Long> shoeVariantSizesIds = new LinkedHashSet<>();
+        payloads.forEach(payload -> NotificationPayloads.read(payload, shoeVariantSizesIds));
+        stockStreamService.refresh(shoeVariantSizesIds);
+    }
+}
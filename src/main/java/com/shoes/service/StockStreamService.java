@@ -0,0 +1,396 @@
+package com.shoes.service;
+
+import com.shoes.config.ApplicationProperties;
+import com.shoes.management.StockStreamMetersService;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.ShoeVariantSizesRepository.ApiRow;
+import com.shoes.service.dto.StockLevelDTO;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service streaming the stock levels of {@link com.shoes.domain.ShoeVariantSizes} to the clients subscribed to their
+ * variants, as server-sent events; the single fan-out hub of this instance.
+ * <p>
+ * Writes report the sizes whose stock they change. Once committed, the ids are gathered for
+ * {@code application.stock-stream.coalesce-window} and sent to every instance as Postgres notifications on
+ * {@code application.stock-stream.channel}, read by their {@link StockStreamListener}. Each instance reads the levels
+ * of the announced sizes its clients subscribed to, at most once per notification batch, and hands them to the
+ * streams.
+ * <p>
+ * Each stream keeps the levels not yet written, the last one per size, and writes them from the stock stream executor,
+ * one write at a time. A slow client therefore never holds back the hub nor the other clients, and never holds more than
+ * one level per size it subscribed to. Streams get the current levels when they open, and again whenever
+ * notifications may have been missed.
+ */
+@Service
+public class StockStreamService {
+
+    private static final int READ_BATCH_SIZE = 1000;
+
+    private static final String EVENT_NAME = "stock";
+
+    private final Logger log = LoggerFactory.getLogger(StockStreamService.class);
+
+    private final ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    private final DataSource dataSource;
+
+    private final Executor executor;
+
+    private final StockStreamMetersService stockStreamMetersService;
+
+    private final ApplicationProperties.StockStream properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The shoeVariantSizes changed by the transactions committed since the last announce.
+     */
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    private final Map<Long, Set<Stream>> streamsByShoeVariants = new ConcurrentHashMap<>();
+
+    private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    /**
+     * Orders the reads of the levels, so that a stream is never handed a level older than one it was handed before.
+     * A lock rather than a monitor, as the database is read while holding it.
+     */
+    private final ReentrantLock readLock = new ReentrantLock();
+
+    /**
+     * Whether levels may have been missed, to be read again for every stream at the next heartbeat.
+     */
+    private volatile boolean stale = false;
+
+    public StockStreamService(
+        ShoeVariantSizesRepository shoeVariantSizesRepository,
+        DataSource dataSource,
+        @Qualifier("stockStreamExecutor") Executor executor,
+        StockStreamMetersService stockStreamMetersService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.shoeVariantSizesRepository = shoeVariantSizesRepository;
+        this.dataSource = dataSource;
+        this.executor = executor;
+        this.stockStreamMetersService = stockStreamMetersService;
+        this.properties = applicationProperties.getStockStream();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Announces a change to the stock of sizes, once the current transaction has committed.
+     *
+     * @param shoeVariantSizesIds the ids of the created, updated or deleted shoeVariantSizes.
+     */
+    public void stockChanged(Collection<Long> shoeVariantSizesIds) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(shoeVariantSizesIds);
+        TransactionCallbacks.afterCommit(() -> changed.addAll(ids));
+    }
+
+    public void stockChanged(Long shoeVariantSizesId) {
+        stockChanged(List.of(shoeVariantSizesId));
+    }
+
+    /**
+     * Sends the ids of the sizes changed since the last announce to every instance; they are kept for the next
+     * announce if they cannot be sent.
+     */
+    @Scheduled(fixedDelayString = "${application.stock-stream.coalesce-window:PT0.2S}")
+    public void announce() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> iterator = changed.iterator(); iterator.hasNext();) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+                for (String payload : NotificationPayloads.write(ids)) {
+                    statement.setString(1, properties.getChannel());
+                    statement.setString(2, payload);
+                    statement.executeQuery().close();
+                }
+            }
+            // Notifications are delivered once the transaction sending them commits.
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            stockStreamMetersService.trackAnnounced(ids.size());
+        } catch (SQLException e) {
+            log.warn("Could not announce {} stock changes, will retry: {}", ids.size(), e.getMessage());
+            changed.addAll(ids);
+        }
+    }
+
+    /**
+     * Opens a stream of the stock levels of variants, starting with their current levels.
+     *
+     * @param shoeVariantsIds the ids of the shoeVariants.
+     * @return the stream.
+     * @throws IllegalArgumentException if no variant or too many are given.
+     * @throws StockStreamFullException if this instance has as many streams open as it allows.
+     */
+    public SseEmitter subscribe(Set<Long> shoeVariantsIds) {
+        if (shoeVariantsIds.isEmpty() || shoeVariantsIds.size() > properties.getMaxShoeVariants()) {
+            throw new IllegalArgumentException("Between 1 and " + properties.getMaxShoeVariants() + " variants can be subscribed to");
+        }
+        if (connections.incrementAndGet() > properties.getMaxConnections()) {
+            connections.decrementAndGet();
+            stockStreamMetersService.trackRejected();
+            throw new StockStreamFullException();
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Stream stream = new Stream(emitter, Set.copyOf(shoeVariantsIds));
+        emitter.onCompletion(() -> close(stream));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> close(stream));
+        streams.add(stream);
+        stockStreamMetersService.trackConnections(connections.get());
+        readLock.lock();
+        try {
+            for (Long id : stream.shoeVariantsIds) {
+                streamsByShoeVariants.computeIfAbsent(id, key -> ConcurrentHashMap.newKeySet()).add(stream);
+            }
+            read(stream.shoeVariantsIds, shoeVariantSizesRepository::findApiRowsByShoeVariantsIdIn).forEach(stream::offer);
+        } catch (DataAccessException e) {
+            close(stream);
+            throw e;
+        } finally {
+            readLock.unlock();
+        }
+        return emitter;
+    }
+
+    /**
+     * Hands the current levels of announced sizes to the streams subscribed to their variants.
+     *
+     * @param shoeVariantSizesIds the ids of the shoeVariantSizes announced; deleted ones are skipped.
+     */
+    void refresh(Collection<Long> shoeVariantSizesIds) {
+        if (streamsByShoeVariants.isEmpty()) {
+            return;
+        }
+        readLock.lock();
+        try {
+            for (StockLevelDTO level : read(shoeVariantSizesIds, shoeVariantSizesRepository::findApiRowsByIdIn)) {
+                Set<Stream> subscribed = streamsByShoeVariants.get(level.getShoeVariantsId());
+                if (subscribed != null) {
+                    subscribed.forEach(stream -> stream.offer(level));
+                }
+            }
+        } catch (DataAccessException e) {
+            stale = true;
+            log.warn("Could not read {} changed stock levels, will read them all again: {}", shoeVariantSizesIds.size(), e.getMessage());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Hands the current levels of every variant subscribed to, to their streams, after notifications were missed.
+     */
+    void resync() {
+        stale = false;
+        if (streamsByShoeVariants.isEmpty()) {
+            return;
+        }
+        readLock.lock();
+        try {
+            for (StockLevelDTO level : read(streamsByShoeVariants.keySet(), shoeVariantSizesRepository::findApiRowsByShoeVariantsIdIn)) {
+                Set<Stream> subscribed = streamsByShoeVariants.get(level.getShoeVariantsId());
+                if (subscribed != null) {
+                    subscribed.forEach(stream -> stream.offer(level));
+                }
+            }
+        } catch (DataAccessException e) {
+            stale = true;
+            log.warn("Could not read the stock levels of the streams, will retry: {}", e.getMessage());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private List<StockLevelDTO> read(Collection<Long> ids, Function<List<Long>, List<ApiRow>> query) {
+        List<Long> all = List.copyOf(ids);
+        List<StockLevelDTO> levels = new ArrayList<>();
+        for (int start = 0; start < all.size(); start += READ_BATCH_SIZE) {
+            List<Long> batch = all.subList(start, Math.min(all.size(), start + READ_BATCH_SIZE));
+            for (ApiRow row : transactionTemplate.execute(status -> query.apply(batch))) {
+                levels.add(new StockLevelDTO(row.getId(), row.getShoeVariantsId(), row.getSizesId(), row.getQuantity(), row.getStatus()));
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Sends a comment down every stream, so that the connections closed by their clients are noticed, and reads the
+     * levels again if some may have been missed.
+     */
+    @Scheduled(fixedDelayString = "${application.stock-stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        if (stale) {
+            resync();
+        }
+        streams.forEach(Stream::ping);
+    }
+
+    private void close(Stream stream) {
+        if (!stream.closed.compareAndSet(false, true)) {
+            return;
+        }
+        streams.remove(stream);
+        stream.shoeVariantsIds.forEach(id ->
+            streamsByShoeVariants.computeIfPresent(id, (key, subscribed) -> {
+                subscribed.remove(stream);
+                return subscribed.isEmpty() ? null : subscribed;
+            })
+        );
+        stockStreamMetersService.trackConnections(connections.decrementAndGet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Stream stream : List.copyOf(streams)) {
+            close(stream);
+            stream.emitter.complete();
+        }
+    }
+
+    /**
+     * An open stream, and the levels not yet written to it.
+     */
+    private final class Stream {
+
+        private final SseEmitter emitter;
+
+        private final Set<Long> shoeVariantsIds;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Map<Long, StockLevelDTO> pending = new LinkedHashMap<>();
+
+        private boolean pingPending = false;
+
+        private boolean writing = false;
+
+        private Stream(SseEmitter emitter, Set<Long> shoeVariantsIds) {
+            this.emitter = emitter;
+            this.shoeVariantsIds = shoeVariantsIds;
+        }
+
+        void offer(StockLevelDTO level) {
+            lock.lock();
+            try {
+                pending.put(level.getShoeVariantSizesId(), level);
+            } finally {
+                lock.unlock();
+            }
+            startWriting();
+        }
+
+        void ping() {
+            lock.lock();
+            try {
+                pingPending = true;
+            } finally {
+                lock.unlock();
+            }
+            startWriting();
+        }
+
+        private void startWriting() {
+            lock.lock();
+            try {
+                if (writing || closed.get()) {
+                    return;
+                }
+                writing = true;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                executor.execute(this::write);
+            } catch (RejectedExecutionException e) {
+                log.warn("Could not write to a stock stream, closing it: {}", e.getMessage());
+                emitter.complete();
+            }
+        }
+
+        /**
+         * Writes the pending levels, as one event, until none are left.
+         */
+        private void write() {
+            while (true) {
+                List<StockLevelDTO> levels;
+                boolean ping;
+                lock.lock();
+                try {
+                    if ((pending.isEmpty() && !pingPending) || closed.get()) {
+                        writing = false;
+                        return;
+                    }
+                    levels = new ArrayList<>(pending.values());
+                    pending.clear();
+                    ping = pingPending && levels.isEmpty();
+                    pingPending = false;
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    if (ping) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(EVENT_NAME).data(levels, MediaType.APPLICATION_JSON));
+                        stockStreamMetersService.trackSent(levels.size());
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the emitter completes on its own.
+                    log.debug("Could not write to a stock stream: {}", e.getMessage());
+                    close(this);
+                    return;
+                }
+            }
+        }
+    }
+}
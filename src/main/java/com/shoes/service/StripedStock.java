@@ -0,0 +1,128 @@
+package com.shoes.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * Stock of one flash-sale size, spread over several counters so that concurrent buyers rarely update the same one.
+ * <p>
+ * Each thread starts at its own counter and only moves on to the others when it runs dry. Counters are padded apart
+ * so that two of them never share a cache line. Once closed, stock put back is drained again by whoever puts it and
+ * handed to the {@code stranded} callback, so that none is left behind in a pool nobody reads any more.
+ */
+final class StripedStock {
+
+    /**
+     * Longs between two counters, a 128 bytes gap covering adjacent cache line prefetching.
+     */
+    private static final int PADDING = 16;
+
+    private final int stripes;
+
+    private final AtomicLongArray counters;
+
+    private final LongConsumer stranded;
+
+    private volatile boolean closed;
+
+    StripedStock(int stripes, int quantity, LongConsumer stranded) {
+        this.stripes = Math.max(1, stripes);
+        this.stranded = stranded;
+        this.counters = new AtomicLongArray(this.stripes * PADDING);
+        for (int i = 0; i < this.stripes; i++) {
+            counters.set(i * PADDING, quantity / this.stripes + (i < quantity % this.stripes ? 1 : 0));
+        }
+    }
+
+    /**
+     * Takes {@code quantity} out of the pool, possibly from several counters.
+     *
+     * @return whether the whole quantity was taken; nothing is taken otherwise.
+     */
+    boolean tryTake(int quantity) {
+        int home = home();
+        long got = takeUpTo(home, quantity);
+        if (got == quantity) {
+            return true;
+        }
+        long[] taken = new long[stripes];
+        taken[home] = got;
+        long remaining = quantity - got;
+        for (int i = 1; i < stripes && remaining > 0; i++) {
+            int stripe = (home + i) % stripes;
+            taken[stripe] = takeUpTo(stripe, remaining);
+            remaining -= taken[stripe];
+        }
+        if (remaining > 0) {
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                if (taken[stripe] > 0) {
+                    counters.addAndGet(stripe * PADDING, taken[stripe]);
+                }
+            }
+            reclaimIfClosed();
+            return false;
+        }
+        return true;
+    }
+
+    private long takeUpTo(int stripe, long quantity) {
+        int index = stripe * PADDING;
+        while (true) {
+            long available = counters.get(index);
+            if (available <= 0) {
+                return 0;
+            }
+            long got = Math.min(available, quantity);
+            if (counters.compareAndSet(index, available, available - got)) {
+                return got;
+            }
+        }
+    }
+
+    /**
+     * Puts {@code quantity} back into the pool.
+     */
+    void put(int quantity) {
+        counters.addAndGet(home() * PADDING, quantity);
+        reclaimIfClosed();
+    }
+
+    /**
+     * Closes the pool.
+     *
+     * @return the quantity left in it.
+     */
+    long close() {
+        closed = true;
+        return drain();
+    }
+
+    long available() {
+        long available = 0;
+        for (int i = 0; i < stripes; i++) {
+            available += counters.get(i * PADDING);
+        }
+        return available;
+    }
+
+    private void reclaimIfClosed() {
+        if (closed) {
+            long drained = drain();
+            if (drained > 0) {
+                stranded.accept(drained);
+            }
+        }
+    }
+
+    private long drain() {
+        long drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            drained += counters.getAndSet(i * PADDING, 0);
+        }
+        return drained;
+    }
+
+    private int home() {
+        return Math.floorMod(Long.hashCode(Thread.currentThread().getId() * 0x9E3779B97F4A7C15L), stripes);
+    }
+}
@@ -0,0 +1,86 @@
+package com.shoes.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel: timeouts are dropped into the bucket of the tick they are due in, so that scheduling one and
+ * advancing the clock by a tick are constant time whatever the number pending.
+ * <p>
+ * A bucket is shared by every tick that is a whole number of turns apart, so timeouts further away than one turn wait
+ * in their bucket and are only taken out once their deadline has passed. The same key may be scheduled at several
+ * deadlines; scheduling it twice at the same deadline has no effect.
+ */
+final class TimingWheel {
+
+    private final long tickMillis;
+
+    private final List<List<Timeout>> buckets;
+
+    private final Set<Timeout> pending = new HashSet<>();
+
+    private long currentTick;
+
+    TimingWheel(Duration tick, int wheelSize, Instant start) {
+        this.tickMillis = Math.max(1, tick.toMillis());
+        int size = Math.max(1, wheelSize);
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = Math.floorDiv(start.toEpochMilli(), tickMillis);
+    }
+
+    /**
+     * Schedules {@code key} to be returned by the first {@link #advance(Instant)} reaching {@code deadline}.
+     */
+    synchronized void schedule(Long key, Instant deadline) {
+        Timeout timeout = new Timeout(key, deadline.toEpochMilli());
+        if (!pending.add(timeout)) {
+            return;
+        }
+        long tick = Math.max(currentTick + 1, -Math.floorDiv(-timeout.deadline(), tickMillis));
+        buckets.get((int) Math.floorMod(tick, buckets.size())).add(timeout);
+    }
+
+    /**
+     * Moves the wheel forward to {@code now}.
+     *
+     * @return the keys whose deadline has passed, in deadline order.
+     */
+    synchronized List<Long> advance(Instant now) {
+        long nowMillis = now.toEpochMilli();
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        if (target <= currentTick) {
+            return List.of();
+        }
+        List<Timeout> due = new ArrayList<>();
+        long ticks = Math.min(target - currentTick, buckets.size());
+        for (long i = 1; i <= ticks; i++) {
+            Iterator<Timeout> bucket = buckets.get((int) Math.floorMod(currentTick + i, buckets.size())).iterator();
+            while (bucket.hasNext()) {
+                Timeout timeout = bucket.next();
+                if (timeout.deadline() <= nowMillis) {
+                    bucket.remove();
+                    pending.remove(timeout);
+                    due.add(timeout);
+                }
+            }
+        }
+        currentTick = target;
+        due.sort(Comparator.comparingLong(Timeout::deadline));
+        return due.stream().map(Timeout::key).toList();
+    }
+
+    synchronized int size() {
+        return pending.size();
+    }
+
+    private record Timeout(Long key, long deadline) {}
+}
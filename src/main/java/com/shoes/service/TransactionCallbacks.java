@@ -0,0 +1,33 @@
+package com.shoes.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers to defer side effects on in-memory state until the surrounding transaction has committed.
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {}
+
+    /**
+     * Runs the action once the current transaction has committed, or right away when no transaction is active.
+     * The action is dropped if the transaction rolls back.
+     *
+     * @param action the action to run.
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,82 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a best-selling {@link com.shoes.domain.ShoeVariants} and its rank.
+ */
+public class BestSellerDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long shoeVariantsId;
+
+    private int rank;
+
+    private long weekQuantity;
+
+    private long monthQuantity;
+
+    public BestSellerDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BestSellerDTO(Long shoeVariantsId, int rank, long weekQuantity, long monthQuantity) {
+        this.shoeVariantsId = shoeVariantsId;
+        this.rank = rank;
+        this.weekQuantity = weekQuantity;
+        this.monthQuantity = monthQuantity;
+    }
+
+    public Long getShoeVariantsId() {
+        return shoeVariantsId;
+    }
+
+    public void setShoeVariantsId(Long shoeVariantsId) {
+        this.shoeVariantsId = shoeVariantsId;
+    }
+
+    /**
+     * @return the rank, from 1.
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    /**
+     * @return the quantity sold over the last 7 days.
+     */
+    public long getWeekQuantity() {
+        return weekQuantity;
+    }
+
+    public void setWeekQuantity(long weekQuantity) {
+        this.weekQuantity = weekQuantity;
+    }
+
+    /**
+     * @return the quantity sold over the last 30 days.
+     */
+    public long getMonthQuantity() {
+        return monthQuantity;
+    }
+
+    public void setMonthQuantity(long monthQuantity) {
+        this.monthQuantity = monthQuantity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BestSellerDTO{" +
+            "shoeVariantsId=" + shoeVariantsId +
+            ", rank=" + rank +
+            ", weekQuantity=" + weekQuantity +
+            ", monthQuantity=" + monthQuantity +
+            "}";
+    }
+}
@@ -0,0 +1,63 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.Brand} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class BrandDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+
+    private String name;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BrandDTO)) {
+            return false;
+        }
+
+        BrandDTO brandDTO = (BrandDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, brandDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BrandDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            "}";
+    }
+}
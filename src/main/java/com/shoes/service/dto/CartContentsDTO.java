@@ -0,0 +1,149 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the {@link com.shoes.domain.CartItems} of a {@link com.shoes.domain.Cart} at their current price.
+ * Prices are in cents: {@code price} is the unit price of an item, null if it cannot be priced, and {@code totalPrice}
+ * the sum over the items that can.
+ */
+public class CartContentsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer cartId;
+
+    private Long totalPrice;
+
+    private List<Item> items = new ArrayList<>();
+
+    public Integer getCartId() {
+        return cartId;
+    }
+
+    public void setCartId(Integer cartId) {
+        this.cartId = cartId;
+    }
+
+    public Long getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(Long totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CartContentsDTO{" +
+            "cartId=" + cartId +
+            ", totalPrice=" + totalPrice +
+            ", items=" + items +
+            "}";
+    }
+
+    /**
+     * A {@link com.shoes.domain.CartItems} and its unit price.
+     */
+    public static class Item implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long cartItemsId;
+
+        private Long shoeVariantsId;
+
+        private Integer colorsId;
+
+        private Integer sizesId;
+
+        private Integer quantity;
+
+        private Long price;
+
+        public Item() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public Item(Long cartItemsId, Long shoeVariantsId, Integer colorsId, Integer sizesId, Integer quantity, Long price) {
+            this.cartItemsId = cartItemsId;
+            this.shoeVariantsId = shoeVariantsId;
+            this.colorsId = colorsId;
+            this.sizesId = sizesId;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        public Long getCartItemsId() {
+            return cartItemsId;
+        }
+
+        public void setCartItemsId(Long cartItemsId) {
+            this.cartItemsId = cartItemsId;
+        }
+
+        public Long getShoeVariantsId() {
+            return shoeVariantsId;
+        }
+
+        public void setShoeVariantsId(Long shoeVariantsId) {
+            this.shoeVariantsId = shoeVariantsId;
+        }
+
+        public Integer getColorsId() {
+            return colorsId;
+        }
+
+        public void setColorsId(Integer colorsId) {
+            this.colorsId = colorsId;
+        }
+
+        public Integer getSizesId() {
+            return sizesId;
+        }
+
+        public void setSizesId(Integer sizesId) {
+            this.sizesId = sizesId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public Long getPrice() {
+            return price;
+        }
+
+        public void setPrice(Long price) {
+            this.price = price;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Item{" +
+                "cartItemsId=" + cartItemsId +
+                ", shoeVariantsId=" + shoeVariantsId +
+                ", colorsId=" + colorsId +
+                ", sizesId=" + sizesId +
+                ", quantity=" + quantity +
+                ", price=" + price +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.CartItems} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CartItemsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Integer quantity;
+
+    private CartDTO cart;
+
+    private ColorsDTO colors;
+
+    private ShoeVariantsDTO shoeVariants;
+
+    private SizesDTO sizes;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public CartDTO getCart() {
+        return cart;
+    }
+
+    public void setCart(CartDTO cart) {
+        this.cart = cart;
+    }
+
+    public ColorsDTO getColors() {
+        return colors;
+    }
+
+    public void setColors(ColorsDTO colors) {
+        this.colors = colors;
+    }
+
+    public ShoeVariantsDTO getShoeVariants() {
+        return shoeVariants;
+    }
+
+    public void setShoeVariants(ShoeVariantsDTO shoeVariants) {
+        this.shoeVariants = shoeVariants;
+    }
+
+    public SizesDTO getSizes() {
+        return sizes;
+    }
+
+    public void setSizes(SizesDTO sizes) {
+        this.sizes = sizes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CartItemsDTO)) {
+            return false;
+        }
+
+        CartItemsDTO cartItemsDTO = (CartItemsDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, cartItemsDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CartItemsDTO{" +
+            "id=" + getId() +
+            ", quantity=" + getQuantity() +
+            ", cart=" + getCart() +
+            ", colors=" + getColors() +
+            ", shoeVariants=" + getShoeVariants() +
+            ", sizes=" + getSizes() +
+            "}";
+    }
+}
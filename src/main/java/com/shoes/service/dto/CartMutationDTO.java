@@ -0,0 +1,104 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a change to the {@link com.shoes.domain.CartItems} of a {@link com.shoes.domain.Cart} holding a
+ * variant in a color and size.
+ */
+public class CartMutationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * What a mutation does to the item.
+     */
+    public enum Type {
+        /**
+         * Adds {@code quantity} to the item, creating it if the cart does not hold it yet.
+         */
+        ADD,
+        /**
+         * Sets the quantity of the item, removing it if {@code quantity} is 0.
+         */
+        UPDATE,
+        /**
+         * Removes the item, if the cart holds it.
+         */
+        REMOVE,
+    }
+
+    private Type type;
+
+    private Long shoeVariantsId;
+
+    private Integer colorsId;
+
+    private Integer sizesId;
+
+    private Integer quantity;
+
+    public CartMutationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CartMutationDTO(Type type, Long shoeVariantsId, Integer colorsId, Integer sizesId, Integer quantity) {
+        this.type = type;
+        this.shoeVariantsId = shoeVariantsId;
+        this.colorsId = colorsId;
+        this.sizesId = sizesId;
+        this.quantity = quantity;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getShoeVariantsId() {
+        return shoeVariantsId;
+    }
+
+    public void setShoeVariantsId(Long shoeVariantsId) {
+        this.shoeVariantsId = shoeVariantsId;
+    }
+
+    public Integer getColorsId() {
+        return colorsId;
+    }
+
+    public void setColorsId(Integer colorsId) {
+        this.colorsId = colorsId;
+    }
+
+    public Integer getSizesId() {
+        return sizesId;
+    }
+
+    public void setSizesId(Integer sizesId) {
+        this.sizesId = sizesId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CartMutationDTO{" +
+            "type=" + type +
+            ", shoeVariantsId=" + shoeVariantsId +
+            ", colorsId=" + colorsId +
+            ", sizesId=" + sizesId +
+            ", quantity=" + quantity +
+            "}";
+    }
+}
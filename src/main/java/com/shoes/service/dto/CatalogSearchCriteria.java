@@ -0,0 +1,121 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Facet filters of a catalog search. Values of the same facet are OR-ed, facets are AND-ed.
+ * <p>
+ * Brands, collections, colors and sizes are matched by id, categories, purposes and statuses by enum name.
+ */
+public class CatalogSearchCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<String> brand = new ArrayList<>();
+
+    private List<String> category = new ArrayList<>();
+
+    private List<String> purpose = new ArrayList<>();
+
+    private List<String> collection = new ArrayList<>();
+
+    private List<String> color = new ArrayList<>();
+
+    private List<String> size = new ArrayList<>();
+
+    private List<String> status = new ArrayList<>();
+
+    private int offset = 0;
+
+    private int limit = 20;
+
+    public List<String> getBrand() {
+        return brand;
+    }
+
+    public void setBrand(List<String> brand) {
+        this.brand = brand;
+    }
+
+    public List<String> getCategory() {
+        return category;
+    }
+
+    public void setCategory(List<String> category) {
+        this.category = category;
+    }
+
+    public List<String> getPurpose() {
+        return purpose;
+    }
+
+    public void setPurpose(List<String> purpose) {
+        this.purpose = purpose;
+    }
+
+    public List<String> getCollection() {
+        return collection;
+    }
+
+    public void setCollection(List<String> collection) {
+        this.collection = collection;
+    }
+
+    public List<String> getColor() {
+        return color;
+    }
+
+    public void setColor(List<String> color) {
+        this.color = color;
+    }
+
+    public List<String> getSize() {
+        return size;
+    }
+
+    public void setSize(List<String> size) {
+        this.size = size;
+    }
+
+    public List<String> getStatus() {
+        return status;
+    }
+
+    public void setStatus(List<String> status) {
+        this.status = status;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CatalogSearchCriteria{" +
+            "brand=" + brand +
+            ", category=" + category +
+            ", purpose=" + purpose +
+            ", collection=" + collection +
+            ", color=" + color +
+            ", size=" + size +
+            ", status=" + status +
+            ", offset=" + offset +
+            ", limit=" + limit +
+            "}";
+    }
+}
@@ -0,0 +1,123 @@
+package com.shoes.service.dto;
+
+import com.shoes.domain.enumeration.Status;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A DTO representing one page of catalog search hits and the facet counts of the whole result.
+ */
+public class CatalogSearchResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long total;
+
+    private List<Hit> hits;
+
+    private Map<String, Map<String, Integer>> facets;
+
+    public CatalogSearchResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CatalogSearchResultDTO(long total, List<Hit> hits, Map<String, Map<String, Integer>> facets) {
+        this.total = total;
+        this.hits = hits;
+        this.facets = facets;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<Hit> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<Hit> hits) {
+        this.hits = hits;
+    }
+
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, Map<String, Integer>> facets) {
+        this.facets = facets;
+    }
+
+    /**
+     * A matching {@link com.shoes.domain.ShoeVariants}, served from the index without touching the database.
+     */
+    public static class Hit implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        private Long shoesId;
+
+        private Status status;
+
+        private String photoUrl;
+
+        public Hit() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public Hit(Long id, Long shoesId, Status status, String photoUrl) {
+            this.id = id;
+            this.shoesId = shoesId;
+            this.status = status;
+            this.photoUrl = photoUrl;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Long getShoesId() {
+            return shoesId;
+        }
+
+        public void setShoesId(Long shoesId) {
+            this.shoesId = shoesId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public String getPhotoUrl() {
+            return photoUrl;
+        }
+
+        public void setPhotoUrl(String photoUrl) {
+            this.photoUrl = photoUrl;
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CatalogSearchResultDTO{" +
+            "total=" + total +
+            ", hits=" + (hits != null ? hits.size() : 0) +
+            ", facets=" + facets +
+            "}";
+    }
+}
@@ -0,0 +1,160 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the {@link com.shoes.domain.Orders} a {@link com.shoes.domain.Cart} was checked out into.
+ * Prices are in cents: {@code price} is the unit price of an item and {@code totalPrice} the sum over all items.
+ */
+public class CheckoutDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long ordersId;
+
+    private Long totalPrice;
+
+    private Instant orderDate;
+
+    private List<Item> items = new ArrayList<>();
+
+    public Long getOrdersId() {
+        return ordersId;
+    }
+
+    public void setOrdersId(Long ordersId) {
+        this.ordersId = ordersId;
+    }
+
+    public Long getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(Long totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(Instant orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CheckoutDTO{" +
+            "ordersId=" + ordersId +
+            ", totalPrice=" + totalPrice +
+            ", orderDate=" + orderDate +
+            ", items=" + items +
+            "}";
+    }
+
+    /**
+     * A checked out {@link com.shoes.domain.OrderItems}.
+     */
+    public static class Item implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long orderItemsId;
+
+        private Long shoeVariantsId;
+
+        private Integer colorsId;
+
+        private Integer sizesId;
+
+        private Integer quantity;
+
+        private Long price;
+
+        public Item() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public Item(Long orderItemsId, Long shoeVariantsId, Integer colorsId, Integer sizesId, Integer quantity, Long price) {
+            this.orderItemsId = orderItemsId;
+            this.shoeVariantsId = shoeVariantsId;
+            this.colorsId = colorsId;
+            this.sizesId = sizesId;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        public Long getOrderItemsId() {
+            return orderItemsId;
+        }
+
+        public void setOrderItemsId(Long orderItemsId) {
+            this.orderItemsId = orderItemsId;
+        }
+
+        public Long getShoeVariantsId() {
+            return shoeVariantsId;
+        }
+
+        public void setShoeVariantsId(Long shoeVariantsId) {
+            this.shoeVariantsId = shoeVariantsId;
+        }
+
+        public Integer getColorsId() {
+            return colorsId;
+        }
+
+        public void setColorsId(Integer colorsId) {
+            this.colorsId = colorsId;
+        }
+
+        public Integer getSizesId() {
+            return sizesId;
+        }
+
+        public void setSizesId(Integer sizesId) {
+            this.sizesId = sizesId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public Long getPrice() {
+            return price;
+        }
+
+        public void setPrice(Long price) {
+            this.price = price;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Item{" +
+                "orderItemsId=" + orderItemsId +
+                ", shoeVariantsId=" + shoeVariantsId +
+                ", colorsId=" + colorsId +
+                ", sizesId=" + sizesId +
+                ", quantity=" + quantity +
+                ", price=" + price +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.Colors} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ColorsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+
+    private String colorName;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getColorName() {
+        return colorName;
+    }
+
+    public void setColorName(String colorName) {
+        this.colorName = colorName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ColorsDTO)) {
+            return false;
+        }
+
+        ColorsDTO colorsDTO = (ColorsDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, colorsDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ColorsDTO{" +
+            "id=" + getId() +
+            ", colorName='" + getColorName() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,77 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.Customer} entity.
+ * <p>
+ * Only used to reference a customer from the catalog and order DTOs, by id.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CustomerDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String email;
+
+    private Instant createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CustomerDTO)) {
+            return false;
+        }
+
+        CustomerDTO customerDTO = (CustomerDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, customerDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerDTO{" +
+            "id=" + getId() +
+            ", email='" + getEmail() + "'" +
+            ", createdAt='" + getCreatedAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,81 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * A DTO representing the totals of a group of {@link com.shoes.domain.OrderItems}.
+ */
+public class OrderAnalyticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Map<String, String> group;
+
+    private long orderItems;
+
+    private long units;
+
+    private long revenue;
+
+    public OrderAnalyticsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public OrderAnalyticsDTO(Map<String, String> group, long orderItems, long units, long revenue) {
+        this.group = group;
+        this.orderItems = orderItems;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    /**
+     * @return the value of each dimension grouped by, by dimension; dimensions the order items have no value for are
+     * left out.
+     */
+    public Map<String, String> getGroup() {
+        return group;
+    }
+
+    public void setGroup(Map<String, String> group) {
+        this.group = group;
+    }
+
+    public long getOrderItems() {
+        return orderItems;
+    }
+
+    public void setOrderItems(long orderItems) {
+        this.orderItems = orderItems;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    /**
+     * @return the revenue, in cents.
+     */
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(long revenue) {
+        this.revenue = revenue;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderAnalyticsDTO{" +
+            "group=" + getGroup() +
+            ", orderItems=" + getOrderItems() +
+            ", units=" + getUnits() +
+            ", revenue=" + getRevenue() +
+            "}";
+    }
+}
@@ -0,0 +1,118 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.OrderItems} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OrderItemsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Integer quantity;
+
+    private Long price;
+
+    private OrdersDTO orders;
+
+    private ColorsDTO colors;
+
+    private ShoeVariantsDTO shoeVariants;
+
+    private SizesDTO sizes;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getPrice() {
+        return price;
+    }
+
+    public void setPrice(Long price) {
+        this.price = price;
+    }
+
+    public OrdersDTO getOrders() {
+        return orders;
+    }
+
+    public void setOrders(OrdersDTO orders) {
+        this.orders = orders;
+    }
+
+    public ColorsDTO getColors() {
+        return colors;
+    }
+
+    public void setColors(ColorsDTO colors) {
+        this.colors = colors;
+    }
+
+    public ShoeVariantsDTO getShoeVariants() {
+        return shoeVariants;
+    }
+
+    public void setShoeVariants(ShoeVariantsDTO shoeVariants) {
+        this.shoeVariants = shoeVariants;
+    }
+
+    public SizesDTO getSizes() {
+        return sizes;
+    }
+
+    public void setSizes(SizesDTO sizes) {
+        this.sizes = sizes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderItemsDTO)) {
+            return false;
+        }
+
+        OrderItemsDTO orderItemsDTO = (OrderItemsDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, orderItemsDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderItemsDTO{" +
+            "id=" + getId() +
+            ", quantity=" + getQuantity() +
+            ", price=" + getPrice() +
+            ", orders=" + getOrders() +
+            ", colors=" + getColors() +
+            ", shoeVariants=" + getShoeVariants() +
+            ", sizes=" + getSizes() +
+            "}";
+    }
+}
@@ -0,0 +1,98 @@
+package com.shoes.service.dto;
+
+import com.shoes.domain.enumeration.OrderStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.Orders} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OrdersDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long totalPrice;
+
+    private Instant orderDate;
+
+    private OrderStatus status;
+
+    private CustomerDTO customer;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(Long totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    public void setOrderDate(Instant orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public CustomerDTO getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(CustomerDTO customer) {
+        this.customer = customer;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrdersDTO)) {
+            return false;
+        }
+
+        OrdersDTO ordersDTO = (OrdersDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, ordersDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrdersDTO{" +
+            "id=" + getId() +
+            ", totalPrice=" + getTotalPrice() +
+            ", orderDate='" + getOrderDate() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", customer=" + getCustomer() +
+            "}";
+    }
+}
@@ -0,0 +1,103 @@
+package com.shoes.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO representing a {@link com.shoes.domain.OutboxEvent}, as delivered to the outbox sinks.
+ */
+public class OutboxEventDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String aggregateType;
+
+    private String aggregateId;
+
+    private Long sequence;
+
+    private String eventType;
+
+    private Instant createdAt;
+
+    @JsonRawValue
+    private String payload;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    /**
+     * @return the number of the event among those of its aggregate, from 1; consumers skip the ones already seen.
+     */
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * @return the event, as JSON.
+     */
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OutboxEventDTO{" +
+            "id=" + getId() +
+            ", aggregateType='" + getAggregateType() + "'" +
+            ", aggregateId='" + getAggregateId() + "'" +
+            ", sequence=" + getSequence() +
+            ", eventType='" + getEventType() + "'" +
+            ", createdAt='" + getCreatedAt() + "'" +
+            "}";
+    }
+}
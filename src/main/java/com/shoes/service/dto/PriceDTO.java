@@ -0,0 +1,125 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A DTO representing the effective price of a {@link com.shoes.domain.ShoeVariantColors}.
+ */
+public class PriceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long shoeVariantColorsId;
+
+    private Long shoeVariantsId;
+
+    private Integer colorsId;
+
+    private BigDecimal basePrice;
+
+    private BigDecimal price;
+
+    private Long salesId;
+
+    private Instant validUntil;
+
+    public PriceDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PriceDTO(
+        Long shoeVariantColorsId,
+        Long shoeVariantsId,
+        Integer colorsId,
+        BigDecimal basePrice,
+        BigDecimal price,
+        Long salesId,
+        Instant validUntil
+    ) {
+        this.shoeVariantColorsId = shoeVariantColorsId;
+        this.shoeVariantsId = shoeVariantsId;
+        this.colorsId = colorsId;
+        this.basePrice = basePrice;
+        this.price = price;
+        this.salesId = salesId;
+        this.validUntil = validUntil;
+    }
+
+    public Long getShoeVariantColorsId() {
+        return shoeVariantColorsId;
+    }
+
+    public void setShoeVariantColorsId(Long shoeVariantColorsId) {
+        this.shoeVariantColorsId = shoeVariantColorsId;
+    }
+
+    public Long getShoeVariantsId() {
+        return shoeVariantsId;
+    }
+
+    public void setShoeVariantsId(Long shoeVariantsId) {
+        this.shoeVariantsId = shoeVariantsId;
+    }
+
+    public Integer getColorsId() {
+        return colorsId;
+    }
+
+    public void setColorsId(Integer colorsId) {
+        this.colorsId = colorsId;
+    }
+
+    public BigDecimal getBasePrice() {
+        return basePrice;
+    }
+
+    public void setBasePrice(BigDecimal basePrice) {
+        this.basePrice = basePrice;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    /**
+     * @return the id of the sale the price comes from, or null if it is the base price.
+     */
+    public Long getSalesId() {
+        return salesId;
+    }
+
+    public void setSalesId(Long salesId) {
+        this.salesId = salesId;
+    }
+
+    /**
+     * @return when a sale starts or ends and the price changes, or null if it does not change.
+     */
+    public Instant getValidUntil() {
+        return validUntil;
+    }
+
+    public void setValidUntil(Instant validUntil) {
+        this.validUntil = validUntil;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PriceDTO{" +
+            "shoeVariantColorsId=" + shoeVariantColorsId +
+            ", shoeVariantsId=" + shoeVariantsId +
+            ", colorsId=" + colorsId +
+            ", basePrice=" + basePrice +
+            ", price=" + price +
+            ", salesId=" + salesId +
+            ", validUntil=" + validUntil +
+            "}";
+    }
+}
@@ -0,0 +1,97 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.Sales} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class SalesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Instant startDate;
+
+    private Instant endDate;
+
+    private Integer discountPercentage;
+
+    private Integer newPrice;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Instant startDate) {
+        this.startDate = startDate;
+    }
+
+    public Instant getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Instant endDate) {
+        this.endDate = endDate;
+    }
+
+    public Integer getDiscountPercentage() {
+        return discountPercentage;
+    }
+
+    public void setDiscountPercentage(Integer discountPercentage) {
+        this.discountPercentage = discountPercentage;
+    }
+
+    public Integer getNewPrice() {
+        return newPrice;
+    }
+
+    public void setNewPrice(Integer newPrice) {
+        this.newPrice = newPrice;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SalesDTO)) {
+            return false;
+        }
+
+        SalesDTO salesDTO = (SalesDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, salesDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesDTO{" +
+            "id=" + getId() +
+            ", startDate='" + getStartDate() + "'" +
+            ", endDate='" + getEndDate() + "'" +
+            ", discountPercentage=" + getDiscountPercentage() +
+            ", newPrice=" + getNewPrice() +
+            "}";
+    }
+}
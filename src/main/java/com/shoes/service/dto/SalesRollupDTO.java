@@ -0,0 +1,100 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * A DTO representing the units and revenue of the sales of a day, brand, category and shoePurpose; the dimensions the
+ * sales were not grouped by are null.
+ */
+public class SalesRollupDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate salesDay;
+
+    private Integer brandId;
+
+    private Long categoryId;
+
+    private Integer shoePurposeId;
+
+    private long units;
+
+    private long revenue;
+
+    public SalesRollupDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SalesRollupDTO(LocalDate salesDay, Integer brandId, Long categoryId, Integer shoePurposeId) {
+        this.salesDay = salesDay;
+        this.brandId = brandId;
+        this.categoryId = categoryId;
+        this.shoePurposeId = shoePurposeId;
+    }
+
+    public LocalDate getSalesDay() {
+        return salesDay;
+    }
+
+    public void setSalesDay(LocalDate salesDay) {
+        this.salesDay = salesDay;
+    }
+
+    public Integer getBrandId() {
+        return brandId;
+    }
+
+    public void setBrandId(Integer brandId) {
+        this.brandId = brandId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Integer getShoePurposeId() {
+        return shoePurposeId;
+    }
+
+    public void setShoePurposeId(Integer shoePurposeId) {
+        this.shoePurposeId = shoePurposeId;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    /**
+     * @return the revenue, in cents.
+     */
+    public long getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(long revenue) {
+        this.revenue = revenue;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesRollupDTO{" +
+            "salesDay='" + getSalesDay() + "'" +
+            ", brandId=" + getBrandId() +
+            ", categoryId=" + getCategoryId() +
+            ", shoePurposeId=" + getShoePurposeId() +
+            ", units=" + getUnits() +
+            ", revenue=" + getRevenue() +
+            "}";
+    }
+}
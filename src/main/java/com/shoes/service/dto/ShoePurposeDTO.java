@@ -0,0 +1,64 @@
+package com.shoes.service.dto;
+
+import com.shoes.domain.enumeration.ShoePurposeType;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.ShoePurpose} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ShoePurposeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+
+    private ShoePurposeType type;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public ShoePurposeType getType() {
+        return type;
+    }
+
+    public void setType(ShoePurposeType type) {
+        this.type = type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ShoePurposeDTO)) {
+            return false;
+        }
+
+        ShoePurposeDTO shoePurposeDTO = (ShoePurposeDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, shoePurposeDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ShoePurposeDTO{" +
+            "id=" + getId() +
+            ", type='" + getType() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,96 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.ShoeVariantColors} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ShoeVariantColorsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Float price;
+
+    private String imageUrl;
+
+    private ShoeVariantsDTO shoeVariants;
+
+    private ColorsDTO colors;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Float getPrice() {
+        return price;
+    }
+
+    public void setPrice(Float price) {
+        this.price = price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public ShoeVariantsDTO getShoeVariants() {
+        return shoeVariants;
+    }
+
+    public void setShoeVariants(ShoeVariantsDTO shoeVariants) {
+        this.shoeVariants = shoeVariants;
+    }
+
+    public ColorsDTO getColors() {
+        return colors;
+    }
+
+    public void setColors(ColorsDTO colors) {
+        this.colors = colors;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ShoeVariantColorsDTO)) {
+            return false;
+        }
+
+        ShoeVariantColorsDTO shoeVariantColorsDTO = (ShoeVariantColorsDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, shoeVariantColorsDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ShoeVariantColorsDTO{" +
+            "id=" + getId() +
+            ", price=" + getPrice() +
+            ", imageUrl='" + getImageUrl() + "'" +
+            ", shoeVariants=" + getShoeVariants() +
+            ", colors=" + getColors() +
+            "}";
+    }
+}
@@ -0,0 +1,108 @@
+package com.shoes.service.dto;
+
+import com.shoes.domain.enumeration.Status;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.ShoeVariantSizes} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ShoeVariantSizesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Integer quantity;
+
+    private Status status;
+
+    private Long version;
+
+    private SizesDTO sizes;
+
+    private ShoeVariantsDTO shoeVariants;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public SizesDTO getSizes() {
+        return sizes;
+    }
+
+    public void setSizes(SizesDTO sizes) {
+        this.sizes = sizes;
+    }
+
+    public ShoeVariantsDTO getShoeVariants() {
+        return shoeVariants;
+    }
+
+    public void setShoeVariants(ShoeVariantsDTO shoeVariants) {
+        this.shoeVariants = shoeVariants;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ShoeVariantSizesDTO)) {
+            return false;
+        }
+
+        ShoeVariantSizesDTO shoeVariantSizesDTO = (ShoeVariantSizesDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, shoeVariantSizesDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ShoeVariantSizesDTO{" +
+            "id=" + getId() +
+            ", quantity=" + getQuantity() +
+            ", status='" + getStatus() + "'" +
+            ", version=" + getVersion() +
+            ", sizes=" + getSizes() +
+            ", shoeVariants=" + getShoeVariants() +
+            "}";
+    }
+}
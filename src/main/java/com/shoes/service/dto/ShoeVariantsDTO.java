@@ -0,0 +1,121 @@
+package com.shoes.service.dto;
+
+import com.shoes.domain.enumeration.Status;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A DTO for the {@link com.shoes.domain.ShoeVariants} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ShoeVariantsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Integer quantity;
+
+    private Status status;
+
+    private String photoUrl;
+
+    private ShoesDTO shoes;
+
+    private SalesDTO sales;
+
+    private Set<SizesDTO> sizes = new HashSet<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public void setPhotoUrl(String photoUrl) {
+        this.photoUrl = photoUrl;
+    }
+
+    public ShoesDTO getShoes() {
+        return shoes;
+    }
+
+    public void setShoes(ShoesDTO shoes) {
+        this.shoes = shoes;
+    }
+
+    public SalesDTO getSales() {
+        return sales;
+    }
+
+    public void setSales(SalesDTO sales) {
+        this.sales = sales;
+    }
+
+    public Set<SizesDTO> getSizes() {
+        return sizes;
+    }
+
+    public void setSizes(Set<SizesDTO> sizes) {
+        this.sizes = sizes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ShoeVariantsDTO)) {
+            return false;
+        }
+
+        ShoeVariantsDTO shoeVariantsDTO = (ShoeVariantsDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, shoeVariantsDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ShoeVariantsDTO{" +
+            "id=" + getId() +
+            ", quantity=" + getQuantity() +
+            ", status='" + getStatus() + "'" +
+            ", photoUrl='" + getPhotoUrl() + "'" +
+            ", shoes=" + getShoes() +
+            ", sales=" + getSales() +
+            ", sizes=" + getSizes() +
+            "}";
+    }
+}
@@ -0,0 +1,107 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.Shoes} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ShoesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String description;
+
+    private CategoryDTO category;
+
+    private BrandDTO brand;
+
+    private CollectionDTO collection;
+
+    private ShoePurposeDTO shoePurpose;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public CategoryDTO getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategoryDTO category) {
+        this.category = category;
+    }
+
+    public BrandDTO getBrand() {
+        return brand;
+    }
+
+    public void setBrand(BrandDTO brand) {
+        this.brand = brand;
+    }
+
+    public CollectionDTO getCollection() {
+        return collection;
+    }
+
+    public void setCollection(CollectionDTO collection) {
+        this.collection = collection;
+    }
+
+    public ShoePurposeDTO getShoePurpose() {
+        return shoePurpose;
+    }
+
+    public void setShoePurpose(ShoePurposeDTO shoePurpose) {
+        this.shoePurpose = shoePurpose;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ShoesDTO)) {
+            return false;
+        }
+
+        ShoesDTO shoesDTO = (ShoesDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, shoesDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ShoesDTO{" +
+            "id=" + getId() +
+            ", description='" + getDescription() + "'" +
+            ", category=" + getCategory() +
+            ", brand=" + getBrand() +
+            ", collection=" + getCollection() +
+            ", shoePurpose=" + getShoePurpose() +
+            "}";
+    }
+}
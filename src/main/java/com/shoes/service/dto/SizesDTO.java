@@ -0,0 +1,74 @@
+package com.shoes.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.shoes.domain.Sizes} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class SizesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+
+    private Float sizeInNumbers;
+
+    private String sizeInLetters;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Float getSizeInNumbers() {
+        return sizeInNumbers;
+    }
+
+    public void setSizeInNumbers(Float sizeInNumbers) {
+        this.sizeInNumbers = sizeInNumbers;
+    }
+
+    public String getSizeInLetters() {
+        return sizeInLetters;
+    }
+
+    public void setSizeInLetters(String sizeInLetters) {
+        this.sizeInLetters = sizeInLetters;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SizesDTO)) {
+            return false;
+        }
+
+        SizesDTO sizesDTO = (SizesDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, sizesDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SizesDTO{" +
+            "id=" + getId() +
+            ", sizeInNumbers=" + getSizeInNumbers() +
+            ", sizeInLetters='" + getSizeInLetters() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.shoes.service.dto;
+
+import com.shoes.domain.enumeration.Status;
+import java.io.Serializable;
+
+/**
+ * A DTO representing the stock level of a {@link com.shoes.domain.ShoeVariantSizes}, as streamed to the clients.
+ */
+public class StockLevelDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long shoeVariantSizesId;
+
+    private Long shoeVariantsId;
+
+    private Integer sizesId;
+
+    private Integer quantity;
+
+    private Status status;
+
+    public StockLevelDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public StockLevelDTO(Long shoeVariantSizesId, Long shoeVariantsId, Integer sizesId, Integer quantity, Status status) {
+        this.shoeVariantSizesId = shoeVariantSizesId;
+        this.shoeVariantsId = shoeVariantsId;
+        this.sizesId = sizesId;
+        this.quantity = quantity;
+        this.status = status;
+    }
+
+    public Long getShoeVariantSizesId() {
+        return shoeVariantSizesId;
+    }
+
+    public void setShoeVariantSizesId(Long shoeVariantSizesId) {
+        this.shoeVariantSizesId = shoeVariantSizesId;
+    }
+
+    public Long getShoeVariantsId() {
+        return shoeVariantsId;
+    }
+
+    public void setShoeVariantsId(Long shoeVariantsId) {
+        this.shoeVariantsId = shoeVariantsId;
+    }
+
+    public Integer getSizesId() {
+        return sizesId;
+    }
+
+    public void setSizesId(Integer sizesId) {
+        this.sizesId = sizesId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockLevelDTO{" +
+            "shoeVariantSizesId=" + shoeVariantSizesId +
+            ", shoeVariantsId=" + shoeVariantsId +
+            ", sizesId=" + sizesId +
+            ", quantity=" + quantity +
+            ", status=" + status +
+            "}";
+    }
+}
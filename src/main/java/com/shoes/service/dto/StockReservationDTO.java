@@ -0,0 +1,81 @@
+package com.shoes.service.dto;
+
+import com.shoes.domain.StockReservation;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A DTO representing a {@link StockReservation}.
+ */
+public class StockReservationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private UUID id;
+
+    @NotNull
+    private Long shoeVariantSizesId;
+
+    @NotNull
+    @Min(1)
+    private Integer quantity;
+
+    private Instant expiresAt;
+
+    public StockReservationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public StockReservationDTO(StockReservation stockReservation) {
+        this.id = stockReservation.getId();
+        this.shoeVariantSizesId = stockReservation.getShoeVariantSizesId();
+        this.quantity = stockReservation.getQuantity();
+        this.expiresAt = stockReservation.getExpiresAt();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Long getShoeVariantSizesId() {
+        return shoeVariantSizesId;
+    }
+
+    public void setShoeVariantSizesId(Long shoeVariantSizesId) {
+        this.shoeVariantSizesId = shoeVariantSizesId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockReservationDTO{" +
+            "id=" + id +
+            ", shoeVariantSizesId=" + shoeVariantSizesId +
+            ", quantity=" + quantity +
+            ", expiresAt='" + expiresAt + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,11 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Brand;
+import com.shoes.service.dto.BrandDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Brand} and its DTO {@link BrandDTO}.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface BrandMapper extends EntityMapper<BrandDTO, Brand> {}
@@ -0,0 +1,100 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Cart;
+import com.shoes.domain.CartItems;
+import com.shoes.domain.Colors;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Sizes;
+import com.shoes.repository.CartItemsRepository;
+import com.shoes.service.dto.CartDTO;
+import com.shoes.service.dto.CartItemsDTO;
+import com.shoes.service.dto.ColorsDTO;
+import com.shoes.service.dto.ShoeVariantsDTO;
+import com.shoes.service.dto.SizesDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link CartItems} and its DTO {@link CartItemsDTO}.
+ * <p>
+ * Related entities are mapped to DTOs holding their id only, which is read without initializing their proxies.
+ * Reads map the {@link CartItemsRepository.ApiRow} projection instead, holding the same columns.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface CartItemsMapper extends EntityMapper<CartItemsDTO, CartItems> {
+    @Mapping(target = "cart", source = "cart", qualifiedByName = "cartId")
+    @Mapping(target = "colors", source = "colors", qualifiedByName = "colorsId")
+    @Mapping(target = "shoeVariants", source = "shoeVariants", qualifiedByName = "shoeVariantsId")
+    @Mapping(target = "sizes", source = "sizes", qualifiedByName = "sizesId")
+    CartItemsDTO toDto(CartItems s);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "cart", ignore = true)
+    @Mapping(target = "colors", ignore = true)
+    @Mapping(target = "shoeVariants", ignore = true)
+    @Mapping(target = "sizes", ignore = true)
+    void partialUpdate(@MappingTarget CartItems entity, CartItemsDTO dto);
+
+    @Mapping(target = "cart", source = "cartId")
+    @Mapping(target = "colors", source = "colorsId")
+    @Mapping(target = "shoeVariants", source = "shoeVariantsId")
+    @Mapping(target = "sizes", source = "sizesId")
+    CartItemsDTO toDto(CartItemsRepository.ApiRow row);
+
+    @Named("cartId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    CartDTO toDtoCartId(Cart cart);
+
+    @Named("colorsId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ColorsDTO toDtoColorsId(Colors colors);
+
+    @Named("shoeVariantsId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ShoeVariantsDTO toDtoShoeVariantsId(ShoeVariants shoeVariants);
+
+    @Named("sizesId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    SizesDTO toDtoSizesId(Sizes sizes);
+
+    default CartDTO cartFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        CartDTO cart = new CartDTO();
+        cart.setId(id);
+        return cart;
+    }
+
+    default ColorsDTO colorsFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        ColorsDTO colors = new ColorsDTO();
+        colors.setId(id);
+        return colors;
+    }
+
+    default ShoeVariantsDTO shoeVariantsFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        ShoeVariantsDTO shoeVariants = new ShoeVariantsDTO();
+        shoeVariants.setId(id);
+        return shoeVariants;
+    }
+
+    default SizesDTO sizesFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        SizesDTO sizes = new SizesDTO();
+        sizes.setId(id);
+        return sizes;
+    }
+}
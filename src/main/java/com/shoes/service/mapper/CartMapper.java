@@ -0,0 +1,43 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Cart;
+import com.shoes.domain.Customer;
+import com.shoes.repository.CartRepository;
+import com.shoes.service.dto.CartDTO;
+import com.shoes.service.dto.CustomerDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Cart} and its DTO {@link CartDTO}.
+ * <p>
+ * Related entities are mapped to DTOs holding their id only, which is read without initializing their proxies.
+ * Reads map the {@link CartRepository.ApiRow} projection instead, holding the same columns.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface CartMapper extends EntityMapper<CartDTO, Cart> {
+    @Mapping(target = "customer", source = "customer", qualifiedByName = "customerId")
+    CartDTO toDto(Cart s);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "customer", ignore = true)
+    void partialUpdate(@MappingTarget Cart entity, CartDTO dto);
+
+    @Mapping(target = "customer", source = "customerId")
+    CartDTO toDto(CartRepository.ApiRow row);
+
+    @Named("customerId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    CustomerDTO toDtoCustomerId(Customer customer);
+
+    default CustomerDTO customerFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        CustomerDTO customer = new CustomerDTO();
+        customer.setId(id);
+        return customer;
+    }
+}
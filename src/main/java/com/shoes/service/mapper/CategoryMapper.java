@@ -0,0 +1,11 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Category;
+import com.shoes.service.dto.CategoryDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Category} and its DTO {@link CategoryDTO}.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface CategoryMapper extends EntityMapper<CategoryDTO, Category> {}
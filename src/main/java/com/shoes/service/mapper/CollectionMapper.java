@@ -0,0 +1,11 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Collection;
+import com.shoes.service.dto.CollectionDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Collection} and its DTO {@link CollectionDTO}.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface CollectionMapper extends EntityMapper<CollectionDTO, Collection> {}
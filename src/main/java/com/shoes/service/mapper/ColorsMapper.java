@@ -0,0 +1,11 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Colors;
+import com.shoes.service.dto.ColorsDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Colors} and its DTO {@link ColorsDTO}.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ColorsMapper extends EntityMapper<ColorsDTO, Colors> {}
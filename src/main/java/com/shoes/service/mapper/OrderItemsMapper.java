@@ -0,0 +1,100 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Colors;
+import com.shoes.domain.OrderItems;
+import com.shoes.domain.Orders;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Sizes;
+import com.shoes.repository.OrderItemsRepository;
+import com.shoes.service.dto.ColorsDTO;
+import com.shoes.service.dto.OrderItemsDTO;
+import com.shoes.service.dto.OrdersDTO;
+import com.shoes.service.dto.ShoeVariantsDTO;
+import com.shoes.service.dto.SizesDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link OrderItems} and its DTO {@link OrderItemsDTO}.
+ * <p>
+ * Related entities are mapped to DTOs holding their id only, which is read without initializing their proxies.
+ * Reads map the {@link OrderItemsRepository.ApiRow} projection instead, holding the same columns.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface OrderItemsMapper extends EntityMapper<OrderItemsDTO, OrderItems> {
+    @Mapping(target = "orders", source = "orders", qualifiedByName = "ordersId")
+    @Mapping(target = "colors", source = "colors", qualifiedByName = "colorsId")
+    @Mapping(target = "shoeVariants", source = "shoeVariants", qualifiedByName = "shoeVariantsId")
+    @Mapping(target = "sizes", source = "sizes", qualifiedByName = "sizesId")
+    OrderItemsDTO toDto(OrderItems s);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "orders", ignore = true)
+    @Mapping(target = "colors", ignore = true)
+    @Mapping(target = "shoeVariants", ignore = true)
+    @Mapping(target = "sizes", ignore = true)
+    void partialUpdate(@MappingTarget OrderItems entity, OrderItemsDTO dto);
+
+    @Mapping(target = "orders", source = "ordersId")
+    @Mapping(target = "colors", source = "colorsId")
+    @Mapping(target = "shoeVariants", source = "shoeVariantsId")
+    @Mapping(target = "sizes", source = "sizesId")
+    OrderItemsDTO toDto(OrderItemsRepository.ApiRow row);
+
+    @Named("ordersId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    OrdersDTO toDtoOrdersId(Orders orders);
+
+    @Named("colorsId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ColorsDTO toDtoColorsId(Colors colors);
+
+    @Named("shoeVariantsId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ShoeVariantsDTO toDtoShoeVariantsId(ShoeVariants shoeVariants);
+
+    @Named("sizesId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    SizesDTO toDtoSizesId(Sizes sizes);
+
+    default OrdersDTO ordersFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        OrdersDTO orders = new OrdersDTO();
+        orders.setId(id);
+        return orders;
+    }
+
+    default ColorsDTO colorsFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        ColorsDTO colors = new ColorsDTO();
+        colors.setId(id);
+        return colors;
+    }
+
+    default ShoeVariantsDTO shoeVariantsFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        ShoeVariantsDTO shoeVariants = new ShoeVariantsDTO();
+        shoeVariants.setId(id);
+        return shoeVariants;
+    }
+
+    default SizesDTO sizesFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        SizesDTO sizes = new SizesDTO();
+        sizes.setId(id);
+        return sizes;
+    }
+}
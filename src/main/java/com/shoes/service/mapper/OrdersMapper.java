@@ -0,0 +1,43 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Customer;
+import com.shoes.domain.Orders;
+import com.shoes.repository.OrdersRepository;
+import com.shoes.service.dto.CustomerDTO;
+import com.shoes.service.dto.OrdersDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Orders} and its DTO {@link OrdersDTO}.
+ * <p>
+ * Related entities are mapped to DTOs holding their id only, which is read without initializing their proxies.
+ * Reads map the {@link OrdersRepository.ApiRow} projection instead, holding the same columns.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface OrdersMapper extends EntityMapper<OrdersDTO, Orders> {
+    @Mapping(target = "customer", source = "customer", qualifiedByName = "customerId")
+    OrdersDTO toDto(Orders s);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "customer", ignore = true)
+    void partialUpdate(@MappingTarget Orders entity, OrdersDTO dto);
+
+    @Mapping(target = "customer", source = "customerId")
+    OrdersDTO toDto(OrdersRepository.ApiRow row);
+
+    @Named("customerId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    CustomerDTO toDtoCustomerId(Customer customer);
+
+    default CustomerDTO customerFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        CustomerDTO customer = new CustomerDTO();
+        customer.setId(id);
+        return customer;
+    }
+}
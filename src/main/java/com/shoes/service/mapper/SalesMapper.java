@@ -0,0 +1,11 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Sales;
+import com.shoes.service.dto.SalesDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Sales} and its DTO {@link SalesDTO}.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface SalesMapper extends EntityMapper<SalesDTO, Sales> {}
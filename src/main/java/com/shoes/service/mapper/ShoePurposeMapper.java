@@ -0,0 +1,11 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.ShoePurpose;
+import com.shoes.service.dto.ShoePurposeDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link ShoePurpose} and its DTO {@link ShoePurposeDTO}.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ShoePurposeMapper extends EntityMapper<ShoePurposeDTO, ShoePurpose> {}
@@ -0,0 +1,62 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Colors;
+import com.shoes.domain.ShoeVariantColors;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.repository.ShoeVariantColorsRepository;
+import com.shoes.service.dto.ColorsDTO;
+import com.shoes.service.dto.ShoeVariantColorsDTO;
+import com.shoes.service.dto.ShoeVariantsDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link ShoeVariantColors} and its DTO {@link ShoeVariantColorsDTO}.
+ * <p>
+ * Related entities are mapped to DTOs holding their id only, which is read without initializing their proxies.
+ * Reads map the {@link ShoeVariantColorsRepository.ApiRow} projection instead, holding the same columns.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ShoeVariantColorsMapper extends EntityMapper<ShoeVariantColorsDTO, ShoeVariantColors> {
+    @Mapping(target = "shoeVariants", source = "shoeVariants", qualifiedByName = "shoeVariantsId")
+    @Mapping(target = "colors", source = "colors", qualifiedByName = "colorsId")
+    ShoeVariantColorsDTO toDto(ShoeVariantColors s);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "shoeVariants", ignore = true)
+    @Mapping(target = "colors", ignore = true)
+    void partialUpdate(@MappingTarget ShoeVariantColors entity, ShoeVariantColorsDTO dto);
+
+    @Mapping(target = "shoeVariants", source = "shoeVariantsId")
+    @Mapping(target = "colors", source = "colorsId")
+    ShoeVariantColorsDTO toDto(ShoeVariantColorsRepository.ApiRow row);
+
+    @Named("shoeVariantsId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ShoeVariantsDTO toDtoShoeVariantsId(ShoeVariants shoeVariants);
+
+    @Named("colorsId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ColorsDTO toDtoColorsId(Colors colors);
+
+    default ShoeVariantsDTO shoeVariantsFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        ShoeVariantsDTO shoeVariants = new ShoeVariantsDTO();
+        shoeVariants.setId(id);
+        return shoeVariants;
+    }
+
+    default ColorsDTO colorsFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        ColorsDTO colors = new ColorsDTO();
+        colors.setId(id);
+        return colors;
+    }
+}
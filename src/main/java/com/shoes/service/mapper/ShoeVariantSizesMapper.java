@@ -0,0 +1,63 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.ShoeVariantSizes;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Sizes;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.service.dto.ShoeVariantSizesDTO;
+import com.shoes.service.dto.ShoeVariantsDTO;
+import com.shoes.service.dto.SizesDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link ShoeVariantSizes} and its DTO {@link ShoeVariantSizesDTO}.
+ * <p>
+ * Related entities are mapped to DTOs holding their id only, which is read without initializing their proxies.
+ * Reads map the {@link ShoeVariantSizesRepository.ApiRow} projection instead, holding the same columns.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ShoeVariantSizesMapper extends EntityMapper<ShoeVariantSizesDTO, ShoeVariantSizes> {
+    @Mapping(target = "sizes", source = "sizes", qualifiedByName = "sizesId")
+    @Mapping(target = "shoeVariants", source = "shoeVariants", qualifiedByName = "shoeVariantsId")
+    ShoeVariantSizesDTO toDto(ShoeVariantSizes s);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "sizes", ignore = true)
+    @Mapping(target = "shoeVariants", ignore = true)
+    void partialUpdate(@MappingTarget ShoeVariantSizes entity, ShoeVariantSizesDTO dto);
+
+    @Mapping(target = "sizes", source = "sizesId")
+    @Mapping(target = "shoeVariants", source = "shoeVariantsId")
+    ShoeVariantSizesDTO toDto(ShoeVariantSizesRepository.ApiRow row);
+
+    @Named("sizesId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    SizesDTO toDtoSizesId(Sizes sizes);
+
+    @Named("shoeVariantsId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ShoeVariantsDTO toDtoShoeVariantsId(ShoeVariants shoeVariants);
+
+    default SizesDTO sizesFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        SizesDTO sizes = new SizesDTO();
+        sizes.setId(id);
+        return sizes;
+    }
+
+    default ShoeVariantsDTO shoeVariantsFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        ShoeVariantsDTO shoeVariants = new ShoeVariantsDTO();
+        shoeVariants.setId(id);
+        return shoeVariants;
+    }
+}
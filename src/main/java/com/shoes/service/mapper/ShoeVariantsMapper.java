@@ -0,0 +1,92 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Sales;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Shoes;
+import com.shoes.domain.Sizes;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.service.dto.SalesDTO;
+import com.shoes.service.dto.ShoeVariantsDTO;
+import com.shoes.service.dto.ShoesDTO;
+import com.shoes.service.dto.SizesDTO;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link ShoeVariants} and its DTO {@link ShoeVariantsDTO}.
+ * <p>
+ * Related entities are mapped to DTOs holding their id only, which is read without initializing their proxies.
+ * Reads map the {@link ShoeVariantsRepository.ApiRow} projection instead, holding the same columns.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ShoeVariantsMapper extends EntityMapper<ShoeVariantsDTO, ShoeVariants> {
+    @Mapping(target = "shoes", source = "shoes", qualifiedByName = "shoesId")
+    @Mapping(target = "sales", source = "sales", qualifiedByName = "salesId")
+    @Mapping(target = "sizes", source = "sizes", qualifiedByName = "sizesIdSet")
+    ShoeVariantsDTO toDto(ShoeVariants s);
+
+    @Mapping(target = "removeSizes", ignore = true)
+    ShoeVariants toEntity(ShoeVariantsDTO shoeVariantsDTO);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "shoes", ignore = true)
+    @Mapping(target = "sales", ignore = true)
+    @Mapping(target = "sizes", ignore = true)
+    @Mapping(target = "removeSizes", ignore = true)
+    void partialUpdate(@MappingTarget ShoeVariants entity, ShoeVariantsDTO dto);
+
+    @Mapping(target = "shoes", source = "shoesId")
+    @Mapping(target = "sales", source = "salesId")
+    @Mapping(target = "sizes", ignore = true)
+    ShoeVariantsDTO toDto(ShoeVariantsRepository.ApiRow row);
+
+    @Named("shoesId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ShoesDTO toDtoShoesId(Shoes shoes);
+
+    @Named("salesId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    SalesDTO toDtoSalesId(Sales sales);
+
+    @Named("sizesId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    SizesDTO toDtoSizesId(Sizes sizes);
+
+    @Named("sizesIdSet")
+    default Set<SizesDTO> toDtoSizesIdSet(Set<Sizes> sizes) {
+        return sizes.stream().map(this::toDtoSizesId).collect(Collectors.toSet());
+    }
+
+    default ShoesDTO shoesFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        ShoesDTO shoes = new ShoesDTO();
+        shoes.setId(id);
+        return shoes;
+    }
+
+    default SalesDTO salesFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        SalesDTO sales = new SalesDTO();
+        sales.setId(id);
+        return sales;
+    }
+
+    default SizesDTO sizesFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        SizesDTO sizes = new SizesDTO();
+        sizes.setId(id);
+        return sizes;
+    }
+}
@@ -0,0 +1,100 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Brand;
+import com.shoes.domain.Category;
+import com.shoes.domain.Collection;
+import com.shoes.domain.ShoePurpose;
+import com.shoes.domain.Shoes;
+import com.shoes.repository.ShoesRepository;
+import com.shoes.service.dto.BrandDTO;
+import com.shoes.service.dto.CategoryDTO;
+import com.shoes.service.dto.CollectionDTO;
+import com.shoes.service.dto.ShoePurposeDTO;
+import com.shoes.service.dto.ShoesDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Shoes} and its DTO {@link ShoesDTO}.
+ * <p>
+ * Related entities are mapped to DTOs holding their id only, which is read without initializing their proxies.
+ * Reads map the {@link ShoesRepository.ApiRow} projection instead, holding the same columns.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ShoesMapper extends EntityMapper<ShoesDTO, Shoes> {
+    @Mapping(target = "category", source = "category", qualifiedByName = "categoryId")
+    @Mapping(target = "brand", source = "brand", qualifiedByName = "brandId")
+    @Mapping(target = "collection", source = "collection", qualifiedByName = "collectionId")
+    @Mapping(target = "shoePurpose", source = "shoePurpose", qualifiedByName = "shoePurposeId")
+    ShoesDTO toDto(Shoes s);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "brand", ignore = true)
+    @Mapping(target = "collection", ignore = true)
+    @Mapping(target = "shoePurpose", ignore = true)
+    void partialUpdate(@MappingTarget Shoes entity, ShoesDTO dto);
+
+    @Mapping(target = "category", source = "categoryId")
+    @Mapping(target = "brand", source = "brandId")
+    @Mapping(target = "collection", source = "collectionId")
+    @Mapping(target = "shoePurpose", source = "shoePurposeId")
+    ShoesDTO toDto(ShoesRepository.ApiRow row);
+
+    @Named("categoryId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    CategoryDTO toDtoCategoryId(Category category);
+
+    @Named("brandId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    BrandDTO toDtoBrandId(Brand brand);
+
+    @Named("collectionId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    CollectionDTO toDtoCollectionId(Collection collection);
+
+    @Named("shoePurposeId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    ShoePurposeDTO toDtoShoePurposeId(ShoePurpose shoePurpose);
+
+    default CategoryDTO categoryFromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        CategoryDTO category = new CategoryDTO();
+        category.setId(id);
+        return category;
+    }
+
+    default BrandDTO brandFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        BrandDTO brand = new BrandDTO();
+        brand.setId(id);
+        return brand;
+    }
+
+    default CollectionDTO collectionFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        CollectionDTO collection = new CollectionDTO();
+        collection.setId(id);
+        return collection;
+    }
+
+    default ShoePurposeDTO shoePurposeFromId(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        ShoePurposeDTO shoePurpose = new ShoePurposeDTO();
+        shoePurpose.setId(id);
+        return shoePurpose;
+    }
+}
@@ -0,0 +1,11 @@
+package com.shoes.service.mapper;
+
+import com.shoes.domain.Sizes;
+import com.shoes.service.dto.SizesDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Sizes} and its DTO {@link SizesDTO}.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface SizesMapper extends EntityMapper<SizesDTO, Sizes> {}
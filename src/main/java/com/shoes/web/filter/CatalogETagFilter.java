@@ -0,0 +1,89 @@
+package com.shoes.web.filter;
+
+import com.shoes.service.CatalogVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Tags the reads of the catalog entities with the version of their entity, and answers a request holding the current
+ * tag in {@code If-None-Match} with {@code 304 (Not Modified)}, before any transaction is opened.
+ * <p>
+ * A representation only depends on its URL and on the version of its entity, which is bumped on every write, so the
+ * tag is taken before the request runs: a write committed meanwhile makes the tag stale, not the response. Responses
+ * are marked {@code private, no-cache}, so that browsers keep and revalidate them instead of dropping them.
+ */
+public class CatalogETagFilter extends OncePerRequestFilter {
+
+    private static final Map<String, String> ENTITY_NAMES = Map.of(
+        "brands",
+        "brand",
+        "categories",
+        "category",
+        "collections",
+        "collection",
+        "shoe-purposes",
+        "shoePurpose",
+        "sizes",
+        "sizes",
+        "colors",
+        "colors",
+        "shoes",
+        "shoes"
+    );
+
+    private static final String API_PREFIX = "/api/";
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final CatalogVersionService catalogVersionService;
+
+    public CatalogETagFilter(CatalogVersionService catalogVersionService) {
+        this.catalogVersionService = catalogVersionService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) || entityName(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String etag = catalogVersionService.etag(entityName(request));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        // Sets the ETag header, and the 304 status when the client holds the current tag.
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Returns the entity read by {@code /api/<entities>} or {@code /api/<entities>/<id>}, or null for other paths.
+     */
+    private static String entityName(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(API_PREFIX)) {
+            return null;
+        }
+        String resource = path.substring(API_PREFIX.length());
+        int slash = resource.indexOf('/');
+        if (slash >= 0) {
+            if (slash == resource.length() - 1 || resource.indexOf('/', slash + 1) >= 0) {
+                return null;
+            }
+            resource = resource.substring(0, slash);
+        }
+        return ENTITY_NAMES.get(resource);
+    }
+}
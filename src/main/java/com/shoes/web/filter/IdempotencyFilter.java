@@ -0,0 +1,221 @@
+package com.shoes.web.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.security.SecurityUtils;
+import com.shoes.service.IdempotencyService;
+import com.shoes.service.IdempotencyService.Claim;
+import com.shoes.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes order creation and cart changes safe to retry: a {@code POST} sent with an {@code Idempotency-Key} header runs once, and its
+ * retries with the same key get the stored response back, marked with an {@code Idempotent-Replayed} header.
+ * <p>
+ * A retry sent while the first request is still running gets {@code 409 (Conflict)}, and a key reused for another
+ * request gets {@code 422 (Unprocessable Entity)}. Server errors are not stored, so that the request can be retried.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final List<String> PATHS = List.of(
+        "/api/orders",
+        "/api/order-items",
+        "/api/cart-items",
+        "/api/carts/*/checkout",
+        "/api/carts/*/mutations"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final IdempotencyService idempotencyService;
+
+    private final ObjectMapper objectMapper;
+
+    private final String alertHeaderPrefix;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper, String applicationName) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.alertHeaderPrefix = "X-" + applicationName + "-";
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeProblem(response, HttpStatus.BAD_REQUEST, "The Idempotency-Key header must hold 1 to 255 characters");
+            return;
+        }
+        String uri = request.getQueryString() != null
+            ? request.getRequestURI() + '?' + request.getQueryString()
+            : request.getRequestURI();
+        byte[] body = request.getInputStream().readAllBytes();
+        Claim claim = idempotencyService.claim(SecurityUtils.getCurrentUserLogin().orElse(""), key, request.getMethod(), uri, body);
+        switch (claim.state()) {
+            case COMPLETED -> replay(claim.response(), response);
+            case IN_PROGRESS -> writeProblem(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is in progress");
+            case MISMATCH -> writeProblem(
+                response,
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                "This Idempotency-Key was already used for another request"
+            );
+            case CLAIMED -> run(claim, new CachedBodyRequest(request, body), response, filterChain);
+        }
+    }
+
+    private void run(Claim claim, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            if (!HttpStatus.valueOf(cachingResponse.getStatus()).is5xxServerError()) {
+                StoredResponse stored = new StoredResponse(
+                    cachingResponse.getStatus(),
+                    replayedHeaders(cachingResponse),
+                    cachingResponse.getContentAsByteArray()
+                );
+                idempotencyService.complete(claim, stored);
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.release(claim);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Keeps the headers describing the result, leaving out those every response gets anyway.
+     */
+    private List<Map.Entry<String, String>> replayedHeaders(HttpServletResponse response) {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        if (response.getContentType() != null) {
+            headers.add(Map.entry(HttpHeaders.CONTENT_TYPE, response.getContentType()));
+        }
+        for (String name : response.getHeaderNames()) {
+            boolean alert = name.regionMatches(true, 0, alertHeaderPrefix, 0, alertHeaderPrefix.length());
+            if (alert || HttpHeaders.LOCATION.equalsIgnoreCase(name)) {
+                response.getHeaders(name).forEach(value -> headers.add(Map.entry(name, value)));
+            }
+        }
+        return headers;
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        for (Map.Entry<String, String> header : stored.headers()) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey())) {
+                response.setContentType(header.getValue());
+            } else {
+                response.addHeader(header.getKey(), header.getValue());
+            }
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeProblem(HttpServletResponse response, HttpStatus status, String detail) throws IOException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    /**
+     * A request whose body was read ahead, and is read again from memory.
+     */
+    static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is in memory, so it is available and read as soon as it is asked for.
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.shoes.web.rest;
+
+import com.shoes.service.BestSellerService;
+import com.shoes.service.dto.BestSellerDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for looking up the best-selling {@link com.shoes.domain.ShoeVariants}, ranked in memory.
+ */
+@RestController
+@RequestMapping("/api/best-sellers")
+public class BestSellersResource {
+
+    private final Logger log = LoggerFactory.getLogger(BestSellersResource.class);
+
+    private final BestSellerService bestSellerService;
+
+    public BestSellersResource(BestSellerService bestSellerService) {
+        this.bestSellerService = bestSellerService;
+    }
+
+    /**
+     * {@code GET  /best-sellers} : get the best sellers of a category, of a brand, or overall.
+     *
+     * @param categoryId the id of the category, if any.
+     * @param brandId the id of the brand, if any, used when no category is given.
+     * @return the list of best sellers, best first, ranked by their sales over the last 7 days then 30 days.
+     */
+    @GetMapping("")
+    public List<BestSellerDTO> getBestSellers(
+        @RequestParam(name = "categoryId", required = false) Long categoryId,
+        @RequestParam(name = "brandId", required = false) Integer brandId
+    ) {
+        log.debug("REST request to get the best sellers of Category : {}, Brand : {}", categoryId, brandId);
+        return bestSellerService.getBestSellers(categoryId, brandId);
+    }
+}
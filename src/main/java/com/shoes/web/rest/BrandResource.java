@@ -2,7 +2,11 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Brand;
 import com.shoes.repository.BrandRepository;
+import com.shoes.service.CatalogVersionService;
+import com.shoes.service.dto.BrandDTO;
+import com.shoes.service.mapper.BrandMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,47 +38,56 @@ public class BrandResource {
 
     private final BrandRepository brandRepository;
 
-    public BrandResource(BrandRepository brandRepository) {
+    private final BrandMapper brandMapper;
+
+    private final CatalogVersionService catalogVersionService;
+
+    public BrandResource(BrandRepository brandRepository, BrandMapper brandMapper, CatalogVersionService catalogVersionService) {
         this.brandRepository = brandRepository;
+        this.brandMapper = brandMapper;
+        this.catalogVersionService = catalogVersionService;
     }
 
     /**
      * {@code POST  /brands} : Create a new brand.
      *
-     * @param brand the brand to create.
+     * @param brandDTO the brandDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new brand, or with status {@code 400 (Bad Request)} if the brand has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Brand> createBrand(@RequestBody Brand brand) throws URISyntaxException {
-        log.debug("REST request to save Brand : {}", brand);
-        if (brand.getId() != null) {
+    public ResponseEntity<BrandDTO> createBrand(@RequestBody BrandDTO brandDTO) throws URISyntaxException {
+        log.debug("REST request to save Brand : {}", brandDTO);
+        if (brandDTO.getId() != null) {
             throw new BadRequestAlertException("A new brand cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        brand = brandRepository.save(brand);
+        Brand brand = brandRepository.save(brandMapper.toEntity(brandDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.created(new URI("/api/brands/" + brand.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, brand.getId().toString()))
-            .body(brand);
+            .body(brandMapper.toDto(brand));
     }
 
     /**
      * {@code PUT  /brands/:id} : Updates an existing brand.
      *
      * @param id the id of the brand to save.
-     * @param brand the brand to update.
+     * @param brandDTO the brandDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated brand,
      * or with status {@code 400 (Bad Request)} if the brand is not valid,
      * or with status {@code 500 (Internal Server Error)} if the brand couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Brand> updateBrand(@PathVariable(value = "id", required = false) final Integer id, @RequestBody Brand brand)
-        throws URISyntaxException {
-        log.debug("REST request to update Brand : {}, {}", id, brand);
-        if (brand.getId() == null) {
+    public ResponseEntity<BrandDTO> updateBrand(
+        @PathVariable(value = "id", required = false) final Integer id,
+        @RequestBody BrandDTO brandDTO
+    ) throws URISyntaxException {
+        log.debug("REST request to update Brand : {}, {}", id, brandDTO);
+        if (brandDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, brand.getId())) {
+        if (!Objects.equals(id, brandDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -82,17 +95,18 @@ public class BrandResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        brand = brandRepository.save(brand);
+        Brand brand = brandRepository.save(brandMapper.toEntity(brandDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, brand.getId().toString()))
-            .body(brand);
+            .body(brandMapper.toDto(brand));
     }
 
     /**
      * {@code PATCH  /brands/:id} : Partial updates given fields of an existing brand, field will ignore if it is null
      *
      * @param id the id of the brand to save.
-     * @param brand the brand to update.
+     * @param brandDTO the brandDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated brand,
      * or with status {@code 400 (Bad Request)} if the brand is not valid,
      * or with status {@code 404 (Not Found)} if the brand is not found,
@@ -100,15 +114,15 @@ public class BrandResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Brand> partialUpdateBrand(
+    public ResponseEntity<BrandDTO> partialUpdateBrand(
         @PathVariable(value = "id", required = false) final Integer id,
-        @RequestBody Brand brand
+        @RequestBody BrandDTO brandDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Brand partially : {}, {}", id, brand);
-        if (brand.getId() == null) {
+        log.debug("REST request to partial update Brand partially : {}, {}", id, brandDTO);
+        if (brandDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, brand.getId())) {
+        if (!Objects.equals(id, brandDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -116,32 +130,43 @@ public class BrandResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Brand> result = brandRepository
-            .findById(brand.getId())
+        Optional<BrandDTO> result = brandRepository
+            .findById(brandDTO.getId())
             .map(existingBrand -> {
-                if (brand.getName() != null) {
-                    existingBrand.setName(brand.getName());
-                }
+                brandMapper.partialUpdate(existingBrand, brandDTO);
 
                 return existingBrand;
             })
-            .map(brandRepository::save);
+            .map(brandRepository::save)
+            .map(brandMapper::toDto);
+        catalogVersionService.bump(ENTITY_NAME);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, brand.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, brandDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /brands} : get all the brands.
+     * {@code GET  /brands} : get a page of the brands, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of brands to return.
+     * @param count whether to also count all the brands, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of brands in body.
      */
     @GetMapping("")
-    public List<Brand> getAllBrands() {
-        log.debug("REST request to get all Brands");
-        return brandRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<BrandDTO>> getAllBrands(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of Brands");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Integer afterId = KeysetPaginationUtil.decodeCursor(after, Integer::valueOf);
+        List<BrandDTO> page = brandMapper.toDto(brandRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize)));
+        return KeysetPaginationUtil.pageResponse(page, pageSize, BrandDTO::getId, count ? brandRepository::count : null);
     }
 
     /**
@@ -151,10 +176,11 @@ public class BrandResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the brand, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Brand> getBrand(@PathVariable("id") Integer id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<BrandDTO> getBrand(@PathVariable("id") Integer id) {
         log.debug("REST request to get Brand : {}", id);
-        Optional<Brand> brand = brandRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(brand);
+        Optional<BrandDTO> brandDTO = brandRepository.findById(id).map(brandMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(brandDTO);
     }
 
     /**
@@ -167,6 +193,7 @@ public class BrandResource {
     public ResponseEntity<Void> deleteBrand(@PathVariable("id") Integer id) {
         log.debug("REST request to delete Brand : {}", id);
         brandRepository.deleteById(id);
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
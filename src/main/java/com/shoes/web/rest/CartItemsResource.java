@@ -2,7 +2,10 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.CartItems;
 import com.shoes.repository.CartItemsRepository;
+import com.shoes.service.dto.CartItemsDTO;
+import com.shoes.service.mapper.CartItemsMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,49 +37,52 @@ public class CartItemsResource {
 
     private final CartItemsRepository cartItemsRepository;
 
-    public CartItemsResource(CartItemsRepository cartItemsRepository) {
+    private final CartItemsMapper cartItemsMapper;
+
+    public CartItemsResource(CartItemsRepository cartItemsRepository, CartItemsMapper cartItemsMapper) {
         this.cartItemsRepository = cartItemsRepository;
+        this.cartItemsMapper = cartItemsMapper;
     }
 
     /**
      * {@code POST  /cart-items} : Create a new cartItems.
      *
-     * @param cartItems the cartItems to create.
+     * @param cartItemsDTO the cartItemsDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new cartItems, or with status {@code 400 (Bad Request)} if the cartItems has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<CartItems> createCartItems(@RequestBody CartItems cartItems) throws URISyntaxException {
-        log.debug("REST request to save CartItems : {}", cartItems);
-        if (cartItems.getId() != null) {
+    public ResponseEntity<CartItemsDTO> createCartItems(@RequestBody CartItemsDTO cartItemsDTO) throws URISyntaxException {
+        log.debug("REST request to save CartItems : {}", cartItemsDTO);
+        if (cartItemsDTO.getId() != null) {
             throw new BadRequestAlertException("A new cartItems cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        cartItems = cartItemsRepository.save(cartItems);
+        CartItems cartItems = cartItemsRepository.save(cartItemsMapper.toEntity(cartItemsDTO));
         return ResponseEntity.created(new URI("/api/cart-items/" + cartItems.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, cartItems.getId().toString()))
-            .body(cartItems);
+            .body(cartItemsMapper.toDto(cartItems));
     }
 
     /**
      * {@code PUT  /cart-items/:id} : Updates an existing cartItems.
      *
      * @param id the id of the cartItems to save.
-     * @param cartItems the cartItems to update.
+     * @param cartItemsDTO the cartItemsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cartItems,
      * or with status {@code 400 (Bad Request)} if the cartItems is not valid,
      * or with status {@code 500 (Internal Server Error)} if the cartItems couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<CartItems> updateCartItems(
+    public ResponseEntity<CartItemsDTO> updateCartItems(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody CartItems cartItems
+        @RequestBody CartItemsDTO cartItemsDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update CartItems : {}, {}", id, cartItems);
-        if (cartItems.getId() == null) {
+        log.debug("REST request to update CartItems : {}, {}", id, cartItemsDTO);
+        if (cartItemsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, cartItems.getId())) {
+        if (!Objects.equals(id, cartItemsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -84,17 +90,17 @@ public class CartItemsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        cartItems = cartItemsRepository.save(cartItems);
+        CartItems cartItems = cartItemsRepository.save(cartItemsMapper.toEntity(cartItemsDTO));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cartItems.getId().toString()))
-            .body(cartItems);
+            .body(cartItemsMapper.toDto(cartItems));
     }
 
     /**
      * {@code PATCH  /cart-items/:id} : Partial updates given fields of an existing cartItems, field will ignore if it is null
      *
      * @param id the id of the cartItems to save.
-     * @param cartItems the cartItems to update.
+     * @param cartItemsDTO the cartItemsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cartItems,
      * or with status {@code 400 (Bad Request)} if the cartItems is not valid,
      * or with status {@code 404 (Not Found)} if the cartItems is not found,
@@ -102,15 +108,15 @@ public class CartItemsResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<CartItems> partialUpdateCartItems(
+    public ResponseEntity<CartItemsDTO> partialUpdateCartItems(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody CartItems cartItems
+        @RequestBody CartItemsDTO cartItemsDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update CartItems partially : {}, {}", id, cartItems);
-        if (cartItems.getId() == null) {
+        log.debug("REST request to partial update CartItems partially : {}, {}", id, cartItemsDTO);
+        if (cartItemsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, cartItems.getId())) {
+        if (!Objects.equals(id, cartItemsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -118,32 +124,46 @@ public class CartItemsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<CartItems> result = cartItemsRepository
-            .findById(cartItems.getId())
+        Optional<CartItemsDTO> result = cartItemsRepository
+            .findById(cartItemsDTO.getId())
             .map(existingCartItems -> {
-                if (cartItems.getQuantity() != null) {
-                    existingCartItems.setQuantity(cartItems.getQuantity());
-                }
+                cartItemsMapper.partialUpdate(existingCartItems, cartItemsDTO);
 
                 return existingCartItems;
             })
-            .map(cartItemsRepository::save);
+            .map(cartItemsRepository::save)
+            .map(cartItemsMapper::toDto);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cartItems.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cartItemsDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /cart-items} : get all the cartItems.
+     * {@code GET  /cart-items} : get a page of the cartItems, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of cartItems to return.
+     * @param count whether to also count all the cartItems, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cartItems in body.
      */
     @GetMapping("")
-    public List<CartItems> getAllCartItems() {
-        log.debug("REST request to get all CartItems");
-        return cartItemsRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CartItemsDTO>> getAllCartItems(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of CartItems");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<CartItemsDTO> page = cartItemsRepository
+            .findApiRowPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+            .stream()
+            .map(cartItemsMapper::toDto)
+            .toList();
+        return KeysetPaginationUtil.pageResponse(page, pageSize, CartItemsDTO::getId, count ? cartItemsRepository::count : null);
     }
 
     /**
@@ -153,10 +173,11 @@ public class CartItemsResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cartItems, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CartItems> getCartItems(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<CartItemsDTO> getCartItems(@PathVariable("id") Long id) {
         log.debug("REST request to get CartItems : {}", id);
-        Optional<CartItems> cartItems = cartItemsRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(cartItems);
+        Optional<CartItemsDTO> cartItemsDTO = cartItemsRepository.findApiRowById(id).map(cartItemsMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(cartItemsDTO);
     }
 
     /**
@@ -2,7 +2,13 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Cart;
 import com.shoes.repository.CartRepository;
+import com.shoes.service.CartService;
+import com.shoes.service.dto.CartContentsDTO;
+import com.shoes.service.dto.CartDTO;
+import com.shoes.service.dto.CartMutationDTO;
+import com.shoes.service.mapper.CartMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,47 +40,53 @@ public class CartResource {
 
     private final CartRepository cartRepository;
 
-    public CartResource(CartRepository cartRepository) {
+    private final CartMapper cartMapper;
+
+    private final CartService cartService;
+
+    public CartResource(CartRepository cartRepository, CartMapper cartMapper, CartService cartService) {
         this.cartRepository = cartRepository;
+        this.cartMapper = cartMapper;
+        this.cartService = cartService;
     }
 
     /**
      * {@code POST  /carts} : Create a new cart.
      *
-     * @param cart the cart to create.
+     * @param cartDTO the cartDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new cart, or with status {@code 400 (Bad Request)} if the cart has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Cart> createCart(@RequestBody Cart cart) throws URISyntaxException {
-        log.debug("REST request to save Cart : {}", cart);
-        if (cart.getId() != null) {
+    public ResponseEntity<CartDTO> createCart(@RequestBody CartDTO cartDTO) throws URISyntaxException {
+        log.debug("REST request to save Cart : {}", cartDTO);
+        if (cartDTO.getId() != null) {
             throw new BadRequestAlertException("A new cart cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        cart = cartRepository.save(cart);
+        Cart cart = cartRepository.save(cartMapper.toEntity(cartDTO));
         return ResponseEntity.created(new URI("/api/carts/" + cart.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, cart.getId().toString()))
-            .body(cart);
+            .body(cartMapper.toDto(cart));
     }
 
     /**
      * {@code PUT  /carts/:id} : Updates an existing cart.
      *
      * @param id the id of the cart to save.
-     * @param cart the cart to update.
+     * @param cartDTO the cartDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cart,
      * or with status {@code 400 (Bad Request)} if the cart is not valid,
      * or with status {@code 500 (Internal Server Error)} if the cart couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Cart> updateCart(@PathVariable(value = "id", required = false) final Integer id, @RequestBody Cart cart)
+    public ResponseEntity<CartDTO> updateCart(@PathVariable(value = "id", required = false) final Integer id, @RequestBody CartDTO cartDTO)
         throws URISyntaxException {
-        log.debug("REST request to update Cart : {}, {}", id, cart);
-        if (cart.getId() == null) {
+        log.debug("REST request to update Cart : {}, {}", id, cartDTO);
+        if (cartDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, cart.getId())) {
+        if (!Objects.equals(id, cartDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -82,17 +94,17 @@ public class CartResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        cart = cartRepository.save(cart);
+        Cart cart = cartRepository.save(cartMapper.toEntity(cartDTO));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cart.getId().toString()))
-            .body(cart);
+            .body(cartMapper.toDto(cart));
     }
 
     /**
      * {@code PATCH  /carts/:id} : Partial updates given fields of an existing cart, field will ignore if it is null
      *
      * @param id the id of the cart to save.
-     * @param cart the cart to update.
+     * @param cartDTO the cartDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cart,
      * or with status {@code 400 (Bad Request)} if the cart is not valid,
      * or with status {@code 404 (Not Found)} if the cart is not found,
@@ -100,13 +112,15 @@ public class CartResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Cart> partialUpdateCart(@PathVariable(value = "id", required = false) final Integer id, @RequestBody Cart cart)
-        throws URISyntaxException {
-        log.debug("REST request to partial update Cart partially : {}, {}", id, cart);
-        if (cart.getId() == null) {
+    public ResponseEntity<CartDTO> partialUpdateCart(
+        @PathVariable(value = "id", required = false) final Integer id,
+        @RequestBody CartDTO cartDTO
+    ) throws URISyntaxException {
+        log.debug("REST request to partial update Cart partially : {}, {}", id, cartDTO);
+        if (cartDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, cart.getId())) {
+        if (!Objects.equals(id, cartDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -114,32 +128,63 @@ public class CartResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Cart> result = cartRepository
-            .findById(cart.getId())
+        Optional<CartDTO> result = cartRepository
+            .findById(cartDTO.getId())
             .map(existingCart -> {
-                if (cart.getCreatedAt() != null) {
-                    existingCart.setCreatedAt(cart.getCreatedAt());
-                }
+                cartMapper.partialUpdate(existingCart, cartDTO);
 
                 return existingCart;
             })
-            .map(cartRepository::save);
+            .map(cartRepository::save)
+            .map(cartMapper::toDto);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cart.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cartDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /carts} : get all the carts.
+     * {@code POST  /carts/:id/mutations} : Add, update and remove items of a cart, all in one transaction. A retry
+     * sent with the same {@code Idempotency-Key} header gets the response of the first request back, without applying
+     * the changes again.
+     *
+     * @param id the id of the cart to change.
+     * @param mutations the changes, in the order to apply them.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the items of the cart at their
+     * current price, or with status {@code 400 (Bad Request)} if a change is not valid, or with status
+     * {@code 404 (Not Found)} if there is no such cart.
+     */
+    @PostMapping("/{id}/mutations")
+    public ResponseEntity<CartContentsDTO> mutateCart(@PathVariable("id") Integer id, @RequestBody List<CartMutationDTO> mutations) {
+        log.debug("REST request to apply {} changes to Cart : {}", mutations.size(), id);
+        return ResponseUtil.wrapOrNotFound(cartService.mutate(id, mutations));
+    }
+
+    /**
+     * {@code GET  /carts} : get a page of the carts, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of carts to return.
+     * @param count whether to also count all the carts, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of carts in body.
      */
     @GetMapping("")
-    public List<Cart> getAllCarts() {
-        log.debug("REST request to get all Carts");
-        return cartRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CartDTO>> getAllCarts(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of Carts");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Integer afterId = KeysetPaginationUtil.decodeCursor(after, Integer::valueOf);
+        List<CartDTO> page = cartRepository
+            .findApiRowPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+            .stream()
+            .map(cartMapper::toDto)
+            .toList();
+        return KeysetPaginationUtil.pageResponse(page, pageSize, CartDTO::getId, count ? cartRepository::count : null);
     }
 
     /**
@@ -149,10 +194,11 @@ public class CartResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cart, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Cart> getCart(@PathVariable("id") Integer id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<CartDTO> getCart(@PathVariable("id") Integer id) {
         log.debug("REST request to get Cart : {}", id);
-        Optional<Cart> cart = cartRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(cart);
+        Optional<CartDTO> cartDTO = cartRepository.findApiRowById(id).map(cartMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(cartDTO);
     }
 
     /**
@@ -0,0 +1,38 @@
+package com.shoes.web.rest;
+
+import com.shoes.service.CatalogSearchService;
+import com.shoes.service.dto.CatalogSearchCriteria;
+import com.shoes.service.dto.CatalogSearchResultDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for faceted search over {@link com.shoes.domain.ShoeVariants}.
+ */
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogSearchResource {
+
+    private final Logger log = LoggerFactory.getLogger(CatalogSearchResource.class);
+
+    private final CatalogSearchService catalogSearchService;
+
+    public CatalogSearchResource(CatalogSearchService catalogSearchService) {
+        this.catalogSearchService = catalogSearchService;
+    }
+
+    /**
+     * {@code GET  /catalog/search} : search the shoeVariants by brand, category, purpose, collection, color, size and status.
+     *
+     * @param criteria the facet filters, offset and limit.
+     * @return the page of matching shoeVariants and the facet counts of the whole result.
+     */
+    @GetMapping("/search")
+    public CatalogSearchResultDTO search(@org.springdoc.core.annotations.ParameterObject CatalogSearchCriteria criteria) {
+        log.debug("REST request to search the catalog : {}", criteria);
+        return catalogSearchService.search(criteria);
+    }
+}
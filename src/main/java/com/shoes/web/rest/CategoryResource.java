@@ -2,7 +2,12 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Category;
 import com.shoes.repository.CategoryRepository;
+import com.shoes.service.CatalogSearchService;
+import com.shoes.service.CatalogVersionService;
+import com.shoes.service.dto.CategoryDTO;
+import com.shoes.service.mapper.CategoryMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,49 +39,64 @@ public class CategoryResource {
 
     private final CategoryRepository categoryRepository;
 
-    public CategoryResource(CategoryRepository categoryRepository) {
+    private final CategoryMapper categoryMapper;
+
+    private final CatalogSearchService catalogSearchService;
+
+    private final CatalogVersionService catalogVersionService;
+
+    public CategoryResource(
+        CategoryRepository categoryRepository,
+        CategoryMapper categoryMapper,
+        CatalogSearchService catalogSearchService,
+        CatalogVersionService catalogVersionService
+    ) {
         this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+        this.catalogSearchService = catalogSearchService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     /**
      * {@code POST  /categories} : Create a new category.
      *
-     * @param category the category to create.
+     * @param categoryDTO the categoryDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new category, or with status {@code 400 (Bad Request)} if the category has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Category> createCategory(@RequestBody Category category) throws URISyntaxException {
-        log.debug("REST request to save Category : {}", category);
-        if (category.getId() != null) {
+    public ResponseEntity<CategoryDTO> createCategory(@RequestBody CategoryDTO categoryDTO) throws URISyntaxException {
+        log.debug("REST request to save Category : {}", categoryDTO);
+        if (categoryDTO.getId() != null) {
             throw new BadRequestAlertException("A new category cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        category = categoryRepository.save(category);
+        Category category = categoryRepository.save(categoryMapper.toEntity(categoryDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.created(new URI("/api/categories/" + category.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, category.getId().toString()))
-            .body(category);
+            .body(categoryMapper.toDto(category));
     }
 
     /**
      * {@code PUT  /categories/:id} : Updates an existing category.
      *
      * @param id the id of the category to save.
-     * @param category the category to update.
+     * @param categoryDTO the categoryDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated category,
      * or with status {@code 400 (Bad Request)} if the category is not valid,
      * or with status {@code 500 (Internal Server Error)} if the category couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Category> updateCategory(
+    public ResponseEntity<CategoryDTO> updateCategory(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody Category category
+        @RequestBody CategoryDTO categoryDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update Category : {}, {}", id, category);
-        if (category.getId() == null) {
+        log.debug("REST request to update Category : {}, {}", id, categoryDTO);
+        if (categoryDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, category.getId())) {
+        if (!Objects.equals(id, categoryDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -84,17 +104,19 @@ public class CategoryResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        category = categoryRepository.save(category);
+        Category category = categoryRepository.save(categoryMapper.toEntity(categoryDTO));
+        catalogVersionService.bump(ENTITY_NAME);
+        catalogSearchService.invalidate();
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, category.getId().toString()))
-            .body(category);
+            .body(categoryMapper.toDto(category));
     }
 
     /**
      * {@code PATCH  /categories/:id} : Partial updates given fields of an existing category, field will ignore if it is null
      *
      * @param id the id of the category to save.
-     * @param category the category to update.
+     * @param categoryDTO the categoryDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated category,
      * or with status {@code 400 (Bad Request)} if the category is not valid,
      * or with status {@code 404 (Not Found)} if the category is not found,
@@ -102,15 +124,15 @@ public class CategoryResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Category> partialUpdateCategory(
+    public ResponseEntity<CategoryDTO> partialUpdateCategory(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody Category category
+        @RequestBody CategoryDTO categoryDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Category partially : {}, {}", id, category);
-        if (category.getId() == null) {
+        log.debug("REST request to partial update Category partially : {}, {}", id, categoryDTO);
+        if (categoryDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, category.getId())) {
+        if (!Objects.equals(id, categoryDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -118,32 +140,44 @@ public class CategoryResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Category> result = categoryRepository
-            .findById(category.getId())
+        Optional<CategoryDTO> result = categoryRepository
+            .findById(categoryDTO.getId())
             .map(existingCategory -> {
-                if (category.getName() != null) {
-                    existingCategory.setName(category.getName());
-                }
+                categoryMapper.partialUpdate(existingCategory, categoryDTO);
 
                 return existingCategory;
             })
-            .map(categoryRepository::save);
+            .map(categoryRepository::save)
+            .map(categoryMapper::toDto);
+        catalogVersionService.bump(ENTITY_NAME);
+        catalogSearchService.invalidate();
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, category.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, categoryDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /categories} : get all the categories.
+     * {@code GET  /categories} : get a page of the categories, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of categories to return.
+     * @param count whether to also count all the categories, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categories in body.
      */
     @GetMapping("")
-    public List<Category> getAllCategories() {
-        log.debug("REST request to get all Categories");
-        return categoryRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CategoryDTO>> getAllCategories(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of Categories");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<CategoryDTO> page = categoryMapper.toDto(categoryRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize)));
+        return KeysetPaginationUtil.pageResponse(page, pageSize, CategoryDTO::getId, count ? categoryRepository::count : null);
     }
 
     /**
@@ -153,10 +187,11 @@ public class CategoryResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the category, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Category> getCategory(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<CategoryDTO> getCategory(@PathVariable("id") Long id) {
         log.debug("REST request to get Category : {}", id);
-        Optional<Category> category = categoryRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(category);
+        Optional<CategoryDTO> categoryDTO = categoryRepository.findById(id).map(categoryMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(categoryDTO);
     }
 
     /**
@@ -169,6 +204,8 @@ public class CategoryResource {
     public ResponseEntity<Void> deleteCategory(@PathVariable("id") Long id) {
         log.debug("REST request to delete Category : {}", id);
         categoryRepository.deleteById(id);
+        catalogVersionService.bump(ENTITY_NAME);
+        catalogSearchService.invalidate();
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
@@ -0,0 +1,80 @@
+package com.shoes.web.rest;
+
+import com.shoes.service.CheckoutService;
+import com.shoes.service.dto.CheckoutDTO;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for checking a {@link com.shoes.domain.Cart} out into an {@link com.shoes.domain.Orders}.
+ */
+@RestController
+@RequestMapping("/api/carts")
+public class CheckoutResource {
+
+    private final Logger log = LoggerFactory.getLogger(CheckoutResource.class);
+
+    private static final String ENTITY_NAME = "orders";
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final CheckoutService checkoutService;
+
+    public CheckoutResource(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    /**
+     * {@code POST  /carts/:id/checkout} : Check a cart out: order its items at their current price, take their stock
+     * and empty the cart.
+     *
+     * @param id the id of the cart to check out.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new order, and the time
+     * spent in each stage in the {@code Server-Timing} header; or with status {@code 400 (Bad Request)} if the cart
+     * is empty or cannot be priced, with status {@code 409 (Conflict)} if not enough stock is left, or with status
+     * {@code 404 (Not Found)} if there is no such cart.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/{id}/checkout")
+    public ResponseEntity<CheckoutDTO> checkoutCart(@PathVariable("id") Integer id) throws URISyntaxException {
+        log.debug("REST request to check out Cart : {}", id);
+        Optional<CheckoutService.Result> result = checkoutService.checkout(id);
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        CheckoutDTO checkout = result.orElseThrow().checkout();
+        return ResponseEntity.created(new URI("/api/orders/" + checkout.getOrdersId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, checkout.getOrdersId().toString()))
+            .header(SERVER_TIMING_HEADER, serverTiming(result.orElseThrow().stages()))
+            .body(checkout);
+    }
+
+    static String serverTiming(Map<String, Duration> stages) {
+        StringJoiner header = new StringJoiner(", ");
+        Duration total = Duration.ZERO;
+        for (Map.Entry<String, Duration> stage : stages.entrySet()) {
+            header.add(metric(stage.getKey(), stage.getValue()));
+            total = total.plus(stage.getValue());
+        }
+        header.add(metric("total", total));
+        return header.toString();
+    }
+
+    private static String metric(String name, Duration duration) {
+        return String.format(Locale.ROOT, "%s;dur=%.3f", name, duration.toNanos() / 1_000_000d);
+    }
+}
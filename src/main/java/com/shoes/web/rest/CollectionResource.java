@@ -2,7 +2,11 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Collection;
 import com.shoes.repository.CollectionRepository;
+import com.shoes.service.CatalogVersionService;
+import com.shoes.service.dto.CollectionDTO;
+import com.shoes.service.mapper.CollectionMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,49 +38,60 @@ public class CollectionResource {
 
     private final CollectionRepository collectionRepository;
 
-    public CollectionResource(CollectionRepository collectionRepository) {
+    private final CollectionMapper collectionMapper;
+
+    private final CatalogVersionService catalogVersionService;
+
+    public CollectionResource(
+        CollectionRepository collectionRepository,
+        CollectionMapper collectionMapper,
+        CatalogVersionService catalogVersionService
+    ) {
         this.collectionRepository = collectionRepository;
+        this.collectionMapper = collectionMapper;
+        this.catalogVersionService = catalogVersionService;
     }
 
     /**
      * {@code POST  /collections} : Create a new collection.
      *
-     * @param collection the collection to create.
+     * @param collectionDTO the collectionDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new collection, or with status {@code 400 (Bad Request)} if the collection has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Collection> createCollection(@RequestBody Collection collection) throws URISyntaxException {
-        log.debug("REST request to save Collection : {}", collection);
-        if (collection.getId() != null) {
+    public ResponseEntity<CollectionDTO> createCollection(@RequestBody CollectionDTO collectionDTO) throws URISyntaxException {
+        log.debug("REST request to save Collection : {}", collectionDTO);
+        if (collectionDTO.getId() != null) {
             throw new BadRequestAlertException("A new collection cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        collection = collectionRepository.save(collection);
+        Collection collection = collectionRepository.save(collectionMapper.toEntity(collectionDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.created(new URI("/api/collections/" + collection.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, collection.getId().toString()))
-            .body(collection);
+            .body(collectionMapper.toDto(collection));
     }
 
     /**
      * {@code PUT  /collections/:id} : Updates an existing collection.
      *
      * @param id the id of the collection to save.
-     * @param collection the collection to update.
+     * @param collectionDTO the collectionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated collection,
      * or with status {@code 400 (Bad Request)} if the collection is not valid,
      * or with status {@code 500 (Internal Server Error)} if the collection couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Collection> updateCollection(
+    public ResponseEntity<CollectionDTO> updateCollection(
         @PathVariable(value = "id", required = false) final Integer id,
-        @RequestBody Collection collection
+        @RequestBody CollectionDTO collectionDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update Collection : {}, {}", id, collection);
-        if (collection.getId() == null) {
+        log.debug("REST request to update Collection : {}, {}", id, collectionDTO);
+        if (collectionDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, collection.getId())) {
+        if (!Objects.equals(id, collectionDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -84,17 +99,18 @@ public class CollectionResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        collection = collectionRepository.save(collection);
+        Collection collection = collectionRepository.save(collectionMapper.toEntity(collectionDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, collection.getId().toString()))
-            .body(collection);
+            .body(collectionMapper.toDto(collection));
     }
 
     /**
      * {@code PATCH  /collections/:id} : Partial updates given fields of an existing collection, field will ignore if it is null
      *
      * @param id the id of the collection to save.
-     * @param collection the collection to update.
+     * @param collectionDTO the collectionDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated collection,
      * or with status {@code 400 (Bad Request)} if the collection is not valid,
      * or with status {@code 404 (Not Found)} if the collection is not found,
@@ -102,15 +118,15 @@ public class CollectionResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Collection> partialUpdateCollection(
+    public ResponseEntity<CollectionDTO> partialUpdateCollection(
         @PathVariable(value = "id", required = false) final Integer id,
-        @RequestBody Collection collection
+        @RequestBody CollectionDTO collectionDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Collection partially : {}, {}", id, collection);
-        if (collection.getId() == null) {
+        log.debug("REST request to partial update Collection partially : {}, {}", id, collectionDTO);
+        if (collectionDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, collection.getId())) {
+        if (!Objects.equals(id, collectionDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -118,32 +134,45 @@ public class CollectionResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Collection> result = collectionRepository
-            .findById(collection.getId())
+        Optional<CollectionDTO> result = collectionRepository
+            .findById(collectionDTO.getId())
             .map(existingCollection -> {
-                if (collection.getName() != null) {
-                    existingCollection.setName(collection.getName());
-                }
+                collectionMapper.partialUpdate(existingCollection, collectionDTO);
 
                 return existingCollection;
             })
-            .map(collectionRepository::save);
+            .map(collectionRepository::save)
+            .map(collectionMapper::toDto);
+        catalogVersionService.bump(ENTITY_NAME);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, collection.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, collectionDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /collections} : get all the collections.
+     * {@code GET  /collections} : get a page of the collections, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of collections to return.
+     * @param count whether to also count all the collections, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of collections in body.
      */
     @GetMapping("")
-    public List<Collection> getAllCollections() {
-        log.debug("REST request to get all Collections");
-        return collectionRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CollectionDTO>> getAllCollections(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of Collections");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Integer afterId = KeysetPaginationUtil.decodeCursor(after, Integer::valueOf);
+        List<CollectionDTO> page = collectionMapper.toDto(
+            collectionRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+        );
+        return KeysetPaginationUtil.pageResponse(page, pageSize, CollectionDTO::getId, count ? collectionRepository::count : null);
     }
 
     /**
@@ -153,10 +182,11 @@ public class CollectionResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the collection, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Collection> getCollection(@PathVariable("id") Integer id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<CollectionDTO> getCollection(@PathVariable("id") Integer id) {
         log.debug("REST request to get Collection : {}", id);
-        Optional<Collection> collection = collectionRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(collection);
+        Optional<CollectionDTO> collectionDTO = collectionRepository.findById(id).map(collectionMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(collectionDTO);
     }
 
     /**
@@ -169,6 +199,7 @@ public class CollectionResource {
     public ResponseEntity<Void> deleteCollection(@PathVariable("id") Integer id) {
         log.debug("REST request to delete Collection : {}", id);
         collectionRepository.deleteById(id);
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
@@ -2,7 +2,11 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Colors;
 import com.shoes.repository.ColorsRepository;
+import com.shoes.service.CatalogVersionService;
+import com.shoes.service.dto.ColorsDTO;
+import com.shoes.service.mapper.ColorsMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,47 +38,56 @@ public class ColorsResource {
 
     private final ColorsRepository colorsRepository;
 
-    public ColorsResource(ColorsRepository colorsRepository) {
+    private final ColorsMapper colorsMapper;
+
+    private final CatalogVersionService catalogVersionService;
+
+    public ColorsResource(ColorsRepository colorsRepository, ColorsMapper colorsMapper, CatalogVersionService catalogVersionService) {
         this.colorsRepository = colorsRepository;
+        this.colorsMapper = colorsMapper;
+        this.catalogVersionService = catalogVersionService;
     }
 
     /**
      * {@code POST  /colors} : Create a new colors.
      *
-     * @param colors the colors to create.
+     * @param colorsDTO the colorsDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new colors, or with status {@code 400 (Bad Request)} if the colors has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Colors> createColors(@RequestBody Colors colors) throws URISyntaxException {
-        log.debug("REST request to save Colors : {}", colors);
-        if (colors.getId() != null) {
+    public ResponseEntity<ColorsDTO> createColors(@RequestBody ColorsDTO colorsDTO) throws URISyntaxException {
+        log.debug("REST request to save Colors : {}", colorsDTO);
+        if (colorsDTO.getId() != null) {
             throw new BadRequestAlertException("A new colors cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        colors = colorsRepository.save(colors);
+        Colors colors = colorsRepository.save(colorsMapper.toEntity(colorsDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.created(new URI("/api/colors/" + colors.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, colors.getId().toString()))
-            .body(colors);
+            .body(colorsMapper.toDto(colors));
     }
 
     /**
      * {@code PUT  /colors/:id} : Updates an existing colors.
      *
      * @param id the id of the colors to save.
-     * @param colors the colors to update.
+     * @param colorsDTO the colorsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated colors,
      * or with status {@code 400 (Bad Request)} if the colors is not valid,
      * or with status {@code 500 (Internal Server Error)} if the colors couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Colors> updateColors(@PathVariable(value = "id", required = false) final Integer id, @RequestBody Colors colors)
-        throws URISyntaxException {
-        log.debug("REST request to update Colors : {}, {}", id, colors);
-        if (colors.getId() == null) {
+    public ResponseEntity<ColorsDTO> updateColors(
+        @PathVariable(value = "id", required = false) final Integer id,
+        @RequestBody ColorsDTO colorsDTO
+    ) throws URISyntaxException {
+        log.debug("REST request to update Colors : {}, {}", id, colorsDTO);
+        if (colorsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, colors.getId())) {
+        if (!Objects.equals(id, colorsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -82,17 +95,18 @@ public class ColorsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        colors = colorsRepository.save(colors);
+        Colors colors = colorsRepository.save(colorsMapper.toEntity(colorsDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, colors.getId().toString()))
-            .body(colors);
+            .body(colorsMapper.toDto(colors));
     }
 
     /**
      * {@code PATCH  /colors/:id} : Partial updates given fields of an existing colors, field will ignore if it is null
      *
      * @param id the id of the colors to save.
-     * @param colors the colors to update.
+     * @param colorsDTO the colorsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated colors,
      * or with status {@code 400 (Bad Request)} if the colors is not valid,
      * or with status {@code 404 (Not Found)} if the colors is not found,
@@ -100,15 +114,15 @@ public class ColorsResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Colors> partialUpdateColors(
+    public ResponseEntity<ColorsDTO> partialUpdateColors(
         @PathVariable(value = "id", required = false) final Integer id,
-        @RequestBody Colors colors
+        @RequestBody ColorsDTO colorsDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Colors partially : {}, {}", id, colors);
-        if (colors.getId() == null) {
+        log.debug("REST request to partial update Colors partially : {}, {}", id, colorsDTO);
+        if (colorsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, colors.getId())) {
+        if (!Objects.equals(id, colorsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -116,32 +130,43 @@ public class ColorsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Colors> result = colorsRepository
-            .findById(colors.getId())
+        Optional<ColorsDTO> result = colorsRepository
+            .findById(colorsDTO.getId())
             .map(existingColors -> {
-                if (colors.getColorName() != null) {
-                    existingColors.setColorName(colors.getColorName());
-                }
+                colorsMapper.partialUpdate(existingColors, colorsDTO);
 
                 return existingColors;
             })
-            .map(colorsRepository::save);
+            .map(colorsRepository::save)
+            .map(colorsMapper::toDto);
+        catalogVersionService.bump(ENTITY_NAME);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, colors.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, colorsDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /colors} : get all the colors.
+     * {@code GET  /colors} : get a page of the colors, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of colors to return.
+     * @param count whether to also count all the colors, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of colors in body.
      */
     @GetMapping("")
-    public List<Colors> getAllColors() {
-        log.debug("REST request to get all Colors");
-        return colorsRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ColorsDTO>> getAllColors(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of Colors");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Integer afterId = KeysetPaginationUtil.decodeCursor(after, Integer::valueOf);
+        List<ColorsDTO> page = colorsMapper.toDto(colorsRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize)));
+        return KeysetPaginationUtil.pageResponse(page, pageSize, ColorsDTO::getId, count ? colorsRepository::count : null);
     }
 
     /**
@@ -151,10 +176,11 @@ public class ColorsResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the colors, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Colors> getColors(@PathVariable("id") Integer id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<ColorsDTO> getColors(@PathVariable("id") Integer id) {
         log.debug("REST request to get Colors : {}", id);
-        Optional<Colors> colors = colorsRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(colors);
+        Optional<ColorsDTO> colorsDTO = colorsRepository.findById(id).map(colorsMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(colorsDTO);
     }
 
     /**
@@ -167,6 +193,7 @@ public class ColorsResource {
     public ResponseEntity<Void> deleteColors(@PathVariable("id") Integer id) {
         log.debug("REST request to delete Colors : {}", id);
         colorsRepository.deleteById(id);
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
@@ -3,6 +3,7 @@ package com.shoes.web.rest;
 import com.shoes.domain.CustomerDetails;
 import com.shoes.repository.CustomerDetailsRepository;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -145,14 +146,24 @@ public class CustomerDetailsResource {
     }
 
     /**
-     * {@code GET  /customer-details} : get all the customerDetails.
+     * {@code GET  /customer-details} : get a page of the customerDetails, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of customerDetails to return.
+     * @param count whether to also count all the customerDetails, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customerDetails in body.
      */
     @GetMapping("")
-    public List<CustomerDetails> getAllCustomerDetails() {
-        log.debug("REST request to get all CustomerDetails");
-        return customerDetailsRepository.findAll();
+    public ResponseEntity<List<CustomerDetails>> getAllCustomerDetails(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of CustomerDetails");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<CustomerDetails> page = customerDetailsRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize));
+        return KeysetPaginationUtil.pageResponse(page, pageSize, CustomerDetails::getId, count ? customerDetailsRepository::count : null);
     }
 
     /**
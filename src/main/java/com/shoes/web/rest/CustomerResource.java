@@ -2,13 +2,17 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Customer;
 import com.shoes.repository.CustomerRepository;
+import com.shoes.repository.CustomerRepositoryWithFilters.Relationship;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
+import java.util.Set;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -143,35 +147,50 @@ public class CustomerResource {
     }
 
     /**
-     * {@code GET  /customers} : get all the customers.
+     * {@code GET  /customers} : get a page of the customers matching a filter, or of all the customers, in id order.
      *
-     * @param filter the filter of the request.
+     * @param filter the filter of the request: {@code cart-is-null}, {@code customerdetails-is-null},
+     * {@code wishlist-is-null}, or several of them separated by commas.
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of customers to return.
+     * @param count whether to also count all the customers, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customers in body.
      */
     @GetMapping("")
-    public List<Customer> getAllCustomers(@RequestParam(name = "filter", required = false) String filter) {
-        if ("cart-is-null".equals(filter)) {
-            log.debug("REST request to get all Customers where cart is null");
-            return StreamSupport.stream(customerRepository.findAll().spliterator(), false)
-                .filter(customer -> customer.getCart() == null)
-                .toList();
+    public ResponseEntity<List<Customer>> getAllCustomers(
+        @RequestParam(name = "filter", required = false) String filter,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        Set<Relationship> missing = missingRelationships(filter);
+        log.debug("REST request to get a page of Customers without {}", missing);
+        List<Customer> page = customerRepository.findPageWithout(missing, afterId, KeysetPaginationUtil.queryLimit(pageSize));
+        LongSupplier counter = null;
+        if (count) {
+            counter = missing.isEmpty() ? customerRepository::count : () -> customerRepository.countWithout(missing);
         }
+        return KeysetPaginationUtil.pageResponse(page, pageSize, Customer::getId, counter);
+    }
 
-        if ("customerdetails-is-null".equals(filter)) {
-            log.debug("REST request to get all Customers where customerDetails is null");
-            return StreamSupport.stream(customerRepository.findAll().spliterator(), false)
-                .filter(customer -> customer.getCustomerDetails() == null)
-                .toList();
+    private static Set<Relationship> missingRelationships(String filter) {
+        Set<Relationship> missing = EnumSet.noneOf(Relationship.class);
+        if (filter == null) {
+            return missing;
         }
-
-        if ("wishlist-is-null".equals(filter)) {
-            log.debug("REST request to get all Customers where wishList is null");
-            return StreamSupport.stream(customerRepository.findAll().spliterator(), false)
-                .filter(customer -> customer.getWishList() == null)
-                .toList();
+        for (String condition : filter.split(",")) {
+            switch (condition.trim()) {
+                case "cart-is-null" -> missing.add(Relationship.CART);
+                case "customerdetails-is-null" -> missing.add(Relationship.CUSTOMER_DETAILS);
+                case "wishlist-is-null" -> missing.add(Relationship.WISH_LIST);
+                default -> {
+                    // Unknown conditions are ignored, as before.
+                }
+            }
         }
-        log.debug("REST request to get all Customers");
-        return customerRepository.findAll();
+        return missing;
     }
 
     /**
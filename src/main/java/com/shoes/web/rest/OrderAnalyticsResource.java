@@ -0,0 +1,103 @@
+package com.shoes.web.rest;
+
+import com.shoes.security.AuthoritiesConstants;
+import com.shoes.service.OrderAnalyticsService;
+import com.shoes.service.OrderAnalyticsService.Dimension;
+import com.shoes.service.dto.OrderAnalyticsDTO;
+import com.shoes.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for ad-hoc analytics of the {@link com.shoes.domain.OrderItems}, answered from memory.
+ */
+@RestController
+@RequestMapping("/api/order-analytics")
+@PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+@ConditionalOnProperty(prefix = "application.order-analytics", name = "enabled", havingValue = "true")
+public class OrderAnalyticsResource {
+
+    private final Logger log = LoggerFactory.getLogger(OrderAnalyticsResource.class);
+
+    private static final String ENTITY_NAME = "orderAnalytics";
+
+    private final OrderAnalyticsService orderAnalyticsService;
+
+    public OrderAnalyticsResource(OrderAnalyticsService orderAnalyticsService) {
+        this.orderAnalyticsService = orderAnalyticsService;
+    }
+
+    /**
+     * {@code GET  /order-analytics} : total the order items by group, e.g. the sizes of each brand with
+     * {@code groupBy=BRAND,SIZE} or the colors of each season with {@code groupBy=SEASON,COLOR}.
+     *
+     * @param groupBy the dimensions to group by, in order.
+     * @param from the first order day, included, if any.
+     * @param to the last order day, included, if any.
+     * @param brand the brand names to restrict the order items to, if any.
+     * @param category the category names to restrict the order items to, if any.
+     * @param purpose the shoePurpose types to restrict the order items to, if any.
+     * @param color the color names to restrict the order items to, if any.
+     * @param size the sizes to restrict the order items to, if any.
+     * @param status the order statuses to restrict the order items to, if any.
+     * @return the list of totals of each group, by units descending, or with status {@code 400 (Bad Request)} if the
+     * range is invalid or the dimensions have too many combinations.
+     */
+    @GetMapping("")
+    public List<OrderAnalyticsDTO> queryOrderAnalytics(
+        @RequestParam(name = "groupBy", required = false) List<Dimension> groupBy,
+        @RequestParam(name = "from", required = false) LocalDate from,
+        @RequestParam(name = "to", required = false) LocalDate to,
+        @RequestParam(name = "brand", required = false) Set<String> brand,
+        @RequestParam(name = "category", required = false) Set<String> category,
+        @RequestParam(name = "purpose", required = false) Set<String> purpose,
+        @RequestParam(name = "color", required = false) Set<String> color,
+        @RequestParam(name = "size", required = false) Set<String> size,
+        @RequestParam(name = "status", required = false) Set<String> status
+    ) {
+        log.debug("REST request to query the OrderItems analytics grouped by {} from {} to {}", groupBy, from, to);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestAlertException("The range must start before it ends", ENTITY_NAME, "rangeinvalid");
+        }
+        Map<Dimension, Set<String>> filters = new EnumMap<>(Dimension.class);
+        putIfPresent(filters, Dimension.BRAND, brand);
+        putIfPresent(filters, Dimension.CATEGORY, category);
+        putIfPresent(filters, Dimension.PURPOSE, purpose);
+        putIfPresent(filters, Dimension.COLOR, color);
+        putIfPresent(filters, Dimension.SIZE, size);
+        putIfPresent(filters, Dimension.STATUS, status);
+        try {
+            return orderAnalyticsService.query(groupBy != null ? groupBy.stream().distinct().toList() : List.of(), from, to, filters);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "queryinvalid");
+        }
+    }
+
+    private static void putIfPresent(Map<Dimension, Set<String>> filters, Dimension dimension, Set<String> values) {
+        if (values != null && !values.isEmpty()) {
+            filters.put(dimension, values);
+        }
+    }
+
+    /**
+     * {@code POST  /order-analytics/rebuild} : read every order item again, counting the orders changed since they
+     * were read.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuildOrderAnalytics() {
+        log.debug("REST request to rebuild the OrderItems analytics");
+        orderAnalyticsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
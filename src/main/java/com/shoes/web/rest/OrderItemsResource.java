@@ -2,10 +2,16 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.OrderItems;
 import com.shoes.repository.OrderItemsRepository;
+import com.shoes.service.BestSellerService;
+import com.shoes.service.OutboxService;
+import com.shoes.service.dto.OrderItemsDTO;
+import com.shoes.service.mapper.OrderItemsMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -34,49 +40,67 @@ public class OrderItemsResource {
 
     private final OrderItemsRepository orderItemsRepository;
 
-    public OrderItemsResource(OrderItemsRepository orderItemsRepository) {
+    private final OrderItemsMapper orderItemsMapper;
+
+    private final BestSellerService bestSellerService;
+
+    private final OutboxService outboxService;
+
+    public OrderItemsResource(
+        OrderItemsRepository orderItemsRepository,
+        OrderItemsMapper orderItemsMapper,
+        BestSellerService bestSellerService,
+        OutboxService outboxService
+    ) {
         this.orderItemsRepository = orderItemsRepository;
+        this.orderItemsMapper = orderItemsMapper;
+        this.bestSellerService = bestSellerService;
+        this.outboxService = outboxService;
     }
 
     /**
      * {@code POST  /order-items} : Create a new orderItems.
      *
-     * @param orderItems the orderItems to create.
+     * @param orderItemsDTO the orderItemsDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new orderItems, or with status {@code 400 (Bad Request)} if the orderItems has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<OrderItems> createOrderItems(@RequestBody OrderItems orderItems) throws URISyntaxException {
-        log.debug("REST request to save OrderItems : {}", orderItems);
-        if (orderItems.getId() != null) {
+    public ResponseEntity<OrderItemsDTO> createOrderItems(@RequestBody OrderItemsDTO orderItemsDTO) throws URISyntaxException {
+        log.debug("REST request to save OrderItems : {}", orderItemsDTO);
+        if (orderItemsDTO.getId() != null) {
             throw new BadRequestAlertException("A new orderItems cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        orderItems = orderItemsRepository.save(orderItems);
+        OrderItems orderItems = orderItemsRepository.save(orderItemsMapper.toEntity(orderItemsDTO));
+        if (orderItems.getShoeVariants() != null && orderItems.getShoeVariants().getId() != null && orderItems.getQuantity() != null) {
+            bestSellerService.recordSales(Map.of(orderItems.getShoeVariants().getId(), orderItems.getQuantity()));
+        }
+        outboxService.orderItemCreated(orderItems);
         return ResponseEntity.created(new URI("/api/order-items/" + orderItems.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, orderItems.getId().toString()))
-            .body(orderItems);
+            .body(orderItemsMapper.toDto(orderItems));
     }
 
     /**
      * {@code PUT  /order-items/:id} : Updates an existing orderItems.
      *
      * @param id the id of the orderItems to save.
-     * @param orderItems the orderItems to update.
+     * @param orderItemsDTO the orderItemsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated orderItems,
      * or with status {@code 400 (Bad Request)} if the orderItems is not valid,
      * or with status {@code 500 (Internal Server Error)} if the orderItems couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<OrderItems> updateOrderItems(
+    public ResponseEntity<OrderItemsDTO> updateOrderItems(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody OrderItems orderItems
+        @RequestBody OrderItemsDTO orderItemsDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update OrderItems : {}, {}", id, orderItems);
-        if (orderItems.getId() == null) {
+        log.debug("REST request to update OrderItems : {}, {}", id, orderItemsDTO);
+        if (orderItemsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, orderItems.getId())) {
+        if (!Objects.equals(id, orderItemsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -84,17 +108,18 @@ public class OrderItemsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        orderItems = orderItemsRepository.save(orderItems);
+        OrderItems orderItems = orderItemsRepository.save(orderItemsMapper.toEntity(orderItemsDTO));
+        outboxService.orderItemUpdated(orderItems);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, orderItems.getId().toString()))
-            .body(orderItems);
+            .body(orderItemsMapper.toDto(orderItems));
     }
 
     /**
      * {@code PATCH  /order-items/:id} : Partial updates given fields of an existing orderItems, field will ignore if it is null
      *
      * @param id the id of the orderItems to save.
-     * @param orderItems the orderItems to update.
+     * @param orderItemsDTO the orderItemsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated orderItems,
      * or with status {@code 400 (Bad Request)} if the orderItems is not valid,
      * or with status {@code 404 (Not Found)} if the orderItems is not found,
@@ -102,15 +127,15 @@ public class OrderItemsResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<OrderItems> partialUpdateOrderItems(
+    public ResponseEntity<OrderItemsDTO> partialUpdateOrderItems(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody OrderItems orderItems
+        @RequestBody OrderItemsDTO orderItemsDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update OrderItems partially : {}, {}", id, orderItems);
-        if (orderItems.getId() == null) {
+        log.debug("REST request to partial update OrderItems partially : {}, {}", id, orderItemsDTO);
+        if (orderItemsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, orderItems.getId())) {
+        if (!Objects.equals(id, orderItemsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -118,35 +143,51 @@ public class OrderItemsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<OrderItems> result = orderItemsRepository
-            .findById(orderItems.getId())
+        Optional<OrderItemsDTO> result = orderItemsRepository
+            .findById(orderItemsDTO.getId())
             .map(existingOrderItems -> {
-                if (orderItems.getQuantity() != null) {
-                    existingOrderItems.setQuantity(orderItems.getQuantity());
-                }
-                if (orderItems.getPrice() != null) {
-                    existingOrderItems.setPrice(orderItems.getPrice());
-                }
+                orderItemsMapper.partialUpdate(existingOrderItems, orderItemsDTO);
 
                 return existingOrderItems;
             })
-            .map(orderItemsRepository::save);
+            .map(orderItemsRepository::save)
+            .map(orderItems -> {
+                outboxService.orderItemUpdated(orderItems);
+
+                return orderItems;
+            })
+            .map(orderItemsMapper::toDto);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, orderItems.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, orderItemsDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /order-items} : get all the orderItems.
+     * {@code GET  /order-items} : get a page of the orderItems, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of orderItems to return.
+     * @param count whether to also count all the orderItems, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orderItems in body.
      */
     @GetMapping("")
-    public List<OrderItems> getAllOrderItems() {
-        log.debug("REST request to get all OrderItems");
-        return orderItemsRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<OrderItemsDTO>> getAllOrderItems(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of OrderItems");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<OrderItemsDTO> page = orderItemsRepository
+            .findApiRowPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+            .stream()
+            .map(orderItemsMapper::toDto)
+            .toList();
+        return KeysetPaginationUtil.pageResponse(page, pageSize, OrderItemsDTO::getId, count ? orderItemsRepository::count : null);
     }
 
     /**
@@ -156,10 +197,11 @@ public class OrderItemsResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the orderItems, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderItems> getOrderItems(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<OrderItemsDTO> getOrderItems(@PathVariable("id") Long id) {
         log.debug("REST request to get OrderItems : {}", id);
-        Optional<OrderItems> orderItems = orderItemsRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(orderItems);
+        Optional<OrderItemsDTO> orderItemsDTO = orderItemsRepository.findApiRowById(id).map(orderItemsMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(orderItemsDTO);
     }
 
     /**
@@ -171,7 +213,12 @@ public class OrderItemsResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrderItems(@PathVariable("id") Long id) {
         log.debug("REST request to delete OrderItems : {}", id);
-        orderItemsRepository.deleteById(id);
+        orderItemsRepository
+            .findById(id)
+            .ifPresent(orderItems -> {
+                orderItemsRepository.delete(orderItems);
+                outboxService.orderItemDeleted(id);
+            });
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
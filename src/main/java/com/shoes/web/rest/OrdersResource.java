@@ -2,16 +2,27 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Orders;
 import com.shoes.repository.OrdersRepository;
+import com.shoes.security.AuthoritiesConstants;
+import com.shoes.service.OrdersExportService;
+import com.shoes.service.OutboxService;
+import com.shoes.service.dto.OrdersDTO;
+import com.shoes.service.mapper.OrdersMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
@@ -34,47 +45,64 @@ public class OrdersResource {
 
     private final OrdersRepository ordersRepository;
 
-    public OrdersResource(OrdersRepository ordersRepository) {
+    private final OrdersMapper ordersMapper;
+
+    private final OrdersExportService ordersExportService;
+
+    private final OutboxService outboxService;
+
+    public OrdersResource(
+        OrdersRepository ordersRepository,
+        OrdersMapper ordersMapper,
+        OrdersExportService ordersExportService,
+        OutboxService outboxService
+    ) {
         this.ordersRepository = ordersRepository;
+        this.ordersMapper = ordersMapper;
+        this.ordersExportService = ordersExportService;
+        this.outboxService = outboxService;
     }
 
     /**
      * {@code POST  /orders} : Create a new orders.
      *
-     * @param orders the orders to create.
+     * @param ordersDTO the ordersDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new orders, or with status {@code 400 (Bad Request)} if the orders has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Orders> createOrders(@RequestBody Orders orders) throws URISyntaxException {
-        log.debug("REST request to save Orders : {}", orders);
-        if (orders.getId() != null) {
+    public ResponseEntity<OrdersDTO> createOrders(@RequestBody OrdersDTO ordersDTO) throws URISyntaxException {
+        log.debug("REST request to save Orders : {}", ordersDTO);
+        if (ordersDTO.getId() != null) {
             throw new BadRequestAlertException("A new orders cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        orders = ordersRepository.save(orders);
+        Orders orders = ordersRepository.save(ordersMapper.toEntity(ordersDTO));
+        outboxService.orderCreated(orders, List.of());
         return ResponseEntity.created(new URI("/api/orders/" + orders.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, orders.getId().toString()))
-            .body(orders);
+            .body(ordersMapper.toDto(orders));
     }
 
     /**
      * {@code PUT  /orders/:id} : Updates an existing orders.
      *
      * @param id the id of the orders to save.
-     * @param orders the orders to update.
+     * @param ordersDTO the ordersDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated orders,
      * or with status {@code 400 (Bad Request)} if the orders is not valid,
      * or with status {@code 500 (Internal Server Error)} if the orders couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Orders> updateOrders(@PathVariable(value = "id", required = false) final Long id, @RequestBody Orders orders)
-        throws URISyntaxException {
-        log.debug("REST request to update Orders : {}, {}", id, orders);
-        if (orders.getId() == null) {
+    public ResponseEntity<OrdersDTO> updateOrders(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestBody OrdersDTO ordersDTO
+    ) throws URISyntaxException {
+        log.debug("REST request to update Orders : {}, {}", id, ordersDTO);
+        if (ordersDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, orders.getId())) {
+        if (!Objects.equals(id, ordersDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -82,17 +110,18 @@ public class OrdersResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        orders = ordersRepository.save(orders);
+        Orders orders = ordersRepository.save(ordersMapper.toEntity(ordersDTO));
+        outboxService.orderUpdated(orders);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, orders.getId().toString()))
-            .body(orders);
+            .body(ordersMapper.toDto(orders));
     }
 
     /**
      * {@code PATCH  /orders/:id} : Partial updates given fields of an existing orders, field will ignore if it is null
      *
      * @param id the id of the orders to save.
-     * @param orders the orders to update.
+     * @param ordersDTO the ordersDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated orders,
      * or with status {@code 400 (Bad Request)} if the orders is not valid,
      * or with status {@code 404 (Not Found)} if the orders is not found,
@@ -100,15 +129,15 @@ public class OrdersResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Orders> partialUpdateOrders(
+    public ResponseEntity<OrdersDTO> partialUpdateOrders(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody Orders orders
+        @RequestBody OrdersDTO ordersDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Orders partially : {}, {}", id, orders);
-        if (orders.getId() == null) {
+        log.debug("REST request to partial update Orders partially : {}, {}", id, ordersDTO);
+        if (ordersDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, orders.getId())) {
+        if (!Objects.equals(id, ordersDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -116,38 +145,79 @@ public class OrdersResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Orders> result = ordersRepository
-            .findById(orders.getId())
+        Optional<OrdersDTO> result = ordersRepository
+            .findById(ordersDTO.getId())
             .map(existingOrders -> {
-                if (orders.getTotalPrice() != null) {
-                    existingOrders.setTotalPrice(orders.getTotalPrice());
-                }
-                if (orders.getOrderDate() != null) {
-                    existingOrders.setOrderDate(orders.getOrderDate());
-                }
-                if (orders.getStatus() != null) {
-                    existingOrders.setStatus(orders.getStatus());
-                }
+                ordersMapper.partialUpdate(existingOrders, ordersDTO);
 
                 return existingOrders;
             })
-            .map(ordersRepository::save);
+            .map(ordersRepository::save)
+            .map(orders -> {
+                outboxService.orderUpdated(orders);
+
+                return orders;
+            })
+            .map(ordersMapper::toDto);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, orders.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, ordersDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /orders} : get all the orders.
+     * {@code GET  /orders} : get a page of the orders, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of orders to return.
+     * @param count whether to also count all the orders, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orders in body.
      */
     @GetMapping("")
-    public List<Orders> getAllOrders() {
-        log.debug("REST request to get all Orders");
-        return ordersRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<OrdersDTO>> getAllOrders(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of Orders");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<OrdersDTO> page = ordersRepository
+            .findApiRowPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+            .stream()
+            .map(ordersMapper::toDto)
+            .toList();
+        return KeysetPaginationUtil.pageResponse(page, pageSize, OrdersDTO::getId, count ? ordersRepository::count : null);
+    }
+
+    /**
+     * {@code GET  /orders/export} : export the orders with their orderItems, as newline-delimited JSON.
+     * <p>
+     * Orders are written while they are read, one JSON object per line, so the export can be as large as the table.
+     *
+     * @param from the first order date to export, included, if any.
+     * @param to the last order date to export, excluded, if any.
+     * @param response the response the orders are written to, with status {@code 200 (OK)},
+     * or with status {@code 400 (Bad Request)} if {@code from} is not before {@code to}.
+     * @throws IOException if the response could not be written.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    @Transactional(readOnly = true)
+    public void exportOrders(
+        @RequestParam(name = "from", required = false) Instant from,
+        @RequestParam(name = "to", required = false) Instant to,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export Orders from {} to {}", from, to);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestAlertException("The export must start before it ends", ENTITY_NAME, "rangeinvalid");
+        }
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ordersExportService.export(from, to, response.getOutputStream());
     }
 
     /**
@@ -157,10 +227,11 @@ public class OrdersResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the orders, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Orders> getOrders(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<OrdersDTO> getOrders(@PathVariable("id") Long id) {
         log.debug("REST request to get Orders : {}", id);
-        Optional<Orders> orders = ordersRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(orders);
+        Optional<OrdersDTO> ordersDTO = ordersRepository.findApiRowById(id).map(ordersMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(ordersDTO);
     }
 
     /**
@@ -172,7 +243,12 @@ public class OrdersResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrders(@PathVariable("id") Long id) {
         log.debug("REST request to delete Orders : {}", id);
-        ordersRepository.deleteById(id);
+        ordersRepository
+            .findById(id)
+            .ifPresent(orders -> {
+                ordersRepository.delete(orders);
+                outboxService.orderDeleted(id);
+            });
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
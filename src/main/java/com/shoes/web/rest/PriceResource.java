@@ -0,0 +1,50 @@
+package com.shoes.web.rest;
+
+import com.shoes.service.PricingService;
+import com.shoes.service.dto.PriceDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for looking up the effective prices of {@link com.shoes.domain.ShoeVariantColors}, sales included.
+ */
+@RestController
+@RequestMapping("/api/prices")
+public class PriceResource {
+
+    private final Logger log = LoggerFactory.getLogger(PriceResource.class);
+
+    private final PricingService pricingService;
+
+    public PriceResource(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    /**
+     * {@code GET  /prices?shoeVariantsId=:shoeVariantsId} : get the current prices of the shoeVariantColors of a variant.
+     *
+     * @param shoeVariantsId the id of the shoeVariants.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of prices in body.
+     */
+    @GetMapping("")
+    public List<PriceDTO> getPrices(@RequestParam("shoeVariantsId") Long shoeVariantsId) {
+        log.debug("REST request to get the prices of ShoeVariants : {}", shoeVariantsId);
+        return pricingService.getPrices(shoeVariantsId);
+    }
+
+    /**
+     * {@code GET  /prices/:shoeVariantColorsId} : get the current price of a shoeVariantColors.
+     *
+     * @param shoeVariantColorsId the id of the shoeVariantColors.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the price, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{shoeVariantColorsId}")
+    public ResponseEntity<PriceDTO> getPrice(@PathVariable("shoeVariantColorsId") Long shoeVariantColorsId) {
+        log.debug("REST request to get the price of ShoeVariantColors : {}", shoeVariantColorsId);
+        return ResponseUtil.wrapOrNotFound(pricingService.getPrice(shoeVariantColorsId));
+    }
+}
@@ -2,7 +2,11 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Sales;
 import com.shoes.repository.SalesRepository;
+import com.shoes.service.PricingService;
+import com.shoes.service.dto.SalesDTO;
+import com.shoes.service.mapper.SalesMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,47 +38,53 @@ public class SalesResource {
 
     private final SalesRepository salesRepository;
 
-    public SalesResource(SalesRepository salesRepository) {
+    private final SalesMapper salesMapper;
+
+    private final PricingService pricingService;
+
+    public SalesResource(SalesRepository salesRepository, SalesMapper salesMapper, PricingService pricingService) {
         this.salesRepository = salesRepository;
+        this.salesMapper = salesMapper;
+        this.pricingService = pricingService;
     }
 
     /**
      * {@code POST  /sales} : Create a new sales.
      *
-     * @param sales the sales to create.
+     * @param salesDTO the salesDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new sales, or with status {@code 400 (Bad Request)} if the sales has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Sales> createSales(@RequestBody Sales sales) throws URISyntaxException {
-        log.debug("REST request to save Sales : {}", sales);
-        if (sales.getId() != null) {
+    public ResponseEntity<SalesDTO> createSales(@RequestBody SalesDTO salesDTO) throws URISyntaxException {
+        log.debug("REST request to save Sales : {}", salesDTO);
+        if (salesDTO.getId() != null) {
             throw new BadRequestAlertException("A new sales cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        sales = salesRepository.save(sales);
+        Sales sales = salesRepository.save(salesMapper.toEntity(salesDTO));
         return ResponseEntity.created(new URI("/api/sales/" + sales.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, sales.getId().toString()))
-            .body(sales);
+            .body(salesMapper.toDto(sales));
     }
 
     /**
      * {@code PUT  /sales/:id} : Updates an existing sales.
      *
      * @param id the id of the sales to save.
-     * @param sales the sales to update.
+     * @param salesDTO the salesDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated sales,
      * or with status {@code 400 (Bad Request)} if the sales is not valid,
      * or with status {@code 500 (Internal Server Error)} if the sales couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Sales> updateSales(@PathVariable(value = "id", required = false) final Long id, @RequestBody Sales sales)
+    public ResponseEntity<SalesDTO> updateSales(@PathVariable(value = "id", required = false) final Long id, @RequestBody SalesDTO salesDTO)
         throws URISyntaxException {
-        log.debug("REST request to update Sales : {}, {}", id, sales);
-        if (sales.getId() == null) {
+        log.debug("REST request to update Sales : {}, {}", id, salesDTO);
+        if (salesDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, sales.getId())) {
+        if (!Objects.equals(id, salesDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -82,17 +92,18 @@ public class SalesResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        sales = salesRepository.save(sales);
+        Sales sales = salesRepository.save(salesMapper.toEntity(salesDTO));
+        pricingService.reloadSales(sales.getId());
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, sales.getId().toString()))
-            .body(sales);
+            .body(salesMapper.toDto(sales));
     }
 
     /**
      * {@code PATCH  /sales/:id} : Partial updates given fields of an existing sales, field will ignore if it is null
      *
      * @param id the id of the sales to save.
-     * @param sales the sales to update.
+     * @param salesDTO the salesDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated sales,
      * or with status {@code 400 (Bad Request)} if the sales is not valid,
      * or with status {@code 404 (Not Found)} if the sales is not found,
@@ -100,13 +111,15 @@ public class SalesResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Sales> partialUpdateSales(@PathVariable(value = "id", required = false) final Long id, @RequestBody Sales sales)
-        throws URISyntaxException {
-        log.debug("REST request to partial update Sales partially : {}, {}", id, sales);
-        if (sales.getId() == null) {
+    public ResponseEntity<SalesDTO> partialUpdateSales(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestBody SalesDTO salesDTO
+    ) throws URISyntaxException {
+        log.debug("REST request to partial update Sales partially : {}, {}", id, salesDTO);
+        if (salesDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, sales.getId())) {
+        if (!Objects.equals(id, salesDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -114,41 +127,43 @@ public class SalesResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Sales> result = salesRepository
-            .findById(sales.getId())
+        Optional<SalesDTO> result = salesRepository
+            .findById(salesDTO.getId())
             .map(existingSales -> {
-                if (sales.getStartDate() != null) {
-                    existingSales.setStartDate(sales.getStartDate());
-                }
-                if (sales.getEndDate() != null) {
-                    existingSales.setEndDate(sales.getEndDate());
-                }
-                if (sales.getDiscountPercentage() != null) {
-                    existingSales.setDiscountPercentage(sales.getDiscountPercentage());
-                }
-                if (sales.getNewPrice() != null) {
-                    existingSales.setNewPrice(sales.getNewPrice());
-                }
+                salesMapper.partialUpdate(existingSales, salesDTO);
 
                 return existingSales;
             })
-            .map(salesRepository::save);
+            .map(salesRepository::save)
+            .map(salesMapper::toDto);
+        result.ifPresent(saved -> pricingService.reloadSales(saved.getId()));
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, sales.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, salesDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /sales} : get all the sales.
+     * {@code GET  /sales} : get a page of the sales, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of sales to return.
+     * @param count whether to also count all the sales, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of sales in body.
      */
     @GetMapping("")
-    public List<Sales> getAllSales() {
-        log.debug("REST request to get all Sales");
-        return salesRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<SalesDTO>> getAllSales(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of Sales");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<SalesDTO> page = salesMapper.toDto(salesRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize)));
+        return KeysetPaginationUtil.pageResponse(page, pageSize, SalesDTO::getId, count ? salesRepository::count : null);
     }
 
     /**
@@ -158,10 +173,11 @@ public class SalesResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the sales, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Sales> getSales(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<SalesDTO> getSales(@PathVariable("id") Long id) {
         log.debug("REST request to get Sales : {}", id);
-        Optional<Sales> sales = salesRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(sales);
+        Optional<SalesDTO> salesDTO = salesRepository.findById(id).map(salesMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(salesDTO);
     }
 
     /**
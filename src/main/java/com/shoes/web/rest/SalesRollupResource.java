@@ -0,0 +1,83 @@
+package com.shoes.web.rest;
+
+import com.shoes.security.AuthoritiesConstants;
+import com.shoes.service.SalesRollupService;
+import com.shoes.service.SalesRollupService.Dimension;
+import com.shoes.service.dto.SalesRollupDTO;
+import com.shoes.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for reporting sales out of the {@link com.shoes.domain.SalesRollup}.
+ */
+@RestController
+@RequestMapping("/api/sales-rollups")
+@PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+public class SalesRollupResource {
+
+    private final Logger log = LoggerFactory.getLogger(SalesRollupResource.class);
+
+    private static final String ENTITY_NAME = "salesRollup";
+
+    private final SalesRollupService salesRollupService;
+
+    public SalesRollupResource(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    /**
+     * {@code GET  /sales-rollups} : get the units and revenue sold over a range of days.
+     *
+     * @param from the first day, included.
+     * @param to the last day, included.
+     * @param brandId the id of the brand to restrict the sales to, if any.
+     * @param categoryId the id of the category to restrict the sales to, if any.
+     * @param shoePurposeId the id of the shoePurpose to restrict the sales to, if any.
+     * @param groupBy the dimensions to group the sales by, all of them by default.
+     * @return the list of sales of each group, by day, or with status {@code 400 (Bad Request)} if {@code from} is
+     * after {@code to}.
+     */
+    @GetMapping("")
+    public List<SalesRollupDTO> getSales(
+        @RequestParam(name = "from") LocalDate from,
+        @RequestParam(name = "to") LocalDate to,
+        @RequestParam(name = "brandId", required = false) Integer brandId,
+        @RequestParam(name = "categoryId", required = false) Long categoryId,
+        @RequestParam(name = "shoePurposeId", required = false) Integer shoePurposeId,
+        @RequestParam(name = "groupBy", required = false) Set<Dimension> groupBy
+    ) {
+        log.debug("REST request to get the sales from {} to {} grouped by {}", from, to, groupBy);
+        if (from.isAfter(to)) {
+            throw new BadRequestAlertException("The range must start before it ends", ENTITY_NAME, "rangeinvalid");
+        }
+        return salesRollupService.getSales(
+            from,
+            to,
+            brandId,
+            categoryId,
+            shoePurposeId,
+            groupBy == null || groupBy.isEmpty() ? EnumSet.allOf(Dimension.class) : groupBy
+        );
+    }
+
+    /**
+     * {@code POST  /sales-rollups/rebuild} : fill the rollup again from every order, counting the orders changed since
+     * they were added.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuildSalesRollup() {
+        log.debug("REST request to rebuild the sales rollup");
+        salesRollupService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,7 +2,12 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.ShoePurpose;
 import com.shoes.repository.ShoePurposeRepository;
+import com.shoes.service.CatalogSearchService;
+import com.shoes.service.CatalogVersionService;
+import com.shoes.service.dto.ShoePurposeDTO;
+import com.shoes.service.mapper.ShoePurposeMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,49 +39,64 @@ public class ShoePurposeResource {
 
     private final ShoePurposeRepository shoePurposeRepository;
 
-    public ShoePurposeResource(ShoePurposeRepository shoePurposeRepository) {
+    private final ShoePurposeMapper shoePurposeMapper;
+
+    private final CatalogSearchService catalogSearchService;
+
+    private final CatalogVersionService catalogVersionService;
+
+    public ShoePurposeResource(
+        ShoePurposeRepository shoePurposeRepository,
+        ShoePurposeMapper shoePurposeMapper,
+        CatalogSearchService catalogSearchService,
+        CatalogVersionService catalogVersionService
+    ) {
         this.shoePurposeRepository = shoePurposeRepository;
+        this.shoePurposeMapper = shoePurposeMapper;
+        this.catalogSearchService = catalogSearchService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     /**
      * {@code POST  /shoe-purposes} : Create a new shoePurpose.
      *
-     * @param shoePurpose the shoePurpose to create.
+     * @param shoePurposeDTO the shoePurposeDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new shoePurpose, or with status {@code 400 (Bad Request)} if the shoePurpose has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<ShoePurpose> createShoePurpose(@RequestBody ShoePurpose shoePurpose) throws URISyntaxException {
-        log.debug("REST request to save ShoePurpose : {}", shoePurpose);
-        if (shoePurpose.getId() != null) {
+    public ResponseEntity<ShoePurposeDTO> createShoePurpose(@RequestBody ShoePurposeDTO shoePurposeDTO) throws URISyntaxException {
+        log.debug("REST request to save ShoePurpose : {}", shoePurposeDTO);
+        if (shoePurposeDTO.getId() != null) {
             throw new BadRequestAlertException("A new shoePurpose cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        shoePurpose = shoePurposeRepository.save(shoePurpose);
+        ShoePurpose shoePurpose = shoePurposeRepository.save(shoePurposeMapper.toEntity(shoePurposeDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.created(new URI("/api/shoe-purposes/" + shoePurpose.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, shoePurpose.getId().toString()))
-            .body(shoePurpose);
+            .body(shoePurposeMapper.toDto(shoePurpose));
     }
 
     /**
      * {@code PUT  /shoe-purposes/:id} : Updates an existing shoePurpose.
      *
      * @param id the id of the shoePurpose to save.
-     * @param shoePurpose the shoePurpose to update.
+     * @param shoePurposeDTO the shoePurposeDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoePurpose,
      * or with status {@code 400 (Bad Request)} if the shoePurpose is not valid,
      * or with status {@code 500 (Internal Server Error)} if the shoePurpose couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ShoePurpose> updateShoePurpose(
+    public ResponseEntity<ShoePurposeDTO> updateShoePurpose(
         @PathVariable(value = "id", required = false) final Integer id,
-        @RequestBody ShoePurpose shoePurpose
+        @RequestBody ShoePurposeDTO shoePurposeDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update ShoePurpose : {}, {}", id, shoePurpose);
-        if (shoePurpose.getId() == null) {
+        log.debug("REST request to update ShoePurpose : {}, {}", id, shoePurposeDTO);
+        if (shoePurposeDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoePurpose.getId())) {
+        if (!Objects.equals(id, shoePurposeDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -84,17 +104,19 @@ public class ShoePurposeResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        shoePurpose = shoePurposeRepository.save(shoePurpose);
+        ShoePurpose shoePurpose = shoePurposeRepository.save(shoePurposeMapper.toEntity(shoePurposeDTO));
+        catalogVersionService.bump(ENTITY_NAME);
+        catalogSearchService.invalidate();
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoePurpose.getId().toString()))
-            .body(shoePurpose);
+            .body(shoePurposeMapper.toDto(shoePurpose));
     }
 
     /**
      * {@code PATCH  /shoe-purposes/:id} : Partial updates given fields of an existing shoePurpose, field will ignore if it is null
      *
      * @param id the id of the shoePurpose to save.
-     * @param shoePurpose the shoePurpose to update.
+     * @param shoePurposeDTO the shoePurposeDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoePurpose,
      * or with status {@code 400 (Bad Request)} if the shoePurpose is not valid,
      * or with status {@code 404 (Not Found)} if the shoePurpose is not found,
@@ -102,15 +124,15 @@ public class ShoePurposeResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<ShoePurpose> partialUpdateShoePurpose(
+    public ResponseEntity<ShoePurposeDTO> partialUpdateShoePurpose(
         @PathVariable(value = "id", required = false) final Integer id,
-        @RequestBody ShoePurpose shoePurpose
+        @RequestBody ShoePurposeDTO shoePurposeDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update ShoePurpose partially : {}, {}", id, shoePurpose);
-        if (shoePurpose.getId() == null) {
+        log.debug("REST request to partial update ShoePurpose partially : {}, {}", id, shoePurposeDTO);
+        if (shoePurposeDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoePurpose.getId())) {
+        if (!Objects.equals(id, shoePurposeDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -118,32 +140,46 @@ public class ShoePurposeResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<ShoePurpose> result = shoePurposeRepository
-            .findById(shoePurpose.getId())
+        Optional<ShoePurposeDTO> result = shoePurposeRepository
+            .findById(shoePurposeDTO.getId())
             .map(existingShoePurpose -> {
-                if (shoePurpose.getType() != null) {
-                    existingShoePurpose.setType(shoePurpose.getType());
-                }
+                shoePurposeMapper.partialUpdate(existingShoePurpose, shoePurposeDTO);
 
                 return existingShoePurpose;
             })
-            .map(shoePurposeRepository::save);
+            .map(shoePurposeRepository::save)
+            .map(shoePurposeMapper::toDto);
+        catalogVersionService.bump(ENTITY_NAME);
+        catalogSearchService.invalidate();
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoePurpose.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoePurposeDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /shoe-purposes} : get all the shoePurposes.
+     * {@code GET  /shoe-purposes} : get a page of the shoePurposes, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of shoePurposes to return.
+     * @param count whether to also count all the shoePurposes, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shoePurposes in body.
      */
     @GetMapping("")
-    public List<ShoePurpose> getAllShoePurposes() {
-        log.debug("REST request to get all ShoePurposes");
-        return shoePurposeRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ShoePurposeDTO>> getAllShoePurposes(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of ShoePurposes");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Integer afterId = KeysetPaginationUtil.decodeCursor(after, Integer::valueOf);
+        List<ShoePurposeDTO> page = shoePurposeMapper.toDto(
+            shoePurposeRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+        );
+        return KeysetPaginationUtil.pageResponse(page, pageSize, ShoePurposeDTO::getId, count ? shoePurposeRepository::count : null);
     }
 
     /**
@@ -153,10 +189,11 @@ public class ShoePurposeResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the shoePurpose, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ShoePurpose> getShoePurpose(@PathVariable("id") Integer id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<ShoePurposeDTO> getShoePurpose(@PathVariable("id") Integer id) {
         log.debug("REST request to get ShoePurpose : {}", id);
-        Optional<ShoePurpose> shoePurpose = shoePurposeRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(shoePurpose);
+        Optional<ShoePurposeDTO> shoePurposeDTO = shoePurposeRepository.findById(id).map(shoePurposeMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(shoePurposeDTO);
     }
 
     /**
@@ -169,6 +206,8 @@ public class ShoePurposeResource {
     public ResponseEntity<Void> deleteShoePurpose(@PathVariable("id") Integer id) {
         log.debug("REST request to delete ShoePurpose : {}", id);
         shoePurposeRepository.deleteById(id);
+        catalogVersionService.bump(ENTITY_NAME);
+        catalogSearchService.invalidate();
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
@@ -2,7 +2,12 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.ShoeVariantColors;
 import com.shoes.repository.ShoeVariantColorsRepository;
+import com.shoes.service.CatalogSearchService;
+import com.shoes.service.PricingService;
+import com.shoes.service.dto.ShoeVariantColorsDTO;
+import com.shoes.service.mapper.ShoeVariantColorsMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,50 +39,66 @@ public class ShoeVariantColorsResource {
 
     private final ShoeVariantColorsRepository shoeVariantColorsRepository;
 
-    public ShoeVariantColorsResource(ShoeVariantColorsRepository shoeVariantColorsRepository) {
+    private final ShoeVariantColorsMapper shoeVariantColorsMapper;
+
+    private final CatalogSearchService catalogSearchService;
+
+    private final PricingService pricingService;
+
+    public ShoeVariantColorsResource(
+        ShoeVariantColorsRepository shoeVariantColorsRepository,
+        ShoeVariantColorsMapper shoeVariantColorsMapper,
+        CatalogSearchService catalogSearchService,
+        PricingService pricingService
+    ) {
         this.shoeVariantColorsRepository = shoeVariantColorsRepository;
+        this.shoeVariantColorsMapper = shoeVariantColorsMapper;
+        this.catalogSearchService = catalogSearchService;
+        this.pricingService = pricingService;
     }
 
     /**
      * {@code POST  /shoe-variant-colors} : Create a new shoeVariantColors.
      *
-     * @param shoeVariantColors the shoeVariantColors to create.
+     * @param shoeVariantColorsDTO the shoeVariantColorsDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new shoeVariantColors, or with status {@code 400 (Bad Request)} if the shoeVariantColors has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<ShoeVariantColors> createShoeVariantColors(@RequestBody ShoeVariantColors shoeVariantColors)
+    public ResponseEntity<ShoeVariantColorsDTO> createShoeVariantColors(@RequestBody ShoeVariantColorsDTO shoeVariantColorsDTO)
         throws URISyntaxException {
-        log.debug("REST request to save ShoeVariantColors : {}", shoeVariantColors);
-        if (shoeVariantColors.getId() != null) {
+        log.debug("REST request to save ShoeVariantColors : {}", shoeVariantColorsDTO);
+        if (shoeVariantColorsDTO.getId() != null) {
             throw new BadRequestAlertException("A new shoeVariantColors cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        shoeVariantColors = shoeVariantColorsRepository.save(shoeVariantColors);
+        ShoeVariantColors shoeVariantColors = shoeVariantColorsRepository.save(shoeVariantColorsMapper.toEntity(shoeVariantColorsDTO));
+        catalogSearchService.reindexShoeVariantColors(shoeVariantColors.getId());
+        pricingService.reloadShoeVariantColors(shoeVariantColors.getId());
         return ResponseEntity.created(new URI("/api/shoe-variant-colors/" + shoeVariantColors.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, shoeVariantColors.getId().toString()))
-            .body(shoeVariantColors);
+            .body(shoeVariantColorsMapper.toDto(shoeVariantColors));
     }
 
     /**
      * {@code PUT  /shoe-variant-colors/:id} : Updates an existing shoeVariantColors.
      *
      * @param id the id of the shoeVariantColors to save.
-     * @param shoeVariantColors the shoeVariantColors to update.
+     * @param shoeVariantColorsDTO the shoeVariantColorsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoeVariantColors,
      * or with status {@code 400 (Bad Request)} if the shoeVariantColors is not valid,
      * or with status {@code 500 (Internal Server Error)} if the shoeVariantColors couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ShoeVariantColors> updateShoeVariantColors(
+    public ResponseEntity<ShoeVariantColorsDTO> updateShoeVariantColors(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody ShoeVariantColors shoeVariantColors
+        @RequestBody ShoeVariantColorsDTO shoeVariantColorsDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update ShoeVariantColors : {}, {}", id, shoeVariantColors);
-        if (shoeVariantColors.getId() == null) {
+        log.debug("REST request to update ShoeVariantColors : {}, {}", id, shoeVariantColorsDTO);
+        if (shoeVariantColorsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoeVariantColors.getId())) {
+        if (!Objects.equals(id, shoeVariantColorsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -85,17 +106,19 @@ public class ShoeVariantColorsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        shoeVariantColors = shoeVariantColorsRepository.save(shoeVariantColors);
+        ShoeVariantColors shoeVariantColors = shoeVariantColorsRepository.save(shoeVariantColorsMapper.toEntity(shoeVariantColorsDTO));
+        catalogSearchService.reindexShoeVariantColors(shoeVariantColors.getId());
+        pricingService.reloadShoeVariantColors(shoeVariantColors.getId());
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoeVariantColors.getId().toString()))
-            .body(shoeVariantColors);
+            .body(shoeVariantColorsMapper.toDto(shoeVariantColors));
     }
 
     /**
      * {@code PATCH  /shoe-variant-colors/:id} : Partial updates given fields of an existing shoeVariantColors, field will ignore if it is null
      *
      * @param id the id of the shoeVariantColors to save.
-     * @param shoeVariantColors the shoeVariantColors to update.
+     * @param shoeVariantColorsDTO the shoeVariantColorsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoeVariantColors,
      * or with status {@code 400 (Bad Request)} if the shoeVariantColors is not valid,
      * or with status {@code 404 (Not Found)} if the shoeVariantColors is not found,
@@ -103,15 +126,15 @@ public class ShoeVariantColorsResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<ShoeVariantColors> partialUpdateShoeVariantColors(
+    public ResponseEntity<ShoeVariantColorsDTO> partialUpdateShoeVariantColors(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody ShoeVariantColors shoeVariantColors
+        @RequestBody ShoeVariantColorsDTO shoeVariantColorsDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update ShoeVariantColors partially : {}, {}", id, shoeVariantColors);
-        if (shoeVariantColors.getId() == null) {
+        log.debug("REST request to partial update ShoeVariantColors partially : {}, {}", id, shoeVariantColorsDTO);
+        if (shoeVariantColorsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoeVariantColors.getId())) {
+        if (!Objects.equals(id, shoeVariantColorsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -119,35 +142,55 @@ public class ShoeVariantColorsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<ShoeVariantColors> result = shoeVariantColorsRepository
-            .findById(shoeVariantColors.getId())
+        Optional<ShoeVariantColorsDTO> result = shoeVariantColorsRepository
+            .findById(shoeVariantColorsDTO.getId())
             .map(existingShoeVariantColors -> {
-                if (shoeVariantColors.getPrice() != null) {
-                    existingShoeVariantColors.setPrice(shoeVariantColors.getPrice());
-                }
-                if (shoeVariantColors.getImageUrl() != null) {
-                    existingShoeVariantColors.setImageUrl(shoeVariantColors.getImageUrl());
-                }
+                shoeVariantColorsMapper.partialUpdate(existingShoeVariantColors, shoeVariantColorsDTO);
 
                 return existingShoeVariantColors;
             })
-            .map(shoeVariantColorsRepository::save);
+            .map(shoeVariantColorsRepository::save)
+            .map(shoeVariantColorsMapper::toDto);
+        result.ifPresent(saved -> {
+            catalogSearchService.reindexShoeVariantColors(saved.getId());
+            pricingService.reloadShoeVariantColors(saved.getId());
+        });
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoeVariantColors.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoeVariantColorsDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /shoe-variant-colors} : get all the shoeVariantColors.
+     * {@code GET  /shoe-variant-colors} : get a page of the shoeVariantColors, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of shoeVariantColors to return.
+     * @param count whether to also count all the shoeVariantColors, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shoeVariantColors in body.
      */
     @GetMapping("")
-    public List<ShoeVariantColors> getAllShoeVariantColors() {
-        log.debug("REST request to get all ShoeVariantColors");
-        return shoeVariantColorsRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ShoeVariantColorsDTO>> getAllShoeVariantColors(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of ShoeVariantColors");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<ShoeVariantColorsDTO> page = shoeVariantColorsRepository
+            .findApiRowPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+            .stream()
+            .map(shoeVariantColorsMapper::toDto)
+            .toList();
+        return KeysetPaginationUtil.pageResponse(
+            page,
+            pageSize,
+            ShoeVariantColorsDTO::getId,
+            count ? shoeVariantColorsRepository::count : null
+        );
     }
 
     /**
@@ -157,10 +200,13 @@ public class ShoeVariantColorsResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the shoeVariantColors, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ShoeVariantColors> getShoeVariantColors(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<ShoeVariantColorsDTO> getShoeVariantColors(@PathVariable("id") Long id) {
         log.debug("REST request to get ShoeVariantColors : {}", id);
-        Optional<ShoeVariantColors> shoeVariantColors = shoeVariantColorsRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(shoeVariantColors);
+        Optional<ShoeVariantColorsDTO> shoeVariantColorsDTO = shoeVariantColorsRepository
+            .findApiRowById(id)
+            .map(shoeVariantColorsMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(shoeVariantColorsDTO);
     }
 
     /**
@@ -173,6 +219,8 @@ public class ShoeVariantColorsResource {
     public ResponseEntity<Void> deleteShoeVariantColors(@PathVariable("id") Long id) {
         log.debug("REST request to delete ShoeVariantColors : {}", id);
         shoeVariantColorsRepository.deleteById(id);
+        catalogSearchService.reindexShoeVariantColors(id);
+        pricingService.reloadShoeVariantColors(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
@@ -2,7 +2,13 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.ShoeVariantSizes;
 import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.service.CatalogSearchService;
+import com.shoes.service.OutboxService;
+import com.shoes.service.StockStreamService;
+import com.shoes.service.dto.ShoeVariantSizesDTO;
+import com.shoes.service.mapper.ShoeVariantSizesMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -12,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
@@ -34,84 +41,114 @@ public class ShoeVariantSizesResource {
 
     private final ShoeVariantSizesRepository shoeVariantSizesRepository;
 
-    public ShoeVariantSizesResource(ShoeVariantSizesRepository shoeVariantSizesRepository) {
+    private final ShoeVariantSizesMapper shoeVariantSizesMapper;
+
+    private final CatalogSearchService catalogSearchService;
+
+    private final OutboxService outboxService;
+
+    private final StockStreamService stockStreamService;
+
+    public ShoeVariantSizesResource(
+        ShoeVariantSizesRepository shoeVariantSizesRepository,
+        ShoeVariantSizesMapper shoeVariantSizesMapper,
+        CatalogSearchService catalogSearchService,
+        OutboxService outboxService,
+        StockStreamService stockStreamService
+    ) {
         this.shoeVariantSizesRepository = shoeVariantSizesRepository;
+        this.shoeVariantSizesMapper = shoeVariantSizesMapper;
+        this.catalogSearchService = catalogSearchService;
+        this.outboxService = outboxService;
+        this.stockStreamService = stockStreamService;
     }
 
     /**
      * {@code POST  /shoe-variant-sizes} : Create a new shoeVariantSizes.
      *
-     * @param shoeVariantSizes the shoeVariantSizes to create.
+     * @param shoeVariantSizesDTO the shoeVariantSizesDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new shoeVariantSizes, or with status {@code 400 (Bad Request)} if the shoeVariantSizes has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<ShoeVariantSizes> createShoeVariantSizes(@RequestBody ShoeVariantSizes shoeVariantSizes)
+    public ResponseEntity<ShoeVariantSizesDTO> createShoeVariantSizes(@RequestBody ShoeVariantSizesDTO shoeVariantSizesDTO)
         throws URISyntaxException {
-        log.debug("REST request to save ShoeVariantSizes : {}", shoeVariantSizes);
-        if (shoeVariantSizes.getId() != null) {
+        log.debug("REST request to save ShoeVariantSizes : {}", shoeVariantSizesDTO);
+        if (shoeVariantSizesDTO.getId() != null) {
             throw new BadRequestAlertException("A new shoeVariantSizes cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        shoeVariantSizes = shoeVariantSizesRepository.save(shoeVariantSizes);
+        ShoeVariantSizes shoeVariantSizes = shoeVariantSizesRepository.save(shoeVariantSizesMapper.toEntity(shoeVariantSizesDTO));
+        catalogSearchService.reindexShoeVariantSizes(shoeVariantSizes.getId());
+        outboxService.stockChanged(shoeVariantSizes.getId());
+        stockStreamService.stockChanged(shoeVariantSizes.getId());
         return ResponseEntity.created(new URI("/api/shoe-variant-sizes/" + shoeVariantSizes.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, shoeVariantSizes.getId().toString()))
-            .body(shoeVariantSizes);
+            .body(shoeVariantSizesMapper.toDto(shoeVariantSizes));
     }
 
     /**
      * {@code PUT  /shoe-variant-sizes/:id} : Updates an existing shoeVariantSizes.
      *
      * @param id the id of the shoeVariantSizes to save.
-     * @param shoeVariantSizes the shoeVariantSizes to update.
+     * @param shoeVariantSizesDTO the shoeVariantSizesDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoeVariantSizes,
-     * or with status {@code 400 (Bad Request)} if the shoeVariantSizes is not valid,
+     * or with status {@code 400 (Bad Request)} if the shoeVariantSizes is not valid or has no version,
+     * or with status {@code 409 (Conflict)} if the shoeVariantSizes was written since its version was read,
      * or with status {@code 500 (Internal Server Error)} if the shoeVariantSizes couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ShoeVariantSizes> updateShoeVariantSizes(
+    public ResponseEntity<ShoeVariantSizesDTO> updateShoeVariantSizes(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody ShoeVariantSizes shoeVariantSizes
+        @RequestBody ShoeVariantSizesDTO shoeVariantSizesDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update ShoeVariantSizes : {}, {}", id, shoeVariantSizes);
-        if (shoeVariantSizes.getId() == null) {
+        log.debug("REST request to update ShoeVariantSizes : {}, {}", id, shoeVariantSizesDTO);
+        if (shoeVariantSizesDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoeVariantSizes.getId())) {
+        if (!Objects.equals(id, shoeVariantSizesDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
         if (!shoeVariantSizesRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        if (shoeVariantSizesDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
+        }
 
-        shoeVariantSizes = shoeVariantSizesRepository.save(shoeVariantSizes);
+        // Refused with a conflict unless the version is still the one read: the stock may have been taken since.
+        ShoeVariantSizes shoeVariantSizes = shoeVariantSizesRepository.save(shoeVariantSizesMapper.toEntity(shoeVariantSizesDTO));
+        catalogSearchService.reindexShoeVariantSizes(shoeVariantSizes.getId());
+        outboxService.stockChanged(shoeVariantSizes.getId());
+        stockStreamService.stockChanged(shoeVariantSizes.getId());
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoeVariantSizes.getId().toString()))
-            .body(shoeVariantSizes);
+            .body(shoeVariantSizesMapper.toDto(shoeVariantSizes));
     }
 
     /**
      * {@code PATCH  /shoe-variant-sizes/:id} : Partial updates given fields of an existing shoeVariantSizes, field will ignore if it is null
      *
      * @param id the id of the shoeVariantSizes to save.
-     * @param shoeVariantSizes the shoeVariantSizes to update.
+     * @param shoeVariantSizesDTO the shoeVariantSizesDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoeVariantSizes,
-     * or with status {@code 400 (Bad Request)} if the shoeVariantSizes is not valid,
+     * or with status {@code 400 (Bad Request)} if the shoeVariantSizes is not valid, or updates the quantity without a version,
      * or with status {@code 404 (Not Found)} if the shoeVariantSizes is not found,
+     * or with status {@code 409 (Conflict)} if the shoeVariantSizes was written since its version was read,
      * or with status {@code 500 (Internal Server Error)} if the shoeVariantSizes couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<ShoeVariantSizes> partialUpdateShoeVariantSizes(
+    public ResponseEntity<ShoeVariantSizesDTO> partialUpdateShoeVariantSizes(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody ShoeVariantSizes shoeVariantSizes
+        @RequestBody ShoeVariantSizesDTO shoeVariantSizesDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update ShoeVariantSizes partially : {}, {}", id, shoeVariantSizes);
-        if (shoeVariantSizes.getId() == null) {
+        log.debug("REST request to partial update ShoeVariantSizes partially : {}, {}", id, shoeVariantSizesDTO);
+        if (shoeVariantSizesDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoeVariantSizes.getId())) {
+        if (!Objects.equals(id, shoeVariantSizesDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -119,35 +156,66 @@ public class ShoeVariantSizesResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<ShoeVariantSizes> result = shoeVariantSizesRepository
-            .findById(shoeVariantSizes.getId())
+        if (shoeVariantSizesDTO.getQuantity() != null && shoeVariantSizesDTO.getVersion() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versionnull");
+        }
+
+        Optional<ShoeVariantSizesDTO> result = shoeVariantSizesRepository
+            .findById(shoeVariantSizesDTO.getId())
             .map(existingShoeVariantSizes -> {
-                if (shoeVariantSizes.getQuantity() != null) {
-                    existingShoeVariantSizes.setQuantity(shoeVariantSizes.getQuantity());
-                }
-                if (shoeVariantSizes.getStatus() != null) {
-                    existingShoeVariantSizes.setStatus(shoeVariantSizes.getStatus());
+                if (
+                    shoeVariantSizesDTO.getVersion() != null &&
+                    !shoeVariantSizesDTO.getVersion().equals(existingShoeVariantSizes.getVersion())
+                ) {
+                    throw new ObjectOptimisticLockingFailureException(ShoeVariantSizes.class, id);
                 }
+                shoeVariantSizesMapper.partialUpdate(existingShoeVariantSizes, shoeVariantSizesDTO);
 
                 return existingShoeVariantSizes;
             })
-            .map(shoeVariantSizesRepository::save);
+            .map(shoeVariantSizesRepository::save)
+            .map(shoeVariantSizesMapper::toDto);
+        result.ifPresent(saved -> {
+            catalogSearchService.reindexShoeVariantSizes(saved.getId());
+            outboxService.stockChanged(saved.getId());
+            stockStreamService.stockChanged(saved.getId());
+        });
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoeVariantSizes.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoeVariantSizesDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /shoe-variant-sizes} : get all the shoeVariantSizes.
+     * {@code GET  /shoe-variant-sizes} : get a page of the shoeVariantSizes, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of shoeVariantSizes to return.
+     * @param count whether to also count all the shoeVariantSizes, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shoeVariantSizes in body.
      */
     @GetMapping("")
-    public List<ShoeVariantSizes> getAllShoeVariantSizes() {
-        log.debug("REST request to get all ShoeVariantSizes");
-        return shoeVariantSizesRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ShoeVariantSizesDTO>> getAllShoeVariantSizes(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of ShoeVariantSizes");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<ShoeVariantSizesDTO> page = shoeVariantSizesRepository
+            .findApiRowPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+            .stream()
+            .map(shoeVariantSizesMapper::toDto)
+            .toList();
+        return KeysetPaginationUtil.pageResponse(
+            page,
+            pageSize,
+            ShoeVariantSizesDTO::getId,
+            count ? shoeVariantSizesRepository::count : null
+        );
     }
 
     /**
@@ -157,10 +225,13 @@ public class ShoeVariantSizesResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the shoeVariantSizes, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ShoeVariantSizes> getShoeVariantSizes(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<ShoeVariantSizesDTO> getShoeVariantSizes(@PathVariable("id") Long id) {
         log.debug("REST request to get ShoeVariantSizes : {}", id);
-        Optional<ShoeVariantSizes> shoeVariantSizes = shoeVariantSizesRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(shoeVariantSizes);
+        Optional<ShoeVariantSizesDTO> shoeVariantSizesDTO = shoeVariantSizesRepository
+            .findApiRowById(id)
+            .map(shoeVariantSizesMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(shoeVariantSizesDTO);
     }
 
     /**
@@ -173,6 +244,9 @@ public class ShoeVariantSizesResource {
     public ResponseEntity<Void> deleteShoeVariantSizes(@PathVariable("id") Long id) {
         log.debug("REST request to delete ShoeVariantSizes : {}", id);
         shoeVariantSizesRepository.deleteById(id);
+        catalogSearchService.reindexShoeVariantSizes(id);
+        outboxService.stockChanged(id);
+        stockStreamService.stockChanged(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
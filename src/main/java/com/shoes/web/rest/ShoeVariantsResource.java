@@ -2,7 +2,13 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.ShoeVariants;
 import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.service.CatalogSearchService;
+import com.shoes.service.PricingService;
+import com.shoes.service.ProductReadService;
+import com.shoes.service.dto.ShoeVariantsDTO;
+import com.shoes.service.mapper.ShoeVariantsMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -12,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
@@ -34,49 +41,68 @@ public class ShoeVariantsResource {
 
     private final ShoeVariantsRepository shoeVariantsRepository;
 
-    public ShoeVariantsResource(ShoeVariantsRepository shoeVariantsRepository) {
+    private final ShoeVariantsMapper shoeVariantsMapper;
+
+    private final CatalogSearchService catalogSearchService;
+
+    private final PricingService pricingService;
+
+    private final ProductReadService productReadService;
+
+    public ShoeVariantsResource(
+        ShoeVariantsRepository shoeVariantsRepository,
+        ShoeVariantsMapper shoeVariantsMapper,
+        CatalogSearchService catalogSearchService,
+        PricingService pricingService,
+        ProductReadService productReadService
+    ) {
         this.shoeVariantsRepository = shoeVariantsRepository;
+        this.shoeVariantsMapper = shoeVariantsMapper;
+        this.catalogSearchService = catalogSearchService;
+        this.pricingService = pricingService;
+        this.productReadService = productReadService;
     }
 
     /**
      * {@code POST  /shoe-variants} : Create a new shoeVariants.
      *
-     * @param shoeVariants the shoeVariants to create.
+     * @param shoeVariantsDTO the shoeVariantsDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new shoeVariants, or with status {@code 400 (Bad Request)} if the shoeVariants has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<ShoeVariants> createShoeVariants(@RequestBody ShoeVariants shoeVariants) throws URISyntaxException {
-        log.debug("REST request to save ShoeVariants : {}", shoeVariants);
-        if (shoeVariants.getId() != null) {
+    public ResponseEntity<ShoeVariantsDTO> createShoeVariants(@RequestBody ShoeVariantsDTO shoeVariantsDTO) throws URISyntaxException {
+        log.debug("REST request to save ShoeVariants : {}", shoeVariantsDTO);
+        if (shoeVariantsDTO.getId() != null) {
             throw new BadRequestAlertException("A new shoeVariants cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        shoeVariants = shoeVariantsRepository.save(shoeVariants);
+        ShoeVariants shoeVariants = shoeVariantsRepository.save(shoeVariantsMapper.toEntity(shoeVariantsDTO));
+        catalogSearchService.reindexShoeVariants(shoeVariants.getId());
         return ResponseEntity.created(new URI("/api/shoe-variants/" + shoeVariants.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, shoeVariants.getId().toString()))
-            .body(shoeVariants);
+            .body(shoeVariantsMapper.toDto(shoeVariants));
     }
 
     /**
      * {@code PUT  /shoe-variants/:id} : Updates an existing shoeVariants.
      *
      * @param id the id of the shoeVariants to save.
-     * @param shoeVariants the shoeVariants to update.
+     * @param shoeVariantsDTO the shoeVariantsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoeVariants,
      * or with status {@code 400 (Bad Request)} if the shoeVariants is not valid,
      * or with status {@code 500 (Internal Server Error)} if the shoeVariants couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ShoeVariants> updateShoeVariants(
+    public ResponseEntity<ShoeVariantsDTO> updateShoeVariants(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody ShoeVariants shoeVariants
+        @RequestBody ShoeVariantsDTO shoeVariantsDTO
     ) throws URISyntaxException {
-        log.debug("REST request to update ShoeVariants : {}, {}", id, shoeVariants);
-        if (shoeVariants.getId() == null) {
+        log.debug("REST request to update ShoeVariants : {}, {}", id, shoeVariantsDTO);
+        if (shoeVariantsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoeVariants.getId())) {
+        if (!Objects.equals(id, shoeVariantsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -84,17 +110,20 @@ public class ShoeVariantsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        shoeVariants = shoeVariantsRepository.save(shoeVariants);
+        ShoeVariants shoeVariants = shoeVariantsRepository.save(shoeVariantsMapper.toEntity(shoeVariantsDTO));
+        catalogSearchService.reindexShoeVariants(shoeVariants.getId());
+        pricingService.reloadShoeVariants(shoeVariants.getId());
+        productReadService.evictShoeVariants(shoeVariants.getId());
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoeVariants.getId().toString()))
-            .body(shoeVariants);
+            .body(shoeVariantsMapper.toDto(shoeVariants));
     }
 
     /**
      * {@code PATCH  /shoe-variants/:id} : Partial updates given fields of an existing shoeVariants, field will ignore if it is null
      *
      * @param id the id of the shoeVariants to save.
-     * @param shoeVariants the shoeVariants to update.
+     * @param shoeVariantsDTO the shoeVariantsDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoeVariants,
      * or with status {@code 400 (Bad Request)} if the shoeVariants is not valid,
      * or with status {@code 404 (Not Found)} if the shoeVariants is not found,
@@ -102,15 +131,15 @@ public class ShoeVariantsResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<ShoeVariants> partialUpdateShoeVariants(
+    public ResponseEntity<ShoeVariantsDTO> partialUpdateShoeVariants(
         @PathVariable(value = "id", required = false) final Long id,
-        @RequestBody ShoeVariants shoeVariants
+        @RequestBody ShoeVariantsDTO shoeVariantsDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update ShoeVariants partially : {}, {}", id, shoeVariants);
-        if (shoeVariants.getId() == null) {
+        log.debug("REST request to partial update ShoeVariants partially : {}, {}", id, shoeVariantsDTO);
+        if (shoeVariantsDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoeVariants.getId())) {
+        if (!Objects.equals(id, shoeVariantsDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -118,45 +147,53 @@ public class ShoeVariantsResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<ShoeVariants> result = shoeVariantsRepository
-            .findById(shoeVariants.getId())
+        Optional<ShoeVariantsDTO> result = shoeVariantsRepository
+            .findById(shoeVariantsDTO.getId())
             .map(existingShoeVariants -> {
-                if (shoeVariants.getQuantity() != null) {
-                    existingShoeVariants.setQuantity(shoeVariants.getQuantity());
-                }
-                if (shoeVariants.getStatus() != null) {
-                    existingShoeVariants.setStatus(shoeVariants.getStatus());
-                }
-                if (shoeVariants.getPhotoUrl() != null) {
-                    existingShoeVariants.setPhotoUrl(shoeVariants.getPhotoUrl());
-                }
+                shoeVariantsMapper.partialUpdate(existingShoeVariants, shoeVariantsDTO);
 
                 return existingShoeVariants;
             })
-            .map(shoeVariantsRepository::save);
+            .map(shoeVariantsRepository::save)
+            .map(shoeVariantsMapper::toDto);
+        result.ifPresent(saved -> catalogSearchService.reindexShoeVariants(saved.getId()));
+        productReadService.evictShoeVariants(shoeVariantsDTO.getId());
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoeVariants.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoeVariantsDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /shoe-variants} : get all the shoeVariants.
+     * {@code GET  /shoe-variants} : get a page of the shoeVariants, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of shoeVariants to return.
+     * @param count whether to also count all the shoeVariants, into the {@code X-Total-Count} header.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shoeVariants in body.
      */
     @GetMapping("")
-    public List<ShoeVariants> getAllShoeVariants(
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ShoeVariantsDTO>> getAllShoeVariants(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count,
         @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
     ) {
-        log.debug("REST request to get all ShoeVariants");
+        log.debug("REST request to get a page of ShoeVariants");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<ShoeVariantsDTO> page = shoeVariantsRepository
+            .findApiRowPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+            .stream()
+            .map(shoeVariantsMapper::toDto)
+            .toList();
         if (eagerload) {
-            return shoeVariantsRepository.findAllWithEagerRelationships();
-        } else {
-            return shoeVariantsRepository.findAll();
+            productReadService.fetchSizes(page);
         }
+        return KeysetPaginationUtil.pageResponse(page, pageSize, ShoeVariantsDTO::getId, count ? shoeVariantsRepository::count : null);
     }
 
     /**
@@ -166,10 +203,11 @@ public class ShoeVariantsResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the shoeVariants, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ShoeVariants> getShoeVariants(@PathVariable("id") Long id) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResponseEntity<ShoeVariantsDTO> getShoeVariants(@PathVariable("id") Long id) {
         log.debug("REST request to get ShoeVariants : {}", id);
-        Optional<ShoeVariants> shoeVariants = shoeVariantsRepository.findOneWithEagerRelationships(id);
-        return ResponseUtil.wrapOrNotFound(shoeVariants);
+        Optional<ShoeVariantsDTO> shoeVariantsDTO = productReadService.findShoeVariants(id);
+        return ResponseUtil.wrapOrNotFound(shoeVariantsDTO);
     }
 
     /**
@@ -182,6 +220,9 @@ public class ShoeVariantsResource {
     public ResponseEntity<Void> deleteShoeVariants(@PathVariable("id") Long id) {
         log.debug("REST request to delete ShoeVariants : {}", id);
         shoeVariantsRepository.deleteById(id);
+        catalogSearchService.removeShoeVariants(id);
+        pricingService.removeShoeVariants(id);
+        productReadService.evictShoeVariants(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
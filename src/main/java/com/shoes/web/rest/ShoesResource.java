@@ -2,7 +2,13 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Shoes;
 import com.shoes.repository.ShoesRepository;
+import com.shoes.service.CatalogSearchService;
+import com.shoes.service.CatalogVersionService;
+import com.shoes.service.ProductReadService;
+import com.shoes.service.dto.ShoesDTO;
+import com.shoes.service.mapper.ShoesMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -12,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
@@ -34,47 +41,66 @@ public class ShoesResource {
 
     private final ShoesRepository shoesRepository;
 
-    public ShoesResource(ShoesRepository shoesRepository) {
+    private final ShoesMapper shoesMapper;
+
+    private final CatalogSearchService catalogSearchService;
+
+    private final CatalogVersionService catalogVersionService;
+
+    private final ProductReadService productReadService;
+
+    public ShoesResource(
+        ShoesRepository shoesRepository,
+        ShoesMapper shoesMapper,
+        CatalogSearchService catalogSearchService,
+        CatalogVersionService catalogVersionService,
+        ProductReadService productReadService
+    ) {
         this.shoesRepository = shoesRepository;
+        this.shoesMapper = shoesMapper;
+        this.catalogSearchService = catalogSearchService;
+        this.catalogVersionService = catalogVersionService;
+        this.productReadService = productReadService;
     }
 
     /**
      * {@code POST  /shoes} : Create a new shoes.
      *
-     * @param shoes the shoes to create.
+     * @param shoesDTO the shoesDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new shoes, or with status {@code 400 (Bad Request)} if the shoes has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Shoes> createShoes(@RequestBody Shoes shoes) throws URISyntaxException {
-        log.debug("REST request to save Shoes : {}", shoes);
-        if (shoes.getId() != null) {
+    public ResponseEntity<ShoesDTO> createShoes(@RequestBody ShoesDTO shoesDTO) throws URISyntaxException {
+        log.debug("REST request to save Shoes : {}", shoesDTO);
+        if (shoesDTO.getId() != null) {
             throw new BadRequestAlertException("A new shoes cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        shoes = shoesRepository.save(shoes);
+        Shoes shoes = shoesRepository.save(shoesMapper.toEntity(shoesDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.created(new URI("/api/shoes/" + shoes.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, shoes.getId().toString()))
-            .body(shoes);
+            .body(shoesMapper.toDto(shoes));
     }
 
     /**
      * {@code PUT  /shoes/:id} : Updates an existing shoes.
      *
      * @param id the id of the shoes to save.
-     * @param shoes the shoes to update.
+     * @param shoesDTO the shoesDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoes,
      * or with status {@code 400 (Bad Request)} if the shoes is not valid,
      * or with status {@code 500 (Internal Server Error)} if the shoes couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Shoes> updateShoes(@PathVariable(value = "id", required = false) final Long id, @RequestBody Shoes shoes)
+    public ResponseEntity<ShoesDTO> updateShoes(@PathVariable(value = "id", required = false) final Long id, @RequestBody ShoesDTO shoesDTO)
         throws URISyntaxException {
-        log.debug("REST request to update Shoes : {}, {}", id, shoes);
-        if (shoes.getId() == null) {
+        log.debug("REST request to update Shoes : {}, {}", id, shoesDTO);
+        if (shoesDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoes.getId())) {
+        if (!Objects.equals(id, shoesDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -82,17 +108,20 @@ public class ShoesResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        shoes = shoesRepository.save(shoes);
+        Shoes shoes = shoesRepository.save(shoesMapper.toEntity(shoesDTO));
+        catalogVersionService.bump(ENTITY_NAME);
+        catalogSearchService.reindexShoes(shoes.getId());
+        productReadService.evictShoes(shoes.getId());
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoes.getId().toString()))
-            .body(shoes);
+            .body(shoesMapper.toDto(shoes));
     }
 
     /**
      * {@code PATCH  /shoes/:id} : Partial updates given fields of an existing shoes, field will ignore if it is null
      *
      * @param id the id of the shoes to save.
-     * @param shoes the shoes to update.
+     * @param shoesDTO the shoesDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated shoes,
      * or with status {@code 400 (Bad Request)} if the shoes is not valid,
      * or with status {@code 404 (Not Found)} if the shoes is not found,
@@ -100,13 +129,15 @@ public class ShoesResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Shoes> partialUpdateShoes(@PathVariable(value = "id", required = false) final Long id, @RequestBody Shoes shoes)
-        throws URISyntaxException {
-        log.debug("REST request to partial update Shoes partially : {}, {}", id, shoes);
-        if (shoes.getId() == null) {
+    public ResponseEntity<ShoesDTO> partialUpdateShoes(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestBody ShoesDTO shoesDTO
+    ) throws URISyntaxException {
+        log.debug("REST request to partial update Shoes partially : {}, {}", id, shoesDTO);
+        if (shoesDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, shoes.getId())) {
+        if (!Objects.equals(id, shoesDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -114,32 +145,49 @@ public class ShoesResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Shoes> result = shoesRepository
-            .findById(shoes.getId())
+        Optional<ShoesDTO> result = shoesRepository
+            .findById(shoesDTO.getId())
             .map(existingShoes -> {
-                if (shoes.getDescription() != null) {
-                    existingShoes.setDescription(shoes.getDescription());
-                }
+                shoesMapper.partialUpdate(existingShoes, shoesDTO);
 
                 return existingShoes;
             })
-            .map(shoesRepository::save);
+            .map(shoesRepository::save)
+            .map(shoesMapper::toDto);
+        catalogVersionService.bump(ENTITY_NAME);
+        result.ifPresent(saved -> catalogSearchService.reindexShoes(saved.getId()));
+        productReadService.evictShoes(shoesDTO.getId());
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoes.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, shoesDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /shoes} : get all the shoes.
+     * {@code GET  /shoes} : get a page of the shoes, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of shoes to return.
+     * @param count whether to also count all the shoes, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shoes in body.
      */
     @GetMapping("")
-    public List<Shoes> getAllShoes() {
-        log.debug("REST request to get all Shoes");
-        return shoesRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<ShoesDTO>> getAllShoes(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of Shoes");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<ShoesDTO> page = shoesRepository
+            .findApiRowPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize))
+            .stream()
+            .map(shoesMapper::toDto)
+            .toList();
+        return KeysetPaginationUtil.pageResponse(page, pageSize, ShoesDTO::getId, count ? shoesRepository::count : null);
     }
 
     /**
@@ -149,10 +197,11 @@ public class ShoesResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the shoes, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Shoes> getShoes(@PathVariable("id") Long id) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResponseEntity<ShoesDTO> getShoes(@PathVariable("id") Long id) {
         log.debug("REST request to get Shoes : {}", id);
-        Optional<Shoes> shoes = shoesRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(shoes);
+        Optional<ShoesDTO> shoesDTO = productReadService.findShoes(id);
+        return ResponseUtil.wrapOrNotFound(shoesDTO);
     }
 
     /**
@@ -165,6 +214,8 @@ public class ShoesResource {
     public ResponseEntity<Void> deleteShoes(@PathVariable("id") Long id) {
         log.debug("REST request to delete Shoes : {}", id);
         shoesRepository.deleteById(id);
+        catalogVersionService.bump(ENTITY_NAME);
+        productReadService.evictShoes(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
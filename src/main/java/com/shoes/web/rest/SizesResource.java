@@ -2,7 +2,11 @@ package com.shoes.web.rest;
 
 import com.shoes.domain.Sizes;
 import com.shoes.repository.SizesRepository;
+import com.shoes.service.CatalogVersionService;
+import com.shoes.service.dto.SizesDTO;
+import com.shoes.service.mapper.SizesMapper;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -34,47 +38,56 @@ public class SizesResource {
 
     private final SizesRepository sizesRepository;
 
-    public SizesResource(SizesRepository sizesRepository) {
+    private final SizesMapper sizesMapper;
+
+    private final CatalogVersionService catalogVersionService;
+
+    public SizesResource(SizesRepository sizesRepository, SizesMapper sizesMapper, CatalogVersionService catalogVersionService) {
         this.sizesRepository = sizesRepository;
+        this.sizesMapper = sizesMapper;
+        this.catalogVersionService = catalogVersionService;
     }
 
     /**
      * {@code POST  /sizes} : Create a new sizes.
      *
-     * @param sizes the sizes to create.
+     * @param sizesDTO the sizesDTO to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new sizes, or with status {@code 400 (Bad Request)} if the sizes has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Sizes> createSizes(@RequestBody Sizes sizes) throws URISyntaxException {
-        log.debug("REST request to save Sizes : {}", sizes);
-        if (sizes.getId() != null) {
+    public ResponseEntity<SizesDTO> createSizes(@RequestBody SizesDTO sizesDTO) throws URISyntaxException {
+        log.debug("REST request to save Sizes : {}", sizesDTO);
+        if (sizesDTO.getId() != null) {
             throw new BadRequestAlertException("A new sizes cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        sizes = sizesRepository.save(sizes);
+        Sizes sizes = sizesRepository.save(sizesMapper.toEntity(sizesDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.created(new URI("/api/sizes/" + sizes.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, sizes.getId().toString()))
-            .body(sizes);
+            .body(sizesMapper.toDto(sizes));
     }
 
     /**
      * {@code PUT  /sizes/:id} : Updates an existing sizes.
      *
      * @param id the id of the sizes to save.
-     * @param sizes the sizes to update.
+     * @param sizesDTO the sizesDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated sizes,
      * or with status {@code 400 (Bad Request)} if the sizes is not valid,
      * or with status {@code 500 (Internal Server Error)} if the sizes couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Sizes> updateSizes(@PathVariable(value = "id", required = false) final Integer id, @RequestBody Sizes sizes)
-        throws URISyntaxException {
-        log.debug("REST request to update Sizes : {}, {}", id, sizes);
-        if (sizes.getId() == null) {
+    public ResponseEntity<SizesDTO> updateSizes(
+        @PathVariable(value = "id", required = false) final Integer id,
+        @RequestBody SizesDTO sizesDTO
+    ) throws URISyntaxException {
+        log.debug("REST request to update Sizes : {}, {}", id, sizesDTO);
+        if (sizesDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, sizes.getId())) {
+        if (!Objects.equals(id, sizesDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -82,17 +95,18 @@ public class SizesResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        sizes = sizesRepository.save(sizes);
+        Sizes sizes = sizesRepository.save(sizesMapper.toEntity(sizesDTO));
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, sizes.getId().toString()))
-            .body(sizes);
+            .body(sizesMapper.toDto(sizes));
     }
 
     /**
      * {@code PATCH  /sizes/:id} : Partial updates given fields of an existing sizes, field will ignore if it is null
      *
      * @param id the id of the sizes to save.
-     * @param sizes the sizes to update.
+     * @param sizesDTO the sizesDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated sizes,
      * or with status {@code 400 (Bad Request)} if the sizes is not valid,
      * or with status {@code 404 (Not Found)} if the sizes is not found,
@@ -100,15 +114,15 @@ public class SizesResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Sizes> partialUpdateSizes(
+    public ResponseEntity<SizesDTO> partialUpdateSizes(
         @PathVariable(value = "id", required = false) final Integer id,
-        @RequestBody Sizes sizes
+        @RequestBody SizesDTO sizesDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Sizes partially : {}, {}", id, sizes);
-        if (sizes.getId() == null) {
+        log.debug("REST request to partial update Sizes partially : {}, {}", id, sizesDTO);
+        if (sizesDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, sizes.getId())) {
+        if (!Objects.equals(id, sizesDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
@@ -116,35 +130,43 @@ public class SizesResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Sizes> result = sizesRepository
-            .findById(sizes.getId())
+        Optional<SizesDTO> result = sizesRepository
+            .findById(sizesDTO.getId())
             .map(existingSizes -> {
-                if (sizes.getSizeInNumbers() != null) {
-                    existingSizes.setSizeInNumbers(sizes.getSizeInNumbers());
-                }
-                if (sizes.getSizeInLetters() != null) {
-                    existingSizes.setSizeInLetters(sizes.getSizeInLetters());
-                }
+                sizesMapper.partialUpdate(existingSizes, sizesDTO);
 
                 return existingSizes;
             })
-            .map(sizesRepository::save);
+            .map(sizesRepository::save)
+            .map(sizesMapper::toDto);
+        catalogVersionService.bump(ENTITY_NAME);
 
         return ResponseUtil.wrapOrNotFound(
             result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, sizes.getId().toString())
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, sizesDTO.getId().toString())
         );
     }
 
     /**
-     * {@code GET  /sizes} : get all the sizes.
+     * {@code GET  /sizes} : get a page of the sizes, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of sizes to return.
+     * @param count whether to also count all the sizes, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of sizes in body.
      */
     @GetMapping("")
-    public List<Sizes> getAllSizes() {
-        log.debug("REST request to get all Sizes");
-        return sizesRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<SizesDTO>> getAllSizes(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of Sizes");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Integer afterId = KeysetPaginationUtil.decodeCursor(after, Integer::valueOf);
+        List<SizesDTO> page = sizesMapper.toDto(sizesRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize)));
+        return KeysetPaginationUtil.pageResponse(page, pageSize, SizesDTO::getId, count ? sizesRepository::count : null);
     }
 
     /**
@@ -154,10 +176,11 @@ public class SizesResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the sizes, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Sizes> getSizes(@PathVariable("id") Integer id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<SizesDTO> getSizes(@PathVariable("id") Integer id) {
         log.debug("REST request to get Sizes : {}", id);
-        Optional<Sizes> sizes = sizesRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(sizes);
+        Optional<SizesDTO> sizesDTO = sizesRepository.findById(id).map(sizesMapper::toDto);
+        return ResponseUtil.wrapOrNotFound(sizesDTO);
     }
 
     /**
@@ -170,6 +193,7 @@ public class SizesResource {
     public ResponseEntity<Void> deleteSizes(@PathVariable("id") Integer id) {
         log.debug("REST request to delete Sizes : {}", id);
         sizesRepository.deleteById(id);
+        catalogVersionService.bump(ENTITY_NAME);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
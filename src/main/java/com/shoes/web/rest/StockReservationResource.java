@@ -0,0 +1,151 @@
+package com.shoes.web.rest;
+
+import com.shoes.security.AuthoritiesConstants;
+import com.shoes.service.StockReservationService;
+import com.shoes.service.dto.StockReservationDTO;
+import com.shoes.web.rest.errors.BadRequestAlertException;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for reserving the stock of {@link com.shoes.domain.ShoeVariantSizes}.
+ */
+@RestController
+@RequestMapping("/api/stock-reservations")
+public class StockReservationResource {
+
+    private final Logger log = LoggerFactory.getLogger(StockReservationResource.class);
+
+    private static final String ENTITY_NAME = "stockReservation";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final StockReservationService stockReservationService;
+
+    public StockReservationResource(StockReservationService stockReservationService) {
+        this.stockReservationService = stockReservationService;
+    }
+
+    /**
+     * {@code POST  /stock-reservations} : Reserve stock of a shoeVariantSizes.
+     *
+     * @param stockReservationDTO the size and quantity to reserve.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new reservation,
+     * or with status {@code 409 (Conflict)} if not enough stock is left.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("")
+    public ResponseEntity<StockReservationDTO> createStockReservation(@Valid @RequestBody StockReservationDTO stockReservationDTO)
+        throws URISyntaxException {
+        log.debug("REST request to save StockReservation : {}", stockReservationDTO);
+        if (stockReservationDTO.getId() != null) {
+            throw new BadRequestAlertException("A new stockReservation cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        StockReservationDTO result = stockReservationService.reserve(
+            stockReservationDTO.getShoeVariantSizesId(),
+            stockReservationDTO.getQuantity()
+        );
+        return ResponseEntity.created(new URI("/api/stock-reservations/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code POST  /stock-reservations/:id/confirm} : Confirm a reservation, its stock is sold.
+     *
+     * @param id the id of the reservation to confirm.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 404 (Not Found)} if the reservation was already confirmed, released or expired.
+     */
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<Void> confirmStockReservation(@PathVariable("id") UUID id) {
+        log.debug("REST request to confirm StockReservation : {}", id);
+        if (!stockReservationService.confirm(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * {@code DELETE  /stock-reservations/:id} : Release a reservation, its stock is put back.
+     *
+     * @param id the id of the reservation to release.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 404 (Not Found)} if the reservation was already confirmed, released or expired.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteStockReservation(@PathVariable("id") UUID id) {
+        log.debug("REST request to delete StockReservation : {}", id);
+        if (!stockReservationService.release(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent()
+            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .build();
+    }
+
+    /**
+     * {@code PUT  /stock-reservations/flash-sales/:shoeVariantSizesId} : Put a shoeVariantSizes on flash sale.
+     *
+     * @param shoeVariantSizesId the id of the shoeVariantSizes.
+     * @param quantity the quantity of stock to sell through the flash sale.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 409 (Conflict)} if not enough stock is left.
+     */
+    @PutMapping("/flash-sales/{shoeVariantSizesId}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> openFlashSale(
+        @PathVariable("shoeVariantSizesId") Long shoeVariantSizesId,
+        @RequestParam("quantity") int quantity
+    ) {
+        log.debug("REST request to put {} of ShoeVariantSizes : {} on flash sale", quantity, shoeVariantSizesId);
+        if (quantity < 1) {
+            throw new BadRequestAlertException("The flash sale quantity must be positive", ENTITY_NAME, "quantityinvalid");
+        }
+        stockReservationService.openFlashSale(shoeVariantSizesId, quantity);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * {@code GET  /stock-reservations/flash-sales/:shoeVariantSizesId} : get the stock left in a flash sale on this node.
+     *
+     * @param shoeVariantSizesId the id of the shoeVariantSizes.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the stock left,
+     * or with status {@code 404 (Not Found)} if the shoeVariantSizes is not on flash sale.
+     */
+    @GetMapping("/flash-sales/{shoeVariantSizesId}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Long> getFlashSale(@PathVariable("shoeVariantSizesId") Long shoeVariantSizesId) {
+        log.debug("REST request to get the flash sale of ShoeVariantSizes : {}", shoeVariantSizesId);
+        return ResponseUtil.wrapOrNotFound(stockReservationService.getFlashSaleStock(shoeVariantSizesId));
+    }
+
+    /**
+     * {@code DELETE  /stock-reservations/flash-sales/:shoeVariantSizesId} : End the flash sale of a shoeVariantSizes, on
+     * this node at once and on the other nodes at their next heartbeat.
+     *
+     * @param shoeVariantSizesId the id of the shoeVariantSizes.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 404 (Not Found)} if the shoeVariantSizes is not on flash sale on any node.
+     */
+    @DeleteMapping("/flash-sales/{shoeVariantSizesId}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> closeFlashSale(@PathVariable("shoeVariantSizesId") Long shoeVariantSizesId) {
+        log.debug("REST request to close the flash sale of ShoeVariantSizes : {}", shoeVariantSizesId);
+        if (!stockReservationService.closeFlashSale(shoeVariantSizesId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.shoes.web.rest;
+
+import com.shoes.service.StockStreamService;
+import com.shoes.web.rest.errors.BadRequestAlertException;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming the live stock levels of {@link com.shoes.domain.ShoeVariantSizes}.
+ */
+@RestController
+@RequestMapping("/api/stock-stream")
+@ConditionalOnProperty(prefix = "application.stock-stream", name = "enabled", havingValue = "true")
+public class StockStreamResource {
+
+    private final Logger log = LoggerFactory.getLogger(StockStreamResource.class);
+
+    private static final String ENTITY_NAME = "stockStream";
+
+    private final StockStreamService stockStreamService;
+
+    public StockStreamResource(StockStreamService stockStreamService) {
+        this.stockStreamService = stockStreamService;
+    }
+
+    /**
+     * {@code GET  /stock-stream} : stream the stock levels of the sizes of variants, as server-sent {@code stock}
+     * events each holding a JSON array of levels: first the current ones, then those changed, the last level of each
+     * size gathered over a short window.
+     *
+     * @param shoeVariantsIds the ids of the shoeVariants to subscribe to.
+     * @return the stream, or with status {@code 400 (Bad Request)} if no variant or too many are given, or with status
+     * {@code 503 (Service Unavailable)} if this instance has as many streams open as it allows.
+     */
+    @GetMapping(value = "", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockLevels(@RequestParam(name = "shoeVariantsIds") Set<Long> shoeVariantsIds) {
+        log.debug("REST request to stream the stock levels of ShoeVariants : {}", shoeVariantsIds);
+        try {
+            return stockStreamService.subscribe(shoeVariantsIds);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "shoevariantsinvalid");
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.shoes.web.rest;
 import com.shoes.domain.WishListItems;
 import com.shoes.repository.WishListItemsRepository;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -127,14 +128,24 @@ public class WishListItemsResource {
     }
 
     /**
-     * {@code GET  /wish-list-items} : get all the wishListItems.
+     * {@code GET  /wish-list-items} : get a page of the wishListItems, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of wishListItems to return.
+     * @param count whether to also count all the wishListItems, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of wishListItems in body.
      */
     @GetMapping("")
-    public List<WishListItems> getAllWishListItems() {
-        log.debug("REST request to get all WishListItems");
-        return wishListItemsRepository.findAll();
+    public ResponseEntity<List<WishListItems>> getAllWishListItems(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of WishListItems");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<WishListItems> page = wishListItemsRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize));
+        return KeysetPaginationUtil.pageResponse(page, pageSize, WishListItems::getId, count ? wishListItemsRepository::count : null);
     }
 
     /**
@@ -3,6 +3,7 @@ package com.shoes.web.rest;
 import com.shoes.domain.WishList;
 import com.shoes.repository.WishListRepository;
 import com.shoes.web.rest.errors.BadRequestAlertException;
+import com.shoes.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -136,14 +137,24 @@ public class WishListResource {
     }
 
     /**
-     * {@code GET  /wish-lists} : get all the wishLists.
+     * {@code GET  /wish-lists} : get a page of the wishLists, in id order.
      *
+     * @param after the cursor returned with the previous page, if any.
+     * @param limit the maximum number of wishLists to return.
+     * @param count whether to also count all the wishLists, into the {@code X-Total-Count} header.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of wishLists in body.
      */
     @GetMapping("")
-    public List<WishList> getAllWishLists() {
-        log.debug("REST request to get all WishLists");
-        return wishListRepository.findAll();
+    public ResponseEntity<List<WishList>> getAllWishLists(
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a page of WishLists");
+        int pageSize = KeysetPaginationUtil.pageSize(limit);
+        Long afterId = KeysetPaginationUtil.decodeCursor(after, Long::valueOf);
+        List<WishList> page = wishListRepository.findPageAfter(afterId, KeysetPaginationUtil.queryLimit(pageSize));
+        return KeysetPaginationUtil.pageResponse(page, pageSize, WishList::getId, count ? wishListRepository::count : null);
     }
 
     /**
@@ -210,7 +210,11 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         // Where we disagree with Spring defaults
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
         if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
+        if (err instanceof com.shoes.service.InsufficientStockException) return HttpStatus.CONFLICT;
+        if (err instanceof com.shoes.service.InvalidCartException) return HttpStatus.BAD_REQUEST;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
+        if (err instanceof com.shoes.security.PasswordHashingRejectedException) return HttpStatus.SERVICE_UNAVAILABLE;
+        if (err instanceof com.shoes.service.StockStreamFullException) return HttpStatus.SERVICE_UNAVAILABLE;
         return null;
     }
 
@@ -220,6 +224,11 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
+        if (err instanceof com.shoes.security.PasswordHashingRejectedException rejectedException) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, rejectedException.getRetryAfter().toSeconds())));
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
@@ -0,0 +1,108 @@
+package com.shoes.web.util;
+
+import com.shoes.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Utility class for keyset (seek) pagination of list endpoints.
+ * <p>
+ * Clients page with {@code ?after=<cursor>&limit=<n>}. The cursor is an opaque token holding the last id of the previous
+ * page; the next one is returned in the {@code X-Next-Cursor} header and as a {@code rel="next"} link, both absent on the
+ * last page. The total number of rows is only counted, into {@code X-Total-Count}, when the client asks with {@code count=true}.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Returns the page size to use for the requested limit, between 1 and {@link #MAX_LIMIT}.
+     */
+    public static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Returns the {@link Limit} to query a page with: one more row than the page size, telling whether there is a next page.
+     */
+    public static Limit queryLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param cursor the token, may be null.
+     * @param parser parses the id it holds.
+     * @return the id, or null for the first page.
+     * @throws BadRequestAlertException if the token was not issued by {@link #encodeCursor(Object)}.
+     */
+    public static <ID> ID decodeCursor(String cursor, Function<String, ID> parser) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return parser.apply(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not Base64, or not an id: rejected below.
+        }
+        throw new BadRequestAlertException("Invalid pagination cursor", "pagination", "cursorinvalid");
+    }
+
+    public static String encodeCursor(Object id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds the response for a page queried with {@link #queryLimit(int)}.
+     *
+     * @param rows the rows read, up to {@code pageSize + 1}.
+     * @param pageSize the page size.
+     * @param idGetter the id of a row.
+     * @param counter counts all the rows, or null when the client did not ask for a count.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the page in body and the pagination headers.
+     */
+    public static <T> ResponseEntity<List<T>> pageResponse(
+        List<T> rows,
+        int pageSize,
+        Function<T, ?> idGetter,
+        LongSupplier counter
+    ) {
+        List<T> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        HttpHeaders headers = new HttpHeaders();
+        if (rows.size() > pageSize) {
+            String next = encodeCursor(idGetter.apply(page.get(page.size() - 1)));
+            headers.add(HEADER_X_NEXT_CURSOR, next);
+            String link = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", next)
+                .replaceQueryParam("limit", pageSize)
+                .replaceQueryParam("count")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        if (counter != null) {
+            headers.add(HEADER_X_TOTAL_COUNT, Long.toString(counter.getAsLong()));
+        }
+        return ResponseEntity.ok().headers(headers).body(page);
+    }
+}
@@ -0,0 +1,115 @@
+package com.shoes.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.management.VirtualThreadMetersService;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
+
+/**
+ * Unit tests for the {@link AsyncConfiguration} class.
+ */
+class AsyncConfigurationTest {
+
+    private TaskExecutionProperties taskExecutionProperties;
+
+    private MockEnvironment env;
+
+    private ApplicationProperties applicationProperties;
+
+    private AsyncConfiguration asyncConfiguration;
+
+    @BeforeEach
+    public void setup() {
+        taskExecutionProperties = new TaskExecutionProperties();
+        taskExecutionProperties.getPool().setCoreSize(2);
+        taskExecutionProperties.getPool().setMaxSize(50);
+        taskExecutionProperties.getPool().setQueueCapacity(10000);
+        env = new MockEnvironment();
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getStockStream().setMaxConnections(300);
+
+        asyncConfiguration = new AsyncConfiguration(taskExecutionProperties, env);
+    }
+
+    private static Object delegate(Executor executor) {
+        assertThat(executor).isInstanceOf(ExceptionHandlingAsyncTaskExecutor.class);
+        return ReflectionTestUtils.getField(executor, "executor");
+    }
+
+    private static boolean isVirtual(SimpleAsyncTaskExecutor executor) {
+        return ReflectionTestUtils.getField(executor, "virtualThreadDelegate") != null;
+    }
+
+    private void assertPlatformTaskExecutor() {
+        assertThat(delegate(asyncConfiguration.getAsyncExecutor())).isInstanceOfSatisfying(ThreadPoolTaskExecutor.class, executor -> {
+            assertThat(executor.getCorePoolSize()).isEqualTo(2);
+            assertThat(executor.getMaxPoolSize()).isEqualTo(50);
+            assertThat(executor.getQueueCapacity()).isEqualTo(10000);
+        });
+    }
+
+    private void assertPlatformStockStreamExecutor() {
+        assertThat(asyncConfiguration.stockStreamExecutor(applicationProperties)).isInstanceOfSatisfying(
+            ThreadPoolTaskExecutor.class,
+            executor -> {
+                assertThat(executor.getCorePoolSize()).isEqualTo(300);
+                assertThat(executor.getMaxPoolSize()).isEqualTo(300);
+                assertThat(ReflectionTestUtils.getField(executor, "allowCoreThreadTimeOut")).isEqualTo(true);
+            }
+        );
+    }
+
+    @Test
+    void shouldUsePlatformThreadsByDefault() {
+        assertPlatformTaskExecutor();
+        assertPlatformStockStreamExecutor();
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void shouldFallBackToPlatformThreadsBeforeJava21() {
+        env.setProperty("spring.threads.virtual.enabled", "true");
+
+        assertPlatformTaskExecutor();
+        assertPlatformStockStreamExecutor();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldUseVirtualThreadsWhenEnabled() {
+        env.setProperty("spring.threads.virtual.enabled", "true");
+
+        assertThat(delegate(asyncConfiguration.getAsyncExecutor())).isInstanceOfSatisfying(SimpleAsyncTaskExecutor.class, executor -> {
+            assertThat(isVirtual(executor)).isTrue();
+            assertThat(executor.getConcurrencyLimit()).isEqualTo(Math.max(1, VirtualThreadMetersService.carrierParallelism() / 2));
+        });
+        assertThat(asyncConfiguration.stockStreamExecutor(applicationProperties)).isInstanceOfSatisfying(
+            SimpleAsyncTaskExecutor.class,
+            executor -> {
+                assertThat(isVirtual(executor)).isTrue();
+                assertThat(executor.isThrottleActive()).isFalse();
+            }
+        );
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldUseConfiguredConcurrencyLimitOnVirtualThreads() {
+        env.setProperty("spring.threads.virtual.enabled", "true");
+        taskExecutionProperties.getSimple().setConcurrencyLimit(3);
+
+        assertThat(delegate(asyncConfiguration.getAsyncExecutor())).isInstanceOfSatisfying(SimpleAsyncTaskExecutor.class, executor ->
+            assertThat(executor.getConcurrencyLimit()).isEqualTo(3)
+        );
+    }
+}
@@ -0,0 +1,169 @@
+package com.shoes.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Brand;
+import com.shoes.repository.BrandRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CacheCoherencePublisher} and the {@link CacheCoherenceListener}.
+ * <p>
+ * Evictions are sent once writes have committed, so these tests do not run in a transaction.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.cache-coherence.enabled=true",
+        "application.cache-coherence.channel=cache_coherence_it",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    }
+)
+class CacheCoherenceIT {
+
+    private static final String CHANNEL = "cache_coherence_it";
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CacheCoherencePublisher publisher;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Connection connection;
+
+    private Brand brand;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        connection = DriverManager.getConnection(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()
+        );
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        awaitListener();
+        brand = brandRepository.save(new Brand().name("Coherence"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        brandRepository.deleteById(brand.getId());
+        connection.close();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * Waits for the listener to start listening, which evicts every region.
+     */
+    private void awaitListener() throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        try (
+            PreparedStatement statement = connection.prepareStatement(
+                "select count(*) from pg_stat_activity where pid <> pg_backend_pid() and query = ?"
+            )
+        ) {
+            statement.setString(1, "LISTEN \"" + CHANNEL + "\"");
+            while (System.currentTimeMillis() < deadline) {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    if (resultSet.getInt(1) > 0) {
+                        return;
+                    }
+                }
+                Thread.sleep(50);
+            }
+        }
+        throw new AssertionError("The listener did not start listening");
+    }
+
+    private List<String> awaitPayloads(String expected, long timeoutMillis) throws Exception {
+        List<String> payloads = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline && payloads.stream().noneMatch(payload -> payload.contains(expected))) {
+            PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(100);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    payloads.add(notification.getParameter());
+                }
+            }
+        }
+        return payloads;
+    }
+
+    @Test
+    void committedUpdateIsSent() throws Exception {
+        String expected = Brand.class.getName() + "\tI" + brand.getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            brandRepository.findById(brand.getId()).orElseThrow().setName("Rolled back");
+            brandRepository.flush();
+            status.setRollbackOnly();
+        });
+        // The rollback left nothing to send.
+        publisher.flush();
+        List<String> payloads = awaitPayloads(expected, 1000);
+        assertThat(payloads).noneMatch(payload -> payload.contains(expected));
+
+        transactionTemplate.executeWithoutResult(status -> brandRepository.findById(brand.getId()).orElseThrow().setName("Changed"));
+        publisher.flush();
+        payloads = awaitPayloads(expected, TIMEOUT_MILLIS);
+        assertThat(payloads).anyMatch(payload -> payload.contains(expected));
+        assertThat(payloads).allMatch(payload -> CacheInvalidationBatch.sender(payload).equals(publisher.getInstanceId()));
+    }
+
+    @Test
+    void evictionFromAnotherInstanceIsApplied() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> brandRepository.findById(brand.getId()).orElseThrow());
+        assertThat(cache().containsEntity(Brand.class, brand.getId())).isTrue();
+
+        try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, "another-instance\n" + Brand.class.getName() + "\tI" + brand.getId());
+            statement.executeQuery().close();
+        }
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline && cache().containsEntity(Brand.class, brand.getId())) {
+            Thread.sleep(50);
+        }
+        assertThat(cache().containsEntity(Brand.class, brand.getId())).isFalse();
+    }
+}
@@ -0,0 +1,40 @@
+package com.shoes.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.IntegrationTest;
+import com.shoes.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the cache metrics set up by {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void cacheHitsAndMissesShouldBeMeteredPerRegion() {
+        Cache<Object, Object> cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.get("cache-configuration-it");
+        cache.put("cache-configuration-it", "user");
+        cache.get("cache-configuration-it");
+
+        assertThat(
+            meterRegistry.get("cache.gets").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).tag("result", "miss").functionCounter().count()
+        ).isPositive();
+        assertThat(
+            meterRegistry.get("cache.gets").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).tag("result", "hit").functionCounter().count()
+        ).isPositive();
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", "com.shoes.domain.ShoeVariants").meters()).isNotEmpty();
+    }
+}
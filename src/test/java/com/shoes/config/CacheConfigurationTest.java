@@ -0,0 +1,92 @@
+package com.shoes.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the region settings of {@link com.shoes.config.CacheConfiguration}.
+ */
+class CacheConfigurationTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private com.shoes.config.CacheConfiguration cacheConfiguration;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(42);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(60);
+        applicationProperties = new ApplicationProperties();
+        cacheConfiguration = new com.shoes.config.CacheConfiguration(jHipsterProperties, applicationProperties);
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager(
+            URI.create("urn:" + CacheConfigurationTest.class.getName()),
+            new DefaultConfiguration(CacheConfigurationTest.class.getClassLoader())
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    private CacheRuntimeConfiguration<?, ?> configuration(String cacheName) {
+        // The configuration class cannot carry the key and value types of the cache.
+        @SuppressWarnings("unchecked")
+        Eh107Configuration<?, ?> configuration = cacheManager
+            .createCache(cacheName, cacheConfiguration.jcacheConfiguration(cacheName))
+            .getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+
+    @Test
+    void regionsLeftOutShouldUseJHipsterSettings() {
+        CacheRuntimeConfiguration<?, ?> configuration = configuration("com.shoes.domain.Cart");
+
+        assertThat(configuration.getResourcePools().getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(42);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void regionsShouldBeMatchedWithOrWithoutTheDomainPrefix() {
+        ApplicationProperties.Cache.Region shoeVariants = new ApplicationProperties.Cache.Region();
+        shoeVariants.setHeapEntries(500L);
+        shoeVariants.setOffheapSize(DataSize.ofMegabytes(8));
+        shoeVariants.setTimeToLive(Duration.ofHours(6));
+        shoeVariants.setTimeToIdle(Duration.ofMinutes(10));
+        applicationProperties.getCache().getRegions().put("ShoeVariants.sizes", shoeVariants);
+        ApplicationProperties.Cache.Region users = new ApplicationProperties.Cache.Region();
+        users.setHeapSize(DataSize.ofMegabytes(1));
+        applicationProperties.getCache().getRegions().put("usersByLogin", users);
+
+        CacheRuntimeConfiguration<?, ?> configuration = configuration("com.shoes.domain.ShoeVariants.sizes");
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(500);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(8L << 20);
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofHours(6));
+        assertThat(configuration.getExpiryPolicy().getExpiryForAccess(null, null)).isEqualTo(Duration.ofMinutes(10));
+
+        configuration = configuration("usersByLogin");
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(MemoryUnit.B);
+    }
+}
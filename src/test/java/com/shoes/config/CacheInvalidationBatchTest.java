@@ -0,0 +1,119 @@
+package com.shoes.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CacheInvalidationBatch}.
+ */
+class CacheInvalidationBatchTest {
+
+    private static final String SENDER = "instance-1";
+
+    private static final String BRAND = "com.shoes.domain.Brand";
+
+    private static final String BRAND_SHOES = "com.shoes.domain.Brand.shoes";
+
+    private static final String AUTHORITY = "com.shoes.domain.Authority";
+
+    private static List<String> read(List<String> payloads) {
+        List<String> evictions = new ArrayList<>();
+        for (String payload : payloads) {
+            assertThat(CacheInvalidationBatch.sender(payload)).isEqualTo(SENDER);
+            CacheInvalidationBatch.read(
+                payload,
+                new CacheInvalidationBatch.Receiver() {
+                    @Override
+                    public void evictRegion(String region) {
+                        evictions.add(region);
+                    }
+
+                    @Override
+                    public void evictKey(String region, Object id) {
+                        evictions.add(region + '#' + id + ':' + id.getClass().getSimpleName());
+                    }
+                }
+            );
+        }
+        return evictions;
+    }
+
+    @Test
+    void keysAreSentOnceWithTheirType() {
+        CacheInvalidationBatch batch = new CacheInvalidationBatch(100);
+        batch.evictKey(BRAND, 1L);
+        batch.evictKey(BRAND, 1L);
+        batch.evictKey(BRAND_SHOES, 1L);
+        batch.evictKey(BRAND, 2);
+        batch.evictKey(AUTHORITY, "ROLE_USER");
+
+        assertThat(batch.keyCount()).isEqualTo(4);
+        assertThat(read(batch.toPayloads(SENDER, 7900))).containsExactly(
+            BRAND + "#1:Long",
+            BRAND + "#2:Integer",
+            BRAND_SHOES + "#1:Long",
+            AUTHORITY + "#ROLE_USER:String"
+        );
+    }
+
+    @Test
+    void regionEvictionSupersedesItsKeys() {
+        CacheInvalidationBatch batch = new CacheInvalidationBatch(100);
+        batch.evictKey(BRAND, 1L);
+        batch.evictKey(BRAND_SHOES, 1L);
+        batch.evictRegion(BRAND);
+        batch.evictKey(BRAND, 2L);
+        batch.evictKey(BRAND, new Object());
+        batch.evictKey(AUTHORITY, "ROLE\tUSER");
+
+        assertThat(batch.regionCount()).isEqualTo(2);
+        assertThat(batch.keyCount()).isEqualTo(1);
+        assertThat(read(batch.toPayloads(SENDER, 7900))).containsExactly(BRAND, AUTHORITY, BRAND_SHOES + "#1:Long");
+    }
+
+    @Test
+    void tooManyKeysEvictTheirRegions() {
+        CacheInvalidationBatch batch = new CacheInvalidationBatch(3);
+        batch.evictKey(BRAND, 1L);
+        batch.evictKey(BRAND, 2L);
+        batch.evictKey(BRAND_SHOES, 1L);
+        assertThat(batch.regionCount()).isZero();
+
+        batch.evictKey(BRAND_SHOES, 2L);
+        assertThat(batch.keyCount()).isZero();
+        batch.evictKey(AUTHORITY, "ROLE_USER");
+
+        assertThat(read(batch.toPayloads(SENDER, 7900))).containsExactly(BRAND, BRAND_SHOES, AUTHORITY + "#ROLE_USER:String");
+    }
+
+    @Test
+    void addAllMergesBatches() {
+        CacheInvalidationBatch batch = new CacheInvalidationBatch(100);
+        batch.evictKey(BRAND, 1L);
+        CacheInvalidationBatch other = new CacheInvalidationBatch(100);
+        other.evictKey(BRAND, 1L);
+        other.evictKey(BRAND, 2L);
+        other.evictRegion(BRAND_SHOES);
+
+        batch.addAll(other);
+        assertThat(read(batch.toPayloads(SENDER, 7900))).containsExactly(BRAND_SHOES, BRAND + "#1:Long", BRAND + "#2:Long");
+    }
+
+    @Test
+    void payloadsStayUnderTheMaximumSize() {
+        CacheInvalidationBatch batch = new CacheInvalidationBatch(10_000);
+        for (long id = 0; id < 1000; id++) {
+            batch.evictKey(BRAND, id);
+        }
+
+        List<String> payloads = batch.toPayloads(SENDER, 1000);
+        assertThat(payloads).hasSizeGreaterThan(1);
+        assertThat(payloads).allSatisfy(payload -> assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(1000));
+        assertThat(read(payloads)).hasSize(1000).doesNotHaveDuplicates();
+        assertThat(new CacheInvalidationBatch(10).toPayloads(SENDER, 1000)).isEmpty();
+    }
+}
@@ -1,6 +1,7 @@
 package com.shoes.config;
 
 import java.util.List;
+import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
@@ -26,7 +27,18 @@ public class SqlTestContainersSpringContextCustomizerFactory implements ContextC
                 ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
                 TestPropertyValues testValues = TestPropertyValues.empty();
                 EmbeddedSQL sqlAnnotation = AnnotatedElementUtils.findMergedAnnotation(testClass, EmbeddedSQL.class);
-                if (null != sqlAnnotation) {
+                String url = System.getenv("IT_JDBC_URL");
+                if (null != sqlAnnotation && null != url) {
+                    // Runs against an existing database, which is left as the tests leave it, rather than a container.
+                    log.info("Using the sql database at {}", url);
+                    testValues = testValues.and("spring.datasource.url=" + url);
+                    testValues = testValues.and(
+                        "spring.datasource.username=" + Objects.requireNonNullElse(System.getenv("IT_JDBC_USERNAME"), "postgres")
+                    );
+                    testValues = testValues.and(
+                        "spring.datasource.password=" + Objects.requireNonNullElse(System.getenv("IT_JDBC_PASSWORD"), "")
+                    );
+                } else if (null != sqlAnnotation) {
                     log.debug("detected the EmbeddedSQL annotation on class {}", testClass.getName());
                     log.info("Warming up the sql database");
                     if (null == prodTestContainer) {
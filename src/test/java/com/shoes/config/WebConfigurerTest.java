@@ -9,12 +9,16 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import io.undertow.servlet.api.DeploymentInfo;
 import jakarta.servlet.*;
 import java.io.File;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
 import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.mock.env.MockEnvironment;
 import org.springframework.mock.web.MockServletContext;
@@ -61,6 +65,34 @@ class WebConfigurerTest {
         }
     }
 
+    @Test
+    void shouldKeepWorkerPoolWithoutVirtualThreads() {
+        UndertowServletWebServerFactory container = new UndertowServletWebServerFactory();
+        webConfigurer.customize(container);
+        assertThat(container.getDeploymentInfoCustomizers()).isEmpty();
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void shouldKeepWorkerPoolBeforeJava21() {
+        env.setProperty("spring.threads.virtual.enabled", "true");
+        UndertowServletWebServerFactory container = new UndertowServletWebServerFactory();
+        webConfigurer.customize(container);
+        assertThat(container.getDeploymentInfoCustomizers()).isEmpty();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldDispatchRequestsToVirtualThreadsWhenEnabled() {
+        env.setProperty("spring.threads.virtual.enabled", "true");
+        UndertowServletWebServerFactory container = new UndertowServletWebServerFactory();
+        webConfigurer.customize(container);
+        DeploymentInfo deploymentInfo = new DeploymentInfo();
+        container.getDeploymentInfoCustomizers().forEach(customizer -> customizer.customize(deploymentInfo));
+        assertThat(deploymentInfo.getExecutor()).isInstanceOf(VirtualThreadTaskExecutor.class);
+        assertThat(deploymentInfo.getAsyncExecutor()).isSameAs(deploymentInfo.getExecutor());
+    }
+
     @Test
     void shouldCorsFilterOnApiPath() throws Exception {
         props.getCors().setAllowedOrigins(Collections.singletonList("other.domain.com"));
@@ -0,0 +1,47 @@
+package com.shoes.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StockMetersServiceTests {
+
+    private static final String RESERVATIONS_METER_EXPECTED_NAME = "stock.reservations";
+
+    private static final String RELEASED_METER_EXPECTED_NAME = "stock.reservations.released";
+
+    private MeterRegistry meterRegistry;
+
+    private StockMetersService stockMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        stockMetersService = new StockMetersService(meterRegistry);
+    }
+
+    @Test
+    void testReservationTimersByPathAndOutcomeAreCreated() {
+        assertThat(meterRegistry.find(RESERVATIONS_METER_EXPECTED_NAME).timers()).hasSize(4);
+        assertThat(meterRegistry.find(RELEASED_METER_EXPECTED_NAME).counters()).hasSize(2);
+    }
+
+    @Test
+    void testTrackMethodsShouldBeBoundToCorrectMeters() {
+        stockMetersService.trackDatabaseReservation(System.nanoTime(), false);
+        stockMetersService.trackFlashSaleReservation(System.nanoTime(), true);
+        stockMetersService.trackExpired(3);
+
+        assertThat(
+            meterRegistry.get(RESERVATIONS_METER_EXPECTED_NAME).tag("path", "database").tag("outcome", "conflict").timer().count()
+        ).isEqualTo(1);
+        assertThat(
+            meterRegistry.get(RESERVATIONS_METER_EXPECTED_NAME).tag("path", "flash-sale").tag("outcome", "reserved").timer().count()
+        ).isEqualTo(1);
+        assertThat(meterRegistry.get(RELEASED_METER_EXPECTED_NAME).tag("cause", "expired").counter().count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,81 @@
+package com.shoes.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.mock.env.MockEnvironment;
+
+class VirtualThreadMetersServiceTests {
+
+    private MeterRegistry meterRegistry;
+
+    private MockEnvironment env;
+
+    private VirtualThreadMetersService virtualThreadMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        env = new MockEnvironment();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        if (virtualThreadMetersService != null) {
+            virtualThreadMetersService.shutdown();
+        }
+    }
+
+    private void assertMetersAreRegistered() {
+        assertThat(meterRegistry.get(VirtualThreadMetersService.CARRIERS_METER_NAME).gauge().value()).isEqualTo(
+            VirtualThreadMetersService.carrierParallelism()
+        );
+        assertThat(meterRegistry.get(VirtualThreadMetersService.PINNED_METER_NAME).timer().count()).isZero();
+        assertThat(meterRegistry.get(VirtualThreadMetersService.SUBMIT_FAILED_METER_NAME).counter().count()).isZero();
+    }
+
+    @Test
+    void testNoMetersWithoutVirtualThreads() {
+        virtualThreadMetersService = new VirtualThreadMetersService(meterRegistry, env);
+        virtualThreadMetersService.onApplicationReady();
+
+        assertThat(meterRegistry.find(VirtualThreadMetersService.CARRIERS_METER_NAME).gauge()).isNull();
+        assertThat(meterRegistry.find(VirtualThreadMetersService.PINNED_METER_NAME).timer()).isNull();
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void testNoMetersBeforeJava21() {
+        env.setProperty("spring.threads.virtual.enabled", "true");
+        virtualThreadMetersService = new VirtualThreadMetersService(meterRegistry, env);
+        virtualThreadMetersService.onApplicationReady();
+
+        assertThat(meterRegistry.find(VirtualThreadMetersService.CARRIERS_METER_NAME).gauge()).isNull();
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void testMetersAreRegisteredWhenTheEventsDoNotExist() {
+        virtualThreadMetersService = new VirtualThreadMetersService(meterRegistry, env);
+        virtualThreadMetersService.start();
+        virtualThreadMetersService.start();
+
+        assertMetersAreRegistered();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void testMetersAreRegisteredWithVirtualThreads() {
+        env.setProperty("spring.threads.virtual.enabled", "true");
+        virtualThreadMetersService = new VirtualThreadMetersService(meterRegistry, env);
+        virtualThreadMetersService.onApplicationReady();
+
+        assertMetersAreRegistered();
+    }
+}
@@ -0,0 +1,217 @@
+package com.shoes.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Customer;
+import com.shoes.repository.CustomerRepositoryWithFilters.Relationship;
+import jakarta.persistence.EntityManager;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Checks that the SQL run along the relationships of the schema can be served by an index.
+ * <p>
+ * The SQL of the repositories is the one Hibernate generates: it is captured as the repository method runs, and
+ * explained with each of its parameters bound to 1. The lookups the database runs itself, to check the
+ * foreign keys of a deleted row, and those no repository runs yet, are written by hand.
+ * <p>
+ * The test tables hold a few rows at most, so the planner would rightly scan them whole: sequential scans are disabled
+ * for the transaction instead, which makes the planner pick any index able to serve the query, and fall back to a
+ * sequential scan only when there is none.
+ */
+@IntegrationTest
+@Import(QueryPlanIT.StatementInspectorConfiguration.class)
+@Transactional
+class QueryPlanIT {
+
+    private static final List<Long> IDS = List.of(1L, 2L, 3L, 4L);
+
+    private static final CapturingStatementInspector STATEMENTS = new CapturingStatementInspector();
+
+    @TestConfiguration
+    static class StatementInspectorConfiguration {
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer() {
+            return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, STATEMENTS);
+        }
+    }
+
+    /**
+     * Records the SQL Hibernate sends while capturing.
+     */
+    static class CapturingStatementInspector implements StatementInspector {
+
+        private final List<String> captured = new CopyOnWriteArrayList<>();
+
+        private volatile boolean capturing = false;
+
+        @Override
+        public String inspect(String sql) {
+            if (capturing) {
+                captured.add(sql);
+            }
+            return sql;
+        }
+
+        List<String> capture(Runnable query) {
+            captured.clear();
+            capturing = true;
+            try {
+                query.run();
+            } finally {
+                capturing = false;
+            }
+            return List.copyOf(captured);
+        }
+    }
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private CartItemsRepository cartItemsRepository;
+
+    @Autowired
+    private ShoeVariantsRepository shoeVariantsRepository;
+
+    @Autowired
+    private ShoeVariantColorsRepository shoeVariantColorsRepository;
+
+    @Autowired
+    private ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private String explain(String sql) {
+        em.createNativeQuery("set local enable_seqscan = off").executeUpdate();
+
+        @SuppressWarnings("unchecked")
+        List<Object> plan = em.createNativeQuery("explain " + sql).getResultList();
+
+        return plan.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+    }
+
+    private void assertServedByAnIndex(Runnable query) {
+        List<String> statements = STATEMENTS.capture(query);
+
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            assertThat(explain(bindParameters(sql))).as(sql).doesNotContain("Seq Scan");
+        }
+    }
+
+    /**
+     * Replaces the JDBC parameters of a statement with an untyped literal, which takes the type of what it is compared
+     * to: the driver would otherwise expect values for them.
+     */
+    private static String bindParameters(String sql) {
+        return sql.replace("?", "'1'");
+    }
+
+    @Test
+    void findCheckoutRowsByCartId() {
+        assertServedByAnIndex(() -> cartItemsRepository.findCheckoutRowsByCartId(1));
+    }
+
+    @Test
+    void findAllByCartId() {
+        assertServedByAnIndex(() -> cartItemsRepository.findAllByCartId(1));
+    }
+
+    @Test
+    void findIdsByShoesId() {
+        assertServedByAnIndex(() -> shoeVariantsRepository.findIdsByShoesId(1L));
+    }
+
+    @Test
+    void findIdsBySalesId() {
+        assertServedByAnIndex(() -> shoeVariantsRepository.findIdsBySalesId(1L));
+    }
+
+    @Test
+    void findSizesLinksByIdIn() {
+        assertServedByAnIndex(() -> shoeVariantsRepository.findSizesLinksByIdIn(IDS));
+    }
+
+    @Test
+    void findColorsLinksByShoeVariantsIdIn() {
+        assertServedByAnIndex(() -> shoeVariantColorsRepository.findColorsLinksByShoeVariantsIdIn(IDS));
+    }
+
+    @Test
+    void findPriceRowsByShoeVariantsIdIn() {
+        assertServedByAnIndex(() -> shoeVariantColorsRepository.findPriceRowsByShoeVariantsIdIn(IDS));
+    }
+
+    @Test
+    void findSizesLinksByShoeVariantsIdIn() {
+        assertServedByAnIndex(() -> shoeVariantSizesRepository.findSizesLinksByShoeVariantsIdIn(IDS));
+    }
+
+    @Test
+    void findApiRowsByShoeVariantsIdIn() {
+        assertServedByAnIndex(() -> shoeVariantSizesRepository.findApiRowsByShoeVariantsIdIn(IDS));
+    }
+
+    @Test
+    void findPageWithout() {
+        assertServedByAnIndex(() -> customerRepository.findPageWithout(EnumSet.allOf(Relationship.class), 1L, Limit.of(21)));
+    }
+
+    @Test
+    void findPageWithoutFetchesTheOneToOnesInTheSameStatement() {
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Customer().email("query-plan-" + i));
+        }
+        em.flush();
+        em.clear();
+
+        List<String> statements = STATEMENTS.capture(() ->
+            customerRepository.findPageWithout(EnumSet.noneOf(Relationship.class), null, Limit.of(21))
+        );
+
+        assertThat(statements).hasSize(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            // Shoes of a deleted brand, category, collection or purpose.
+            "select id from shoes where brand_id = 1",
+            "select id from shoes where category_id = 1",
+            "select id from shoes where collection_id = 1",
+            "select id from shoes where shoe_purpose_id = 1",
+            // Variants, colors and stock of a deleted size or color.
+            "select shoe_variants_id from rel_shoe_variants__sizes where sizes_id = 1",
+            "select id from shoe_variant_colors where colors_id = 1",
+            "select id from shoe_variant_sizes where sizes_id = 1",
+            "select id from stock_reservation where shoe_variant_sizes_id = 1",
+            // Items of a deleted wish list, orders of a deleted customer, and their items.
+            "select id from wish_list_items where wish_list_id = 1",
+            "select id from orders where customer_id = 1 order by order_date desc",
+            "select id from order_items where orders_id in (1, 2, 3, 4)",
+            // Sales running now
+            "select id from sales where start_date <= now() and (end_date is null or end_date > now())",
+        }
+    )
+    void handWrittenQueryIsServedByAnIndex(String sql) {
+        assertThat(explain(sql)).doesNotContain("Seq Scan");
+    }
+}
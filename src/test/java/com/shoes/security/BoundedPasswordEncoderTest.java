@@ -0,0 +1,120 @@
+package com.shoes.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shoes.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Unit tests for {@link BoundedPasswordEncoder}.
+ */
+class BoundedPasswordEncoderTest {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private MeterRegistry meterRegistry;
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Encoding "block" holds the only thread until released.
+        PasswordEncoder delegate = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("block".contentEquals(rawPassword)) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(delegate, new SecurityMetersService(meterRegistry), 1, 1, RETRY_AFTER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        String encoded = encoder.encode("password");
+
+        assertThat(encoder.matches("password", encoded)).isTrue();
+        assertThat(encoder.matches("wrong", encoded)).isFalse();
+        assertThat(timerCount(SecurityMetersService.PASSWORD_HASHING_ENCODE)).isEqualTo(1);
+        assertThat(timerCount(SecurityMetersService.PASSWORD_HASHING_MATCHES)).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("block"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        while (meterRegistry.get("executor.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> encoder.encode("rejected"))
+            .isInstanceOf(PasswordHashingRejectedException.class)
+            .extracting("retryAfter")
+            .isEqualTo(RETRY_AFTER);
+        assertThat(meterRegistry.get(SecurityMetersService.PASSWORD_HASHING_REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+
+        release.countDown();
+        String block = running.get(10, TimeUnit.SECONDS);
+        String queuedPassword = queued.get(10, TimeUnit.SECONDS);
+        assertThat(encoder.matches("block", block)).isTrue();
+        assertThat(encoder.matches("queued", queuedPassword)).isTrue();
+    }
+
+    @Test
+    void upgradesPasswordsHashedWithALowerCost() {
+        String weak = new BCryptPasswordEncoder(4).encode("password");
+        BoundedPasswordEncoder stronger = new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(5),
+            new SecurityMetersService(new SimpleMeterRegistry()),
+            1,
+            1,
+            RETRY_AFTER
+        );
+
+        try {
+            assertThat(encoder.upgradeEncoding(weak)).isFalse();
+            assertThat(stronger.upgradeEncoding(weak)).isTrue();
+            assertThat(encoder.upgradeEncoding(stronger.encode("password"))).isFalse();
+        } finally {
+            stronger.destroy();
+        }
+    }
+
+    private long timerCount(String operation) {
+        return meterRegistry
+            .get(SecurityMetersService.PASSWORD_HASHING_METER_NAME)
+            .tag(SecurityMetersService.PASSWORD_HASHING_METER_OPERATION_DIMENSION, operation)
+            .timer()
+            .count();
+    }
+}
@@ -0,0 +1,134 @@
+package com.shoes.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shoes.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Unit tests for {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    private final List<String> decoded = new ArrayList<>();
+
+    private MeterRegistry meterRegistry;
+
+    private SecurityMetersService metersService;
+
+    private JwtDecoder delegate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metersService = new SecurityMetersService(meterRegistry);
+        // Tokens are named after the minutes they are valid for.
+        delegate = token -> {
+            decoded.add(token);
+            if (token.startsWith("bad")) {
+                throw new BadJwtException("Malformed token");
+            }
+            return Jwt.withTokenValue(token)
+                .header("alg", "HS512")
+                .subject("user")
+                .issuedAt(NOW.minusSeconds(1))
+                .expiresAt(NOW.plus(Duration.ofMinutes(Long.parseLong(token))))
+                .build();
+        };
+    }
+
+    private CachingJwtDecoder decoder(int maximumSize, Instant now) {
+        return new CachingJwtDecoder(delegate, metersService, maximumSize, Duration.ofMinutes(5), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", result).counter().count();
+    }
+
+    @Test
+    void verifiedTokenShouldBeDecodedOnce() {
+        CachingJwtDecoder decoder = decoder(10, NOW);
+
+        Jwt first = decoder.decode("10");
+        Jwt second = decoder.decode("10");
+
+        assertThat(second).isSameAs(first);
+        assertThat(decoded).containsExactly("10");
+        assertThat(cacheCount("hit")).isEqualTo(1);
+        assertThat(cacheCount("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntryShouldBeDecodedAgain() {
+        Instant[] now = { NOW };
+        Clock clock = new Clock() {
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+        };
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, metersService, 10, Duration.ofMinutes(5), clock);
+
+        decoder.decode("1");
+        decoder.decode("10");
+        now[0] = NOW.plus(Duration.ofMinutes(2));
+        decoder.decode("1");
+        decoder.decode("10");
+        now[0] = NOW.plus(Duration.ofMinutes(6));
+        decoder.decode("10");
+
+        // "1" expired after a minute, "10" was kept for the five minutes of the ttl.
+        assertThat(decoded).containsExactly("1", "10", "1", "10");
+    }
+
+    @Test
+    void failuresShouldNotBeRememberedAndBeCountedByType() {
+        CachingJwtDecoder decoder = decoder(10, NOW);
+
+        assertThatThrownBy(() -> decoder.decode("bad")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("bad")).isInstanceOf(BadJwtException.class);
+
+        assertThat(decoded).containsExactly("bad", "bad");
+        assertThat(decoder.size()).isZero();
+        assertThat(
+            meterRegistry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME).tag("cause", "malformed").counter().count()
+        ).isEqualTo(2);
+    }
+
+    @Test
+    void cacheShouldStayBounded() {
+        CachingJwtDecoder decoder = decoder(3, NOW);
+
+        for (int minutes = 1; minutes <= 10; minutes++) {
+            decoder.decode(Integer.toString(minutes));
+        }
+
+        assertThat(decoder.size()).isEqualTo(3);
+    }
+}
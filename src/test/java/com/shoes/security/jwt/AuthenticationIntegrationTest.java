@@ -1,5 +1,6 @@
 package com.shoes.security.jwt;
 
+import com.shoes.config.ApplicationProperties;
 import com.shoes.config.SecurityConfiguration;
 import com.shoes.config.SecurityJwtConfiguration;
 import com.shoes.config.WebConfigurer;
@@ -21,6 +22,7 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
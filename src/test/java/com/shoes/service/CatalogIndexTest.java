@@ -0,0 +1,102 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.domain.enumeration.Status;
+import com.shoes.service.CatalogIndex.Document;
+import com.shoes.service.CatalogIndex.Facet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CatalogIndex}.
+ */
+class CatalogIndexTest {
+
+    private CatalogIndex index;
+
+    @BeforeEach
+    public void init() {
+        index = new CatalogIndex();
+        index.upsert(document(1L, "1", "MEN", "RED", "40", Status.IN_STOCK, 10L));
+        index.upsert(document(2L, "1", "WOMEN", "BLUE", "38", Status.SALE, 11L));
+        index.upsert(document(3L, "2", "MEN", "RED", "42", Status.IN_STOCK, 12L));
+    }
+
+    @Test
+    void searchWithoutFiltersShouldReturnEverythingInIndexOrder() {
+        CatalogIndex.Result result = index.search(Map.of(), 0, 10);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.hits()).extracting(Document::id).containsExactly(1L, 2L, 3L);
+        assertThat(result.counts().get(Facet.BRAND)).containsEntry("1", 2).containsEntry("2", 1);
+    }
+
+    @Test
+    void searchShouldAndFacetsAndOrValues() {
+        CatalogIndex.Result result = index.search(Map.of(Facet.CATEGORY, Set.of("MEN"), Facet.SIZE, Set.of("40", "42")), 0, 10);
+
+        assertThat(result.hits()).extracting(Document::id).containsExactly(1L, 3L);
+
+        result = index.search(Map.of(Facet.CATEGORY, Set.of("MEN"), Facet.BRAND, Set.of("1")), 0, 10);
+
+        assertThat(result.hits()).extracting(Document::id).containsExactly(1L);
+    }
+
+    @Test
+    void facetCountsShouldIgnoreTheFilterOfTheirOwnFacet() {
+        CatalogIndex.Result result = index.search(Map.of(Facet.BRAND, Set.of("1")), 0, 10);
+
+        assertThat(result.counts().get(Facet.BRAND)).containsEntry("1", 2).containsEntry("2", 1);
+        assertThat(result.counts().get(Facet.CATEGORY)).containsEntry("MEN", 1).containsEntry("WOMEN", 1);
+    }
+
+    @Test
+    void searchShouldPage() {
+        CatalogIndex.Result result = index.search(Map.of(), 1, 1);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.hits()).extracting(Document::id).containsExactly(2L);
+    }
+
+    @Test
+    void upsertShouldReplaceThePreviousValuesInPlace() {
+        index.upsert(document(1L, "2", "KIDS", "GREEN", "30", Status.BEST_SELLER, 20L));
+
+        assertThat(index.search(Map.of(Facet.CATEGORY, Set.of("MEN")), 0, 10).hits()).extracting(Document::id).containsExactly(3L);
+        assertThat(index.search(Map.of(Facet.BRAND, Set.of("2")), 0, 10).hits()).extracting(Document::id).containsExactly(1L, 3L);
+        assertThat(index.colorsLinkOwner(10L)).isNull();
+        assertThat(index.colorsLinkOwner(20L)).isEqualTo(1L);
+    }
+
+    @Test
+    void removeShouldDropTheDocumentFromEveryBitmap() {
+        index.remove(2L);
+
+        CatalogIndex.Result result = index.search(Map.of(), 0, 10);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.counts().get(Facet.CATEGORY)).doesNotContainKey("WOMEN");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownValuesShouldMatchNothing() {
+        CatalogIndex.Result result = index.search(Map.of(Facet.COLOR, Set.of("PURPLE")), 0, 10);
+
+        assertThat(result.total()).isZero();
+        assertThat(result.hits()).isEmpty();
+    }
+
+    private static Document document(Long id, String brand, String category, String color, String size, Status status, Long colorsLinkId) {
+        Map<Facet, Set<String>> values = new EnumMap<>(Facet.class);
+        values.put(Facet.BRAND, Set.of(brand));
+        values.put(Facet.CATEGORY, Set.of(category));
+        values.put(Facet.COLOR, Set.of(color));
+        values.put(Facet.SIZE, Set.of(size));
+        values.put(Facet.STATUS, Set.of(status.name()));
+        return new Document(id, id * 100, status, null, values, Set.of(colorsLinkId), Set.of());
+    }
+}
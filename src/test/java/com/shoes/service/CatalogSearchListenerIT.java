@@ -0,0 +1,141 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.IntegrationTest;
+import com.shoes.config.ApplicationProperties;
+import com.shoes.domain.Brand;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Shoes;
+import com.shoes.domain.enumeration.Status;
+import com.shoes.repository.BrandRepository;
+import com.shoes.repository.ShoeVariantColorsRepository;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.ShoesRepository;
+import com.shoes.service.dto.CatalogSearchCriteria;
+import com.shoes.service.dto.CatalogSearchResultDTO;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CatalogSearchListener}, with one {@link CatalogSearchService} per node sharing the
+ * database.
+ * <p>
+ * Variants are announced once their writes have committed, so these tests do not run in a transaction.
+ */
+@IntegrationTest
+class CatalogSearchListenerIT {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private ShoesRepository shoesRepository;
+
+    @Autowired
+    private ShoeVariantsRepository shoeVariantsRepository;
+
+    @Autowired
+    private ShoeVariantColorsRepository shoeVariantColorsRepository;
+
+    @Autowired
+    private ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationProperties applicationProperties;
+
+    private CatalogSearchService node;
+
+    private CatalogSearchService otherNode;
+
+    private CatalogSearchListener otherNodeListener;
+
+    private Brand brand;
+
+    private Shoes shoes;
+
+    private ShoeVariants shoeVariants;
+
+    @BeforeEach
+    public void initTest() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCatalogSearch().setNotifyEnabled(true);
+        applicationProperties.getCatalogSearch().setChannel("catalog_search_listener_it");
+        node = newNode();
+        otherNode = newNode();
+        otherNodeListener = new CatalogSearchListener(dataSourceProperties, otherNode, applicationProperties);
+        otherNodeListener.onApplicationReady();
+
+        brand = brandRepository.save(new Brand().name("catalog-search-listener"));
+        shoes = shoesRepository.save(new Shoes().brand(brand));
+        shoeVariants = shoeVariantsRepository.save(new ShoeVariants().quantity(1).status(Status.IN_STOCK).shoes(shoes));
+    }
+
+    private CatalogSearchService newNode() {
+        return new CatalogSearchService(
+            shoeVariantsRepository,
+            shoeVariantColorsRepository,
+            shoeVariantSizesRepository,
+            dataSource,
+            applicationProperties,
+            transactionManager
+        );
+    }
+
+    @AfterEach
+    public void cleanUp() throws InterruptedException {
+        otherNodeListener.shutdown();
+        shoeVariantsRepository.deleteById(shoeVariants.getId());
+        shoesRepository.deleteById(shoes.getId());
+        brandRepository.deleteById(brand.getId());
+    }
+
+    private List<Long> onSale(CatalogSearchService node) {
+        CatalogSearchCriteria criteria = new CatalogSearchCriteria();
+        criteria.setBrand(List.of(brand.getId().toString()));
+        criteria.setStatus(List.of(Status.SALE.name()));
+        return node.search(criteria).getHits().stream().map(CatalogSearchResultDTO.Hit::getId).toList();
+    }
+
+    private List<Long> awaitOnSale(CatalogSearchService node) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        List<Long> hits = onSale(node);
+        while (hits.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            hits = onSale(node);
+        }
+        return hits;
+    }
+
+    @Test
+    void reindexIsSeenByEveryNode() throws InterruptedException {
+        assertThat(onSale(otherNode)).isEmpty();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            shoeVariantsRepository.save(shoeVariants.status(Status.SALE));
+            node.reindexShoeVariants(shoeVariants.getId());
+        });
+        node.announce();
+
+        assertThat(onSale(node)).containsExactly(shoeVariants.getId());
+        assertThat(awaitOnSale(otherNode)).containsExactly(shoeVariants.getId());
+    }
+}
@@ -0,0 +1,92 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.IntegrationTest;
+import com.shoes.repository.CatalogVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CatalogVersionService}, with one instance per node sharing the database.
+ * <p>
+ * Versions are bumped in the transactions of the writes, and read again once they commit, so these tests do not run in
+ * a transaction.
+ */
+@IntegrationTest
+class CatalogVersionServiceIT {
+
+    private static final String ENTITY_NAME = "catalogVersionServiceIT";
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogVersionService node;
+
+    private CatalogVersionService otherNode;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void initTest() {
+        node = new CatalogVersionService(catalogVersionRepository);
+        otherNode = new CatalogVersionService(catalogVersionRepository);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        catalogVersionRepository.deleteById(ENTITY_NAME);
+    }
+
+    @Test
+    void bumpIsSeenByEveryNodeOnceRefreshed() {
+        assertThat(node.version(ENTITY_NAME)).isZero();
+        assertThat(otherNode.version(ENTITY_NAME)).isZero();
+        String etag = otherNode.etag(ENTITY_NAME);
+
+        transactionTemplate.executeWithoutResult(status -> node.bump(ENTITY_NAME));
+        assertThat(node.version(ENTITY_NAME)).isEqualTo(1);
+        // Until it reads the versions again, the other node tags its reads with the previous one.
+        assertThat(otherNode.etag(ENTITY_NAME)).isEqualTo(etag);
+        otherNode.refresh();
+        assertThat(otherNode.version(ENTITY_NAME)).isEqualTo(1);
+        assertThat(otherNode.etag(ENTITY_NAME)).isNotEqualTo(etag).isEqualTo(node.etag(ENTITY_NAME));
+
+        transactionTemplate.executeWithoutResult(status -> otherNode.bump(ENTITY_NAME));
+        node.refresh();
+        assertThat(node.version(ENTITY_NAME)).isEqualTo(2);
+        assertThat(node.etag(ENTITY_NAME)).isEqualTo(otherNode.etag(ENTITY_NAME));
+    }
+
+    @Test
+    void versionsAreReadFromMemory() {
+        transactionTemplate.executeWithoutResult(status -> node.bump(ENTITY_NAME));
+        assertThat(node.version(ENTITY_NAME)).isEqualTo(1);
+
+        catalogVersionRepository.deleteById(ENTITY_NAME);
+        assertThat(node.version(ENTITY_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackBumpIsNotSeen() {
+        transactionTemplate.executeWithoutResult(status -> node.bump(ENTITY_NAME));
+        String etag = node.etag(ENTITY_NAME);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            node.bump(ENTITY_NAME);
+            status.setRollbackOnly();
+        });
+        assertThat(node.version(ENTITY_NAME)).isEqualTo(1);
+        assertThat(node.etag(ENTITY_NAME)).isEqualTo(etag);
+        otherNode.refresh();
+        assertThat(otherNode.version(ENTITY_NAME)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shoes.config.ApplicationProperties;
+import com.shoes.service.dto.OutboxEventDTO;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link HttpOutboxSink}.
+ */
+class HttpOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final AtomicReference<byte[]> received = new AtomicReference<>();
+
+    private final AtomicInteger status = new AtomicInteger(204);
+
+    private HttpServer server;
+
+    private HttpOutboxSink sink;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/events", exchange -> {
+            received.set(exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getOutbox().setHttpUrl("http://localhost:" + server.getAddress().getPort() + "/events");
+        applicationProperties.getOutbox().setHttpTimeout(Duration.ofSeconds(5));
+        sink = new HttpOutboxSink(applicationProperties, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static OutboxEventDTO event(long sequence) {
+        OutboxEventDTO event = new OutboxEventDTO();
+        event.setId(sequence);
+        event.setAggregateType(OutboxService.AGGREGATE_SHOE_VARIANT_SIZES);
+        event.setAggregateId("7");
+        event.setSequence(sequence);
+        event.setEventType(OutboxService.STOCK_CHANGED);
+        event.setCreatedAt(Instant.parse("2026-10-17T12:00:00Z"));
+        event.setPayload("{\"shoeVariantSizesId\":7,\"quantity\":" + sequence + "}");
+        return event;
+    }
+
+    @Test
+    void postsTheEventsAsAJsonArray() throws IOException {
+        sink.deliver(List.of(event(1), event(2)));
+
+        JsonNode body = objectMapper.readTree(received.get());
+        assertThat(body.isArray()).isTrue();
+        assertThat(body.size()).isEqualTo(2);
+        assertThat(body.get(0).get("sequence").asLong()).isEqualTo(1);
+        assertThat(body.get(1).get("eventType").asText()).isEqualTo(OutboxService.STOCK_CHANGED);
+        assertThat(body.get(1).get("payload").get("quantity").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void failsUnlessTheUrlAnswers2xx() {
+        status.set(500);
+
+        assertThatThrownBy(() -> sink.deliver(List.of(event(1)))).isInstanceOf(IOException.class).hasMessageContaining("500");
+    }
+}
@@ -0,0 +1,35 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyServiceTest {
+
+    @Test
+    void headersRoundTrip() {
+        List<Map.Entry<String, String>> headers = List.of(
+            Map.entry("Content-Type", "application/json"),
+            Map.entry("Location", "/api/orders/1051"),
+            Map.entry("X-shoeStoreApp-alert", "shoeStoreApp.orders.created"),
+            Map.entry("X-shoeStoreApp-params", "1051")
+        );
+
+        assertThat(IdempotencyService.decodeHeaders(IdempotencyService.encodeHeaders(headers))).containsExactlyElementsOf(headers);
+    }
+
+    @Test
+    void valuesMayHoldColons() {
+        List<Map.Entry<String, String>> headers = List.of(Map.entry("Location", "http://localhost:8080/api/orders/1"));
+
+        assertThat(IdempotencyService.decodeHeaders(IdempotencyService.encodeHeaders(headers))).containsExactlyElementsOf(headers);
+    }
+
+    @Test
+    void noHeaders() {
+        assertThat(IdempotencyService.decodeHeaders(IdempotencyService.encodeHeaders(List.of()))).isEmpty();
+        assertThat(IdempotencyService.decodeHeaders(null)).isEmpty();
+    }
+}
@@ -0,0 +1,45 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link NotificationPayloads}.
+ */
+class NotificationPayloadsTest {
+
+    @Test
+    void payloadsRoundTrip() {
+        List<String> payloads = NotificationPayloads.write(List.of(3L, 1L, 2L));
+
+        assertThat(payloads).containsExactly("3,1,2");
+        List<Long> ids = new ArrayList<>();
+        payloads.forEach(payload -> NotificationPayloads.read(payload, ids));
+        assertThat(ids).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void payloadsAreSplitUnderTheNotificationLimit() {
+        List<Long> sent = LongStream.range(1_000_000_000L, 1_000_002_000L).boxed().toList();
+
+        List<String> payloads = NotificationPayloads.write(sent);
+
+        assertThat(payloads).hasSizeGreaterThan(1).allSatisfy(payload -> assertThat(payload.length()).isLessThanOrEqualTo(7_900));
+        List<Long> received = new ArrayList<>();
+        payloads.forEach(payload -> NotificationPayloads.read(payload, received));
+        assertThat(received).isEqualTo(sent);
+    }
+
+    @Test
+    void foreignPayloadsAreSkipped() {
+        List<Long> ids = new ArrayList<>();
+
+        NotificationPayloads.read("7,not an id,,8", ids);
+
+        assertThat(ids).containsExactly(7L, 8L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shoes.service.OrderAnalyticsService.Dimension;
+import com.shoes.service.OrderItemsColumns.Filter;
+import com.shoes.service.OrderItemsColumns.Group;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OrderItemsColumns}.
+ */
+class OrderItemsColumnsTest {
+
+    private static final Filter ALL = new Filter(Long.MIN_VALUE, Long.MAX_VALUE, Map.of());
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    private final OrderItemsColumns columns = new OrderItemsColumns();
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    private void append(String day, int quantity, long price, String brand, String color, String size) {
+        columns.append(LocalDate.parse(day), quantity, price, brand, "SNEAKERS", "RUNNING", color, size, "DELIVERED");
+    }
+
+    @Test
+    void queryShouldGroupAndFilterInParallel() {
+        for (int i = 0; i < 100; i++) {
+            append("2026-01-15", 1, 1000, "Nike", "red", "42");
+            append("2026-07-15", 2, 500, "Adidas", "blue", "43");
+        }
+        append("2026-07-16", 1, 700, null, "red", null);
+
+        List<Group> bySize = columns.snapshot().query(List.of(Dimension.BRAND, Dimension.SIZE), ALL, pool, 7);
+
+        assertThat(bySize).containsExactly(
+            new Group(List.of("Adidas", "43"), 100, 200, 100_000),
+            new Group(List.of("Nike", "42"), 100, 100, 100_000),
+            new Group(Arrays.asList(null, null), 1, 1, 700)
+        );
+
+        Filter summerReds = new Filter(
+            LocalDate.parse("2026-06-01").toEpochDay(),
+            LocalDate.parse("2026-08-31").toEpochDay(),
+            Map.of(Dimension.COLOR, Set.of("red"))
+        );
+        assertThat(columns.snapshot().query(List.of(Dimension.SEASON, Dimension.COLOR), summerReds, pool, 7)).containsExactly(
+            new Group(List.of("SUMMER", "red"), 1, 1, 700)
+        );
+    }
+
+    @Test
+    void queryShouldDecodeTimeDimensions() {
+        append("2025-12-31", 1, 100, "Nike", "red", "42");
+        append("2026-02-01", 3, 100, "Nike", "red", "42");
+
+        assertThat(columns.snapshot().query(List.of(Dimension.YEAR, Dimension.MONTH, Dimension.SEASON), ALL, pool, 1)).containsExactly(
+            new Group(List.of("2026", "FEBRUARY", "WINTER"), 1, 3, 300),
+            new Group(List.of("2025", "DECEMBER", "WINTER"), 1, 1, 100)
+        );
+        assertThat(columns.snapshot().query(List.of(), ALL, pool, 1)).containsExactly(new Group(List.of(), 2, 4, 400));
+    }
+
+    @Test
+    void snapshotShouldIgnoreRowsAppendedLater() {
+        append("2026-01-15", 1, 100, "Nike", "red", "42");
+        OrderItemsColumns.Snapshot snapshot = columns.snapshot();
+        for (int i = 0; i < 50; i++) {
+            append("2026-01-15", 1, 100, "Puma", "green", "44");
+        }
+
+        assertThat(snapshot.query(List.of(Dimension.BRAND), ALL, pool, 4)).containsExactly(new Group(List.of("Nike"), 1, 1, 100));
+        assertThat(columns.snapshot().query(List.of(Dimension.BRAND), ALL, pool, 4)).hasSize(2);
+        Filter asics = new Filter(0, Long.MAX_VALUE, Map.of(Dimension.BRAND, Set.of("Asics")));
+        assertThat(columns.snapshot().query(List.of(Dimension.BRAND), asics, pool, 4)).isEmpty();
+    }
+
+    @Test
+    void queryShouldRejectTooManyGroups() {
+        append("2026-01-15", 1, 100, "Nike", "red", "42");
+        append("2026-01-16", 1, 100, "Puma", "blue", "43");
+        List<Dimension> groupBy = Arrays.asList(new Dimension[64]);
+        groupBy.replaceAll(dimension -> Dimension.BRAND);
+
+        assertThatThrownBy(() -> columns.snapshot().query(groupBy, ALL, pool, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
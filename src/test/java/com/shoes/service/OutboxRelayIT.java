@@ -0,0 +1,367 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Orders;
+import com.shoes.domain.Sales;
+import com.shoes.domain.ShoeVariantColors;
+import com.shoes.domain.ShoeVariantSizes;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.repository.OrderItemsRepository;
+import com.shoes.repository.OrdersRepository;
+import com.shoes.repository.OutboxEventRepository;
+import com.shoes.repository.SalesRepository;
+import com.shoes.repository.ShoeVariantColorsRepository;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.StockReservationRepository;
+import com.shoes.service.dto.OrderItemsDTO;
+import com.shoes.service.dto.OrdersDTO;
+import com.shoes.service.dto.StockReservationDTO;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link OutboxService} and the {@link OutboxRelay}, relaying to a {@link FileOutboxSink}.
+ * <p>
+ * Events are relayed once they have committed, so these tests do not run in a transaction.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(
+    properties = {
+        "application.outbox.enabled=true",
+        "application.outbox.relay-interval=PT1H",
+        "application.outbox.batch-size=2",
+        "application.outbox.file-path=target/outbox-it/events.ndjson",
+        "application.pricing.tick=PT0.1S",
+    }
+)
+class OutboxRelayIT {
+
+    private static final Path EVENTS_FILE = Path.of("target/outbox-it/events.ndjson");
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private ShoeVariantsRepository shoeVariantsRepository;
+
+    @Autowired
+    private ShoeVariantColorsRepository shoeVariantColorsRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private OrderItemsRepository orderItemsRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private SalesRepository salesRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private ShoeVariantSizes shoeVariantSizes;
+
+    private ShoeVariants shoeVariants;
+
+    private Sales sales;
+
+    private final List<Long> ordersIds = new ArrayList<>();
+
+    private final List<Long> orderItemsIds = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() throws IOException {
+        // Ids are reused once the database is recreated, so events left by a previous run would be read back.
+        Files.deleteIfExists(EVENTS_FILE);
+        shoeVariantSizes = shoeVariantSizesRepository.save(new ShoeVariantSizes().quantity(5));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        stockReservationRepository.deleteAll(
+            stockReservationRepository
+                .findAll()
+                .stream()
+                .filter(reservation -> shoeVariantSizes.getId().equals(reservation.getShoeVariantSizesId()))
+                .toList()
+        );
+        shoeVariantSizesRepository.deleteById(shoeVariantSizes.getId());
+        orderItemsRepository.deleteAllById(orderItemsIds);
+        ordersRepository.deleteAllById(ordersIds);
+        if (shoeVariants != null) {
+            shoeVariantColorsRepository.deleteAll(shoeVariantColorsRepository.findAll().stream().filter(this::ofShoeVariants).toList());
+            shoeVariantsRepository.deleteById(shoeVariants.getId());
+        }
+        if (sales != null) {
+            salesRepository.deleteById(sales.getId());
+        }
+        outboxEventRepository.deleteAll();
+    }
+
+    private boolean ofShoeVariants(ShoeVariantColors shoeVariantColors) {
+        return shoeVariantColors.getShoeVariants() != null && shoeVariants.getId().equals(shoeVariantColors.getShoeVariants().getId());
+    }
+
+    /**
+     * Reads the events the sink received for an aggregate, in the order they were delivered.
+     */
+    private List<JsonNode> delivered(String aggregateType, Object aggregateId) throws IOException {
+        List<JsonNode> events = new ArrayList<>();
+        if (!Files.exists(EVENTS_FILE)) {
+            return events;
+        }
+        for (String line : Files.readAllLines(EVENTS_FILE)) {
+            JsonNode event = om.readTree(line);
+            if (
+                aggregateType.equals(event.get("aggregateType").asText()) &&
+                String.valueOf(aggregateId).equals(event.get("aggregateId").asText())
+            ) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    @Test
+    void stockChangesAreRelayedInOrder() throws Exception {
+        StockReservationDTO reserved = stockReservationService.reserve(shoeVariantSizes.getId(), 2);
+        stockReservationService.release(reserved.getId());
+        stockReservationService.reserve(shoeVariantSizes.getId(), 4);
+
+        outboxRelay.relay();
+
+        List<JsonNode> events = delivered(OutboxService.AGGREGATE_SHOE_VARIANT_SIZES, shoeVariantSizes.getId());
+        assertThat(events).extracting(event -> event.get("sequence").asLong()).containsExactly(1L, 2L, 3L);
+        assertThat(events).extracting(event -> event.get("eventType").asText()).containsOnly(OutboxService.STOCK_CHANGED);
+        assertThat(events).extracting(event -> event.get("payload").get("quantity").asInt()).containsExactly(3, 5, 1);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void createdOrdersAreRelayed() throws Exception {
+        OrdersDTO ordersDTO = new OrdersDTO();
+        ordersDTO.setTotalPrice(42L);
+        String response = restMockMvc
+            .perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ordersDTO)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        Long ordersId = om.readValue(response, OrdersDTO.class).getId();
+        ordersIds.add(ordersId);
+
+        outboxRelay.relay();
+
+        List<JsonNode> events = delivered(OutboxService.AGGREGATE_ORDERS, ordersId);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).get("eventType").asText()).isEqualTo(OutboxService.ORDER_CREATED);
+        assertThat(events.get(0).get("sequence").asLong()).isEqualTo(1L);
+        assertThat(events.get(0).get("payload").get("ordersId").asLong()).isEqualTo(ordersId);
+        assertThat(events.get(0).get("payload").get("totalPrice").asLong()).isEqualTo(42L);
+    }
+
+    @Test
+    void orderChangesAreRelayedInOrder() throws Exception {
+        OrdersDTO ordersDTO = new OrdersDTO();
+        ordersDTO.setTotalPrice(42L);
+        String response = restMockMvc
+            .perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ordersDTO)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        ordersDTO = om.readValue(response, OrdersDTO.class);
+        ordersIds.add(ordersDTO.getId());
+
+        ordersDTO.setTotalPrice(43L);
+        restMockMvc
+            .perform(
+                put("/api/orders/{id}", ordersDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ordersDTO))
+            )
+            .andExpect(status().isOk());
+        ordersDTO.setTotalPrice(44L);
+        restMockMvc
+            .perform(
+                patch("/api/orders/{id}", ordersDTO.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(ordersDTO))
+            )
+            .andExpect(status().isOk());
+        restMockMvc.perform(delete("/api/orders/{id}", ordersDTO.getId())).andExpect(status().isNoContent());
+
+        outboxRelay.relay();
+
+        List<JsonNode> events = delivered(OutboxService.AGGREGATE_ORDERS, ordersDTO.getId());
+        assertThat(events).extracting(event -> event.get("sequence").asLong()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(events)
+            .extracting(event -> event.get("eventType").asText())
+            .containsExactly(
+                OutboxService.ORDER_CREATED,
+                OutboxService.ORDER_UPDATED,
+                OutboxService.ORDER_UPDATED,
+                OutboxService.ORDER_DELETED
+            );
+        assertThat(events.subList(0, 3))
+            .extracting(event -> event.get("payload").get("totalPrice").asLong())
+            .containsExactly(42L, 43L, 44L);
+        assertThat(events.get(3).get("payload").get("ordersId").asLong()).isEqualTo(ordersDTO.getId());
+    }
+
+    @Test
+    void orderItemChangesAreRelayedInOrder() throws Exception {
+        Orders orders = ordersRepository.save(new Orders().totalPrice(10L));
+        ordersIds.add(orders.getId());
+        OrdersDTO ordersDTO = new OrdersDTO();
+        ordersDTO.setId(orders.getId());
+        OrderItemsDTO orderItemsDTO = new OrderItemsDTO();
+        orderItemsDTO.setQuantity(1);
+        orderItemsDTO.setPrice(10L);
+        orderItemsDTO.setOrders(ordersDTO);
+        String response = restMockMvc
+            .perform(post("/api/order-items").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(orderItemsDTO)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        orderItemsDTO = om.readValue(response, OrderItemsDTO.class);
+        orderItemsIds.add(orderItemsDTO.getId());
+
+        orderItemsDTO.setQuantity(2);
+        restMockMvc
+            .perform(
+                put("/api/order-items/{id}", orderItemsDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(orderItemsDTO))
+            )
+            .andExpect(status().isOk());
+        orderItemsDTO.setQuantity(3);
+        restMockMvc
+            .perform(
+                patch("/api/order-items/{id}", orderItemsDTO.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(orderItemsDTO))
+            )
+            .andExpect(status().isOk());
+        restMockMvc.perform(delete("/api/order-items/{id}", orderItemsDTO.getId())).andExpect(status().isNoContent());
+
+        outboxRelay.relay();
+
+        List<JsonNode> events = delivered(OutboxService.AGGREGATE_ORDER_ITEMS, orderItemsDTO.getId());
+        assertThat(events).extracting(event -> event.get("sequence").asLong()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(events)
+            .extracting(event -> event.get("eventType").asText())
+            .containsExactly(
+                OutboxService.ORDER_ITEM_CREATED,
+                OutboxService.ORDER_ITEM_UPDATED,
+                OutboxService.ORDER_ITEM_UPDATED,
+                OutboxService.ORDER_ITEM_DELETED
+            );
+        assertThat(events.subList(0, 3)).extracting(event -> event.get("payload").get("quantity").asInt()).containsExactly(1, 2, 3);
+        assertThat(events.subList(0, 3)).extracting(event -> event.get("payload").get("ordersId").asLong()).containsOnly(orders.getId());
+        assertThat(events.get(3).get("payload").get("orderItemsId").asLong()).isEqualTo(orderItemsDTO.getId());
+    }
+
+    @Test
+    void rolledBackChangesAreNotRecorded() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            stockReservationService.reserve(shoeVariantSizes.getId(), 2);
+            status.setRollbackOnly();
+        });
+        stockReservationService.reserve(shoeVariantSizes.getId(), 1);
+
+        outboxRelay.relay();
+
+        List<JsonNode> events = delivered(OutboxService.AGGREGATE_SHOE_VARIANT_SIZES, shoeVariantSizes.getId());
+        assertThat(events).extracting(event -> event.get("sequence").asLong()).containsExactly(1L);
+        assertThat(events).extracting(event -> event.get("payload").get("quantity").asInt()).containsExactly(4);
+    }
+
+    @Test
+    void priceChangesAreRelayed() throws Exception {
+        shoeVariants = shoeVariantsRepository.save(new ShoeVariants().quantity(1));
+        shoeVariantColorsRepository.save(new ShoeVariantColors().price(99.5f).shoeVariants(shoeVariants));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> pricingService.reloadShoeVariants(shoeVariants.getId()));
+        transactionTemplate.executeWithoutResult(status -> pricingService.removeShoeVariants(shoeVariants.getId()));
+
+        outboxRelay.relay();
+
+        List<JsonNode> events = delivered(OutboxService.AGGREGATE_SHOE_VARIANTS, shoeVariants.getId());
+        assertThat(events).extracting(event -> event.get("eventType").asText()).containsOnly(OutboxService.PRICES_CHANGED);
+        assertThat(events).extracting(event -> event.get("sequence").asLong()).containsExactly(1L, 2L);
+        assertThat(events.get(0).get("payload").get("prices").get(0).get("basePrice").decimalValue()).isEqualByComparingTo("99.5");
+        assertThat(events.get(1).get("payload").get("prices").size()).isZero();
+    }
+
+    @Test
+    void priceSwitchesAreRelayed() throws Exception {
+        Instant startDate = Instant.now().plusSeconds(1).truncatedTo(ChronoUnit.MILLIS);
+        sales = salesRepository.save(new Sales().startDate(startDate).discountPercentage(50));
+        shoeVariants = shoeVariantsRepository.save(new ShoeVariants().quantity(1).sales(sales));
+        shoeVariantColorsRepository.save(new ShoeVariantColors().price(99.5f).shoeVariants(shoeVariants));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> pricingService.reloadShoeVariants(shoeVariants.getId()));
+
+        // The wheel ticks on its own thread, records the switch once the sale has started.
+        List<JsonNode> events = delivered(OutboxService.AGGREGATE_SHOE_VARIANTS, shoeVariants.getId());
+        for (int attempt = 0; attempt < 50 && events.size() < 2; attempt++) {
+            Thread.sleep(100);
+            outboxRelay.relay();
+            events = delivered(OutboxService.AGGREGATE_SHOE_VARIANTS, shoeVariants.getId());
+        }
+
+        assertThat(events).extracting(event -> event.get("sequence").asLong()).containsExactly(1L, 2L);
+        JsonNode before = events.get(0).get("payload").get("prices").get(0);
+        assertThat(before.get("price").decimalValue()).isEqualByComparingTo("99.5");
+        assertThat(Instant.parse(before.get("validUntil").asText())).isEqualTo(startDate);
+        JsonNode after = events.get(1).get("payload").get("prices").get(0);
+        assertThat(after.get("price").decimalValue()).isEqualByComparingTo("49.75");
+        assertThat(after.get("validUntil").asText(null)).isNull();
+    }
+}
@@ -0,0 +1,78 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.service.PriceTable.Item;
+import com.shoes.service.PriceTable.Price;
+import com.shoes.service.PriceTable.Sale;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PriceTable}.
+ */
+class PriceTableTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static final Instant END = Instant.parse("2026-01-08T00:00:00Z");
+
+    private final PriceTable table = new PriceTable();
+
+    @Test
+    void priceShouldFollowTheSaleWindow() {
+        Sale sale = new Sale(7L, START, END, 20, null);
+        Item item = new Item(1L, 10L, 3, new BigDecimal("59.99"), sale);
+
+        Price before = PriceTable.price(item, START.minusSeconds(1));
+        assertThat(before.price()).isEqualByComparingTo("59.99");
+        assertThat(before.onSale()).isFalse();
+        assertThat(before.validUntil()).isEqualTo(START);
+
+        Price during = PriceTable.price(item, START);
+        assertThat(during.price()).isEqualByComparingTo("47.99");
+        assertThat(during.onSale()).isTrue();
+        assertThat(during.validUntil()).isEqualTo(END);
+
+        Price after = PriceTable.price(item, END);
+        assertThat(after.price()).isEqualByComparingTo("59.99");
+        assertThat(after.validUntil()).isNull();
+    }
+
+    @Test
+    void newPriceShouldWinOverDiscount() {
+        Item item = new Item(1L, 10L, 3, new BigDecimal("59.99"), new Sale(7L, null, null, 20, 40));
+
+        assertThat(PriceTable.price(item, START).price()).isEqualByComparingTo("40");
+    }
+
+    @Test
+    void putShouldReturnSwitchesAndGetShouldRepriceStaleEntries() {
+        Sale sale = new Sale(7L, START, END, 50, null);
+        List<Instant> switches = table.put(
+            10L,
+            List.of(new Item(1L, 10L, 3, new BigDecimal("100"), sale), new Item(2L, 10L, 4, new BigDecimal("80"), sale)),
+            START.minusSeconds(60)
+        );
+
+        assertThat(switches).containsExactly(START);
+        assertThat(table.get(1L, START.minusSeconds(1)).orElseThrow().price()).isEqualByComparingTo("100");
+        // Not refreshed yet, the stored price is past its validity.
+        assertThat(table.get(1L, START).orElseThrow().price()).isEqualByComparingTo("50");
+        assertThat(table.refresh(10L, START)).containsExactly(END);
+        assertThat(table.getByShoeVariants(10L, START)).extracting(Price::price).extracting(BigDecimal::intValue).containsExactly(50, 40);
+    }
+
+    @Test
+    void putShouldNotDropAnItemMovedToAnotherVariant() {
+        table.put(10L, List.of(new Item(1L, 10L, 3, BigDecimal.ONE, null)), START);
+        table.put(11L, List.of(new Item(1L, 11L, 3, BigDecimal.TEN, null)), START);
+        table.put(10L, List.of(), START);
+
+        assertThat(table.owner(1L)).isEqualTo(11L);
+        assertThat(table.get(1L, START).orElseThrow().price()).isEqualByComparingTo("10");
+        assertThat(table.getByShoeVariants(10L, START)).isEmpty();
+    }
+}
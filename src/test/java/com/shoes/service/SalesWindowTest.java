@@ -0,0 +1,79 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SalesWindow} and {@link BestSellerRanking}.
+ */
+class SalesWindowTest {
+
+    private static final long TODAY = 20_000;
+
+    private final SalesWindow window = new SalesWindow(BestSellerRanking.MONTH_DAYS);
+
+    @Test
+    void totalsShouldOnlyCountTheLastDays() {
+        window.add(1L, TODAY, 2);
+        window.add(1L, TODAY, 3);
+        window.add(1L, TODAY - 6, 4);
+        window.add(1L, TODAY - 7, 8);
+        window.add(1L, TODAY - 29, 16);
+
+        assertThat(window.total(1L, TODAY, BestSellerRanking.WEEK_DAYS)).isEqualTo(9);
+        assertThat(window.total(1L, TODAY, BestSellerRanking.MONTH_DAYS)).isEqualTo(33);
+        assertThat(window.total(1L, TODAY + 1, BestSellerRanking.WEEK_DAYS)).isEqualTo(5);
+        assertThat(window.total(2L, TODAY, BestSellerRanking.MONTH_DAYS)).isZero();
+    }
+
+    @Test
+    void slotsShouldBeReusedByLaterDaysOnly() {
+        window.add(1L, TODAY - 29, 16);
+        window.add(1L, TODAY + 1, 1);
+        assertThat(window.total(1L, TODAY + 1, BestSellerRanking.MONTH_DAYS)).isEqualTo(1);
+
+        // The slot now holds a later day.
+        window.add(1L, TODAY - 29, 16);
+        assertThat(window.total(1L, TODAY, BestSellerRanking.MONTH_DAYS)).isZero();
+    }
+
+    @Test
+    void rankingShouldKeepTheTopOfEachCategoryAndBrand() {
+        window.add(1L, TODAY, 10);
+        window.add(2L, TODAY, 5);
+        window.add(2L, TODAY - 20, 50);
+        window.add(3L, TODAY, 5);
+        window.add(4L, TODAY - 1, 1);
+        window.add(5L, TODAY - 10, 100);
+        window.add(6L, TODAY, 7);
+        Map<Long, BestSellerRanking.Placement> placements = Map.of(
+            1L,
+            new BestSellerRanking.Placement(10L, 100),
+            2L,
+            new BestSellerRanking.Placement(10L, 100),
+            3L,
+            new BestSellerRanking.Placement(10L, 200),
+            4L,
+            new BestSellerRanking.Placement(20L, 200),
+            5L,
+            new BestSellerRanking.Placement(20L, 200)
+        );
+
+        BestSellerRanking ranking = BestSellerRanking.build(window, placements, TODAY, 2, 1);
+
+        assertThat(ranking.overall()).extracting(BestSellerRanking.Entry::shoeVariantsId).containsExactly(1L, 6L);
+        assertThat(ranking.ofCategory(10L)).containsExactly(
+            new BestSellerRanking.Entry(1L, 10, 10),
+            new BestSellerRanking.Entry(2L, 5, 55)
+        );
+        assertThat(ranking.ofCategory(20L)).extracting(BestSellerRanking.Entry::shoeVariantsId).containsExactly(4L);
+        assertThat(ranking.ofBrand(200)).extracting(BestSellerRanking.Entry::shoeVariantsId).containsExactly(3L, 4L);
+        assertThat(ranking.ofBrand(300)).isEmpty();
+        // Variant 5 sold nothing this week, variant 6 has no category nor brand.
+        assertThat(ranking.bestSellerIds()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+
+        assertThat(BestSellerRanking.build(window, placements, TODAY, 2, 5).bestSellerIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+}
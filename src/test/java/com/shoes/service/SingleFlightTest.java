@@ -0,0 +1,126 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final AtomicInteger executed = new AtomicInteger();
+
+    private final AtomicInteger coalesced = new AtomicInteger();
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>(executed::incrementAndGet, coalesced::incrementAndGet);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    /**
+     * A load that holds its thread until released.
+     */
+    private Supplier<String> blockingLoad(Supplier<String> result) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    private CompletableFuture<String> loadAsync(Supplier<String> loader) {
+        return CompletableFuture.supplyAsync(() -> singleFlight.load(1L, loader), executor);
+    }
+
+    private void awaitCoalesced(int count) {
+        while (coalesced.get() < count) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void concurrentLoadsShareOne() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = blockingLoad(() -> "value-" + loads.incrementAndGet());
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        callers.add(loadAsync(loader));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < CALLERS; i++) {
+            callers.add(loadAsync(loader));
+        }
+        awaitCoalesced(CALLERS - 1);
+
+        release.countDown();
+        for (CompletableFuture<String> caller : callers) {
+            assertThat(caller.get(10, TimeUnit.SECONDS)).isEqualTo("value-1");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(executed.get()).isEqualTo(1);
+        assertThat(coalesced.get()).isEqualTo(CALLERS - 1);
+
+        // Completed loads are not kept.
+        assertThat(singleFlight.load(1L, () -> "again")).isEqualTo("again");
+        assertThat(executed.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failureIsRethrownToEveryCaller() throws Exception {
+        Supplier<String> loader = blockingLoad(() -> {
+            throw new IllegalStateException("load failed");
+        });
+        CompletableFuture<String> leader = loadAsync(loader);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> follower = loadAsync(loader);
+        awaitCoalesced(1);
+
+        release.countDown();
+        for (CompletableFuture<String> caller : List.of(leader, follower)) {
+            assertThatThrownBy(() -> caller.get(10, TimeUnit.SECONDS)).hasRootCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(singleFlight.load(1L, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void forgottenLoadIsNotJoined() throws Exception {
+        CompletableFuture<String> stale = loadAsync(blockingLoad(() -> "stale"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        singleFlight.forget(1L);
+        assertThat(singleFlight.load(1L, () -> "fresh")).isEqualTo("fresh");
+        assertThat(coalesced.get()).isZero();
+
+        release.countDown();
+        assertThat(stale.get(10, TimeUnit.SECONDS)).isEqualTo("stale");
+        // The stale load left the fresh ones alone.
+        CompletableFuture<String> next = loadAsync(() -> "next");
+        assertThat(next.get(10, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThat(executed.get()).isEqualTo(3);
+    }
+}
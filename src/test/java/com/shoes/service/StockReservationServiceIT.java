@@ -0,0 +1,163 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.IntegrationTest;
+import com.shoes.config.ApplicationProperties;
+import com.shoes.domain.FlashSaleAllocation;
+import com.shoes.domain.ShoeVariantSizes;
+import com.shoes.management.StockMetersService;
+import com.shoes.repository.FlashSaleAllocationRepository;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.StockReservationRepository;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the flash sales of the {@link StockReservationService}, with one instance per node sharing
+ * the database.
+ * <p>
+ * Pools are filled once the flash sale commits, so these tests do not run in a transaction.
+ */
+@IntegrationTest
+class StockReservationServiceIT {
+
+    @Autowired
+    private ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private FlashSaleAllocationRepository flashSaleAllocationRepository;
+
+    @Autowired
+    private StockMetersService stockMetersService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private StockStreamService stockStreamService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StockReservationService node;
+
+    private StockReservationService otherNode;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ShoeVariantSizes shoeVariantSizes;
+
+    @BeforeEach
+    public void initTest() {
+        node = newNode();
+        otherNode = newNode();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        shoeVariantSizes = shoeVariantSizesRepository.save(new ShoeVariantSizes().quantity(10));
+    }
+
+    private StockReservationService newNode() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        // Any allocation is abandoned as soon as it misses a heartbeat.
+        applicationProperties.getStockReservation().setFlashSaleTimeout(Duration.ZERO);
+        return new StockReservationService(
+            shoeVariantSizesRepository,
+            stockReservationRepository,
+            flashSaleAllocationRepository,
+            stockMetersService,
+            outboxService,
+            stockStreamService,
+            applicationProperties,
+            transactionManager
+        );
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        stockReservationRepository.deleteAll(
+            stockReservationRepository
+                .findAll()
+                .stream()
+                .filter(reservation -> shoeVariantSizes.getId().equals(reservation.getShoeVariantSizesId()))
+                .toList()
+        );
+        allocations().forEach(allocation ->
+            transactionTemplate.executeWithoutResult(status -> flashSaleAllocationRepository.deleteAllocation(allocation.getId()))
+        );
+        shoeVariantSizesRepository.deleteById(shoeVariantSizes.getId());
+    }
+
+    private List<FlashSaleAllocation> allocations() {
+        return flashSaleAllocationRepository
+            .findAll()
+            .stream()
+            .filter(allocation -> shoeVariantSizes.getId().equals(allocation.getShoeVariantSizesId()))
+            .toList();
+    }
+
+    private int stock() {
+        return shoeVariantSizesRepository.findById(shoeVariantSizes.getId()).orElseThrow().getQuantity();
+    }
+
+    private void openFlashSale(StockReservationService node, int quantity) {
+        transactionTemplate.executeWithoutResult(status -> node.openFlashSale(shoeVariantSizes.getId(), quantity));
+    }
+
+    @Test
+    void allocationHoldsTheStockOfThePool() {
+        openFlashSale(node, 5);
+        assertThat(allocations()).extracting(FlashSaleAllocation::getQuantity).containsExactly(5L);
+
+        node.reserve(shoeVariantSizes.getId(), 2);
+        node.flushFlashSaleReservations();
+        assertThat(allocations()).extracting(FlashSaleAllocation::getQuantity).containsExactly(3L);
+
+        assertThat(node.closeFlashSale(shoeVariantSizes.getId())).isTrue();
+        assertThat(allocations()).isEmpty();
+        assertThat(stock()).isEqualTo(8);
+    }
+
+    @Test
+    void stockOfAnAbandonedPoolIsPutBack() {
+        openFlashSale(node, 5);
+        // Taken in memory only, lost with the node.
+        node.reserve(shoeVariantSizes.getId(), 2);
+        assertThat(stock()).isEqualTo(5);
+
+        otherNode.keepFlashSalesAlive();
+        assertThat(allocations()).isEmpty();
+        assertThat(stock()).isEqualTo(10);
+
+        // Back from a pause, the node stops selling the stock put back.
+        node.keepFlashSalesAlive();
+        assertThat(node.getFlashSaleStock(shoeVariantSizes.getId())).isEmpty();
+        assertThat(stock()).isEqualTo(10);
+    }
+
+    @Test
+    void closingIsAskedOfEveryNode() {
+        openFlashSale(node, 5);
+
+        assertThat(otherNode.closeFlashSale(shoeVariantSizes.getId())).isTrue();
+        assertThat(node.getFlashSaleStock(shoeVariantSizes.getId())).contains(5L);
+
+        node.keepFlashSalesAlive();
+        assertThat(node.getFlashSaleStock(shoeVariantSizes.getId())).isEmpty();
+        assertThat(allocations()).isEmpty();
+        assertThat(stock()).isEqualTo(10);
+    }
+
+    @Test
+    void closingWithoutFlashSaleIsRefused() {
+        assertThat(otherNode.closeFlashSale(shoeVariantSizes.getId())).isFalse();
+    }
+}
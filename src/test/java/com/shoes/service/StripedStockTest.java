@@ -0,0 +1,79 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link StripedStock}.
+ */
+class StripedStockTest {
+
+    private final AtomicLong stranded = new AtomicLong();
+
+    @Test
+    void tryTakeShouldSpanStripesAndTakeNothingWhenShort() {
+        StripedStock stock = new StripedStock(4, 10, stranded::addAndGet);
+
+        assertThat(stock.tryTake(7)).isTrue();
+        assertThat(stock.available()).isEqualTo(3);
+        assertThat(stock.tryTake(4)).isFalse();
+        assertThat(stock.available()).isEqualTo(3);
+        assertThat(stock.tryTake(3)).isTrue();
+        assertThat(stock.available()).isZero();
+    }
+
+    @Test
+    void closeShouldDrainAndHandPutBackStockToTheCallback() {
+        StripedStock stock = new StripedStock(4, 10, stranded::addAndGet);
+        stock.tryTake(4);
+
+        assertThat(stock.close()).isEqualTo(6);
+
+        stock.put(4);
+
+        assertThat(stranded.get()).isEqualTo(4);
+        assertThat(stock.available()).isZero();
+    }
+
+    @Test
+    void concurrentBuyersShouldNeverOversell() throws Exception {
+        int quantity = 10_000;
+        StripedStock stock = new StripedStock(8, quantity, stranded::addAndGet);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> sold = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                int size = i % 3 + 1;
+                sold.add(
+                    executor.submit(() -> {
+                        start.await();
+                        int taken = 0;
+                        while (stock.tryTake(size)) {
+                            taken += size;
+                        }
+                        return taken;
+                    })
+                );
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : sold) {
+                total += future.get();
+            }
+
+            assertThat(total + stock.available()).isEqualTo(quantity);
+            assertThat(stock.available()).isLessThan(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
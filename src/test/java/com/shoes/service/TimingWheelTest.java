@@ -0,0 +1,69 @@
+package com.shoes.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TimingWheel}.
+ */
+class TimingWheelTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void advanceShouldReturnKeysOnTheFirstTickAfterTheirDeadline() {
+        TimingWheel wheel = new TimingWheel(Duration.ofSeconds(1), 8, START);
+        wheel.schedule(2L, START.plusMillis(2500));
+        wheel.schedule(1L, START.plusMillis(1500));
+        wheel.schedule(3L, START.plusSeconds(5));
+
+        assertThat(wheel.advance(START.plusMillis(1999))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(2))).containsExactly(1L);
+        assertThat(wheel.advance(START.plusSeconds(3))).containsExactly(2L);
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void advanceShouldReturnDueKeysInDeadlineOrder() {
+        TimingWheel wheel = new TimingWheel(Duration.ofSeconds(1), 8, START);
+        wheel.schedule(2L, START.plusMillis(2500));
+        wheel.schedule(1L, START.plusMillis(1500));
+
+        assertThat(wheel.advance(START.plusSeconds(4))).containsExactly(1L, 2L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void timeoutsMoreThanOneTurnAwayShouldWaitForTheirDeadline() {
+        TimingWheel wheel = new TimingWheel(Duration.ofSeconds(1), 4, START);
+        wheel.schedule(1L, START.plusSeconds(6));
+
+        assertThat(wheel.advance(START.plusSeconds(2))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(5))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(6))).containsExactly(1L);
+    }
+
+    @Test
+    void advanceOverSeveralTurnsShouldReturnEverythingDue() {
+        TimingWheel wheel = new TimingWheel(Duration.ofSeconds(1), 4, START);
+        wheel.schedule(1L, START.plusSeconds(3));
+        wheel.schedule(2L, START.plusSeconds(9));
+        wheel.schedule(3L, START.plusSeconds(30));
+
+        assertThat(wheel.advance(START.plusSeconds(20))).containsExactly(1L, 2L);
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pastDeadlinesShouldBeDueOnTheNextTickAndDuplicatesIgnored() {
+        TimingWheel wheel = new TimingWheel(Duration.ofSeconds(1), 4, START);
+        wheel.schedule(1L, START.minusSeconds(10));
+        wheel.schedule(1L, START.minusSeconds(10));
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START.plusSeconds(1))).containsExactly(1L);
+    }
+}
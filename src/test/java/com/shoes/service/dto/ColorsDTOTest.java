@@ -0,0 +1,24 @@
+package com.shoes.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ColorsDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ColorsDTO.class);
+        ColorsDTO colorsDTO1 = new ColorsDTO();
+        colorsDTO1.setId(1);
+        ColorsDTO colorsDTO2 = new ColorsDTO();
+        assertThat(colorsDTO1).isNotEqualTo(colorsDTO2);
+        colorsDTO2.setId(colorsDTO1.getId());
+        assertThat(colorsDTO1).isEqualTo(colorsDTO2);
+        colorsDTO2.setId(2);
+        assertThat(colorsDTO1).isNotEqualTo(colorsDTO2);
+        colorsDTO1.setId(null);
+        assertThat(colorsDTO1).isNotEqualTo(colorsDTO2);
+    }
+}
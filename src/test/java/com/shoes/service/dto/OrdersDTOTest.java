@@ -0,0 +1,24 @@
+package com.shoes.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class OrdersDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(OrdersDTO.class);
+        OrdersDTO ordersDTO1 = new OrdersDTO();
+        ordersDTO1.setId(1L);
+        OrdersDTO ordersDTO2 = new OrdersDTO();
+        assertThat(ordersDTO1).isNotEqualTo(ordersDTO2);
+        ordersDTO2.setId(ordersDTO1.getId());
+        assertThat(ordersDTO1).isEqualTo(ordersDTO2);
+        ordersDTO2.setId(2L);
+        assertThat(ordersDTO1).isNotEqualTo(ordersDTO2);
+        ordersDTO1.setId(null);
+        assertThat(ordersDTO1).isNotEqualTo(ordersDTO2);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ShoePurposeDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ShoePurposeDTO.class);
+        ShoePurposeDTO shoePurposeDTO1 = new ShoePurposeDTO();
+        shoePurposeDTO1.setId(1);
+        ShoePurposeDTO shoePurposeDTO2 = new ShoePurposeDTO();
+        assertThat(shoePurposeDTO1).isNotEqualTo(shoePurposeDTO2);
+        shoePurposeDTO2.setId(shoePurposeDTO1.getId());
+        assertThat(shoePurposeDTO1).isEqualTo(shoePurposeDTO2);
+        shoePurposeDTO2.setId(2);
+        assertThat(shoePurposeDTO1).isNotEqualTo(shoePurposeDTO2);
+        shoePurposeDTO1.setId(null);
+        assertThat(shoePurposeDTO1).isNotEqualTo(shoePurposeDTO2);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ShoeVariantColorsDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ShoeVariantColorsDTO.class);
+        ShoeVariantColorsDTO shoeVariantColorsDTO1 = new ShoeVariantColorsDTO();
+        shoeVariantColorsDTO1.setId(1L);
+        ShoeVariantColorsDTO shoeVariantColorsDTO2 = new ShoeVariantColorsDTO();
+        assertThat(shoeVariantColorsDTO1).isNotEqualTo(shoeVariantColorsDTO2);
+        shoeVariantColorsDTO2.setId(shoeVariantColorsDTO1.getId());
+        assertThat(shoeVariantColorsDTO1).isEqualTo(shoeVariantColorsDTO2);
+        shoeVariantColorsDTO2.setId(2L);
+        assertThat(shoeVariantColorsDTO1).isNotEqualTo(shoeVariantColorsDTO2);
+        shoeVariantColorsDTO1.setId(null);
+        assertThat(shoeVariantColorsDTO1).isNotEqualTo(shoeVariantColorsDTO2);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ShoeVariantSizesDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ShoeVariantSizesDTO.class);
+        ShoeVariantSizesDTO shoeVariantSizesDTO1 = new ShoeVariantSizesDTO();
+        shoeVariantSizesDTO1.setId(1L);
+        ShoeVariantSizesDTO shoeVariantSizesDTO2 = new ShoeVariantSizesDTO();
+        assertThat(shoeVariantSizesDTO1).isNotEqualTo(shoeVariantSizesDTO2);
+        shoeVariantSizesDTO2.setId(shoeVariantSizesDTO1.getId());
+        assertThat(shoeVariantSizesDTO1).isEqualTo(shoeVariantSizesDTO2);
+        shoeVariantSizesDTO2.setId(2L);
+        assertThat(shoeVariantSizesDTO1).isNotEqualTo(shoeVariantSizesDTO2);
+        shoeVariantSizesDTO1.setId(null);
+        assertThat(shoeVariantSizesDTO1).isNotEqualTo(shoeVariantSizesDTO2);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ShoeVariantsDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ShoeVariantsDTO.class);
+        ShoeVariantsDTO shoeVariantsDTO1 = new ShoeVariantsDTO();
+        shoeVariantsDTO1.setId(1L);
+        ShoeVariantsDTO shoeVariantsDTO2 = new ShoeVariantsDTO();
+        assertThat(shoeVariantsDTO1).isNotEqualTo(shoeVariantsDTO2);
+        shoeVariantsDTO2.setId(shoeVariantsDTO1.getId());
+        assertThat(shoeVariantsDTO1).isEqualTo(shoeVariantsDTO2);
+        shoeVariantsDTO2.setId(2L);
+        assertThat(shoeVariantsDTO1).isNotEqualTo(shoeVariantsDTO2);
+        shoeVariantsDTO1.setId(null);
+        assertThat(shoeVariantsDTO1).isNotEqualTo(shoeVariantsDTO2);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ShoesDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ShoesDTO.class);
+        ShoesDTO shoesDTO1 = new ShoesDTO();
+        shoesDTO1.setId(1L);
+        ShoesDTO shoesDTO2 = new ShoesDTO();
+        assertThat(shoesDTO1).isNotEqualTo(shoesDTO2);
+        shoesDTO2.setId(shoesDTO1.getId());
+        assertThat(shoesDTO1).isEqualTo(shoesDTO2);
+        shoesDTO2.setId(2L);
+        assertThat(shoesDTO1).isNotEqualTo(shoesDTO2);
+        shoesDTO1.setId(null);
+        assertThat(shoesDTO1).isNotEqualTo(shoesDTO2);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shoes.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class SizesDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(SizesDTO.class);
+        SizesDTO sizesDTO1 = new SizesDTO();
+        sizesDTO1.setId(1);
+        SizesDTO sizesDTO2 = new SizesDTO();
+        assertThat(sizesDTO1).isNotEqualTo(sizesDTO2);
+        sizesDTO2.setId(sizesDTO1.getId());
+        assertThat(sizesDTO1).isEqualTo(sizesDTO2);
+        sizesDTO2.setId(2);
+        assertThat(sizesDTO1).isNotEqualTo(sizesDTO2);
+        sizesDTO1.setId(null);
+        assertThat(sizesDTO1).isNotEqualTo(sizesDTO2);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.CartItemsAsserts.*;
+import static com.shoes.domain.CartItemsTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CartItemsMapperTest {
+
+    private CartItemsMapper cartItemsMapper;
+
+    @BeforeEach
+    void setUp() {
+        cartItemsMapper = new CartItemsMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getCartItemsSample1();
+        var actual = cartItemsMapper.toEntity(cartItemsMapper.toDto(expected));
+        assertCartItemsAllPropertiesEquals(expected, actual);
+    }
+}
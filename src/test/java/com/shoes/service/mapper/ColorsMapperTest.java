@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.ColorsAsserts.*;
+import static com.shoes.domain.ColorsTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ColorsMapperTest {
+
+    private ColorsMapper colorsMapper;
+
+    @BeforeEach
+    void setUp() {
+        colorsMapper = new ColorsMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getColorsSample1();
+        var actual = colorsMapper.toEntity(colorsMapper.toDto(expected));
+        assertColorsAllPropertiesEquals(expected, actual);
+    }
+}
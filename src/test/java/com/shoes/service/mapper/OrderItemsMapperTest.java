@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.OrderItemsAsserts.*;
+import static com.shoes.domain.OrderItemsTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderItemsMapperTest {
+
+    private OrderItemsMapper orderItemsMapper;
+
+    @BeforeEach
+    void setUp() {
+        orderItemsMapper = new OrderItemsMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getOrderItemsSample1();
+        var actual = orderItemsMapper.toEntity(orderItemsMapper.toDto(expected));
+        assertOrderItemsAllPropertiesEquals(expected, actual);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.SalesAsserts.*;
+import static com.shoes.domain.SalesTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SalesMapperTest {
+
+    private SalesMapper salesMapper;
+
+    @BeforeEach
+    void setUp() {
+        salesMapper = new SalesMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getSalesSample1();
+        var actual = salesMapper.toEntity(salesMapper.toDto(expected));
+        assertSalesAllPropertiesEquals(expected, actual);
+    }
+}
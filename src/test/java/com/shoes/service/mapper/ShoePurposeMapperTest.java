@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.ShoePurposeAsserts.*;
+import static com.shoes.domain.ShoePurposeTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShoePurposeMapperTest {
+
+    private ShoePurposeMapper shoePurposeMapper;
+
+    @BeforeEach
+    void setUp() {
+        shoePurposeMapper = new ShoePurposeMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getShoePurposeSample1();
+        var actual = shoePurposeMapper.toEntity(shoePurposeMapper.toDto(expected));
+        assertShoePurposeAllPropertiesEquals(expected, actual);
+    }
+}
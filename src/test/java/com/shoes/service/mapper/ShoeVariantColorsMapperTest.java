@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.ShoeVariantColorsAsserts.*;
+import static com.shoes.domain.ShoeVariantColorsTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShoeVariantColorsMapperTest {
+
+    private ShoeVariantColorsMapper shoeVariantColorsMapper;
+
+    @BeforeEach
+    void setUp() {
+        shoeVariantColorsMapper = new ShoeVariantColorsMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getShoeVariantColorsSample1();
+        var actual = shoeVariantColorsMapper.toEntity(shoeVariantColorsMapper.toDto(expected));
+        assertShoeVariantColorsAllPropertiesEquals(expected, actual);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.ShoeVariantSizesAsserts.*;
+import static com.shoes.domain.ShoeVariantSizesTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShoeVariantSizesMapperTest {
+
+    private ShoeVariantSizesMapper shoeVariantSizesMapper;
+
+    @BeforeEach
+    void setUp() {
+        shoeVariantSizesMapper = new ShoeVariantSizesMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getShoeVariantSizesSample1();
+        var actual = shoeVariantSizesMapper.toEntity(shoeVariantSizesMapper.toDto(expected));
+        assertShoeVariantSizesAllPropertiesEquals(expected, actual);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.ShoeVariantsAsserts.*;
+import static com.shoes.domain.ShoeVariantsTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShoeVariantsMapperTest {
+
+    private ShoeVariantsMapper shoeVariantsMapper;
+
+    @BeforeEach
+    void setUp() {
+        shoeVariantsMapper = new ShoeVariantsMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getShoeVariantsSample1();
+        var actual = shoeVariantsMapper.toEntity(shoeVariantsMapper.toDto(expected));
+        assertShoeVariantsAllPropertiesEquals(expected, actual);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.ShoesAsserts.*;
+import static com.shoes.domain.ShoesTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShoesMapperTest {
+
+    private ShoesMapper shoesMapper;
+
+    @BeforeEach
+    void setUp() {
+        shoesMapper = new ShoesMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getShoesSample1();
+        var actual = shoesMapper.toEntity(shoesMapper.toDto(expected));
+        assertShoesAllPropertiesEquals(expected, actual);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shoes.service.mapper;
+
+import static com.shoes.domain.SizesAsserts.*;
+import static com.shoes.domain.SizesTestSamples.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SizesMapperTest {
+
+    private SizesMapper sizesMapper;
+
+    @BeforeEach
+    void setUp() {
+        sizesMapper = new SizesMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getSizesSample1();
+        var actual = sizesMapper.toEntity(sizesMapper.toDto(expected));
+        assertSizesAllPropertiesEquals(expected, actual);
+    }
+}
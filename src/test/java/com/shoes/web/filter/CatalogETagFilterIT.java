@@ -0,0 +1,92 @@
+package com.shoes.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.shoes.IntegrationTest;
+import com.shoes.repository.BrandRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link CatalogETagFilter}.
+ * <p>
+ * Versions are bumped once writes have committed, so these tests do not run in a transaction.
+ */
+@AutoConfigureMockMvc
+@WithMockUser
+@IntegrationTest
+class CatalogETagFilterIT {
+
+    private static final String BRANDS_API_URL = "/api/brands";
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String getETag(String url) throws Exception {
+        return mockMvc
+            .perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void currentTagIsNotModified() throws Exception {
+        String etag = getETag(BRANDS_API_URL);
+        assertThat(etag).startsWith("\"brand-");
+
+        mockMvc
+            .perform(get(BRANDS_API_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+        mockMvc.perform(get(BRANDS_API_URL + "/1").header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+    }
+
+    @Test
+    void writeChangesTheTag() throws Exception {
+        String etag = getETag(BRANDS_API_URL);
+        String categoriesETag = getETag("/api/categories");
+
+        String location = mockMvc
+            .perform(post(BRANDS_API_URL).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"ETag\"}"))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LOCATION);
+        Integer id = Integer.valueOf(location.substring(location.lastIndexOf('/') + 1));
+
+        try {
+            String changed = mockMvc
+                .perform(get(location).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+            assertThat(changed).isNotEqualTo(etag);
+            assertThat(getETag("/api/categories")).isEqualTo(categoriesETag);
+        } finally {
+            mockMvc.perform(delete(BRANDS_API_URL + "/" + id)).andExpect(status().isNoContent());
+        }
+        assertThat(brandRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void otherReadsAreNotTagged() throws Exception {
+        mockMvc.perform(get("/api/orders")).andExpect(status().isOk()).andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,131 @@
+package com.shoes.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.shoes.IntegrationTest;
+import com.shoes.repository.OrdersRepository;
+import com.shoes.service.IdempotencyService;
+import com.shoes.service.IdempotencyService.Claim;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link IdempotencyFilter}.
+ */
+@AutoConfigureMockMvc
+@WithMockUser
+@IntegrationTest
+class IdempotencyFilterIT {
+
+    private static final String ORDERS_API_URL = "/api/orders";
+
+    private static final String ORDER = "{\"totalPrice\":100}";
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static MockHttpServletRequestBuilder postOrder(String key) {
+        return post(ORDERS_API_URL)
+            .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(ORDER);
+    }
+
+    @Test
+    @Transactional
+    void retryIsReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+        long ordersCount = ordersRepository.count();
+
+        MockHttpServletResponse first = mockMvc
+            .perform(postOrder(key))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andReturn()
+            .getResponse();
+
+        mockMvc
+            .perform(postOrder(key))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+            .andExpect(header().string("Location", first.getHeader("Location")))
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(content().string(first.getContentAsString()));
+
+        assertThat(ordersRepository.count()).isEqualTo(ordersCount + 1);
+    }
+
+    @Test
+    @Transactional
+    void requestsWithoutKeyAreNotDeduplicated() throws Exception {
+        long ordersCount = ordersRepository.count();
+
+        mockMvc.perform(post(ORDERS_API_URL).contentType(MediaType.APPLICATION_JSON).content(ORDER)).andExpect(status().isCreated());
+        mockMvc.perform(post(ORDERS_API_URL).contentType(MediaType.APPLICATION_JSON).content(ORDER)).andExpect(status().isCreated());
+
+        assertThat(ordersRepository.count()).isEqualTo(ordersCount + 2);
+    }
+
+    @Test
+    @Transactional
+    void keyReusedForAnotherRequestIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        mockMvc
+            .perform(postOrder(key))
+            .andExpect(status().isCreated());
+
+        mockMvc
+            .perform(
+                post(ORDERS_API_URL)
+                    .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"totalPrice\":200}")
+            )
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    @Test
+    @Transactional
+    void keyInProgressIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        // Another request holds the key until it completes or its lease ends.
+        Claim claim = idempotencyService.claim("user", key, "POST", ORDERS_API_URL, ORDER.getBytes(StandardCharsets.UTF_8));
+        assertThat(claim.state()).isEqualTo(IdempotencyService.State.CLAIMED);
+
+        mockMvc
+            .perform(postOrder(key))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.detail").value(containsString("in progress")));
+
+        idempotencyService.release(claim);
+    }
+
+    @Test
+    @Transactional
+    void blankKeyIsRejected() throws Exception {
+        mockMvc
+            .perform(postOrder(" "))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,79 @@
+package com.shoes.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Unit tests for the request body read again from memory by the {@link IdempotencyFilter}.
+ */
+class IdempotencyFilterTest {
+
+    private static final byte[] BODY = "{\"quantity\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void bodyIsReadByAReadListener() throws IOException {
+        ServletInputStream in = new IdempotencyFilter.CachedBodyRequest(new MockHttpServletRequest(), BODY).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        in.setReadListener(
+            new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("dataAvailable");
+                    while (in.isReady() && !in.isFinished()) {
+                        read.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("allDataRead");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            }
+        );
+
+        assertThat(events).containsExactly("dataAvailable", "allDataRead");
+        assertThat(read.toByteArray()).isEqualTo(BODY);
+    }
+
+    @Test
+    void readListenerFailureIsRethrown() {
+        ServletInputStream in = new IdempotencyFilter.CachedBodyRequest(new MockHttpServletRequest(), BODY).getInputStream();
+
+        assertThatThrownBy(() ->
+            in.setReadListener(
+                new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        throw new IOException("failed");
+                    }
+
+                    @Override
+                    public void onAllDataRead() {}
+
+                    @Override
+                    public void onError(Throwable t) {}
+                }
+            )
+        )
+            .isInstanceOf(UncheckedIOException.class)
+            .hasMessageContaining("failed");
+    }
+}
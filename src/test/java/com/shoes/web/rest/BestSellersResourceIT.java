@@ -0,0 +1,147 @@
+package com.shoes.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Brand;
+import com.shoes.domain.Category;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Shoes;
+import com.shoes.domain.enumeration.Status;
+import com.shoes.repository.BrandRepository;
+import com.shoes.repository.CategoryRepository;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.ShoesRepository;
+import com.shoes.service.BestSellerService;
+import com.shoes.service.CatalogSearchService;
+import com.shoes.service.dto.CatalogSearchCriteria;
+import com.shoes.service.dto.CatalogSearchResultDTO;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link BestSellersResource} REST controller.
+ * <p>
+ * Sales are counted once orders have committed, and checkpointed in their own transactions, so these tests do not run
+ * in a transaction.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class BestSellersResourceIT {
+
+    private static final String API_URL = "/api/best-sellers";
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShoesRepository shoesRepository;
+
+    @Autowired
+    private ShoeVariantsRepository shoeVariantsRepository;
+
+    @Autowired
+    private BestSellerService bestSellerService;
+
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    @Autowired
+    private MockMvc restBestSellersMockMvc;
+
+    private Brand brand;
+
+    private Category category;
+
+    private Shoes shoes;
+
+    private List<ShoeVariants> shoeVariants;
+
+    @BeforeEach
+    public void initTest() {
+        brand = brandRepository.save(new Brand().name("Best sellers"));
+        category = categoryRepository.save(new Category());
+        shoes = shoesRepository.save(new Shoes().brand(brand).category(category));
+        shoeVariants = shoeVariantsRepository.saveAll(
+            List.of(
+                new ShoeVariants().quantity(1).status(Status.IN_STOCK).shoes(shoes),
+                new ShoeVariants().quantity(1).shoes(shoes),
+                new ShoeVariants().quantity(1).status(Status.SALE).shoes(shoes),
+                new ShoeVariants().quantity(1).status(Status.BEST_SELLER).shoes(shoes)
+            )
+        );
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        shoeVariantsRepository.deleteAll(shoeVariants);
+        shoesRepository.delete(shoes);
+        categoryRepository.delete(category);
+        brandRepository.delete(brand);
+        bestSellerService.checkpoint();
+    }
+
+    private Status statusOf(int index) {
+        return shoeVariantsRepository.findById(shoeVariants.get(index).getId()).orElseThrow().getStatus();
+    }
+
+    @Test
+    void getBestSellersOfBrandAndCategory() throws Exception {
+        catalogSearchService.rebuild();
+        bestSellerService.recordSales(Map.of(shoeVariants.get(0).getId(), 3, shoeVariants.get(1).getId(), 5));
+        bestSellerService.recordSales(Map.of(shoeVariants.get(0).getId(), 4, shoeVariants.get(2).getId(), 1));
+        bestSellerService.checkpoint();
+
+        restBestSellersMockMvc
+            .perform(get(API_URL + "?brandId={brandId}", brand.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].shoeVariantsId").value(shoeVariants.get(0).getId().intValue()))
+            .andExpect(jsonPath("$[0].rank").value(1))
+            .andExpect(jsonPath("$[0].weekQuantity").value(7))
+            .andExpect(jsonPath("$[0].monthQuantity").value(7))
+            .andExpect(jsonPath("$[1].shoeVariantsId").value(shoeVariants.get(1).getId().intValue()))
+            .andExpect(jsonPath("$[2].shoeVariantsId").value(shoeVariants.get(2).getId().intValue()));
+        restBestSellersMockMvc
+            .perform(get(API_URL + "?categoryId={categoryId}", category.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[2].rank").value(3));
+
+        assertThat(statusOf(0)).isEqualTo(Status.BEST_SELLER);
+        assertThat(statusOf(1)).isEqualTo(Status.BEST_SELLER);
+        // Sales and upcoming variants keep their status, and a variant no longer selling loses it.
+        assertThat(statusOf(2)).isEqualTo(Status.SALE);
+        assertThat(statusOf(3)).isEqualTo(Status.IN_STOCK);
+
+        CatalogSearchCriteria bestSellers = new CatalogSearchCriteria();
+        bestSellers.setBrand(List.of(brand.getId().toString()));
+        bestSellers.setStatus(List.of(Status.BEST_SELLER.name()));
+        assertThat(catalogSearchService.search(bestSellers).getHits())
+            .extracting(CatalogSearchResultDTO.Hit::getId)
+            .containsExactlyInAnyOrder(shoeVariants.get(0).getId(), shoeVariants.get(1).getId());
+    }
+
+    @Test
+    void getBestSellersOfUnknownBrand() throws Exception {
+        restBestSellersMockMvc
+            .perform(get(API_URL + "?brandId={brandId}", Integer.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+}
@@ -0,0 +1,237 @@
+package com.shoes.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Cart;
+import com.shoes.domain.CartItems;
+import com.shoes.domain.Colors;
+import com.shoes.domain.Sales;
+import com.shoes.domain.ShoeVariantColors;
+import com.shoes.domain.ShoeVariantSizes;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Sizes;
+import com.shoes.repository.CartItemsRepository;
+import com.shoes.repository.CartItemsRepository.CheckoutRow;
+import com.shoes.service.CartService;
+import com.shoes.service.PricingService;
+import com.shoes.service.dto.CartMutationDTO;
+import com.shoes.service.dto.CartMutationDTO.Type;
+import com.shoes.web.filter.IdempotencyFilter;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the batch changes to the items of a cart of the {@link CartResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CartMutationsIT {
+
+    private static final String API_URL = "/api/carts/{id}/mutations";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private CartItemsRepository cartItemsRepository;
+
+    @Autowired
+    private MockMvc restCartMockMvc;
+
+    private Cart cart;
+
+    private ShoeVariants shoeVariants;
+
+    private Colors colors;
+
+    private Sizes sizes;
+
+    private Sizes otherSizes;
+
+    @BeforeEach
+    public void initTest() {
+        Sales sales = new Sales().startDate(Instant.now().minus(1, ChronoUnit.DAYS)).discountPercentage(10);
+        em.persist(sales);
+        shoeVariants = new ShoeVariants().quantity(1).sales(sales);
+        em.persist(shoeVariants);
+        colors = new Colors().colorName("red");
+        em.persist(colors);
+        sizes = new Sizes().sizeInNumbers(42F);
+        em.persist(sizes);
+        otherSizes = new Sizes().sizeInNumbers(43F);
+        em.persist(otherSizes);
+        em.persist(new ShoeVariantColors().price(79.99F).shoeVariants(shoeVariants).colors(colors));
+        em.persist(new ShoeVariantSizes().quantity(5).shoeVariants(shoeVariants).sizes(sizes));
+        em.persist(new ShoeVariantSizes().quantity(5).shoeVariants(shoeVariants).sizes(otherSizes));
+        cart = new Cart().createdAt(Instant.now());
+        em.persist(cart);
+        em.flush();
+    }
+
+    private void addCartItems(int quantity) {
+        em.persist(new CartItems().quantity(quantity).cart(cart).shoeVariants(shoeVariants).colors(colors).sizes(sizes));
+        em.flush();
+    }
+
+    private CartMutationDTO mutation(Type type, Sizes sizes, Integer quantity) {
+        return new CartMutationDTO(type, shoeVariants.getId(), colors.getId(), sizes.getId(), quantity);
+    }
+
+    private ResultActions mutate(Integer cartId, CartMutationDTO... mutations) throws Exception {
+        return restCartMockMvc.perform(
+            post(API_URL, cartId).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(List.of(mutations)))
+        );
+    }
+
+    @Test
+    @Transactional
+    void mutateCart() throws Exception {
+        addCartItems(1);
+        addCartItems(2);
+        pricingService.rebuild();
+
+        mutate(
+            cart.getId(),
+            mutation(Type.ADD, sizes, 1),
+            mutation(Type.ADD, otherSizes, 2),
+            mutation(Type.UPDATE, otherSizes, 3),
+            mutation(Type.ADD, otherSizes, 1)
+        )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cartId").value(cart.getId()))
+            // 79.99 with 10% off is 71.99, held eight times.
+            .andExpect(jsonPath("$.totalPrice").value(57592))
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].sizesId").value(sizes.getId()))
+            .andExpect(jsonPath("$.items[0].quantity").value(4))
+            .andExpect(jsonPath("$.items[0].price").value(7199))
+            .andExpect(jsonPath("$.items[1].sizesId").value(otherSizes.getId()))
+            .andExpect(jsonPath("$.items[1].quantity").value(4));
+
+        em.clear();
+        assertThat(cartItemsRepository.findCheckoutRowsByCartId(cart.getId()))
+            .extracting(CheckoutRow::getSizesId, CheckoutRow::getQuantity)
+            .containsExactly(tuple(sizes.getId(), 4), tuple(otherSizes.getId(), 4));
+    }
+
+    @Test
+    @Transactional
+    void mutateCartRetryIsReplayed() throws Exception {
+        addCartItems(1);
+        pricingService.rebuild();
+        String key = UUID.randomUUID().toString();
+        byte[] mutations = om.writeValueAsBytes(List.of(mutation(Type.ADD, sizes, 1)));
+
+        String first = restCartMockMvc
+            .perform(
+                post(API_URL, cart.getId())
+                    .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(mutations)
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+            .andExpect(jsonPath("$.items[0].quantity").value(2))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        restCartMockMvc
+            .perform(
+                post(API_URL, cart.getId())
+                    .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(mutations)
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+            .andExpect(content().string(first));
+
+        em.clear();
+        assertThat(cartItemsRepository.findCheckoutRowsByCartId(cart.getId())).extracting(CheckoutRow::getQuantity).containsExactly(2);
+    }
+
+    @Test
+    @Transactional
+    void removeFromCart() throws Exception {
+        addCartItems(1);
+        pricingService.rebuild();
+
+        mutate(cart.getId(), mutation(Type.ADD, otherSizes, 1), mutation(Type.UPDATE, sizes, 0), mutation(Type.REMOVE, otherSizes, null))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalPrice").value(0))
+            .andExpect(jsonPath("$.items.length()").value(0));
+
+        em.clear();
+        assertThat(cartItemsRepository.findCheckoutRowsByCartId(cart.getId())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void mutateCartWithUnavailableSize() throws Exception {
+        addCartItems(1);
+        Sizes unavailableSizes = new Sizes().sizeInNumbers(44F);
+        em.persist(unavailableSizes);
+        em.flush();
+
+        mutate(cart.getId(), mutation(Type.REMOVE, sizes, null), mutation(Type.ADD, unavailableSizes, 1)).andExpect(
+            status().isBadRequest()
+        );
+
+        assertThat(cartItemsRepository.findCheckoutRowsByCartId(cart.getId())).hasSize(1);
+    }
+
+    @Test
+    @Transactional
+    void updateItemNotInCart() throws Exception {
+        mutate(cart.getId(), mutation(Type.UPDATE, sizes, 2)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void addWithoutQuantity() throws Exception {
+        mutate(cart.getId(), mutation(Type.ADD, sizes, 0)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void addTooMuch() throws Exception {
+        addCartItems(1);
+
+        mutate(cart.getId(), mutation(Type.ADD, sizes, CartService.MAX_QUANTITY + 1)).andExpect(status().isBadRequest());
+        mutate(cart.getId(), mutation(Type.ADD, sizes, CartService.MAX_QUANTITY)).andExpect(status().isBadRequest());
+        mutate(cart.getId(), mutation(Type.UPDATE, sizes, Integer.MAX_VALUE)).andExpect(status().isBadRequest());
+
+        assertThat(cartItemsRepository.findCheckoutRowsByCartId(cart.getId())).extracting(CheckoutRow::getQuantity).containsExactly(1);
+    }
+
+    @Test
+    @Transactional
+    void mutateNonExistingCart() throws Exception {
+        mutate(Integer.MAX_VALUE, mutation(Type.ADD, sizes, 1)).andExpect(status().isNotFound());
+    }
+}
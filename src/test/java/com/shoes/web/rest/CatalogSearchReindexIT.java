@@ -0,0 +1,225 @@
+package com.shoes.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Brand;
+import com.shoes.domain.Category;
+import com.shoes.domain.Colors;
+import com.shoes.domain.ShoeVariantColors;
+import com.shoes.domain.ShoeVariantSizes;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Shoes;
+import com.shoes.domain.Sizes;
+import com.shoes.domain.enumeration.CategoryName;
+import com.shoes.domain.enumeration.Status;
+import com.shoes.repository.BrandRepository;
+import com.shoes.repository.CategoryRepository;
+import com.shoes.repository.ColorsRepository;
+import com.shoes.repository.ShoeVariantColorsRepository;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.ShoesRepository;
+import com.shoes.repository.SizesRepository;
+import com.shoes.service.CatalogSearchService;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the reindexing of the {@link CatalogSearchService} on the writes of the catalog resources.
+ * <p>
+ * The index is only updated once the writes have committed, so these tests do not run in a transaction. The facets
+ * are changed in the database behind the index's back, then a write that does not touch them must read them again.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CatalogSearchReindexIT {
+
+    private static final String API_URL = "/api/catalog/search";
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShoesRepository shoesRepository;
+
+    @Autowired
+    private ShoeVariantsRepository shoeVariantsRepository;
+
+    @Autowired
+    private ColorsRepository colorsRepository;
+
+    @Autowired
+    private SizesRepository sizesRepository;
+
+    @Autowired
+    private ShoeVariantColorsRepository shoeVariantColorsRepository;
+
+    @Autowired
+    private ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private Brand brand;
+
+    private Brand otherBrand;
+
+    private Category category;
+
+    private Shoes shoes;
+
+    private ShoeVariants shoeVariants;
+
+    private Colors colors;
+
+    private Colors otherColors;
+
+    private Sizes sizes;
+
+    private Sizes otherSizes;
+
+    private ShoeVariantColors shoeVariantColors;
+
+    private ShoeVariantSizes shoeVariantSizes;
+
+    @BeforeEach
+    public void initTest() {
+        brand = brandRepository.save(new Brand().name("catalog-reindex"));
+        otherBrand = brandRepository.save(new Brand().name("catalog-reindex-other"));
+        category = categoryRepository.save(new Category().name(CategoryName.MEN));
+        shoes = shoesRepository.save(new Shoes().description("catalog-reindex").brand(brand).category(category));
+        shoeVariants = shoeVariantsRepository.save(new ShoeVariants().quantity(1).status(Status.IN_STOCK).shoes(shoes));
+        colors = colorsRepository.save(new Colors().colorName("catalog-reindex"));
+        otherColors = colorsRepository.save(new Colors().colorName("catalog-reindex-other"));
+        sizes = sizesRepository.save(new Sizes().sizeInNumbers(40F));
+        otherSizes = sizesRepository.save(new Sizes().sizeInNumbers(41F));
+        shoeVariantColors = shoeVariantColorsRepository.save(new ShoeVariantColors().price(10F).shoeVariants(shoeVariants).colors(colors));
+        shoeVariantSizes = shoeVariantSizesRepository.save(new ShoeVariantSizes().quantity(1).shoeVariants(shoeVariants).sizes(sizes));
+        catalogSearchService.rebuild();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        shoeVariantSizesRepository.deleteById(shoeVariantSizes.getId());
+        shoeVariantColorsRepository.deleteById(shoeVariantColors.getId());
+        shoeVariantsRepository.deleteById(shoeVariants.getId());
+        shoesRepository.deleteById(shoes.getId());
+        categoryRepository.deleteById(category.getId());
+        brandRepository.deleteAllById(List.of(brand.getId(), otherBrand.getId()));
+        colorsRepository.deleteAllById(List.of(colors.getId(), otherColors.getId()));
+        sizesRepository.deleteAllById(List.of(sizes.getId(), otherSizes.getId()));
+        catalogSearchService.rebuild();
+    }
+
+    @Test
+    void patchShoesReindexesTheirVariants() throws Exception {
+        shoesRepository.save(shoes.brand(otherBrand));
+
+        restMockMvc
+            .perform(
+                patch("/api/shoes/{id}", shoes.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + shoes.getId() + ",\"description\":\"catalog-reindex-patched\"}")
+            )
+            .andExpect(status().isOk());
+
+        restMockMvc
+            .perform(get(API_URL + "?brand={brand}", otherBrand.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.hits[0].id").value(shoeVariants.getId().intValue()));
+        restMockMvc.perform(get(API_URL + "?brand={brand}", brand.getId())).andExpect(jsonPath("$.total").value(0));
+    }
+
+    @Test
+    void patchShoeVariantColorsReindexesTheirVariant() throws Exception {
+        shoeVariantColorsRepository.save(shoeVariantColors.colors(otherColors));
+
+        restMockMvc
+            .perform(
+                patch("/api/shoe-variant-colors/{id}", shoeVariantColors.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + shoeVariantColors.getId() + ",\"price\":12.5}")
+            )
+            .andExpect(status().isOk());
+
+        restMockMvc
+            .perform(get(API_URL + "?brand={brand}&color={color}", brand.getId(), otherColors.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1));
+        restMockMvc
+            .perform(get(API_URL + "?brand={brand}&color={color}", brand.getId(), colors.getId()))
+            .andExpect(jsonPath("$.total").value(0));
+    }
+
+    @Test
+    void patchShoeVariantSizesReindexesTheirVariant() throws Exception {
+        Long version = shoeVariantSizesRepository.save(shoeVariantSizes.sizes(otherSizes)).getVersion();
+
+        restMockMvc
+            .perform(
+                patch("/api/shoe-variant-sizes/{id}", shoeVariantSizes.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + shoeVariantSizes.getId() + ",\"quantity\":2,\"version\":" + version + "}")
+            )
+            .andExpect(status().isOk());
+
+        restMockMvc
+            .perform(get(API_URL + "?brand={brand}&size={size}", brand.getId(), otherSizes.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1));
+        restMockMvc
+            .perform(get(API_URL + "?brand={brand}&size={size}", brand.getId(), sizes.getId()))
+            .andExpect(jsonPath("$.total").value(0));
+    }
+
+    @Test
+    void deleteCategoryRebuildsTheIndex() throws Exception {
+        shoeVariantsRepository.save(shoeVariants.status(Status.SALE));
+        Category unused = categoryRepository.save(new Category().name(CategoryName.KIDS));
+
+        restMockMvc
+            .perform(delete("/api/categories/{id}", unused.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNoContent());
+
+        restMockMvc
+            .perform(get(API_URL + "?brand={brand}&status=sale", brand.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1));
+    }
+
+    @Test
+    void reindexReadsTheCommittedVariants() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            catalogSearchService.reindexShoeVariants(shoeVariants.getId());
+            // Written after the report, by the same transaction.
+            shoeVariantsRepository.save(shoeVariants.status(Status.SALE));
+        });
+
+        restMockMvc
+            .perform(get(API_URL + "?brand={brand}&status=sale", brand.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1));
+    }
+}
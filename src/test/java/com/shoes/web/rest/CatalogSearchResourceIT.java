@@ -0,0 +1,105 @@
+package com.shoes.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Brand;
+import com.shoes.domain.Category;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Shoes;
+import com.shoes.domain.enumeration.CategoryName;
+import com.shoes.domain.enumeration.Status;
+import com.shoes.service.CatalogSearchService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CatalogSearchResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CatalogSearchResourceIT {
+
+    private static final String API_URL = "/api/catalog/search";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    @Autowired
+    private MockMvc restCatalogSearchMockMvc;
+
+    private Brand brand;
+
+    private ShoeVariants saleVariant;
+
+    private ShoeVariants inStockVariant;
+
+    @BeforeEach
+    public void initTest() {
+        brand = new Brand().name("catalog-search");
+        em.persist(brand);
+        Category category = new Category().name(CategoryName.WOMEN);
+        em.persist(category);
+        Shoes shoes = new Shoes().description("catalog-search").brand(brand).category(category);
+        em.persist(shoes);
+        saleVariant = new ShoeVariants().quantity(1).status(Status.SALE).photoUrl("sale").shoes(shoes);
+        em.persist(saleVariant);
+        inStockVariant = new ShoeVariants().quantity(1).status(Status.IN_STOCK).photoUrl("in-stock").shoes(shoes);
+        em.persist(inStockVariant);
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void searchByBrandAndStatus() throws Exception {
+        catalogSearchService.rebuild();
+
+        restCatalogSearchMockMvc
+            .perform(get(API_URL + "?brand={brand}&status=sale", brand.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.hits[0].id").value(saleVariant.getId().intValue()))
+            .andExpect(jsonPath("$.facets.status.SALE").value(1))
+            .andExpect(jsonPath("$.facets.status.IN_STOCK").value(1))
+            .andExpect(jsonPath("$.facets.category.WOMEN").value(1));
+    }
+
+    @Test
+    @Transactional
+    void searchReturnsEveryVariantOfTheBrand() throws Exception {
+        catalogSearchService.rebuild();
+
+        restCatalogSearchMockMvc
+            .perform(get(API_URL + "?brand={brand}", brand.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(2))
+            .andExpect(jsonPath("$.hits.[*].id").value(hasItem(inStockVariant.getId().intValue())))
+            .andExpect(jsonPath("$.facets.brand." + brand.getId()).value(2));
+    }
+
+    @Test
+    @Transactional
+    void searchWithUnknownValueReturnsNothing() throws Exception {
+        catalogSearchService.rebuild();
+
+        restCatalogSearchMockMvc
+            .perform(get(API_URL + "?brand={brand}&color=" + Long.MAX_VALUE, brand.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(0))
+            .andExpect(jsonPath("$.hits").isEmpty());
+    }
+}
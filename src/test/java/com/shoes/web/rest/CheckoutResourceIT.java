@@ -0,0 +1,174 @@
+package com.shoes.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Cart;
+import com.shoes.domain.CartItems;
+import com.shoes.domain.Colors;
+import com.shoes.domain.OrderItems;
+import com.shoes.domain.Orders;
+import com.shoes.domain.Sales;
+import com.shoes.domain.ShoeVariantColors;
+import com.shoes.domain.ShoeVariantSizes;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Sizes;
+import com.shoes.repository.CartItemsRepository;
+import com.shoes.repository.OrderItemsRepository;
+import com.shoes.repository.OrdersRepository;
+import com.shoes.service.PricingService;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CheckoutResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CheckoutResourceIT {
+
+    private static final String API_URL = "/api/carts/{id}/checkout";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private CartItemsRepository cartItemsRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private OrderItemsRepository orderItemsRepository;
+
+    @Autowired
+    private MockMvc restCheckoutMockMvc;
+
+    private Cart cart;
+
+    private ShoeVariants shoeVariants;
+
+    private Colors colors;
+
+    private Sizes sizes;
+
+    private ShoeVariantSizes shoeVariantSizes;
+
+    @BeforeEach
+    public void initTest() {
+        Sales sales = new Sales().startDate(Instant.now().minus(1, ChronoUnit.DAYS)).discountPercentage(10);
+        em.persist(sales);
+        shoeVariants = new ShoeVariants().quantity(1).sales(sales);
+        em.persist(shoeVariants);
+        colors = new Colors().colorName("red");
+        em.persist(colors);
+        sizes = new Sizes().sizeInNumbers(42F);
+        em.persist(sizes);
+        em.persist(new ShoeVariantColors().price(79.99F).shoeVariants(shoeVariants).colors(colors));
+        shoeVariantSizes = new ShoeVariantSizes().quantity(5).shoeVariants(shoeVariants).sizes(sizes);
+        em.persist(shoeVariantSizes);
+        cart = new Cart().createdAt(Instant.now());
+        em.persist(cart);
+        em.flush();
+    }
+
+    private void addCartItems(int quantity) {
+        em.persist(new CartItems().quantity(quantity).cart(cart).shoeVariants(shoeVariants).colors(colors).sizes(sizes));
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void checkoutCart() throws Exception {
+        addCartItems(2);
+        addCartItems(1);
+        pricingService.rebuild();
+        long ordersCount = ordersRepository.count();
+        long orderItemsCount = orderItemsRepository.count();
+
+        restCheckoutMockMvc
+            .perform(post(API_URL, cart.getId()))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Location", containsString("/api/orders/")))
+            .andExpect(header().string(CheckoutResource.SERVER_TIMING_HEADER, containsString("reserve;dur=")))
+            .andExpect(header().string(CheckoutResource.SERVER_TIMING_HEADER, containsString("total;dur=")))
+            .andExpect(jsonPath("$.ordersId").isNumber())
+            // 79.99 with 10% off is 71.99, ordered three times.
+            .andExpect(jsonPath("$.totalPrice").value(21597))
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].price").value(7199))
+            .andExpect(jsonPath("$.items[0].quantity").value(2));
+
+        em.clear();
+        assertThat(ordersRepository.count()).isEqualTo(ordersCount + 1);
+        assertThat(orderItemsRepository.count()).isEqualTo(orderItemsCount + 2);
+        assertThat(cartItemsRepository.findCheckoutRowsByCartId(cart.getId())).isEmpty();
+        assertThat(em.find(ShoeVariantSizes.class, shoeVariantSizes.getId()).getQuantity()).isEqualTo(2);
+        Orders orders = ordersRepository.findAll().stream().max((a, b) -> a.getId().compareTo(b.getId())).orElseThrow();
+        assertThat(orders.getTotalPrice()).isEqualTo(21597L);
+        assertThat(orderItemsRepository.findAll().stream().filter(item -> orders.equals(item.getOrders())).map(OrderItems::getPrice))
+            .containsOnly(7199L);
+    }
+
+    @Test
+    @Transactional
+    void checkoutCartWithAPriceWrittenByAnotherInstance() throws Exception {
+        addCartItems(1);
+        pricingService.rebuild();
+        // Written by another instance: the price table of this one still holds 79.99.
+        em
+            .createQuery("update ShoeVariantColors set price = 99.99 where shoeVariants = :shoeVariants")
+            .setParameter("shoeVariants", shoeVariants)
+            .executeUpdate();
+
+        restCheckoutMockMvc
+            .perform(post(API_URL, cart.getId()))
+            .andExpect(status().isCreated())
+            // 99.99 with 10% off is 89.99.
+            .andExpect(jsonPath("$.totalPrice").value(8999))
+            .andExpect(jsonPath("$.items[0].price").value(8999));
+    }
+
+    @Test
+    @Transactional
+    void checkoutCartWithoutEnoughStock() throws Exception {
+        addCartItems(4);
+        addCartItems(2);
+        pricingService.rebuild();
+        long ordersCount = ordersRepository.count();
+
+        restCheckoutMockMvc.perform(post(API_URL, cart.getId())).andExpect(status().isConflict());
+
+        assertThat(ordersRepository.count()).isEqualTo(ordersCount);
+        assertThat(cartItemsRepository.findCheckoutRowsByCartId(cart.getId())).hasSize(2);
+    }
+
+    @Test
+    @Transactional
+    void checkoutEmptyCart() throws Exception {
+        pricingService.rebuild();
+
+        restCheckoutMockMvc.perform(post(API_URL, cart.getId())).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void checkoutNonExistingCart() throws Exception {
+        restCheckoutMockMvc.perform(post(API_URL, Integer.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+}
@@ -4,13 +4,17 @@ import static com.shoes.domain.CustomerAsserts.*;
 import static com.shoes.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shoes.IntegrationTest;
+import com.shoes.domain.Cart;
 import com.shoes.domain.Customer;
+import com.shoes.domain.WishList;
 import com.shoes.repository.CustomerRepository;
+import com.shoes.web.util.KeysetPaginationUtil;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -143,6 +147,45 @@ class CustomerResourceIT {
             .andExpect(jsonPath("$.[*].createdAt").value(hasItem(DEFAULT_CREATED_AT.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllCustomersWithoutRelationships() throws Exception {
+        Customer withCart = customerRepository.saveAndFlush(createEntity(em));
+        em.persist(new Cart().createdAt(DEFAULT_CREATED_AT).customer(withCart));
+        Customer withWishList = customerRepository.saveAndFlush(createEntity(em));
+        em.persist(new WishList().createdAt(DEFAULT_CREATED_AT).customer(withWishList));
+        Customer withNothing = customerRepository.saveAndFlush(customer);
+        em.flush();
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=cart-is-null&limit=" + KeysetPaginationUtil.MAX_LIMIT + "&count=true"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(withCart.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(withWishList.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(withNothing.getId().intValue())));
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=cart-is-null,wishlist-is-null&limit=" + KeysetPaginationUtil.MAX_LIMIT))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(withCart.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(withWishList.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(withNothing.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getCustomersWithoutRelationshipsIsPaged() throws Exception {
+        customerRepository.saveAndFlush(createEntity(em));
+        customerRepository.saveAndFlush(customer);
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=customerdetails-is-null&limit=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().exists("X-Next-Cursor"));
+    }
+
     @Test
     @Transactional
     void getCustomer() throws Exception {
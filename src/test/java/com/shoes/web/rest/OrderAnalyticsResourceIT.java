@@ -0,0 +1,164 @@
+package com.shoes.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Brand;
+import com.shoes.domain.Colors;
+import com.shoes.domain.OrderItems;
+import com.shoes.domain.Orders;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Shoes;
+import com.shoes.domain.Sizes;
+import com.shoes.domain.enumeration.OrderStatus;
+import com.shoes.repository.BrandRepository;
+import com.shoes.repository.ColorsRepository;
+import com.shoes.repository.OrderItemsRepository;
+import com.shoes.repository.OrdersRepository;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.ShoesRepository;
+import com.shoes.repository.SizesRepository;
+import com.shoes.security.AuthoritiesConstants;
+import com.shoes.service.OrderAnalyticsService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link OrderAnalyticsResource} REST controller.
+ * <p>
+ * Order items are read in their own transactions, so these tests do not run in a transaction. Orders are appended as
+ * soon as they are dated.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@TestPropertySource(properties = { "application.order-analytics.enabled=true", "application.order-analytics.settle-delay=PT0S" })
+class OrderAnalyticsResourceIT {
+
+    private static final String API_URL = "/api/order-analytics";
+
+    private static final String BRAND_NAME = "Order analytics";
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private ColorsRepository colorsRepository;
+
+    @Autowired
+    private SizesRepository sizesRepository;
+
+    @Autowired
+    private ShoesRepository shoesRepository;
+
+    @Autowired
+    private ShoeVariantsRepository shoeVariantsRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private OrderItemsRepository orderItemsRepository;
+
+    @Autowired
+    private OrderAnalyticsService orderAnalyticsService;
+
+    @Autowired
+    private MockMvc restOrderAnalyticsMockMvc;
+
+    private Brand brand;
+
+    private Colors colors;
+
+    private Sizes smallSizes;
+
+    private Sizes largeSizes;
+
+    private Shoes shoes;
+
+    private ShoeVariants shoeVariants;
+
+    private final List<OrderItems> orderItems = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        brand = brandRepository.save(new Brand().name(BRAND_NAME));
+        colors = colorsRepository.save(new Colors().colorName("Order analytics red"));
+        smallSizes = sizesRepository.save(new Sizes().sizeInNumbers(41.5F));
+        largeSizes = sizesRepository.save(new Sizes().sizeInLetters("XL"));
+        shoes = shoesRepository.save(new Shoes().brand(brand));
+        shoeVariants = shoeVariantsRepository.save(new ShoeVariants().quantity(1).shoes(shoes));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        orderItemsRepository.deleteAll(orderItems);
+        ordersRepository.deleteAll(orderItems.stream().map(OrderItems::getOrders).toList());
+        shoeVariantsRepository.delete(shoeVariants);
+        shoesRepository.delete(shoes);
+        sizesRepository.deleteAll(List.of(smallSizes, largeSizes));
+        colorsRepository.delete(colors);
+        brandRepository.delete(brand);
+        orderAnalyticsService.rebuild();
+    }
+
+    private void placeOrder(Instant orderDate, Sizes sizes, int quantity, long price) {
+        Orders order = ordersRepository.save(new Orders().orderDate(orderDate).status(OrderStatus.DELIVERED));
+        orderItems.add(
+            orderItemsRepository.save(
+                new OrderItems().orders(order).shoeVariants(shoeVariants).colors(colors).sizes(sizes).quantity(quantity).price(price)
+            )
+        );
+    }
+
+    @Test
+    void queryOrderAnalytics() throws Exception {
+        placeOrder(Instant.parse("2026-01-10T10:00:00Z"), smallSizes, 2, 1_000);
+        placeOrder(Instant.parse("2026-07-10T10:00:00Z"), smallSizes, 1, 1_000);
+        orderAnalyticsService.rebuild();
+        placeOrder(Instant.now(), largeSizes, 5, 2_000);
+        orderAnalyticsService.refresh();
+
+        restOrderAnalyticsMockMvc
+            .perform(get(API_URL + "?groupBy=BRAND,SIZE&brand={brand}", BRAND_NAME))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].group.brand").value(BRAND_NAME))
+            .andExpect(jsonPath("$[0].group.size").value("XL"))
+            .andExpect(jsonPath("$[0].units").value(5))
+            .andExpect(jsonPath("$[0].revenue").value(10_000))
+            .andExpect(jsonPath("$[1].group.size").value("41.5"))
+            .andExpect(jsonPath("$[1].orderItems").value(2))
+            .andExpect(jsonPath("$[1].units").value(3));
+
+        restOrderAnalyticsMockMvc
+            .perform(get(API_URL + "?groupBy=SEASON,COLOR&brand={brand}&from=2026-01-01&to=2026-08-31", BRAND_NAME))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].group.season").value("WINTER"))
+            .andExpect(jsonPath("$[0].group.color").value("Order analytics red"))
+            .andExpect(jsonPath("$[0].units").value(2))
+            .andExpect(jsonPath("$[1].group.season").value("SUMMER"));
+    }
+
+    @Test
+    void queryOrderAnalyticsWithInvalidRange() throws Exception {
+        restOrderAnalyticsMockMvc.perform(get(API_URL + "?from=2026-02-01&to=2026-01-01")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void queryOrderAnalyticsAsUserIsForbidden() throws Exception {
+        restOrderAnalyticsMockMvc.perform(get(API_URL + "?groupBy=BRAND")).andExpect(status().isForbidden());
+    }
+}
@@ -3,15 +3,20 @@ package com.shoes.web.rest;
 import static com.shoes.domain.OrdersAsserts.*;
 import static com.shoes.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shoes.IntegrationTest;
+import com.shoes.domain.OrderItems;
 import com.shoes.domain.Orders;
 import com.shoes.domain.enumeration.OrderStatus;
 import com.shoes.repository.OrdersRepository;
+import com.shoes.security.AuthoritiesConstants;
+import com.shoes.web.util.KeysetPaginationUtil;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -144,6 +149,88 @@ class OrdersResourceIT {
             .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllOrdersByKeysetPages() throws Exception {
+        // Initialize the database
+        ordersRepository.saveAndFlush(orders);
+        Orders second = ordersRepository.saveAndFlush(createEntity(em));
+        Orders third = ordersRepository.saveAndFlush(createEntity(em));
+
+        // Get the first page, starting right before the first orders
+        String next = restOrdersMockMvc
+            .perform(get(ENTITY_API_URL + "?limit=2&after={after}", KeysetPaginationUtil.encodeCursor(orders.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(orders.getId().intValue(), second.getId().intValue())))
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andExpect(header().string("Link", containsString("rel=\"next\"")))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+
+        // Get the next page with a count
+        restOrdersMockMvc
+            .perform(get(ENTITY_API_URL + "?limit=2&count=true&after={after}", next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(header().string("X-Total-Count", String.valueOf(ordersRepository.count())));
+    }
+
+    @Test
+    @Transactional
+    void getAllOrdersWithInvalidCursor() throws Exception {
+        restOrdersMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void exportOrdersByOrderDate() throws Exception {
+        // Initialize the database
+        Instant orderDate = Instant.parse("2100-01-01T00:00:00Z");
+        ordersRepository.saveAndFlush(orders.orderDate(orderDate));
+        ordersRepository.saveAndFlush(createEntity(em).orderDate(orderDate.plusSeconds(60)));
+        OrderItems orderItems = new OrderItems().quantity(2).price(30L).orders(orders);
+        em.persist(orderItems);
+        em.flush();
+        em.clear();
+
+        // Export the orders placed in the first minute
+        String export = restOrdersMockMvc
+            .perform(get(ENTITY_API_URL + "/export?from={from}&to={to}", orderDate, orderDate.plusSeconds(60)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = export.split("\n");
+        assertThat(lines).hasSize(1);
+        var exported = om.readTree(lines[0]);
+        assertThat(exported.get("id").asLong()).isEqualTo(orders.getId());
+        assertThat(exported.get("orderDate").asText()).isEqualTo(orderDate.toString());
+        assertThat(exported.get("status").asText()).isEqualTo(DEFAULT_STATUS.toString());
+        assertThat(exported.get("orderItems")).hasSize(1);
+        assertThat(exported.get("orderItems").get(0).get("id").asLong()).isEqualTo(orderItems.getId());
+        assertThat(exported.get("orderItems").get(0).get("quantity").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void exportOrdersWithInvalidRange() throws Exception {
+        restOrdersMockMvc
+            .perform(get(ENTITY_API_URL + "/export?from={from}&to={to}", DEFAULT_ORDER_DATE, DEFAULT_ORDER_DATE))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportOrdersIsForbiddenToUsers() throws Exception {
+        restOrdersMockMvc.perform(get(ENTITY_API_URL + "/export")).andExpect(status().isForbidden());
+    }
+
     @Test
     @Transactional
     void getOrders() throws Exception {
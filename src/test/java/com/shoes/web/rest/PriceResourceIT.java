@@ -0,0 +1,131 @@
+package com.shoes.web.rest;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Sales;
+import com.shoes.domain.ShoeVariantColors;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.service.PricingService;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link PriceResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class PriceResourceIT {
+
+    private static final String API_URL = "/api/prices";
+    private static final String API_URL_ID = API_URL + "/{id}";
+
+    private static final Instant SALE_END = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private MockMvc restPriceMockMvc;
+
+    private Sales sales;
+
+    private ShoeVariants shoeVariants;
+
+    private ShoeVariantColors shoeVariantColors;
+
+    @BeforeEach
+    public void initTest() {
+        sales = new Sales().startDate(Instant.now().minus(1, ChronoUnit.DAYS)).endDate(SALE_END).discountPercentage(25);
+        em.persist(sales);
+        shoeVariants = new ShoeVariants().quantity(1).sales(sales);
+        em.persist(shoeVariants);
+        shoeVariantColors = new ShoeVariantColors().price(80F).shoeVariants(shoeVariants);
+        em.persist(shoeVariantColors);
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void getPriceDuringSale() throws Exception {
+        pricingService.rebuild();
+
+        restPriceMockMvc
+            .perform(get(API_URL_ID, shoeVariantColors.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.shoeVariantsId").value(shoeVariants.getId().intValue()))
+            .andExpect(jsonPath("$.basePrice").value(80.0))
+            .andExpect(jsonPath("$.price").value(60.0))
+            .andExpect(jsonPath("$.salesId").value(sales.getId().intValue()))
+            .andExpect(jsonPath("$.validUntil").value(SALE_END.toString()));
+    }
+
+    @Test
+    @Transactional
+    void getPriceBeforeSale() throws Exception {
+        sales.startDate(Instant.now().plus(1, ChronoUnit.HOURS));
+        em.flush();
+        pricingService.rebuild();
+
+        restPriceMockMvc
+            .perform(get(API_URL_ID, shoeVariantColors.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.price").value(80.0))
+            .andExpect(jsonPath("$.salesId").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getPricesOfVariant() throws Exception {
+        ShoeVariantColors other = new ShoeVariantColors().price(40F).shoeVariants(shoeVariants);
+        em.persist(other);
+        em.flush();
+        pricingService.rebuild();
+
+        restPriceMockMvc
+            .perform(get(API_URL + "?shoeVariantsId={id}", shoeVariants.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].price").value(containsInAnyOrder(60.0, 30.0)));
+    }
+
+    @Test
+    @Transactional
+    void getPriceAnnouncedByAnotherInstance() throws Exception {
+        pricingService.rebuild();
+        // Written by another instance, which announces the variant once committed.
+        shoeVariantColors.price(100F);
+        em.flush();
+        pricingService.refresh(List.of(shoeVariants.getId()));
+
+        restPriceMockMvc
+            .perform(get(API_URL_ID, shoeVariantColors.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.basePrice").value(100.0))
+            .andExpect(jsonPath("$.price").value(75.0));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingPrice() throws Exception {
+        pricingService.rebuild();
+
+        restPriceMockMvc.perform(get(API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,197 @@
+package com.shoes.web.rest;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.shoes.IntegrationTest;
+import com.shoes.domain.Brand;
+import com.shoes.domain.Category;
+import com.shoes.domain.OrderItems;
+import com.shoes.domain.Orders;
+import com.shoes.domain.ShoePurpose;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.domain.Shoes;
+import com.shoes.repository.BrandRepository;
+import com.shoes.repository.CategoryRepository;
+import com.shoes.repository.OrderItemsRepository;
+import com.shoes.repository.OrdersRepository;
+import com.shoes.repository.ShoePurposeRepository;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.ShoesRepository;
+import com.shoes.security.AuthoritiesConstants;
+import com.shoes.service.SalesRollupService;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link SalesRollupResource} REST controller.
+ * <p>
+ * The rollup is refreshed in its own transactions, so these tests do not run in a transaction. Orders are added as
+ * soon as they are dated.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@TestPropertySource(properties = "application.sales-rollup.settle-delay=PT0S")
+class SalesRollupResourceIT {
+
+    private static final String API_URL = "/api/sales-rollups";
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShoePurposeRepository shoePurposeRepository;
+
+    @Autowired
+    private ShoesRepository shoesRepository;
+
+    @Autowired
+    private ShoeVariantsRepository shoeVariantsRepository;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private OrderItemsRepository orderItemsRepository;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private MockMvc restSalesRollupMockMvc;
+
+    private Brand brand;
+
+    private Category category;
+
+    private ShoePurpose shoePurpose;
+
+    private Shoes shoes;
+
+    private ShoeVariants shoeVariants;
+
+    private ShoeVariants otherShoeVariants;
+
+    private final List<Orders> orders = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        brand = brandRepository.save(new Brand().name("Sales rollup"));
+        category = categoryRepository.save(new Category());
+        shoePurpose = shoePurposeRepository.save(new ShoePurpose());
+        shoes = shoesRepository.save(new Shoes().brand(brand).category(category).shoePurpose(shoePurpose));
+        shoeVariants = shoeVariantsRepository.save(new ShoeVariants().quantity(1).shoes(shoes));
+        Shoes otherShoes = shoesRepository.save(new Shoes().brand(brand));
+        otherShoeVariants = shoeVariantsRepository.save(new ShoeVariants().quantity(1).shoes(otherShoes));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        for (Orders order : orders) {
+            orderItemsRepository.deleteAll(orderItemsRepository.findAll().stream().filter(item -> isOf(item, order)).toList());
+            ordersRepository.delete(order);
+        }
+        Shoes otherShoes = otherShoeVariants.getShoes();
+        shoeVariantsRepository.deleteAll(List.of(shoeVariants, otherShoeVariants));
+        shoesRepository.deleteAll(List.of(shoes, otherShoes));
+        shoePurposeRepository.delete(shoePurpose);
+        categoryRepository.delete(category);
+        brandRepository.delete(brand);
+        salesRollupService.rebuild();
+    }
+
+    private static boolean isOf(OrderItems item, Orders order) {
+        return item.getOrders() != null && order.getId().equals(item.getOrders().getId());
+    }
+
+    private void placeOrder(Instant orderDate, ShoeVariants variant, int quantity, long price) {
+        Orders order = ordersRepository.save(new Orders().orderDate(orderDate).totalPrice(quantity * price));
+        orderItemsRepository.save(new OrderItems().orders(order).shoeVariants(variant).quantity(quantity).price(price));
+        orders.add(order);
+    }
+
+    @Test
+    void getSalesRefreshedIncrementally() throws Exception {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        placeOrder(now.minus(1, ChronoUnit.DAYS), shoeVariants, 2, 1_000);
+        salesRollupService.rebuild();
+        placeOrder(Instant.now(), shoeVariants, 1, 1_500);
+        placeOrder(Instant.now(), otherShoeVariants, 3, 500);
+        salesRollupService.refresh();
+        salesRollupService.refresh();
+
+        restSalesRollupMockMvc
+            .perform(
+                get(API_URL + "?from={from}&to={to}&brandId={brandId}&groupBy=DAY,CATEGORY", TODAY.minusDays(1), TODAY, brand.getId())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].salesDay").value(LocalDate.ofInstant(now.minus(1, ChronoUnit.DAYS), ZoneOffset.UTC).toString()))
+            .andExpect(jsonPath("$[0].categoryId").value(category.getId().intValue()))
+            .andExpect(jsonPath("$[0].brandId").doesNotExist())
+            .andExpect(jsonPath("$[0].units").value(2))
+            .andExpect(jsonPath("$[0].revenue").value(2_000))
+            .andExpect(jsonPath("$[?(@.salesDay == '" + TODAY + "')].units").value(containsInAnyOrder(1, 3)))
+            .andExpect(jsonPath("$[?(@.salesDay == '" + TODAY + "')].revenue").value(containsInAnyOrder(1_500, 1_500)));
+
+        restSalesRollupMockMvc
+            .perform(get(API_URL + "?from={from}&to={to}&brandId={brandId}&groupBy=BRAND", TODAY.minusDays(1), TODAY, brand.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].brandId").value(brand.getId()))
+            .andExpect(jsonPath("$[0].units").value(6))
+            .andExpect(jsonPath("$[0].revenue").value(5_000));
+    }
+
+    @Test
+    void rebuildCountsBackdatedOrders() throws Exception {
+        salesRollupService.refresh();
+        placeOrder(Instant.now().minus(2, ChronoUnit.DAYS), shoeVariants, 4, 250);
+        salesRollupService.refresh();
+
+        restSalesRollupMockMvc
+            .perform(get(API_URL + "?from={from}&to={to}&shoePurposeId={shoePurposeId}", TODAY.minusDays(7), TODAY, shoePurpose.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+
+        restSalesRollupMockMvc.perform(post(API_URL + "/rebuild")).andExpect(status().isNoContent());
+
+        restSalesRollupMockMvc
+            .perform(get(API_URL + "?from={from}&to={to}&shoePurposeId={shoePurposeId}", TODAY.minusDays(7), TODAY, shoePurpose.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].shoePurposeId").value(shoePurpose.getId()))
+            .andExpect(jsonPath("$[0].units").value(4))
+            .andExpect(jsonPath("$[0].revenue").value(1_000));
+    }
+
+    @Test
+    void getSalesOfInvalidRange() throws Exception {
+        restSalesRollupMockMvc.perform(get(API_URL + "?from={from}&to={to}", TODAY, TODAY.minusDays(1))).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getSalesAsUserIsForbidden() throws Exception {
+        restSalesRollupMockMvc.perform(get(API_URL + "?from={from}&to={to}", TODAY, TODAY)).andExpect(status().isForbidden());
+    }
+}
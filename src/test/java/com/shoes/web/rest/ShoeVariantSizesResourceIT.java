@@ -282,7 +282,7 @@ class ShoeVariantSizesResourceIT {
         ShoeVariantSizes partialUpdatedShoeVariantSizes = new ShoeVariantSizes();
         partialUpdatedShoeVariantSizes.setId(shoeVariantSizes.getId());
 
-        partialUpdatedShoeVariantSizes.quantity(UPDATED_QUANTITY).status(UPDATED_STATUS);
+        partialUpdatedShoeVariantSizes.quantity(UPDATED_QUANTITY).status(UPDATED_STATUS).version(shoeVariantSizes.getVersion());
 
         restShoeVariantSizesMockMvc
             .perform(
@@ -301,6 +301,74 @@ class ShoeVariantSizesResourceIT {
         );
     }
 
+    @Test
+    @Transactional
+    void putStaleShoeVariantSizes() throws Exception {
+        // Initialize the database
+        shoeVariantSizesRepository.saveAndFlush(shoeVariantSizes);
+        em.detach(shoeVariantSizes);
+
+        // Stock is taken after the shoeVariantSizes was read
+        shoeVariantSizesRepository.decrementQuantity(shoeVariantSizes.getId(), 1);
+
+        shoeVariantSizes.quantity(UPDATED_QUANTITY);
+        restShoeVariantSizesMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, shoeVariantSizes.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(shoeVariantSizes))
+            )
+            .andExpect(status().isConflict());
+
+        em.clear();
+        assertThat(getPersistedShoeVariantSizes(shoeVariantSizes).getQuantity()).isEqualTo(DEFAULT_QUANTITY - 1);
+    }
+
+    @Test
+    @Transactional
+    void patchStaleShoeVariantSizes() throws Exception {
+        // Initialize the database
+        shoeVariantSizesRepository.saveAndFlush(shoeVariantSizes);
+        em.detach(shoeVariantSizes);
+
+        // Stock is taken after the shoeVariantSizes was read
+        shoeVariantSizesRepository.decrementQuantity(shoeVariantSizes.getId(), 1);
+
+        ShoeVariantSizes partialUpdatedShoeVariantSizes = new ShoeVariantSizes();
+        partialUpdatedShoeVariantSizes.setId(shoeVariantSizes.getId());
+        partialUpdatedShoeVariantSizes.quantity(UPDATED_QUANTITY).version(shoeVariantSizes.getVersion());
+
+        restShoeVariantSizesMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedShoeVariantSizes.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedShoeVariantSizes))
+            )
+            .andExpect(status().isConflict());
+
+        em.clear();
+        assertThat(getPersistedShoeVariantSizes(shoeVariantSizes).getQuantity()).isEqualTo(DEFAULT_QUANTITY - 1);
+    }
+
+    @Test
+    @Transactional
+    void patchQuantityWithoutVersionShoeVariantSizes() throws Exception {
+        // Initialize the database
+        shoeVariantSizesRepository.saveAndFlush(shoeVariantSizes);
+
+        ShoeVariantSizes partialUpdatedShoeVariantSizes = new ShoeVariantSizes();
+        partialUpdatedShoeVariantSizes.setId(shoeVariantSizes.getId());
+        partialUpdatedShoeVariantSizes.quantity(UPDATED_QUANTITY);
+
+        restShoeVariantSizesMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedShoeVariantSizes.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedShoeVariantSizes))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void patchNonExistingShoeVariantSizes() throws Exception {
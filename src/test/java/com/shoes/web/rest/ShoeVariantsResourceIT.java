@@ -4,7 +4,6 @@ import static com.shoes.domain.ShoeVariantsAsserts.*;
 import static com.shoes.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
-import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -14,18 +13,12 @@ import com.shoes.domain.ShoeVariants;
 import com.shoes.domain.enumeration.Status;
 import com.shoes.repository.ShoeVariantsRepository;
 import jakarta.persistence.EntityManager;
-import java.util.ArrayList;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -35,7 +28,6 @@ import org.springframework.transaction.annotation.Transactional;
  * Integration tests for the {@link ShoeVariantsResource} REST controller.
  */
 @IntegrationTest
-@ExtendWith(MockitoExtension.class)
 @AutoConfigureMockMvc
 @WithMockUser
 class ShoeVariantsResourceIT {
@@ -61,9 +53,6 @@ class ShoeVariantsResourceIT {
     @Autowired
     private ShoeVariantsRepository shoeVariantsRepository;
 
-    @Mock
-    private ShoeVariantsRepository shoeVariantsRepositoryMock;
-
     @Autowired
     private EntityManager em;
 
@@ -153,23 +142,6 @@ class ShoeVariantsResourceIT {
             .andExpect(jsonPath("$.[*].photoUrl").value(hasItem(DEFAULT_PHOTO_URL)));
     }
 
-    @SuppressWarnings({ "unchecked" })
-    void getAllShoeVariantsWithEagerRelationshipsIsEnabled() throws Exception {
-        when(shoeVariantsRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
-
-        restShoeVariantsMockMvc.perform(get(ENTITY_API_URL + "?eagerload=true")).andExpect(status().isOk());
-
-        verify(shoeVariantsRepositoryMock, times(1)).findAllWithEagerRelationships(any());
-    }
-
-    @SuppressWarnings({ "unchecked" })
-    void getAllShoeVariantsWithEagerRelationshipsIsNotEnabled() throws Exception {
-        when(shoeVariantsRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
-
-        restShoeVariantsMockMvc.perform(get(ENTITY_API_URL + "?eagerload=false")).andExpect(status().isOk());
-        verify(shoeVariantsRepositoryMock, times(1)).findAll(any(Pageable.class));
-    }
-
     @Test
     @Transactional
     void getShoeVariants() throws Exception {
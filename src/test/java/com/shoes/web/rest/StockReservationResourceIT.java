@@ -0,0 +1,159 @@
+package com.shoes.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.IntegrationTest;
+import com.shoes.domain.ShoeVariantSizes;
+import com.shoes.domain.StockReservation;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.StockReservationRepository;
+import com.shoes.service.StockReservationService;
+import com.shoes.service.dto.StockReservationDTO;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link StockReservationResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class StockReservationResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/stock-reservations";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restStockReservationMockMvc;
+
+    private ShoeVariantSizes shoeVariantSizes;
+
+    @BeforeEach
+    public void initTest() {
+        shoeVariantSizes = new ShoeVariantSizes().quantity(5);
+        em.persist(shoeVariantSizes);
+        em.flush();
+    }
+
+    private StockReservationDTO reservation(int quantity) {
+        StockReservationDTO stockReservationDTO = new StockReservationDTO();
+        stockReservationDTO.setShoeVariantSizesId(shoeVariantSizes.getId());
+        stockReservationDTO.setQuantity(quantity);
+        return stockReservationDTO;
+    }
+
+    private int getQuantityInDatabase() {
+        em.flush();
+        em.clear();
+        return shoeVariantSizesRepository.findById(shoeVariantSizes.getId()).orElseThrow().getQuantity();
+    }
+
+    @Test
+    @Transactional
+    void createStockReservation() throws Exception {
+        restStockReservationMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(reservation(3))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").isNotEmpty())
+            .andExpect(jsonPath("$.quantity").value(3))
+            .andExpect(jsonPath("$.expiresAt").isNotEmpty());
+
+        assertThat(getQuantityInDatabase()).isEqualTo(2);
+        assertThat(stockReservationRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void createStockReservationWithoutEnoughStock() throws Exception {
+        restStockReservationMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(reservation(6))))
+            .andExpect(status().isConflict());
+
+        assertThat(getQuantityInDatabase()).isEqualTo(5);
+    }
+
+    @Test
+    @Transactional
+    void createStockReservationWithInvalidQuantity() throws Exception {
+        restStockReservationMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(reservation(0))))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void deleteStockReservationPutsStockBack() throws Exception {
+        StockReservationDTO reserved = stockReservationService.reserve(shoeVariantSizes.getId(), 4);
+        assertThat(getQuantityInDatabase()).isEqualTo(1);
+
+        restStockReservationMockMvc.perform(delete(ENTITY_API_URL_ID, reserved.getId())).andExpect(status().isNoContent());
+
+        assertThat(getQuantityInDatabase()).isEqualTo(5);
+        restStockReservationMockMvc.perform(delete(ENTITY_API_URL_ID, reserved.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void confirmStockReservationKeepsStockOut() throws Exception {
+        StockReservationDTO reserved = stockReservationService.reserve(shoeVariantSizes.getId(), 4);
+
+        restStockReservationMockMvc.perform(post(ENTITY_API_URL_ID + "/confirm", reserved.getId())).andExpect(status().isNoContent());
+
+        assertThat(getQuantityInDatabase()).isEqualTo(1);
+        assertThat(stockReservationRepository.findById(reserved.getId())).isEmpty();
+        restStockReservationMockMvc.perform(delete(ENTITY_API_URL_ID, reserved.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void expiredStockReservationsAreReleased() throws Exception {
+        shoeVariantSizesRepository.decrementQuantity(shoeVariantSizes.getId(), 2);
+        stockReservationRepository.saveAndFlush(
+            new StockReservation()
+                .id(UUID.randomUUID())
+                .shoeVariantSizesId(shoeVariantSizes.getId())
+                .quantity(2)
+                .expiresAt(Instant.now().minusSeconds(1))
+        );
+
+        stockReservationService.releaseExpiredReservations();
+
+        assertThat(getQuantityInDatabase()).isEqualTo(5);
+        assertThat(stockReservationRepository.count()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void flashSaleRequiresAdmin() throws Exception {
+        restStockReservationMockMvc
+            .perform(put(ENTITY_API_URL + "/flash-sales/{id}?quantity=1", shoeVariantSizes.getId()))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,216 @@
+package com.shoes.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shoes.IntegrationTest;
+import com.shoes.domain.ShoeVariantSizes;
+import com.shoes.domain.ShoeVariants;
+import com.shoes.repository.ShoeVariantSizesRepository;
+import com.shoes.repository.ShoeVariantsRepository;
+import com.shoes.repository.StockReservationRepository;
+import com.shoes.service.StockReservationService;
+import com.shoes.service.StockStreamService;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link StockStreamResource} REST controller.
+ * <p>
+ * Changes are announced once they have committed, so these tests do not run in a transaction.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource(
+    properties = {
+        "application.stock-stream.enabled=true",
+        "application.stock-stream.channel=stock_levels_it",
+        "application.stock-stream.coalesce-window=PT0.05S",
+        "application.stock-stream.max-connections=3",
+        "application.stock-stream.max-shoe-variants=3",
+        "application.stock-stream.poll-timeout=PT0.1S",
+    }
+)
+class StockStreamResourceIT {
+
+    private static final String API_URL = "/api/stock-stream";
+
+    private static final String CHANNEL = "stock_levels_it";
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ShoeVariantsRepository shoeVariantsRepository;
+
+    @Autowired
+    private ShoeVariantSizesRepository shoeVariantSizesRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private StockStreamService stockStreamService;
+
+    @Autowired
+    private MockMvc restStockStreamMockMvc;
+
+    private ShoeVariants subscribed;
+
+    private ShoeVariants other;
+
+    private List<ShoeVariantSizes> sizes;
+
+    @BeforeEach
+    public void initTest() throws Exception {
+        awaitListener();
+        subscribed = shoeVariantsRepository.save(new ShoeVariants().quantity(1));
+        other = shoeVariantsRepository.save(new ShoeVariants().quantity(1));
+        sizes = shoeVariantSizesRepository.saveAll(
+            List.of(
+                new ShoeVariantSizes().quantity(5).shoeVariants(subscribed),
+                new ShoeVariantSizes().quantity(2).shoeVariants(subscribed),
+                new ShoeVariantSizes().quantity(9).shoeVariants(other)
+            )
+        );
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        stockStreamService.shutdown();
+        stockReservationRepository.deleteAll(
+            stockReservationRepository
+                .findAll()
+                .stream()
+                .filter(reservation -> sizes.stream().anyMatch(size -> size.getId().equals(reservation.getShoeVariantSizesId())))
+                .toList()
+        );
+        shoeVariantSizesRepository.deleteAllById(sizes.stream().map(ShoeVariantSizes::getId).toList());
+        shoeVariantsRepository.deleteAll(List.of(subscribed, other));
+    }
+
+    /**
+     * Waits for the listener to start listening, which reads the levels of every stream.
+     */
+    private void awaitListener() throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        try (
+            Connection connection = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+            );
+            PreparedStatement statement = connection.prepareStatement(
+                "select count(*) from pg_stat_activity where pid <> pg_backend_pid() and query = ?"
+            )
+        ) {
+            statement.setString(1, "LISTEN \"" + CHANNEL + "\"");
+            while (System.currentTimeMillis() < deadline) {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    if (resultSet.getInt(1) > 0) {
+                        return;
+                    }
+                }
+                Thread.sleep(50);
+            }
+        }
+        throw new AssertionError("The listener did not start listening");
+    }
+
+    /**
+     * Reads the last quantity streamed for each shoeVariantSizes id.
+     */
+    private Map<Long, Integer> quantities(MvcResult result) throws Exception {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            if (line.startsWith("data:")) {
+                for (JsonNode level : om.readTree(line.substring("data:".length()))) {
+                    quantities.put(level.get("shoeVariantSizesId").asLong(), level.get("quantity").asInt());
+                }
+            }
+        }
+        return quantities;
+    }
+
+    private Map<Long, Integer> awaitQuantities(MvcResult result, Predicate<Map<Long, Integer>> expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        Map<Long, Integer> quantities = quantities(result);
+        while (!expected.test(quantities) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            quantities = quantities(result);
+        }
+        return quantities;
+    }
+
+    private MvcResult subscribe(Long... shoeVariantsIds) throws Exception {
+        return restStockStreamMockMvc
+            .perform(get(API_URL).param("shoeVariantsIds", List.of(shoeVariantsIds).stream().map(String::valueOf).toArray(String[]::new)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    @Test
+    void streamsCurrentThenChangedLevels() throws Exception {
+        MvcResult result = subscribe(subscribed.getId());
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        Long first = sizes.get(0).getId();
+        Long second = sizes.get(1).getId();
+        assertThat(awaitQuantities(result, quantities -> quantities.size() == 2)).containsOnly(Map.entry(first, 5), Map.entry(second, 2));
+
+        stockReservationService.reserve(first, 3);
+        stockReservationService.reserve(sizes.get(2).getId(), 4);
+        stockStreamService.announce();
+
+        Map<Long, Integer> quantities = awaitQuantities(result, levels -> Integer.valueOf(2).equals(levels.get(first)));
+        assertThat(quantities).containsOnly(Map.entry(first, 2), Map.entry(second, 2));
+    }
+
+    @Test
+    void streamOfTooManyVariantsIsRefused() throws Exception {
+        restStockStreamMockMvc
+            .perform(get(API_URL).param("shoeVariantsIds", "1", "2", "3", "4"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamsBeyondTheLimitAreRefused() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            subscribe(subscribed.getId());
+        }
+
+        restStockStreamMockMvc
+            .perform(get(API_URL).param("shoeVariantsIds", String.valueOf(other.getId())))
+            .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -1,7 +1,9 @@
 package com.shoes.web.rest.errors;
 
+import com.shoes.security.PasswordHashingRejectedException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
@@ -46,6 +48,11 @@ public class ExceptionTranslatorTestController {
         throw new RuntimeException();
     }
 
+    @GetMapping("/service-unavailable")
+    public void serviceUnavailable() {
+        throw new PasswordHashingRejectedException(Duration.ofSeconds(3));
+    }
+
     public static class TestDTO {
 
         @NotNull
@@ -0,0 +1,75 @@
+package com.shoes.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shoes.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for {@link KeysetPaginationUtil}.
+ */
+class KeysetPaginationUtilTest {
+
+    @BeforeEach
+    public void setup() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.setQueryString("limit=2&count=true");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    public void teardown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void cursorShouldRoundTrip() {
+        String cursor = KeysetPaginationUtil.encodeCursor(1234L);
+
+        assertThat(cursor).doesNotContain("1234");
+        assertThat(KeysetPaginationUtil.<Long>decodeCursor(cursor, Long::valueOf)).isEqualTo(1234L);
+        assertThat(KeysetPaginationUtil.<Long>decodeCursor(null, Long::valueOf)).isNull();
+    }
+
+    @Test
+    void invalidCursorShouldBeRejected() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("%%%", Long::valueOf)).isInstanceOf(BadRequestAlertException.class);
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor(KeysetPaginationUtil.encodeCursor("x"), Long::valueOf)).isInstanceOf(
+            BadRequestAlertException.class
+        );
+    }
+
+    @Test
+    void pageSizeShouldBeBounded() {
+        assertThat(KeysetPaginationUtil.pageSize(null)).isEqualTo(KeysetPaginationUtil.DEFAULT_LIMIT);
+        assertThat(KeysetPaginationUtil.pageSize(0)).isEqualTo(1);
+        assertThat(KeysetPaginationUtil.pageSize(1_000_000)).isEqualTo(KeysetPaginationUtil.MAX_LIMIT);
+    }
+
+    @Test
+    void pageResponseShouldLinkTheNextPageOnlyWhenThereIsOne() {
+        ResponseEntity<List<Long>> response = KeysetPaginationUtil.pageResponse(List.of(1L, 2L, 3L), 2, id -> id, () -> 3);
+
+        assertThat(response.getBody()).containsExactly(1L, 2L);
+        String next = response.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(KeysetPaginationUtil.<Long>decodeCursor(next, Long::valueOf)).isEqualTo(2L);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.LINK)).isEqualTo(
+            "<http://localhost/api/orders?after=" + next + "&limit=2>; rel=\"next\""
+        );
+        assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("3");
+
+        response = KeysetPaginationUtil.pageResponse(List.of(3L), 2, id -> id, null);
+
+        assertThat(response.getBody()).containsExactly(3L);
+        assertThat(response.getHeaders()).doesNotContainKeys("X-Next-Cursor", HttpHeaders.LINK, "X-Total-Count");
+    }
+}